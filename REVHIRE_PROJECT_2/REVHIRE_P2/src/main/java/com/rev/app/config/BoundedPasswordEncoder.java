@@ -0,0 +1,67 @@
+package com.rev.app.config;
+
+import com.rev.app.exception.LoginCapacityException;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs password verification on the bounded login executor. Only the pool's
+ * threads hash at any one time, so a login burst cannot take every core from
+ * other requests, and logins beyond the pool and its queue are refused
+ * straight away instead of tying up servlet threads.
+ *
+ * <p>{@link #encode} stays on the caller's thread: it only runs on
+ * registration and on the one-off rehash after a cost change.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final AsyncTaskExecutor executor;
+    private final long timeoutMillis;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, AsyncTaskExecutor executor, long timeoutMillis) {
+        this.delegate = delegate;
+        this.executor = executor;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return delegate.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        Future<Boolean> result;
+        try {
+            result = executor.submit(() -> delegate.matches(rawPassword, encodedPassword));
+        } catch (TaskRejectedException e) {
+            throw new LoginCapacityException("Too many logins in progress, please try again shortly");
+        }
+        try {
+            return result.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            result.cancel(true);
+            throw new LoginCapacityException("Login timed out, please try again shortly");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LoginCapacityException("Login interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
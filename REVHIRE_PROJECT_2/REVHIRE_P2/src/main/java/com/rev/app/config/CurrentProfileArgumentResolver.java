@@ -0,0 +1,52 @@
+package com.rev.app.config;
+
+import com.rev.app.dto.CurrentProfile;
+import com.rev.app.exception.ResourceNotFoundException;
+import com.rev.app.service.CurrentProfileService;
+import org.springframework.core.MethodParameter;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+import java.security.Principal;
+
+/**
+ * Injects the signed-in user's {@link CurrentProfile} into controller methods.
+ * The profile is memoised on the request, so forwards and error dispatches
+ * reuse it, and comes from {@link CurrentProfileService}'s short-lived cache
+ * otherwise. Resolves to null for anonymous requests.
+ */
+public class CurrentProfileArgumentResolver implements HandlerMethodArgumentResolver {
+
+    static final String REQUEST_ATTRIBUTE = CurrentProfile.class.getName();
+
+    private final CurrentProfileService currentProfileService;
+
+    public CurrentProfileArgumentResolver(CurrentProfileService currentProfileService) {
+        this.currentProfileService = currentProfileService;
+    }
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return CurrentProfile.class.equals(parameter.getParameterType());
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+            NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        Principal principal = webRequest.getUserPrincipal();
+        if (principal == null) {
+            return null;
+        }
+        Object memo = webRequest.getAttribute(REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (memo instanceof CurrentProfile && principal.getName().equals(((CurrentProfile) memo).getEmail())) {
+            return memo;
+        }
+        CurrentProfile profile = currentProfileService.resolve(principal.getName())
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        webRequest.setAttribute(REQUEST_ATTRIBUTE, profile, RequestAttributes.SCOPE_REQUEST);
+        return profile;
+    }
+}
@@ -1,28 +1,49 @@
 package com.rev.app.config;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.impl.TextCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import javax.crypto.spec.SecretKeySpec;
+import java.security.Key;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
 
 @Component
 public class JwtUtil {
 
-    private String secret = "revhire_secret_key_1234567890_revhire_secret_key_1234567890"; // In production, move to
-                                                                                           // application.properties
+    static final String ROLES_CLAIM = "roles";
+    private static final int MAX_CACHED_TOKENS = 10_000;
+
+    // Derived once; jjwt would otherwise Base64-decode the secret string on every sign and parse.
+    private final Key signingKey;
+
+    private final VerifiedTokenCache tokenCache = new VerifiedTokenCache(MAX_CACHED_TOKENS);
+
+    public JwtUtil(@Value("${revhire.jwt.secret:revhire_secret_key_1234567890_revhire_secret_key_1234567890}")
+            String secret) {
+        // Same key bytes as signWith/setSigningKey(String), so previously issued tokens stay valid.
+        this.signingKey = new SecretKeySpec(TextCodec.BASE64.decode(secret), SignatureAlgorithm.HS256.getJcaName());
+    }
 
     public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return parseToken(token).getUsername();
     }
 
     public Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+        return new Date(parseToken(token).getExpiresAt());
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
@@ -31,15 +52,25 @@ public class JwtUtil {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parser().setSigningKey(secret).parseClaimsJws(token).getBody();
+        return Jwts.parser().setSigningKey(signingKey).parseClaimsJws(token).getBody();
     }
 
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    /**
+     * Checks the signature and expiry and parses the claims, all in one pass.
+     *
+     * @throws JwtException if the token is malformed, badly signed or expired
+     */
+    public VerifiedToken parseToken(String token) {
+        return toVerifiedToken(extractAllClaims(token));
     }
 
     public String generateToken(UserDetails userDetails) {
         Map<String, Object> claims = new HashMap<>();
+        List<String> roles = new ArrayList<>();
+        for (GrantedAuthority authority : userDetails.getAuthorities()) {
+            roles.add(authority.getAuthority());
+        }
+        claims.put(ROLES_CLAIM, roles);
         return createToken(claims, userDetails.getUsername());
     }
 
@@ -49,12 +80,67 @@ public class JwtUtil {
                 .setSubject(subject)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + 1000 * 60 * 60 * 10)) // 10 hours
-                .signWith(SignatureAlgorithm.HS256, secret)
+                .signWith(SignatureAlgorithm.HS256, signingKey)
                 .compact();
     }
 
     public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        final VerifiedToken verified = parseToken(token);
+        return (verified.getUsername().equals(userDetails.getUsername())
+                && !verified.isExpired(System.currentTimeMillis()));
+    }
+
+    /**
+     * Returns the verified token, or null when it is malformed, badly signed,
+     * expired or revoked. A token is verified once and then served from the
+     * cache until it expires, so authenticated requests need no database access.
+     */
+    public VerifiedToken verify(String token) {
+        String key = VerifiedTokenCache.key(token);
+        if (tokenCache.isDenied(key)) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        VerifiedToken verified = tokenCache.get(key, now);
+        if (verified != null) {
+            return verified;
+        }
+        try {
+            verified = parseToken(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+        tokenCache.put(key, verified);
+        return verified;
+    }
+
+    /**
+     * Puts the token on the deny list until it expires. Invalid tokens are
+     * ignored, as they are rejected anyway.
+     */
+    public void revoke(String token) {
+        VerifiedToken verified = verify(token);
+        if (verified != null) {
+            tokenCache.deny(VerifiedTokenCache.key(token), verified.getExpiresAt(), System.currentTimeMillis());
+        }
+    }
+
+    int cachedTokens() {
+        return tokenCache.size();
+    }
+
+    int deniedTokens() {
+        return tokenCache.deniedSize();
+    }
+
+    private static VerifiedToken toVerifiedToken(Claims claims) {
+        List<GrantedAuthority> authorities = new ArrayList<>();
+        Object roles = claims.get(ROLES_CLAIM);
+        if (roles instanceof Collection) {
+            for (Object role : (Collection<?>) roles) {
+                authorities.add(new SimpleGrantedAuthority(String.valueOf(role)));
+            }
+        }
+        return new VerifiedToken(claims.getSubject(), authorities, claims.getExpiration().getTime());
     }
 }
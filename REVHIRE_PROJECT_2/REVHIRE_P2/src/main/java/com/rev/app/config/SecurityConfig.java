@@ -1,15 +1,23 @@
 package com.rev.app.config;
 
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 
+import java.util.HashMap;
+import java.util.Map;
+
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
@@ -56,8 +64,25 @@ public class SecurityConfig {
         return authConfig.getAuthenticationManager();
     }
 
+    /**
+     * New hashes use the {@code revhire.security.password.encoder} scheme at the
+     * configured cost. Hashes stored before ids were prefixed are plain bcrypt.
+     * A hash whose scheme or cost is out of date is rewritten on the user's next
+     * successful login (see CustomUserDetailsService#updatePassword).
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Qualifier("loginExecutor") AsyncTaskExecutor loginExecutor,
+            @Value("${revhire.security.password.encoder:bcrypt}") String encoderId,
+            @Value("${revhire.security.password.bcrypt-strength:10}") int bcryptStrength,
+            @Value("${revhire.security.password.pbkdf2-iterations:310000}") int pbkdf2Iterations,
+            @Value("${revhire.security.login.timeout-ms:5000}") long loginTimeoutMillis) {
+        Pbkdf2PasswordEncoder pbkdf2 = new Pbkdf2PasswordEncoder("", pbkdf2Iterations, 256);
+        pbkdf2.setAlgorithm(Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256);
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put("bcrypt", new BCryptPasswordEncoder(bcryptStrength));
+        encoders.put("pbkdf2", pbkdf2);
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(encoderId, encoders);
+        delegating.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder(bcryptStrength));
+        return new BoundedPasswordEncoder(delegating, loginExecutor, loginTimeoutMillis);
     }
 }
@@ -0,0 +1,43 @@
+package com.rev.app.config;
+
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A JWT whose signature and expiry have been checked, with the subject and the
+ * authorities carried in its {@code roles} claim. Immutable so one instance can
+ * be shared by every request presenting the same token.
+ */
+public final class VerifiedToken {
+
+    private final String username;
+    private final List<GrantedAuthority> authorities;
+    private final long expiresAt;
+
+    public VerifiedToken(String username, Collection<? extends GrantedAuthority> authorities, long expiresAt) {
+        this.username = username;
+        this.authorities = Collections.unmodifiableList(new ArrayList<GrantedAuthority>(authorities));
+        this.expiresAt = expiresAt;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    /** Empty for tokens issued before roles were added as a claim. */
+    public List<GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    public long getExpiresAt() {
+        return expiresAt;
+    }
+
+    boolean isExpired(long now) {
+        return expiresAt <= now;
+    }
+}
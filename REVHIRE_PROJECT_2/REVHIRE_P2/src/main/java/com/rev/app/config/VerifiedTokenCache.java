@@ -0,0 +1,73 @@
+package com.rev.app.config;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Verified tokens keyed by the SHA-256 of the raw token, so repeat requests
+ * skip signature checking and claim parsing and raw tokens are not retained.
+ * Entries live until the token expires or is pushed out by the LRU bound.
+ *
+ * <p>Revoked tokens go on a deny list that is consulted before the cache and
+ * only holds tokens that have not yet expired.
+ */
+final class VerifiedTokenCache {
+
+    private final Map<String, VerifiedToken> tokens;
+    private final Map<String, Long> denied = new ConcurrentHashMap<>();
+
+    VerifiedTokenCache(int maxEntries) {
+        this.tokens = Collections.synchronizedMap(new LinkedHashMap<String, VerifiedToken>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, VerifiedToken> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    static String key(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    boolean isDenied(String key) {
+        return denied.containsKey(key);
+    }
+
+    VerifiedToken get(String key, long now) {
+        VerifiedToken token = tokens.get(key);
+        if (token != null && token.isExpired(now)) {
+            tokens.remove(key);
+            return null;
+        }
+        return token;
+    }
+
+    void put(String key, VerifiedToken token) {
+        tokens.put(key, token);
+    }
+
+    void deny(String key, long expiresAt, long now) {
+        denied.values().removeIf(expiry -> expiry <= now);
+        denied.put(key, expiresAt);
+        tokens.remove(key);
+    }
+
+    int size() {
+        return tokens.size();
+    }
+
+    int deniedSize() {
+        return denied.size();
+    }
+}
@@ -0,0 +1,25 @@
+package com.rev.app.config;
+
+import com.rev.app.service.CurrentProfileService;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final CurrentProfileService currentProfileService;
+
+    // Lazy: web slice tests pick up this configurer without the service layer.
+    public WebConfig(@Lazy CurrentProfileService currentProfileService) {
+        this.currentProfileService = currentProfileService;
+    }
+
+    @Override
+    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+        resolvers.add(new CurrentProfileArgumentResolver(currentProfileService));
+    }
+}
@@ -1,10 +1,15 @@
 package com.rev.app.controller;
 
 import com.rev.app.dto.ApplicationDTO;
+import com.rev.app.dto.BulkStatusResult;
+import com.rev.app.dto.CurrentProfile;
 import com.rev.app.dto.JobDTO;
+import com.rev.app.dto.JobStatsDTO;
+import com.rev.app.dto.NotificationDTO;
+import com.rev.app.dto.PageDTO;
 import com.rev.app.entity.Company;
 import com.rev.app.entity.Employer;
-import com.rev.app.entity.User;
+import com.rev.app.entity.NotificationContent;
 import com.rev.app.exception.ResourceNotFoundException;
 import com.rev.app.repository.CompanyRepository;
 import com.rev.app.repository.EmployerRepository;
@@ -18,9 +23,7 @@ import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
 
 import javax.validation.Valid;
-import java.security.Principal;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Controller
 @RequestMapping("/employer")
@@ -29,7 +32,7 @@ public class EmployerController {
     private static final Logger logger = LogManager.getLogger(EmployerController.class);
 
     @Autowired
-    private UserService userService;
+    private CurrentProfileService currentProfileService;
     @Autowired
     private JobService jobService;
     @Autowired
@@ -43,16 +46,21 @@ public class EmployerController {
     @Autowired
     private ResumeService resumeService;
 
-    private Employer getEmployer(Principal principal) {
-        User user = userService.findByEmail(principal.getName())
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-        return employerRepository.findByUserId(user.getId())
+    private Long employerId(CurrentProfile profile) {
+        if (profile.getEmployerId() == null) {
+            throw new ResourceNotFoundException("Employer profile not found");
+        }
+        return profile.getEmployerId();
+    }
+
+    private Employer getEmployer(CurrentProfile profile) {
+        return employerRepository.findById(employerId(profile))
                 .orElseThrow(() -> new ResourceNotFoundException("Employer profile not found"));
     }
 
     @GetMapping("/profile")
-    public String viewProfile(Principal principal, Model model) {
-        Employer employer = getEmployer(principal);
+    public String viewProfile(CurrentProfile profile, Model model) {
+        Employer employer = getEmployer(profile);
         model.addAttribute("employer", employer);
         model.addAttribute("company", employer.getCompany());
         return "employer/profile";
@@ -62,8 +70,8 @@ public class EmployerController {
     public String updateProfile(@ModelAttribute Company companyData,
             @RequestParam String contactPerson,
             @RequestParam String designation,
-            Principal principal) {
-        Employer employer = getEmployer(principal);
+            CurrentProfile profile) {
+        Employer employer = getEmployer(profile);
 
         employer.setContactPerson(contactPerson);
         employer.setDesignation(designation);
@@ -77,6 +85,7 @@ public class EmployerController {
         company.setWebsite(companyData.getWebsite());
         company.setLocation(companyData.getLocation());
         companyRepository.save(company);
+        currentProfileService.evict(profile.getUserId());
 
         return "redirect:/employer/profile?updated";
     }
@@ -84,40 +93,19 @@ public class EmployerController {
     @GetMapping("/jobs")
     public String listMyJobs(@RequestParam(required = false) String keyword,
             @RequestParam(required = false) String status,
-            Principal principal, Model model) {
-        Employer employer = getEmployer(principal);
-        List<JobDTO> jobs = jobService.getJobsByEmployer(employer.getId());
-
-        if (keyword != null && !keyword.isEmpty()) {
-            String k = keyword.toLowerCase();
-            jobs = jobs.stream()
-                    .filter(j -> j.getTitle().toLowerCase().contains(k) ||
-                            j.getLocation().toLowerCase().contains(k))
-                    .collect(Collectors.toList());
-        }
-
-        if (status != null && !status.isEmpty()) {
-            if ("CLOSED".equals(status)) {
-                jobs = jobs.stream().filter(j -> j.getIsClosed() && !"FILLED".equals(j.getStatus()))
-                        .collect(Collectors.toList());
-            } else if ("ACTIVE".equals(status)) {
-                jobs = jobs.stream().filter(j -> !j.getIsClosed()).collect(Collectors.toList());
-            } else if ("FILLED".equals(status)) {
-                jobs = jobs.stream().filter(j -> "FILLED".equals(j.getStatus())).collect(Collectors.toList());
-            }
-        }
-
-        List<JobDTO> allJobs = jobService.getJobsByEmployer(employer.getId());
-        long totalJobs = allJobs.size();
-        long activeJobs = allJobs.stream().filter(j -> !j.getIsClosed()).count();
-        long closedJobs = allJobs.stream().filter(j -> j.getIsClosed() && !"FILLED".equals(j.getStatus())).count();
-        long filledJobs = allJobs.stream().filter(j -> "FILLED".equals(j.getStatus())).count();
-
-        model.addAttribute("jobs", jobs);
-        model.addAttribute("totalJobs", totalJobs);
-        model.addAttribute("activeJobs", activeJobs);
-        model.addAttribute("closedJobs", closedJobs);
-        model.addAttribute("filledJobs", filledJobs);
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit,
+            CurrentProfile profile, Model model) {
+        Long employerId = employerId(profile);
+        PageDTO<JobDTO> page = jobService.getJobsByEmployerPage(employerId, keyword, status, cursor, limit);
+        JobStatsDTO stats = jobService.getJobStatsByEmployer(employerId);
+
+        model.addAttribute("jobs", page.getItems());
+        model.addAttribute("nextCursor", page.getNextCursor());
+        model.addAttribute("totalJobs", stats.getTotalJobs());
+        model.addAttribute("activeJobs", stats.getActiveJobs());
+        model.addAttribute("closedJobs", stats.getClosedJobs());
+        model.addAttribute("filledJobs", stats.getFilledJobs());
         model.addAttribute("keyword", keyword);
         model.addAttribute("status", status);
 
@@ -125,28 +113,25 @@ public class EmployerController {
     }
 
     @GetMapping("/jobs/new")
-    public String newJobForm(Principal principal, Model model) {
-        Employer employer = getEmployer(principal);
+    public String newJobForm(CurrentProfile profile, Model model) {
         model.addAttribute("jobDTO", new JobDTO());
-        model.addAttribute("employerId", employer.getId());
-        model.addAttribute("companyId", employer.getCompany().getId());
+        model.addAttribute("employerId", employerId(profile));
+        model.addAttribute("companyId", profile.getCompanyId());
         return "employer/job-form";
     }
 
     @PostMapping("/jobs/new")
     public String createJob(@Valid @ModelAttribute("jobDTO") JobDTO jobDTO, BindingResult result,
-            Principal principal, Model model) {
+            CurrentProfile profile, Model model) {
         if (result.hasErrors()) {
-            Employer employer = getEmployer(principal);
-            model.addAttribute("employerId", employer.getId());
-            model.addAttribute("companyId", employer.getCompany().getId());
+            model.addAttribute("employerId", employerId(profile));
+            model.addAttribute("companyId", profile.getCompanyId());
             return "employer/job-form";
         }
-        Employer employer = getEmployer(principal);
-        jobDTO.setEmployerId(employer.getId());
-        jobDTO.setCompanyId(employer.getCompany().getId());
+        jobDTO.setEmployerId(employerId(profile));
+        jobDTO.setCompanyId(profile.getCompanyId());
         jobService.createJob(jobDTO);
-        logger.info("Employer {} created a new job: {}", employer.getId(), jobDTO.getTitle());
+        logger.info("Employer {} created a new job: {}", profile.getEmployerId(), jobDTO.getTitle());
         return "redirect:/employer/jobs?created";
     }
 
@@ -212,14 +197,13 @@ public class EmployerController {
             @RequestParam String status,
             @RequestParam(required = false) String comment,
             @RequestParam Long jobId,
-            Principal principal) {
-        Employer employer = getEmployer(principal);
+            CurrentProfile profile) {
         ApplicationDTO updated = applicationService.updateApplicationStatus(id, status, comment);
-        logger.info("Employer {} updated application {} to status {}", employer.getId(), id, status);
+        logger.info("Employer {} updated application {} to status {}", profile.getEmployerId(), id, status);
         // Notify the seeker
         notificationService.sendNotificationToSeeker(
                 updated.getJobSeekerId(),
-                "Your application for '" + updated.getJobTitle() + "' has been updated to: " + status);
+                NotificationContent.applicationStatus(updated.getJobId(), updated.getStatus()));
         return "redirect:/employer/jobs/" + jobId + "/applicants?updated";
     }
 
@@ -235,18 +219,9 @@ public class EmployerController {
             return "redirect:/employer/jobs/" + jobId + "/applicants";
         }
 
-        applicationService.updateStatusBulk(ids, status, comment);
-
-        List<ApplicationDTO> apps = applicationService.getApplicationsByJob(jobId);
-        apps.stream().filter(a -> ids.contains(a.getId())).forEach(a -> {
-            try {
-                notificationService.sendNotificationToSeeker(
-                        a.getJobSeekerId(),
-                        "Your application for '" + a.getJobTitle() + "' has been updated to: " + status);
-            } catch (Exception e) {
-                logger.warn("Failed to send notification to seeker {}: {}", a.getJobSeekerId(), e.getMessage());
-            }
-        });
+        // Seekers are notified inside the bulk update.
+        BulkStatusResult result = applicationService.updateStatusBulk(jobId, ids, status, comment);
+        redirectAttributes.addFlashAttribute("bulkResult", result);
         return "redirect:/employer/jobs/" + jobId + "/applicants?bulk_updated";
     }
 
@@ -263,10 +238,12 @@ public class EmployerController {
     }
 
     @GetMapping("/notifications")
-    public String viewNotifications(Principal principal, Model model) {
-        User user = userService.findByEmail(principal.getName())
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-        model.addAttribute("notifications", notificationService.getNotificationsForUser(user.getId()));
+    public String viewNotifications(@RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit,
+            CurrentProfile profile, Model model) {
+        PageDTO<NotificationDTO> page = notificationService.getInbox(profile.getUserId(), cursor, limit);
+        model.addAttribute("notifications", page.getItems());
+        model.addAttribute("nextCursor", page.getNextCursor());
         return "employer/notifications";
     }
 
@@ -1,31 +1,34 @@
 package com.rev.app.controller;
 
 import com.rev.app.dto.JobDTO;
+import com.rev.app.dto.NotificationDTO;
+import com.rev.app.dto.PageDTO;
 import com.rev.app.dto.ResumeDTO;
 import com.rev.app.dto.ApplicationDTO;
+import com.rev.app.dto.CurrentProfile;
 import com.rev.app.entity.JobSeeker;
-import com.rev.app.entity.User;
+import com.rev.app.entity.NotificationContent;
 import com.rev.app.exception.DuplicateApplicationException;
 import com.rev.app.exception.ResourceNotFoundException;
 import com.rev.app.repository.JobSeekerRepository;
+import com.rev.app.search.ApplicantSearchIndex;
 import com.rev.app.service.*;
+import com.rev.app.storage.ResumeBlobStore;
+import com.rev.app.storage.ResumeFileResponder;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.ResponseEntity;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.net.MalformedURLException;
+import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.security.Principal;
 import java.util.List;
 
 @Controller
@@ -34,8 +37,10 @@ public class JobSeekerController {
 
     private static final Logger logger = LogManager.getLogger(JobSeekerController.class);
 
+    private static final int RELEVANCE_RESULT_LIMIT = 50;
+
     @Autowired
-    private UserService userService;
+    private CurrentProfileService currentProfileService;
     @Autowired
     private JobService jobService;
     @Autowired
@@ -48,52 +53,58 @@ public class JobSeekerController {
     private SavedJobService savedJobService;
     @Autowired
     private JobSeekerRepository jobSeekerRepository;
+    @Autowired
+    private ResumeBlobStore resumeBlobStore;
+    @Autowired
+    private ResumeFileResponder resumeFileResponder;
+    @Autowired
+    private ApplicantSearchIndex applicantSearchIndex;
+
+    private Long seekerId(CurrentProfile profile) {
+        if (profile.getSeekerId() == null) {
+            throw new ResourceNotFoundException("Profile not found");
+        }
+        return profile.getSeekerId();
+    }
 
-    private JobSeeker getSeeker(Principal principal) {
-        User user = userService.findByEmail(principal.getName())
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-        return jobSeekerRepository.findByUserId(user.getId())
+    private JobSeeker getSeeker(CurrentProfile profile) {
+        return jobSeekerRepository.findById(seekerId(profile))
                 .orElseThrow(() -> new ResourceNotFoundException("Profile not found"));
     }
 
     @GetMapping("/profile")
-    public String viewProfile(Principal principal, Model model) {
-        JobSeeker seeker = getSeeker(principal);
-        User user = userService.findByEmail(principal.getName())
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+    public String viewProfile(CurrentProfile profile, Model model) {
+        JobSeeker seeker = getSeeker(profile);
         model.addAttribute("seeker", seeker);
-        model.addAttribute("unreadNotificationCount", notificationService.getUnreadCount(user.getId()));
         return "seeker/profile";
     }
 
     @PostMapping("/profile")
-    public String updateProfile(@ModelAttribute JobSeeker updated, Principal principal) {
-        JobSeeker seeker = getSeeker(principal);
+    public String updateProfile(@ModelAttribute JobSeeker updated, CurrentProfile profile) {
+        JobSeeker seeker = getSeeker(profile);
         seeker.setName(updated.getName());
         seeker.setPhone(updated.getPhone());
         seeker.setLocation(updated.getLocation());
         seeker.setEmploymentStatus(updated.getEmploymentStatus());
         seeker.setExperienceYears(updated.getExperienceYears());
         jobSeekerRepository.save(seeker);
+        currentProfileService.evict(profile.getUserId());
+        applicantSearchIndex.seekerChanged(seeker.getId());
         return "redirect:/seeker/profile?updated";
     }
 
     @GetMapping("/resume")
-    public String viewResume(Principal principal, Model model) {
-        JobSeeker seeker = getSeeker(principal);
-        User user = userService.findByEmail(principal.getName())
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-        model.addAttribute("unreadNotificationCount", notificationService.getUnreadCount(user.getId()));
-        populateResumeModel(seeker, model);
+    public String viewResume(CurrentProfile profile, Model model) {
+        JobSeeker seeker = getSeeker(profile);
+        populateResumeModel(seeker.getId(), model);
         model.addAttribute("seeker", seeker);
         return "seeker/resume";
     }
 
     @GetMapping("/resume/view")
-    public String viewResumePreview(Principal principal, Model model) {
-        JobSeeker seeker = getSeeker(principal);
+    public String viewResumePreview(CurrentProfile profile, Model model) {
         try {
-            ResumeDTO resume = resumeService.getResumeBySeekerId(seeker.getId());
+            ResumeDTO resume = resumeService.getResumeBySeekerId(seekerId(profile));
             model.addAttribute("resume", resume);
         } catch (ResourceNotFoundException e) {
             return "redirect:/seeker/resume";
@@ -102,16 +113,16 @@ public class JobSeekerController {
     }
 
     @PostMapping("/resume")
-    public String saveResume(@ModelAttribute ResumeDTO resumeDTO, Principal principal, Model model) {
-        JobSeeker seeker = getSeeker(principal);
+    public String saveResume(@ModelAttribute ResumeDTO resumeDTO, CurrentProfile profile, Model model) {
+        Long seekerId = seekerId(profile);
 
         if (isResumeEmpty(resumeDTO)) {
             model.addAttribute("error", "Please fill in at least one section before saving.");
-            populateResumeModel(seeker, model);
+            populateResumeModel(seekerId, model);
             return "seeker/resume";
         }
 
-        resumeDTO.setJobSeekerId(seeker.getId());
+        resumeDTO.setJobSeekerId(seekerId);
         resumeService.createOrUpdateResume(resumeDTO);
         return "redirect:/seeker/resume?saved";
     }
@@ -132,11 +143,11 @@ public class JobSeekerController {
     @PostMapping("/resume/upload")
     public String uploadResume(@RequestParam("file") MultipartFile file,
             @RequestParam(required = false) String redirect,
-            Principal principal, Model model) {
-        JobSeeker seeker = getSeeker(principal);
+            CurrentProfile profile, Model model) {
+        Long seekerId = seekerId(profile);
         if (file.isEmpty()) {
             model.addAttribute("uploadError", "Please select a file.");
-            populateResumeModel(seeker, model);
+            populateResumeModel(seekerId, model);
             return "seeker/resume";
         }
         String contentType = file.getContentType();
@@ -145,15 +156,15 @@ public class JobSeekerController {
                         !contentType
                                 .equals("application/vnd.openxmlformats-officedocument.wordprocessingml.document"))) {
             model.addAttribute("uploadError", "Only PDF or DOCX files are allowed.");
-            populateResumeModel(seeker, model);
+            populateResumeModel(seekerId, model);
             return "seeker/resume";
         }
         try {
-            resumeService.uploadResumeFile(seeker.getId(), file);
+            resumeService.uploadResumeFile(seekerId, file);
         } catch (IOException e) {
-            logger.error("File upload error for seeker {}: {}", seeker.getId(), e.getMessage());
+            logger.error("File upload error for seeker {}: {}", seekerId, e.getMessage());
             model.addAttribute("uploadError", "Upload failed. Please try again.");
-            populateResumeModel(seeker, model);
+            populateResumeModel(seekerId, model);
             return "seeker/resume";
         }
 
@@ -164,42 +175,36 @@ public class JobSeekerController {
     }
 
     @PostMapping("/resume/delete")
-    public String deleteResumeFile(Principal principal) {
-        JobSeeker seeker = getSeeker(principal);
-        resumeService.deleteResumeFile(seeker.getId());
+    public String deleteResumeFile(CurrentProfile profile) {
+        resumeService.deleteResumeFile(seekerId(profile));
         return "redirect:/dashboard?resumeDeleted";
     }
 
-    private void populateResumeModel(JobSeeker seeker, Model model) {
+    private void populateResumeModel(Long seekerId, Model model) {
         try {
-            ResumeDTO resume = resumeService.getResumeBySeekerId(seeker.getId());
+            ResumeDTO resume = resumeService.getResumeBySeekerId(seekerId);
             model.addAttribute("resume", resume);
         } catch (ResourceNotFoundException e) {
             model.addAttribute("resume", new ResumeDTO());
         }
-        model.addAttribute("seekerId", seeker.getId());
+        model.addAttribute("seekerId", seekerId);
     }
 
     @GetMapping("/resume/download")
-    @ResponseBody
-    public ResponseEntity<Resource> downloadResume(@RequestParam Long id) {
+    public void downloadResume(@RequestParam Long id, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
         ResumeDTO resume = resumeService.getResumeBySeekerId(id);
         if (resume.getFilePath() == null || resume.getFilePath().isEmpty()) {
-            return ResponseEntity.notFound().build();
+            response.setStatus(HttpStatus.NOT_FOUND.value());
+            return;
         }
-        try {
-            Path filePath = Paths.get(resume.getFilePath());
-            Resource resource = new UrlResource(java.util.Objects.requireNonNull(filePath.toUri()));
-            if (resource.exists() && resource.isReadable()) {
-                return ResponseEntity.ok()
-                        .header(HttpHeaders.CONTENT_DISPOSITION,
-                                "attachment; filename=\"" + resume.getFileName() + "\"")
-                        .body(resource);
-            }
-        } catch (MalformedURLException e) {
-            logger.error("Resume download failed for seeker {}: {}", id, e.getMessage());
+        Path filePath = resumeBlobStore.resolve(resume.getFilePath());
+        if (!Files.isReadable(filePath)) {
+            logger.error("Resume file for seeker {} is missing: {}", id, resume.getFilePath());
+            response.setStatus(HttpStatus.NOT_FOUND.value());
+            return;
         }
-        return ResponseEntity.notFound().build();
+        resumeFileResponder.send(filePath, resume.getFilePath(), resume.getFileName(), request, response);
     }
 
     @GetMapping("/jobs")
@@ -210,14 +215,26 @@ public class JobSeekerController {
             @RequestParam(required = false) Integer minExp,
             @RequestParam(required = false) Double minSalary,
             @RequestParam(required = false) @org.springframework.format.annotation.DateTimeFormat(iso = org.springframework.format.annotation.DateTimeFormat.ISO.DATE) java.time.LocalDate startDate,
-            Principal principal,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit,
+            CurrentProfile profile,
             Model model) {
 
-        List<JobDTO> jobs = jobService.searchJobsAdvanced(keyword, location, jobType, minExp, minSalary, startDate);
+        List<JobDTO> jobs;
+        String nextCursor = null;
+        if ("relevance".equals(sort)) {
+            jobs = jobService.searchJobsByRelevance(keyword, location, jobType, minExp, minSalary, startDate,
+                    RELEVANCE_RESULT_LIMIT);
+        } else {
+            PageDTO<JobDTO> page = jobService.searchJobsAdvancedPage(keyword, location, jobType, minExp, minSalary,
+                    startDate, cursor, limit);
+            jobs = page.getItems();
+            nextCursor = page.getNextCursor();
+        }
 
-        if (principal != null) {
-            JobSeeker seeker = getSeeker(principal);
-            List<Long> appliedJobIds = applicationService.getAppliedJobIds(seeker.getId());
+        if (profile != null) {
+            List<Long> appliedJobIds = applicationService.getAppliedJobIds(seekerId(profile));
             jobs.forEach(job -> job.setIsApplied(appliedJobIds.contains(job.getId())));
         }
 
@@ -228,93 +245,89 @@ public class JobSeekerController {
         model.addAttribute("minExp", minExp);
         model.addAttribute("minSalary", minSalary);
         model.addAttribute("startDate", startDate);
+        model.addAttribute("sort", sort);
+        model.addAttribute("nextCursor", nextCursor);
 
         return "seeker/jobs";
     }
 
     @GetMapping("/jobs/{id}")
-    public String viewJob(@PathVariable Long id, Principal principal, Model model) {
+    public String viewJob(@PathVariable Long id, CurrentProfile profile, Model model) {
         model.addAttribute("job", jobService.getJobById(id));
-        JobSeeker seeker = getSeeker(principal);
+        Long seekerId = seekerId(profile);
         try {
-            ResumeDTO resume = resumeService.getResumeBySeekerId(seeker.getId());
+            ResumeDTO resume = resumeService.getResumeBySeekerId(seekerId);
             model.addAttribute("resume", resume);
         } catch (ResourceNotFoundException ignored) {
         }
-        model.addAttribute("seekerId", seeker.getId());
-        model.addAttribute("isSaved", savedJobService.isJobSaved(seeker.getId(), id));
-        model.addAttribute("isApplied", applicationService.hasApplied(seeker.getId(), id));
+        model.addAttribute("seekerId", seekerId);
+        model.addAttribute("isSaved", savedJobService.isJobSaved(seekerId, id));
+        model.addAttribute("isApplied", applicationService.hasApplied(seekerId, id));
         return "seeker/job-detail";
     }
 
     @GetMapping("/jobs/{id}/apply")
-    public String viewApplyPage(@PathVariable Long id, Principal principal, Model model) {
-        JobSeeker seeker = getSeeker(principal);
-        if (applicationService.hasApplied(seeker.getId(), id)) {
+    public String viewApplyPage(@PathVariable Long id, CurrentProfile profile, Model model) {
+        Long seekerId = seekerId(profile);
+        if (applicationService.hasApplied(seekerId, id)) {
             return "redirect:/seeker/jobs/" + id + "?alreadyApplied";
         }
         model.addAttribute("job", jobService.getJobById(id));
         try {
-            ResumeDTO resume = resumeService.getResumeBySeekerId(seeker.getId());
+            ResumeDTO resume = resumeService.getResumeBySeekerId(seekerId);
             model.addAttribute("resume", resume);
         } catch (ResourceNotFoundException ignored) {
             model.addAttribute("resume", null);
         }
-        model.addAttribute("seekerId", seeker.getId());
+        model.addAttribute("seekerId", seekerId);
         return "seeker/apply";
     }
 
     @PostMapping("/apply")
-    public String applyToJob(@ModelAttribute ApplicationDTO appDTO, Principal principal) {
-        JobSeeker seeker = getSeeker(principal);
-        appDTO.setJobSeekerId(seeker.getId());
+    public String applyToJob(@ModelAttribute ApplicationDTO appDTO, CurrentProfile profile) {
+        Long seekerId = seekerId(profile);
+        appDTO.setJobSeekerId(seekerId);
         try {
             applicationService.applyToJob(appDTO);
-            logger.info("Seeker {} applied to job {}", seeker.getId(), appDTO.getJobId());
-            notificationService.sendNotification(seeker.getUser().getId(),
-                    "You have successfully applied for Job ID: " + appDTO.getJobId());
+            logger.info("Seeker {} applied to job {}", seekerId, appDTO.getJobId());
+            notificationService.sendNotification(profile.getUserId(), NotificationContent.applied(appDTO.getJobId()));
             return "redirect:/seeker/applications?applied";
         } catch (DuplicateApplicationException e) {
-            logger.warn("Seeker {} already applied to job {}", seeker.getId(), appDTO.getJobId());
+            logger.warn("Seeker {} already applied to job {}", seekerId, appDTO.getJobId());
             return "redirect:/seeker/jobs/" + appDTO.getJobId() + "?alreadyApplied";
         }
     }
 
     @GetMapping("/applications")
-    public String viewApplications(Principal principal, Model model) {
-        JobSeeker seeker = getSeeker(principal);
-        model.addAttribute("applications", applicationService.getApplicationsBySeeker(seeker.getId()));
+    public String viewApplications(CurrentProfile profile, Model model) {
+        model.addAttribute("applications", applicationService.getApplicationsBySeeker(seekerId(profile)));
         return "seeker/applications";
     }
 
     @PostMapping("/applications/{id}/withdraw")
     public String withdrawApplication(@PathVariable Long id,
-            @RequestParam(required = false) String reason,
-            Principal principal) {
+            @RequestParam(required = false) String reason) {
         applicationService.withdrawApplication(id, reason);
         logger.info("Application {} withdrawn", id);
         return "redirect:/seeker/applications?withdrawn";
     }
 
     @GetMapping("/saved-jobs")
-    public String viewSavedJobs(Principal principal, Model model) {
-        JobSeeker seeker = getSeeker(principal);
-        model.addAttribute("savedJobs", savedJobService.getSavedJobsBySeeker(seeker.getId()));
+    public String viewSavedJobs(CurrentProfile profile, Model model) {
+        model.addAttribute("savedJobs", savedJobService.getSavedJobsBySeeker(seekerId(profile)));
         return "seeker/saved-jobs";
     }
 
     @PostMapping("/jobs/{id}/save")
-    public String saveJob(@PathVariable Long id, Principal principal) {
-        JobSeeker seeker = getSeeker(principal);
-        savedJobService.saveJob(seeker.getId(), id);
+    public String saveJob(@PathVariable Long id, CurrentProfile profile) {
+        savedJobService.saveJob(seekerId(profile), id);
         return "redirect:/seeker/jobs/" + id + "?saved";
     }
 
     @PostMapping("/jobs/{id}/unsave")
-    public String unsaveJob(@PathVariable Long id, Principal principal,
+    public String unsaveJob(@PathVariable Long id, CurrentProfile profile,
             @RequestParam(required = false) String redirect) {
-        JobSeeker seeker = getSeeker(principal);
-        savedJobService.unsaveJob(seeker.getId(), id);
+        savedJobService.unsaveJob(seekerId(profile), id);
         if ("saved".equals(redirect)) {
             return "redirect:/seeker/saved-jobs?unsaved";
         }
@@ -322,11 +335,15 @@ public class JobSeekerController {
     }
 
     @GetMapping("/notifications")
-    public String viewNotifications(Principal principal, Model model) {
-        User user = userService.findByEmail(principal.getName())
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-        model.addAttribute("notifications", notificationService.getNotificationsForUser(user.getId()));
-        notificationService.markAllRead(user.getId());
+    public String viewNotifications(@RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit,
+            CurrentProfile profile, Model model) {
+        PageDTO<NotificationDTO> page = notificationService.getInbox(profile.getUserId(), cursor, limit);
+        model.addAttribute("notifications", page.getItems());
+        model.addAttribute("nextCursor", page.getNextCursor());
+        if (cursor == null) {
+            notificationService.markAllRead(profile.getUserId());
+        }
         return "seeker/notifications";
     }
 }
@@ -1,19 +1,16 @@
 package com.rev.app.controller;
 
 import com.rev.app.dto.UserDTO;
-import com.rev.app.dto.JobDTO;
-import com.rev.app.dto.ApplicationDTO;
-import com.rev.app.entity.Application;
+import com.rev.app.dto.EmployerDashboardDTO;
+import com.rev.app.dto.SeekerDashboardDTO;
 import com.rev.app.entity.User;
 import com.rev.app.exception.ResourceNotFoundException;
 import com.rev.app.repository.JobSeekerRepository;
 import com.rev.app.repository.EmployerRepository;
 import com.rev.app.service.UserService;
-import com.rev.app.service.ApplicationService;
+import com.rev.app.service.DashboardService;
 import com.rev.app.service.JobService;
 import com.rev.app.service.ResumeService;
-import com.rev.app.service.SavedJobService;
-import com.rev.app.service.NotificationService;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -24,7 +21,6 @@ import org.springframework.web.bind.annotation.*;
 
 import javax.validation.Valid;
 import java.security.Principal;
-import java.util.List;
 
 @Controller
 public class UserController {
@@ -40,9 +36,6 @@ public class UserController {
     @Autowired
     private EmployerRepository employerRepository;
 
-    @Autowired
-    private ApplicationService applicationService;
-
     @Autowired
     private JobService jobService;
 
@@ -50,10 +43,7 @@ public class UserController {
     private ResumeService resumeService;
 
     @Autowired
-    private SavedJobService savedJobService;
-
-    @Autowired
-    private NotificationService notificationService;
+    private DashboardService dashboardService;
 
     @GetMapping("/")
     public String home() {
@@ -97,9 +87,10 @@ public class UserController {
                     .orElseThrow(() -> new ResourceNotFoundException("Job Seeker profile not found"));
             model.addAttribute("seeker", seeker);
             model.addAttribute("recommendedJobs", jobService.getRecommendedJobs(seeker.getId()));
-            model.addAttribute("applicationCount", applicationService.getApplicationsBySeeker(seeker.getId()).size());
-            model.addAttribute("savedJobCount", savedJobService.getSavedJobsBySeeker(seeker.getId()).size());
-            model.addAttribute("unreadNotificationCount", notificationService.getUnreadCount(user.getId()));
+            SeekerDashboardDTO counts = dashboardService.getSeekerDashboard(seeker.getId());
+            model.addAttribute("applicationCount", counts.getApplicationCount());
+            model.addAttribute("savedJobCount", counts.getSavedJobCount());
+            model.addAttribute("unreadNotificationCount", counts.getUnreadNotificationCount());
             try {
                 model.addAttribute("resume", resumeService.getResumeBySeekerId(seeker.getId()));
             } catch (Exception e) {
@@ -110,24 +101,13 @@ public class UserController {
             com.rev.app.entity.Employer employer = employerRepository.findByUserId(user.getId())
                     .orElseThrow(() -> new ResourceNotFoundException("Employer profile not found"));
 
-            List<JobDTO> jobs = jobService.getJobsByEmployer(employer.getId());
-            long totalJobs = jobs.size();
-            long activeJobs = jobs.stream().filter(j -> !j.getIsClosed()).count();
-
-            long totalApplications = 0;
-            long pendingReviews = 0;
-            for (JobDTO job : jobs) {
-                List<ApplicationDTO> apps = applicationService.getApplicationsByJob(job.getId());
-                totalApplications += apps.size();
-                pendingReviews += apps.stream().filter(a -> a.getStatus() == Application.ApplicationStatus.APPLIED)
-                        .count();
-            }
+            EmployerDashboardDTO stats = dashboardService.getEmployerDashboard(employer.getId());
 
             model.addAttribute("employer", employer);
-            model.addAttribute("totalJobs", totalJobs);
-            model.addAttribute("activeJobs", activeJobs);
-            model.addAttribute("totalApplications", totalApplications);
-            model.addAttribute("pendingReviews", pendingReviews);
+            model.addAttribute("totalJobs", stats.getTotalJobs());
+            model.addAttribute("activeJobs", stats.getActiveJobs());
+            model.addAttribute("totalApplications", stats.getTotalApplications());
+            model.addAttribute("pendingReviews", stats.getPendingReviews());
             return "employer/dashboard";
         }
     }
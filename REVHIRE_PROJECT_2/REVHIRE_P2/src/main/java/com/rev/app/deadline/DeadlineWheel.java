@@ -0,0 +1,227 @@
+package com.rev.app.deadline;
+
+import com.rev.app.entity.DeadlineEvent;
+import com.rev.app.entity.DeadlineEventKind;
+import com.rev.app.service.DeadlineEventService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Fires deadline events at their due time from an in-memory
+ * {@link TimingWheel}, with deadline_events as the durable record behind it.
+ *
+ * <p>The wheel holds only events due within {@code load-ahead-hours}. On
+ * startup they are read with one range scan of the due-time index, and each
+ * refill reads the slice that has since come within reach, so a restart never
+ * scans the jobs table. Jobs posted, moved or closed on this instance update
+ * the wheel directly; changes made on other instances arrive with the next
+ * refill, which also picks up events created late in the window already
+ * loaded.
+ *
+ * <p>Every instance loads and fires the same events. Firing claims the row
+ * first (see {@code DeadlineEventService#fire}), so each event is acted on
+ * once. An event whose firing failed, or which this instance missed, stays
+ * in the table and is offered again once it is {@code orphan-grace-minutes}
+ * overdue.
+ *
+ * <p>Publishes {@code revhire.deadlines.pending} and
+ * {@code revhire.deadlines.fired}.
+ */
+@Component
+public class DeadlineWheel {
+
+    private static final Logger logger = LogManager.getLogger(DeadlineWheel.class);
+
+    // Minutes, hours, days: with one-minute ticks, an eight-day horizon.
+    private static final int[] LEVELS = { 60, 24, 8 };
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    @Autowired
+    private DeadlineEventService deadlineEventService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${revhire.deadlines.tick-ms:60000}")
+    private long tickMillis = 60000L;
+
+    // Must stay inside the wheel's horizon of 8 days' worth of ticks.
+    @Value("${revhire.deadlines.load-ahead-hours:24}")
+    private long loadAheadHours = 24L;
+
+    @Value("${revhire.deadlines.orphan-grace-minutes:10}")
+    private long orphanGraceMinutes = 10L;
+
+    private volatile TimingWheel<List<Object>, DeadlineEvent> wheel;
+    private volatile LocalDateTime loadedUntil;
+    // Highest event id read from the table, to find events created late inside the loaded window.
+    private long maxLoadedId;
+
+    private Counter fired;
+
+    @PostConstruct
+    void registerMetrics() {
+        fired = Counter.builder("revhire.deadlines.fired").register(meterRegistry);
+        Gauge.builder("revhire.deadlines.pending", this, w -> w.wheel == null ? 0 : w.wheel.size())
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        try {
+            load(LocalDateTime.now());
+        } catch (RuntimeException e) {
+            // The next refill retries from scratch.
+            logger.error("Loading deadline events failed: {}", e.getMessage());
+        }
+    }
+
+    /** Starts a fresh wheel at {@code now} holding every event due before the load-ahead horizon. */
+    public synchronized void load(LocalDateTime now) {
+        wheel = new TimingWheel<>(tickMillis, LEVELS, millis(now));
+        maxLoadedId = 0L;
+        loadedUntil = now.plusHours(loadAheadHours);
+        int loaded = offerDueBefore(loadedUntil, 0L);
+        logger.info("Loaded {} deadline events due before {}", loaded, loadedUntil);
+    }
+
+    @Scheduled(fixedDelayString = "${revhire.deadlines.refill-ms:300000}",
+            initialDelayString = "${revhire.deadlines.refill-ms:300000}")
+    public void refill() {
+        try {
+            refill(LocalDateTime.now());
+        } catch (RuntimeException e) {
+            logger.error("Deadline event refill failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Loads events that have come within reach since the last load, events
+     * created meanwhile inside the loaded window, and overdue leftovers.
+     */
+    public synchronized void refill(LocalDateTime now) {
+        if (wheel == null) {
+            load(now);
+            return;
+        }
+        offerDueBefore(loadedUntil, maxLoadedId);
+        LocalDateTime until = now.plusHours(loadAheadHours);
+        long afterId = 0L;
+        List<DeadlineEvent> events;
+        do {
+            events = deadlineEventService.findDueBetween(loadedUntil, until, afterId, LOAD_BATCH_SIZE);
+            for (DeadlineEvent event : events) {
+                offer(event, until);
+                maxLoadedId = Math.max(maxLoadedId, event.getId());
+            }
+            if (!events.isEmpty()) {
+                afterId = events.get(events.size() - 1).getId();
+            }
+        } while (events.size() == LOAD_BATCH_SIZE);
+        loadedUntil = until;
+        offerDueBefore(now.minusMinutes(orphanGraceMinutes), 0L);
+    }
+
+    @Scheduled(fixedDelayString = "${revhire.deadlines.tick-ms:60000}")
+    public void tick() {
+        advance(LocalDateTime.now());
+    }
+
+    /**
+     * Fires every event due by {@code now}, each in its own transaction.
+     *
+     * @return the number of events this instance acted on
+     */
+    public int advance(LocalDateTime now) {
+        TimingWheel<List<Object>, DeadlineEvent> current = wheel;
+        if (current == null) {
+            return 0;
+        }
+        int count = 0;
+        for (DeadlineEvent event : current.advance(millis(now))) {
+            try {
+                if (deadlineEventService.fire(event, now)) {
+                    count++;
+                }
+            } catch (RuntimeException e) {
+                logger.warn("Deadline event {} ({} of job {}) failed, retried once overdue: {}", event.getId(),
+                        event.getKind(), event.getJobId(), e.getMessage());
+            }
+        }
+        fired.increment(count);
+        return count;
+    }
+
+    /** Replaces the job's timers with {@code events}, as just written for it. */
+    public void reschedule(Long jobId, List<DeadlineEvent> events) {
+        cancel(jobId);
+        LocalDateTime until = loadedUntil;
+        events.forEach(event -> offer(event, until));
+    }
+
+    public void cancel(Long jobId) {
+        TimingWheel<List<Object>, DeadlineEvent> current = wheel;
+        if (current != null) {
+            for (DeadlineEventKind kind : DeadlineEventKind.values()) {
+                current.cancel(key(jobId, kind));
+            }
+        }
+    }
+
+    public boolean isScheduled(Long jobId, DeadlineEventKind kind) {
+        TimingWheel<List<Object>, DeadlineEvent> current = wheel;
+        return current != null && current.isScheduled(key(jobId, kind));
+    }
+
+    private int offerDueBefore(LocalDateTime until, long afterId) {
+        int offered = 0;
+        List<DeadlineEvent> events;
+        do {
+            events = deadlineEventService.findDueBefore(until, afterId, LOAD_BATCH_SIZE);
+            for (DeadlineEvent event : events) {
+                offer(event, until);
+                maxLoadedId = Math.max(maxLoadedId, event.getId());
+            }
+            offered += events.size();
+            if (!events.isEmpty()) {
+                afterId = events.get(events.size() - 1).getId();
+            }
+        } while (events.size() == LOAD_BATCH_SIZE);
+        return offered;
+    }
+
+    // Events beyond the loaded window are left to the refill that reaches them.
+    private void offer(DeadlineEvent event, LocalDateTime until) {
+        TimingWheel<List<Object>, DeadlineEvent> current = wheel;
+        if (current == null || until == null || !event.getDueAt().isBefore(until)) {
+            return;
+        }
+        if (!current.schedule(key(event.getJobId(), event.getKind()), event, millis(event.getDueAt()))) {
+            logger.warn("Deadline event {} is beyond the wheel's horizon; load-ahead-hours is too large",
+                    event.getId());
+        }
+    }
+
+    private static List<Object> key(Long jobId, DeadlineEventKind kind) {
+        return Arrays.asList(jobId, kind);
+    }
+
+    private static long millis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,188 @@
+package com.rev.app.deadline;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hierarchical timing wheel: timers are hashed into buckets by due tick, so
+ * scheduling and cancelling cost O(1) whatever the number of timers, and
+ * advancing costs O(1) per tick plus the timers that fall due.
+ *
+ * <p>Level 0 has one bucket per tick. Each higher level has buckets as wide
+ * as the whole level below it; when the level below wraps, the next bucket
+ * up is emptied into it ("cascaded"), so a timer moves down at most once per
+ * level before it fires. Timers due beyond the last level's span are refused
+ * and must be offered again once they are within reach.
+ *
+ * <p>Timers are keyed: scheduling a key that is already pending moves it.
+ * Safe for concurrent use; callers should act on fired values outside any
+ * lock of their own.
+ */
+public class TimingWheel<K, V> {
+
+    private final long tickMillis;
+    private final int[] sizes;
+    // spans[i]: ticks covered by one bucket of level i.
+    private final long[] spans;
+    private final long horizonTicks;
+    private final Timer<K, V>[][] buckets;
+    private final Map<K, Timer<K, V>> timers = new HashMap<>();
+    private long currentTick;
+
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long tickMillis, int[] sizes, long startMillis) {
+        if (tickMillis <= 0 || sizes.length == 0) {
+            throw new IllegalArgumentException("A wheel needs a positive tick and at least one level");
+        }
+        this.tickMillis = tickMillis;
+        this.sizes = sizes.clone();
+        this.spans = new long[sizes.length];
+        this.buckets = new Timer[sizes.length][];
+        long span = 1;
+        for (int level = 0; level < sizes.length; level++) {
+            spans[level] = span;
+            buckets[level] = new Timer[sizes[level]];
+            span *= sizes[level];
+        }
+        this.horizonTicks = span;
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    /** The latest due time, in epoch millis, the wheel accepts right now. */
+    public synchronized long horizonMillis() {
+        return (currentTick + horizonTicks - 1) * tickMillis;
+    }
+
+    /**
+     * Schedules {@code value} under {@code key}, replacing any pending timer
+     * with that key. A due time already past fires on the next advance.
+     *
+     * @return false, leaving nothing scheduled, if the due time is beyond
+     *         {@link #horizonMillis()}
+     */
+    public synchronized boolean schedule(K key, V value, long dueMillis) {
+        long dueTick = Math.max(Math.floorDiv(dueMillis, tickMillis), currentTick + 1);
+        Timer<K, V> existing = timers.remove(key);
+        if (existing != null) {
+            unlink(existing);
+        }
+        if (dueTick - currentTick >= horizonTicks) {
+            return false;
+        }
+        Timer<K, V> timer = new Timer<>(key, value, dueTick);
+        timers.put(key, timer);
+        place(timer);
+        return true;
+    }
+
+    /** Cancels the pending timer with this key; false if there was none. */
+    public synchronized boolean cancel(K key) {
+        Timer<K, V> timer = timers.remove(key);
+        if (timer == null) {
+            return false;
+        }
+        unlink(timer);
+        return true;
+    }
+
+    public synchronized boolean isScheduled(K key) {
+        return timers.containsKey(key);
+    }
+
+    public synchronized int size() {
+        return timers.size();
+    }
+
+    /**
+     * Moves the wheel on to {@code nowMillis} and returns the values of the
+     * timers that fell due, in due order. Never moves backwards.
+     */
+    public synchronized List<V> advance(long nowMillis) {
+        long targetTick = Math.floorDiv(nowMillis, tickMillis);
+        List<V> due = new ArrayList<>();
+        while (currentTick < targetTick) {
+            currentTick++;
+            cascade(1);
+            int slot = (int) Math.floorMod(currentTick, (long) sizes[0]);
+            Timer<K, V> timer = buckets[0][slot];
+            buckets[0][slot] = null;
+            while (timer != null) {
+                Timer<K, V> next = timer.next;
+                timers.remove(timer.key);
+                due.add(timer.value);
+                timer = next;
+            }
+            if (timers.isEmpty()) {
+                // Nothing left to fire on the way: skip straight to the target.
+                currentTick = targetTick;
+            }
+        }
+        return due;
+    }
+
+    // Empties the bucket of this level that the tick has just reached, once the level below has wrapped.
+    private void cascade(int level) {
+        if (level >= sizes.length || Math.floorMod(currentTick, spans[level]) != 0) {
+            return;
+        }
+        cascade(level + 1);
+        int slot = (int) Math.floorMod(currentTick / spans[level], (long) sizes[level]);
+        Timer<K, V> timer = buckets[level][slot];
+        buckets[level][slot] = null;
+        while (timer != null) {
+            Timer<K, V> next = timer.next;
+            timer.prev = null;
+            timer.next = null;
+            place(timer);
+            timer = next;
+        }
+    }
+
+    private void place(Timer<K, V> timer) {
+        long delta = timer.dueTick - currentTick;
+        int level = 0;
+        while (level < sizes.length - 1 && delta >= spans[level + 1]) {
+            level++;
+        }
+        int slot = (int) Math.floorMod(timer.dueTick / spans[level], (long) sizes[level]);
+        timer.level = level;
+        timer.slot = slot;
+        timer.prev = null;
+        timer.next = buckets[level][slot];
+        if (timer.next != null) {
+            timer.next.prev = timer;
+        }
+        buckets[level][slot] = timer;
+    }
+
+    private void unlink(Timer<K, V> timer) {
+        if (timer.prev != null) {
+            timer.prev.next = timer.next;
+        } else {
+            buckets[timer.level][timer.slot] = timer.next;
+        }
+        if (timer.next != null) {
+            timer.next.prev = timer.prev;
+        }
+        timer.prev = null;
+        timer.next = null;
+    }
+
+    private static final class Timer<K, V> {
+        private final K key;
+        private final V value;
+        private final long dueTick;
+        private int level;
+        private int slot;
+        private Timer<K, V> prev;
+        private Timer<K, V> next;
+
+        private Timer(K key, V value, long dueTick) {
+            this.key = key;
+            this.value = value;
+            this.dueTick = dueTick;
+        }
+    }
+}
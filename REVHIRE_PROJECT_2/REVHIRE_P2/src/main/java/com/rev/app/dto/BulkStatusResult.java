@@ -0,0 +1,22 @@
+package com.rev.app.dto;
+
+import com.rev.app.entity.Application;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of a bulk status change: of the {@code requested} distinct ids,
+ * {@code updated} moved to the new status, {@code unchanged} already had it
+ * and {@code notFound} do not exist or belong to another job.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkStatusResult {
+    private Application.ApplicationStatus status;
+    private int requested;
+    private int updated;
+    private int unchanged;
+    private int notFound;
+}
@@ -0,0 +1,18 @@
+package com.rev.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of reconciling one id-ordered batch of dashboard counter rows.
+ * {@code lastId} is the cursor for the next batch and null once there are no
+ * more owners to check.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CounterReconcileBatch {
+    private Long lastId;
+    private int repaired;
+}
@@ -0,0 +1,23 @@
+package com.rev.app.dto;
+
+import com.rev.app.entity.User;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Ids of the signed-in user and their employer or seeker profile, resolved once
+ * from the principal. {@code employerId}/{@code companyId} are null for seekers
+ * and {@code seekerId} is null for employers.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CurrentProfile {
+    private Long userId;
+    private String email;
+    private User.Role role;
+    private Long employerId;
+    private Long companyId;
+    private Long seekerId;
+}
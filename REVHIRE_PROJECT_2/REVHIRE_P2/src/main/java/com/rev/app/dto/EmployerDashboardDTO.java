@@ -0,0 +1,17 @@
+package com.rev.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployerDashboardDTO {
+    private long totalJobs;
+    private long activeJobs;
+    private long closedJobs;
+    private long filledJobs;
+    private long totalApplications;
+    private long pendingReviews;
+}
@@ -0,0 +1,21 @@
+package com.rev.app.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+public class JobStatsDTO {
+    private long totalJobs;
+    private long activeJobs;
+    private long closedJobs;
+    private long filledJobs;
+
+    // SUM(...) over no rows is NULL, so the JPQL constructor expression passes boxed values.
+    public JobStatsDTO(Long totalJobs, Long activeJobs, Long closedJobs, Long filledJobs) {
+        this.totalJobs = totalJobs != null ? totalJobs : 0L;
+        this.activeJobs = activeJobs != null ? activeJobs : 0L;
+        this.closedJobs = closedJobs != null ? closedJobs : 0L;
+        this.filledJobs = filledJobs != null ? filledJobs : 0L;
+    }
+}
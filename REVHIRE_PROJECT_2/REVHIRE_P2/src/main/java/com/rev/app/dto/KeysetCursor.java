@@ -0,0 +1,41 @@
+package com.rev.app.dto;
+
+import com.rev.app.exception.InvalidCursorException;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque pagination cursor: the sort key and id of the last row on a page,
+ * URL-safe Base64 encoded so clients treat it as a token.
+ */
+@Data
+@AllArgsConstructor
+public class KeysetCursor {
+    private String key;
+    private Long id;
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((key + "|" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String encode(Object key, Long id) {
+        return new KeysetCursor(String.valueOf(key), id).encode();
+    }
+
+    public static KeysetCursor decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new KeysetCursor(raw.substring(0, separator), Long.valueOf(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | StringIndexOutOfBoundsException e) {
+            throw new InvalidCursorException("Invalid cursor");
+        }
+    }
+}
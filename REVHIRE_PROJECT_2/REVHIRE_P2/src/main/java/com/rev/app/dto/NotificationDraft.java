@@ -0,0 +1,17 @@
+package com.rev.app.dto;
+
+import com.rev.app.entity.NotificationContent;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/** A notification about to be inserted, standing for {@code occurrences} outbox events. */
+@Data
+@AllArgsConstructor
+public class NotificationDraft {
+    private Long userId;
+    private NotificationContent content;
+    private LocalDateTime createdAt;
+    private int occurrences;
+}
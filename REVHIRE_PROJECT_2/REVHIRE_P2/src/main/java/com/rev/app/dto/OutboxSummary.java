@@ -0,0 +1,21 @@
+package com.rev.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Notification outbox backlog: events still to deliver, when the oldest of
+ * them was appended (null if none), and events parked after using up their
+ * attempts.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxSummary {
+    private long pending;
+    private LocalDateTime oldestPendingAt;
+    private long parked;
+}
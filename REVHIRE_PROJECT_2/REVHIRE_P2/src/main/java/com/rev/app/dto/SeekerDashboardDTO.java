@@ -0,0 +1,19 @@
+package com.rev.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeekerDashboardDTO {
+    private long applicationCount;
+    private long appliedCount;
+    private long underReviewCount;
+    private long shortlistedCount;
+    private long rejectedCount;
+    private long withdrawnCount;
+    private long savedJobCount;
+    private long unreadNotificationCount;
+}
@@ -0,0 +1,71 @@
+package com.rev.app.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Embeddable;
+
+/**
+ * Application counts broken down by {@link Application.ApplicationStatus}.
+ */
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApplicationCounts {
+
+    @Column(nullable = false)
+    private long applied;
+
+    @Column(nullable = false)
+    private long underReview;
+
+    @Column(nullable = false)
+    private long shortlisted;
+
+    @Column(nullable = false)
+    private long rejected;
+
+    @Column(nullable = false)
+    private long withdrawn;
+
+    public long total() {
+        return applied + underReview + shortlisted + rejected + withdrawn;
+    }
+
+    public long get(Application.ApplicationStatus status) {
+        switch (status) {
+            case APPLIED:
+                return applied;
+            case UNDER_REVIEW:
+                return underReview;
+            case SHORTLISTED:
+                return shortlisted;
+            case REJECTED:
+                return rejected;
+            default:
+                return withdrawn;
+        }
+    }
+
+    public void add(Application.ApplicationStatus status, long delta) {
+        switch (status) {
+            case APPLIED:
+                applied += delta;
+                break;
+            case UNDER_REVIEW:
+                underReview += delta;
+                break;
+            case SHORTLISTED:
+                shortlisted += delta;
+                break;
+            case REJECTED:
+                rejected += delta;
+                break;
+            default:
+                withdrawn += delta;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.rev.app.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * A pending deadline event of an open job, the durable side of
+ * {@link com.rev.app.deadline.DeadlineWheel}. A row lives from when the job
+ * is posted (or its deadline moves) until the event fires or the job closes;
+ * firing deletes it, so whichever instance deletes it is the one that acts.
+ */
+@Entity
+@Table(name = "deadline_events",
+        uniqueConstraints = @UniqueConstraint(name = "uk_deadline_events_job_kind", columnNames = { "jobId", "kind" }),
+        indexes = @Index(name = "idx_deadline_events_due", columnList = "dueAt, id"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeadlineEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long jobId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 24)
+    private DeadlineEventKind kind;
+
+    @Column(nullable = false)
+    private LocalDateTime dueAt;
+
+    public DeadlineEvent(Long jobId, DeadlineEventKind kind, LocalDateTime dueAt) {
+        this.jobId = jobId;
+        this.kind = kind;
+        this.dueAt = dueAt;
+    }
+}
@@ -0,0 +1,24 @@
+package com.rev.app.entity;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/** What happens around a job's deadline, and when relative to it. */
+public enum DeadlineEventKind {
+    /** The employer is reminded two days ahead. */
+    EXPIRY_REMINDER(-2),
+    /** Seekers who saved the job hear it closes tomorrow. */
+    SAVED_JOB_CLOSING(-1),
+    /** The job closes once its deadline day is over. */
+    CLOSE(1);
+
+    private final int daysFromDeadline;
+
+    DeadlineEventKind(int daysFromDeadline) {
+        this.daysFromDeadline = daysFromDeadline;
+    }
+
+    public LocalDateTime dueAt(LocalDate deadline) {
+        return deadline.plusDays(daysFromDeadline).atStartOfDay();
+    }
+}
@@ -0,0 +1,41 @@
+package com.rev.app.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+
+/**
+ * Dashboard counters for one employer, kept up to date on every job and
+ * application write and checked periodically by the counter reconciler.
+ */
+@Entity
+@Table(name = "employer_stats")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployerStats {
+
+    @Id
+    private Long employerId;
+
+    @Column(nullable = false)
+    private long totalJobs;
+
+    @Column(nullable = false)
+    private long activeJobs;
+
+    @Column(nullable = false)
+    private long closedJobs;
+
+    @Column(nullable = false)
+    private long filledJobs;
+
+    @Embedded
+    private ApplicationCounts applications = new ApplicationCounts();
+
+    public EmployerStats(Long employerId) {
+        this.employerId = employerId;
+    }
+}
@@ -6,9 +6,13 @@ import lombok.NoArgsConstructor;
 
 import javax.persistence.*;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "jobs")
+// The first index serves the expiry scheduler's sweep, the second the match fan-out backfill.
+@Table(name = "jobs", indexes = {
+        @Index(name = "idx_jobs_open_deadline", columnList = "isClosed, deadline, id"),
+        @Index(name = "idx_jobs_match_pending", columnList = "matchPending, id") })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -61,4 +65,10 @@ public class Job {
     private java.util.List<SavedJob> savedJobs;
 
     private LocalDate postedDate = LocalDate.now();
+
+    // True from posting until a match fan-out finishes; null on jobs posted before it was tracked.
+    private Boolean matchPending;
+
+    // When the running match fan-out last claimed or renewed its lease; null while none is running.
+    private LocalDateTime matchClaimedAt;
 }
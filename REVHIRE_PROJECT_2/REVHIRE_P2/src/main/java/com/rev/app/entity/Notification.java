@@ -8,7 +8,9 @@ import javax.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = {
+        @Index(name = "idx_notifications_user_created", columnList = "user_id, createdAt, id"),
+        @Index(name = "idx_notifications_user_unread", columnList = "user_id, isRead, id") })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -18,12 +20,15 @@ public class Notification {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
-    @Column(nullable = false)
-    private String message;
+    @Embedded
+    private NotificationContent content;
+
+    // How many events a digest stands for; null on rows written before digests, meaning one.
+    private Integer occurrences = 1;
 
     @Column(nullable = false)
     private Boolean isRead = false;
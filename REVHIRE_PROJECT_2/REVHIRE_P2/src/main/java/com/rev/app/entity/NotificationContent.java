@@ -0,0 +1,68 @@
+package com.rev.app.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+
+/**
+ * What a notification says: a template and the ids it refers to, rather than
+ * the rendered sentence. {@code text} holds free text only, such as a
+ * withdrawal reason or a {@link NotificationTemplate#TEXT} message; rows
+ * written before templates existed have it and no template until
+ * {@link com.rev.app.scheduler.NotificationTemplateMigration} converts them.
+ */
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationContent {
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 24)
+    private NotificationTemplate template;
+
+    private Long jobId;
+
+    private Long seekerId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private Application.ApplicationStatus status;
+
+    @Column(name = "message")
+    private String text;
+
+    public static NotificationContent text(String text) {
+        return new NotificationContent(NotificationTemplate.TEXT, null, null, null, text);
+    }
+
+    public static NotificationContent jobMatch(Long jobId) {
+        return new NotificationContent(NotificationTemplate.JOB_MATCH, jobId, null, null, null);
+    }
+
+    public static NotificationContent jobExpiring(Long jobId) {
+        return new NotificationContent(NotificationTemplate.JOB_EXPIRING, jobId, null, null, null);
+    }
+
+    public static NotificationContent savedJobClosing(Long jobId) {
+        return new NotificationContent(NotificationTemplate.SAVED_JOB_CLOSING, jobId, null, null, null);
+    }
+
+    public static NotificationContent applied(Long jobId) {
+        return new NotificationContent(NotificationTemplate.APPLIED, jobId, null, null, null);
+    }
+
+    public static NotificationContent applicationReceived(Long jobId, Long seekerId) {
+        return new NotificationContent(NotificationTemplate.APPLICATION_RECEIVED, jobId, seekerId, null, null);
+    }
+
+    public static NotificationContent applicationStatus(Long jobId, Application.ApplicationStatus status) {
+        return new NotificationContent(NotificationTemplate.APPLICATION_STATUS, jobId, null, status, null);
+    }
+
+    public static NotificationContent applicationWithdrawn(Long jobId, Long seekerId, String reason) {
+        return new NotificationContent(NotificationTemplate.APPLICATION_WITHDRAWN, jobId, seekerId, null, reason);
+    }
+}
@@ -0,0 +1,51 @@
+package com.rev.app.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * A notification waiting to be written to a user's inbox. Business
+ * transactions append these rows instead of writing {@link Notification}s
+ * directly; {@link com.rev.app.notification.NotificationOutboxDispatcher}
+ * turns them into notifications in batches and deletes them.
+ */
+@Entity
+@Table(name = "notification_outbox",
+        indexes = @Index(name = "idx_notification_outbox_due", columnList = "nextAttemptAt"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationOutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Plain id rather than an association, so appending never loads the user.
+    @Column(nullable = false)
+    private Long userId;
+
+    @Embedded
+    private NotificationContent content;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt = createdAt;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(length = 500)
+    private String lastError;
+
+    public NotificationOutboxEvent(Long userId, NotificationContent content) {
+        this.userId = userId;
+        this.content = content;
+    }
+}
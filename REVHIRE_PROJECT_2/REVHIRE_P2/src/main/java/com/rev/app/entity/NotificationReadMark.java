@@ -0,0 +1,27 @@
+package com.rev.app.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+
+/**
+ * How far a user has read their notifications: every notification with an id
+ * up to {@code readUpToId} counts as read, whatever its own {@code isRead}
+ * flag says. Marking all as read moves this one row instead of updating every
+ * notification.
+ */
+@Entity
+@Table(name = "notification_read_marks")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationReadMark {
+
+    @Id
+    private Long userId;
+
+    @Column(nullable = false)
+    private Long readUpToId;
+}
@@ -0,0 +1,33 @@
+package com.rev.app.entity;
+
+/**
+ * The kinds of notification the application sends. A notification stores its
+ * template and parameters; the text is rendered when it is read, see
+ * {@link com.rev.app.notification.NotificationRenderer}.
+ */
+public enum NotificationTemplate {
+    /** Free text, kept as written. */
+    TEXT(false),
+    JOB_MATCH(false),
+    JOB_EXPIRING(false),
+    APPLIED(false),
+    /** Coalesced per employer and job: a burst of applications reads as one digest. */
+    APPLICATION_RECEIVED(true),
+    APPLICATION_STATUS(false),
+    APPLICATION_WITHDRAWN(false),
+    SAVED_JOB_CLOSING(false);
+
+    private final boolean coalesced;
+
+    NotificationTemplate(boolean coalesced) {
+        this.coalesced = coalesced;
+    }
+
+    /**
+     * Whether notifications of this kind for the same recipient and job fold
+     * into one digest row instead of one row each.
+     */
+    public boolean isCoalesced() {
+        return coalesced;
+    }
+}
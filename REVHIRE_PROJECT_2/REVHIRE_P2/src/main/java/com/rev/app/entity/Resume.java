@@ -7,7 +7,7 @@ import lombok.NoArgsConstructor;
 import javax.persistence.*;
 
 @Entity
-@Table(name = "resumes")
+@Table(name = "resumes", indexes = @Index(name = "idx_resumes_file_path", columnList = "filePath"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -39,6 +39,7 @@ public class Resume {
     @Column(length = 1000)
     private String certifications;
 
+    // SHA-256 of the uploaded file in ResumeBlobStore; older rows hold a file path.
     private String filePath;
     private String fileName;
 }
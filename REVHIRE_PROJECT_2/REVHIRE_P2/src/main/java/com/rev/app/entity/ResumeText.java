@@ -0,0 +1,30 @@
+package com.rev.app.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+
+/**
+ * Plain text pulled out of a seeker's uploaded resume file, normalized for
+ * applicant search. Kept apart from {@link Resume} so loading a resume never
+ * drags the text along.
+ */
+@Entity
+@Table(name = "resume_texts")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResumeText {
+
+    @Id
+    private Long resumeId;
+
+    // The Resume.filePath the text came from; a re-upload makes the row stale until re-extracted.
+    @Column(nullable = false)
+    private String filePath;
+
+    @Lob
+    private String text;
+}
@@ -0,0 +1,32 @@
+package com.rev.app.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.LocalDate;
+
+/**
+ * How far a scheduled walk over a table has got: every day up to
+ * {@code completedThrough} is done, and the day after it is done up to and
+ * including the row with id {@code lastId} (0 when not started). A walk in
+ * id order alone keeps the day it last moved in {@code completedThrough}.
+ */
+@Entity
+@Table(name = "scheduler_checkpoints")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SchedulerCheckpoint {
+
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    @Column(nullable = false)
+    private LocalDate completedThrough;
+
+    @Column(nullable = false)
+    private Long lastId;
+}
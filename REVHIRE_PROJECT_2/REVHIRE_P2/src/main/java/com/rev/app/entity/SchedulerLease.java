@@ -0,0 +1,31 @@
+package com.rev.app.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * A named, time-limited claim on a cluster-wide job, so only one instance
+ * runs it at a time. An instance holds the lease while {@code expiresAt} is
+ * in the future; once it passes, any instance may take it over.
+ */
+@Entity
+@Table(name = "scheduler_leases")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SchedulerLease {
+
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    @Column(nullable = false, length = 128)
+    private String owner;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+}
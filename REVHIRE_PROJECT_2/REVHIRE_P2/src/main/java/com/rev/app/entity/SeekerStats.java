@@ -0,0 +1,41 @@
+package com.rev.app.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+
+/**
+ * Dashboard counters for one job seeker, kept up to date on every
+ * application, saved job and notification write and checked periodically by
+ * the counter reconciler.
+ */
+@Entity
+@Table(name = "seeker_stats")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeekerStats {
+
+    @Id
+    private Long seekerId;
+
+    // Notifications are addressed to users, so unread counts are adjusted by user id.
+    @Column(nullable = false, unique = true)
+    private Long userId;
+
+    @Embedded
+    private ApplicationCounts applications = new ApplicationCounts();
+
+    @Column(nullable = false)
+    private long savedJobs;
+
+    @Column(nullable = false)
+    private long unreadNotifications;
+
+    public SeekerStats(Long seekerId, Long userId) {
+        this.seekerId = seekerId;
+        this.userId = userId;
+    }
+}
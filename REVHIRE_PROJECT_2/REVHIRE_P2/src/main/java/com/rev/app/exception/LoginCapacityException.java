@@ -0,0 +1,13 @@
+package com.rev.app.exception;
+
+import org.springframework.security.authentication.AuthenticationServiceException;
+
+/**
+ * Thrown when password verification is refused because the login pool is
+ * saturated. Surfaces as a failed form login or a 503 from the login API.
+ */
+public class LoginCapacityException extends AuthenticationServiceException {
+    public LoginCapacityException(String message) {
+        super(message);
+    }
+}
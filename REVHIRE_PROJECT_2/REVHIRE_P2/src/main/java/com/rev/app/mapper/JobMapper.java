@@ -6,6 +6,7 @@ import com.rev.app.dto.JobDTO;
 import com.rev.app.entity.Company;
 import com.rev.app.entity.Employer;
 import com.rev.app.entity.Job;
+import com.rev.app.search.JobSearchDocument;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -61,6 +62,22 @@ public class JobMapper {
         return job;
     }
 
+    public JobSearchDocument toSearchDocument(Job job) {
+        if (job == null)
+            return null;
+        return new JobSearchDocument(
+                job.getId(),
+                job.getTitle(),
+                job.getSkillsRequired(),
+                job.getDescription(),
+                job.getCompany() != null ? job.getCompany().getName() : null,
+                job.getLocation(),
+                job.getJobType(),
+                job.getExperienceRequired(),
+                job.getSalaryRange(),
+                job.getPostedDate());
+    }
+
     public CompanyDTO toCompanyDTO(Company company) {
         if (company == null)
             return null;
@@ -7,13 +7,13 @@ import org.springframework.stereotype.Component;
 @Component
 public class NotificationMapper {
 
-    public NotificationDTO toNotificationDTO(Notification notification) {
+    public NotificationDTO toNotificationDTO(Notification notification, String message) {
         if (notification == null)
             return null;
         NotificationDTO dto = new NotificationDTO();
         dto.setId(notification.getId());
         dto.setUserId(notification.getUser().getId());
-        dto.setMessage(notification.getMessage());
+        dto.setMessage(message);
         dto.setIsRead(notification.getIsRead());
         dto.setCreatedAt(notification.getCreatedAt());
         return dto;
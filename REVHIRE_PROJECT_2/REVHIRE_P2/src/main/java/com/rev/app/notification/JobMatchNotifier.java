@@ -0,0 +1,217 @@
+package com.rev.app.notification;
+
+import com.rev.app.entity.NotificationContent;
+import com.rev.app.repository.JobRepository;
+import com.rev.app.repository.JobSeekerRepository;
+import com.rev.app.search.SeekerSkills;
+import com.rev.app.search.SkillIndex;
+import com.rev.app.service.NotificationService;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+/**
+ * Notifies job seekers whose resume skills overlap a newly posted job. Once
+ * the posting transaction has committed, the fan-out is queued on the
+ * notification executor; if the queue is full it is left to
+ * {@code JobMatchBackfill}, since the job stays marked as pending until a
+ * fan-out finishes. Matching seekers come from the {@link SkillIndex}
+ * posting lists, or, while the index is warming, from id-ordered chunks of
+ * resume skills; each chunk of notifications is written with one JDBC batch
+ * insert.
+ *
+ * <p>A fan-out runs under a lease on the job, taken in a transaction of its
+ * own and renewed by each chunk's transaction. The job is only marked done
+ * after the last chunk, so a fan-out cut short by a failure or a restart is
+ * run again by the backfill once its lease expires; seekers it had already
+ * reached may then be notified twice.
+ */
+@Component
+public class JobMatchNotifier {
+
+    private static final Logger logger = LogManager.getLogger(JobMatchNotifier.class);
+
+    static final int CHUNK_SIZE = 1000;
+
+    @Autowired
+    private JobSeekerRepository jobSeekerRepository;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private SkillIndex skillIndex;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    @Qualifier("notificationExecutor")
+    private Executor notificationExecutor;
+
+    // Must outlast the slowest chunk; a longer gap is taken for a dead fan-out.
+    @Value("${revhire.notifications.match-lease-minutes:10}")
+    private long leaseMinutes = 10L;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onJobPosted(JobPostedEvent event) {
+        submit(event.getJobId(), event.getSkillsRequired());
+    }
+
+    /**
+     * Queues the job's match fan-out without blocking.
+     *
+     * @return false if the queue is full; the backfill retries the job later
+     */
+    public boolean submit(Long jobId, String skillsRequired) {
+        try {
+            notificationExecutor.execute(() -> notifyMatches(jobId, skillsRequired));
+            return true;
+        } catch (TaskRejectedException e) {
+            logger.debug("Notification queue full, job {} left for the match backfill", jobId);
+            return false;
+        }
+    }
+
+    /** Claims taken before this are presumed abandoned by a fan-out that died. */
+    public LocalDateTime leaseExpiredBefore() {
+        return LocalDateTime.now().minusMinutes(leaseMinutes);
+    }
+
+    void notifyMatches(Long jobId, String skillsRequired) {
+        FanOut fanOut = new FanOut(jobId);
+        // Already done, or running in another task or instance.
+        if (!fanOut.claim()) {
+            return;
+        }
+        Set<String> jobSkills = new HashSet<>(SkillIndex.normalize(skillsRequired));
+        if (!jobSkills.isEmpty()) {
+            NotificationContent content = NotificationContent.jobMatch(jobId);
+            long start = System.currentTimeMillis();
+            int notified = skillIndex.isReady()
+                    ? notifyFromIndex(fanOut, skillsRequired, content)
+                    : notifyByScanning(fanOut, jobSkills, content);
+            if (notified < 0) {
+                logger.warn("Match fan-out for job {} lost its lease and was left to its new holder", jobId);
+                return;
+            }
+            logger.info("Job {} matched {} seekers in {} ms", jobId, notified, System.currentTimeMillis() - start);
+        }
+        fanOut.complete();
+    }
+
+    // Candidates come straight from the skill posting lists. -1 if the lease was lost.
+    private int notifyFromIndex(FanOut fanOut, String skillsRequired, NotificationContent content) {
+        List<Long> userIds = skillIndex.usersMatchingSkills(skillsRequired);
+        for (int from = 0; from < userIds.size(); from += CHUNK_SIZE) {
+            if (!fanOut.send(userIds.subList(from, Math.min(userIds.size(), from + CHUNK_SIZE)), content)) {
+                return -1;
+            }
+        }
+        return userIds.size();
+    }
+
+    // Index still warming: stream resume skills from the database instead. -1 if the lease was lost.
+    private int notifyByScanning(FanOut fanOut, Set<String> jobSkills, NotificationContent content) {
+        int notified = 0;
+        long afterId = 0L;
+        List<SeekerSkills> chunk;
+        do {
+            chunk = jobSeekerRepository.findSeekerSkills(afterId, PageRequest.of(0, CHUNK_SIZE));
+            List<Long> userIds = new ArrayList<>();
+            for (SeekerSkills seeker : chunk) {
+                if (matches(jobSkills, seeker.getSkills())) {
+                    userIds.add(seeker.getUserId());
+                }
+            }
+            if (!userIds.isEmpty()) {
+                if (!fanOut.send(userIds, content)) {
+                    return -1;
+                }
+                notified += userIds.size();
+            }
+            if (!chunk.isEmpty()) {
+                afterId = chunk.get(chunk.size() - 1).getSeekerId();
+            }
+        } while (chunk.size() == CHUNK_SIZE);
+        return notified;
+    }
+
+    /** One job's fan-out, holding the lease it last took or renewed. */
+    private final class FanOut {
+
+        private final Long jobId;
+        private LocalDateTime claimedAt;
+
+        FanOut(Long jobId) {
+            this.jobId = jobId;
+        }
+
+        boolean claim() {
+            LocalDateTime now = now();
+            Integer claimed = inNewTransaction().execute(
+                    status -> jobRepository.claimMatchFanOut(jobId, now, leaseExpiredBefore()));
+            claimedAt = now;
+            return claimed != null && claimed == 1;
+        }
+
+        // Renews the lease in the chunk's transaction; false, writing nothing, once it has been taken over.
+        boolean send(List<Long> userIds, NotificationContent content) {
+            LocalDateTime now = now();
+            Boolean held = inNewTransaction().execute(status -> {
+                if (jobRepository.renewMatchFanOut(jobId, claimedAt, now) != 1) {
+                    return false;
+                }
+                notificationService.sendNotifications(userIds, content);
+                return true;
+            });
+            claimedAt = now;
+            return Boolean.TRUE.equals(held);
+        }
+
+        void complete() {
+            inNewTransaction().execute(status -> jobRepository.completeMatchFanOut(jobId, claimedAt));
+        }
+    }
+
+    // Milliseconds only, so the lease compares equal after a round trip through any TIMESTAMP column.
+    private static LocalDateTime now() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+    }
+
+    private TransactionTemplate inNewTransaction() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return template;
+    }
+
+    private boolean matches(Set<String> jobSkills, String seekerSkills) {
+        for (String skill : SkillIndex.normalize(seekerSkills)) {
+            if (jobSkills.contains(skill)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,16 @@
+package com.rev.app.notification;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Published when a job is created. Carries what the match fan-out needs, the
+ * job's id for the templated notification and the skills to match on, so the
+ * listener never has to reload the Job.
+ */
+@Data
+@AllArgsConstructor
+public class JobPostedEvent {
+    private Long jobId;
+    private String skillsRequired;
+}
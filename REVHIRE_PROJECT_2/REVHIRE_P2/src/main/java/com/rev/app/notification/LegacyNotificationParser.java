@@ -0,0 +1,133 @@
+package com.rev.app.notification;
+
+import com.rev.app.entity.Application;
+import com.rev.app.entity.NotificationContent;
+import com.rev.app.repository.ApplicationRepository;
+import com.rev.app.repository.JobRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Recovers the template and parameters of a notification stored as rendered
+ * text, by matching it against the sentences the application used to build.
+ * Titles and names in the text are resolved back to ids among the jobs and
+ * applications the recipient is connected to; anything that does not match
+ * exactly one is kept as {@link com.rev.app.entity.NotificationTemplate#TEXT}.
+ * A {@link Batch} remembers its lookups and is meant for one thread.
+ */
+@Component
+public class LegacyNotificationParser {
+
+    private static final Pattern JOB_MATCH = Pattern.compile("New Job Match: (.+) at (.+)");
+    private static final Pattern JOB_EXPIRING = Pattern.compile(
+            "Reminder: Your job posting '(.+)' will expire in 2 days \\(on \\d{4}-\\d{2}-\\d{2}\\)\\.");
+    private static final Pattern APPLIED = Pattern.compile("You have successfully applied for Job ID: (\\d+)");
+    private static final Pattern APPLICATION_RECEIVED = Pattern.compile(
+            "New application received from (.+) for '(.+)'");
+    private static final Pattern APPLICATION_STATUS = Pattern.compile(
+            "Your application for '(.+)' has been updated to: ([A-Z_]+)");
+    private static final Pattern APPLICATION_WITHDRAWN = Pattern.compile(
+            "Applicant (.+) has withdrawn their application for '(.+?)'(?:: (.*))?", Pattern.DOTALL);
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private ApplicationRepository applicationRepository;
+
+    /** Starts a batch; repeated titles within it are looked up once. */
+    public Batch batch() {
+        return new Batch();
+    }
+
+    public class Batch {
+
+        private final Map<List<Object>, Long> lookups = new HashMap<>();
+
+        Batch() {
+        }
+
+        public NotificationContent parse(Long userId, String message) {
+            NotificationContent content = message != null ? match(userId, message) : null;
+            return content != null ? content : NotificationContent.text(message);
+        }
+
+        private NotificationContent match(Long userId, String message) {
+            Matcher m = JOB_MATCH.matcher(message);
+            if (m.matches()) {
+                Long jobId = lookup(() -> jobRepository.findIdsByTitleAndCompanyName(m.group(1), m.group(2)),
+                        "match", m.group(1), m.group(2));
+                return jobId != null ? NotificationContent.jobMatch(jobId) : null;
+            }
+            Matcher expiring = JOB_EXPIRING.matcher(message);
+            if (expiring.matches()) {
+                Long jobId = employerJob(userId, expiring.group(1));
+                return jobId != null ? NotificationContent.jobExpiring(jobId) : null;
+            }
+            Matcher applied = APPLIED.matcher(message);
+            if (applied.matches()) {
+                return NotificationContent.applied(Long.valueOf(applied.group(1)));
+            }
+            Matcher received = APPLICATION_RECEIVED.matcher(message);
+            if (received.matches()) {
+                Long jobId = employerJob(userId, received.group(2));
+                Long seekerId = jobId != null ? applicant(jobId, received.group(1)) : null;
+                return seekerId != null ? NotificationContent.applicationReceived(jobId, seekerId) : null;
+            }
+            Matcher status = APPLICATION_STATUS.matcher(message);
+            if (status.matches()) {
+                Long jobId = lookup(() -> applicationRepository.findJobIdsBySeekerUserIdAndJobTitle(userId,
+                        status.group(1)), "applied", userId, status.group(1));
+                Application.ApplicationStatus value = statusOf(status.group(2));
+                return jobId != null && value != null ? NotificationContent.applicationStatus(jobId, value) : null;
+            }
+            Matcher withdrawn = APPLICATION_WITHDRAWN.matcher(message);
+            if (withdrawn.matches()) {
+                Long jobId = employerJob(userId, withdrawn.group(2));
+                Long seekerId = jobId != null ? applicant(jobId, withdrawn.group(1)) : null;
+                return seekerId != null
+                        ? NotificationContent.applicationWithdrawn(jobId, seekerId, withdrawn.group(3))
+                        : null;
+            }
+            return null;
+        }
+
+        private Long employerJob(Long userId, String title) {
+            return lookup(() -> jobRepository.findIdsByEmployerUserIdAndTitle(userId, title), "posted", userId,
+                    title);
+        }
+
+        private Long applicant(Long jobId, String name) {
+            return lookup(() -> applicationRepository.findSeekerIdsByJobIdAndSeekerName(jobId, name), "applicant",
+                    jobId, name);
+        }
+
+        // The single id the query finds, or null when it finds none or several.
+        private Long lookup(Supplier<List<Long>> query, Object... key) {
+            List<Object> cacheKey = Arrays.asList(key);
+            if (lookups.containsKey(cacheKey)) {
+                return lookups.get(cacheKey);
+            }
+            List<Long> ids = query.get();
+            Long id = ids.size() == 1 ? ids.get(0) : null;
+            lookups.put(cacheKey, id);
+            return id;
+        }
+    }
+
+    private static Application.ApplicationStatus statusOf(String name) {
+        try {
+            return Application.ApplicationStatus.valueOf(name);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.rev.app.notification;
+
+import com.rev.app.dto.OutboxSummary;
+import com.rev.app.service.NotificationService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the notification outbox into users' inboxes. Each poll takes due
+ * events in id order, a batch at a time, and delivers a batch in one
+ * transaction. If a batch fails, its events are retried one by one so a
+ * single bad event (say, for a user deleted meanwhile) cannot hold up the
+ * rest; the failing event is rescheduled with backoff and parked after
+ * {@code max-attempts}.
+ *
+ * <p>Publishes {@code revhire.notifications.outbox.pending},
+ * {@code revhire.notifications.outbox.lag} (age of the oldest pending event,
+ * in seconds), {@code revhire.notifications.outbox.parked},
+ * {@code revhire.notifications.outbox.dispatch} (time per batch),
+ * {@code revhire.notifications.outbox.dispatched} and
+ * {@code revhire.notifications.outbox.failures}.
+ */
+@Component
+public class NotificationOutboxDispatcher {
+
+    private static final Logger logger = LogManager.getLogger(NotificationOutboxDispatcher.class);
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${revhire.notifications.outbox.batch-size:500}")
+    private int batchSize = 500;
+
+    // Bounds one poll, so a large backlog does not keep the scheduler thread from other jobs.
+    @Value("${revhire.notifications.outbox.max-batches-per-poll:20}")
+    private int maxBatchesPerPoll = 20;
+
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong lagSeconds = new AtomicLong();
+    private final AtomicLong parked = new AtomicLong();
+
+    private Timer dispatchTimer;
+    private Counter dispatched;
+    private Counter failures;
+
+    @PostConstruct
+    void registerMetrics() {
+        dispatchTimer = Timer.builder("revhire.notifications.outbox.dispatch").register(meterRegistry);
+        dispatched = Counter.builder("revhire.notifications.outbox.dispatched").register(meterRegistry);
+        failures = Counter.builder("revhire.notifications.outbox.failures").register(meterRegistry);
+        Gauge.builder("revhire.notifications.outbox.pending", pending, AtomicLong::get).register(meterRegistry);
+        Gauge.builder("revhire.notifications.outbox.lag", lagSeconds, AtomicLong::get)
+                .baseUnit("seconds").register(meterRegistry);
+        Gauge.builder("revhire.notifications.outbox.parked", parked, AtomicLong::get).register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${revhire.notifications.outbox.poll-ms:1000}")
+    public void poll() {
+        try {
+            for (int batch = 0; batch < maxBatchesPerPoll; batch++) {
+                List<Long> due = notificationService.findDueOutboxEvents(batchSize);
+                if (!due.isEmpty()) {
+                    dispatchTimer.record(() -> dispatch(due));
+                }
+                if (due.size() < batchSize) {
+                    break;
+                }
+            }
+            refreshBacklog();
+        } catch (RuntimeException e) {
+            logger.error("Notification outbox poll failed: {}", e.getMessage());
+        }
+    }
+
+    int dispatch(List<Long> eventIds) {
+        int delivered;
+        try {
+            delivered = notificationService.dispatchOutboxEvents(eventIds);
+        } catch (ConcurrencyFailureException e) {
+            // Another instance is delivering these; its transaction commits or they come round again.
+            logger.debug("Outbox batch taken by another dispatcher");
+            return 0;
+        } catch (RuntimeException e) {
+            logger.warn("Outbox batch of {} events failed, retrying one at a time: {}", eventIds.size(),
+                    e.getMessage());
+            delivered = 0;
+            for (Long eventId : eventIds) {
+                delivered += dispatchOne(eventId);
+            }
+        }
+        dispatched.increment(delivered);
+        return delivered;
+    }
+
+    private int dispatchOne(Long eventId) {
+        try {
+            return notificationService.dispatchOutboxEvents(Collections.singletonList(eventId));
+        } catch (ConcurrencyFailureException e) {
+            return 0;
+        } catch (RuntimeException e) {
+            failures.increment();
+            if (!notificationService.recordOutboxFailure(eventId, e.getMessage())) {
+                logger.error("Outbox event {} parked after its last attempt: {}", eventId, e.getMessage());
+            }
+            return 0;
+        }
+    }
+
+    private void refreshBacklog() {
+        OutboxSummary summary = notificationService.getOutboxSummary();
+        pending.set(summary.getPending());
+        parked.set(summary.getParked());
+        LocalDateTime oldest = summary.getOldestPendingAt();
+        lagSeconds.set(oldest == null ? 0 : Math.max(0, Duration.between(oldest, LocalDateTime.now()).getSeconds()));
+    }
+}
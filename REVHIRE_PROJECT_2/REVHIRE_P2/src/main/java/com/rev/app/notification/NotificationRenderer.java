@@ -0,0 +1,119 @@
+package com.rev.app.notification;
+
+import com.rev.app.dto.NotificationDTO;
+import com.rev.app.entity.Notification;
+import com.rev.app.entity.NotificationContent;
+import com.rev.app.mapper.NotificationMapper;
+import com.rev.app.repository.InLists;
+import com.rev.app.repository.JobRepository;
+import com.rev.app.repository.JobSeekerRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Turns stored notification templates into text. The jobs and seekers a list
+ * of notifications refers to are loaded with one query each per chunk, so a
+ * page of notifications costs a fixed number of queries whatever it holds.
+ * Titles and names are read at render time: a renamed job shows its new title.
+ * A digest standing for several events renders as one counted sentence.
+ */
+@Component
+public class NotificationRenderer {
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private JobSeekerRepository jobSeekerRepository;
+
+    @Autowired
+    private NotificationMapper mapper;
+
+    public List<NotificationDTO> render(List<Notification> notifications) {
+        Set<Long> jobIds = new LinkedHashSet<>();
+        Set<Long> seekerIds = new LinkedHashSet<>();
+        for (Notification n : notifications) {
+            NotificationContent content = n.getContent();
+            if (content != null && content.getJobId() != null) {
+                jobIds.add(content.getJobId());
+            }
+            if (content != null && content.getSeekerId() != null) {
+                seekerIds.add(content.getSeekerId());
+            }
+        }
+        Map<Long, Object[]> jobs = loadJobs(jobIds);
+        Map<Long, String> seekerNames = loadSeekerNames(seekerIds);
+
+        List<NotificationDTO> result = new ArrayList<>(notifications.size());
+        for (Notification n : notifications) {
+            int occurrences = n.getOccurrences() != null ? n.getOccurrences() : 1;
+            result.add(mapper.toNotificationDTO(n, render(n.getContent(), occurrences, jobs, seekerNames)));
+        }
+        return result;
+    }
+
+    private String render(NotificationContent content, int occurrences, Map<Long, Object[]> jobs,
+            Map<Long, String> seekerNames) {
+        if (content == null) {
+            return "";
+        }
+        if (content.getTemplate() == null) {
+            return content.getText();
+        }
+        Object[] job = jobs.get(content.getJobId());
+        String title = job != null ? (String) job[1] : "Job #" + content.getJobId();
+        String seekerName = seekerNames.getOrDefault(content.getSeekerId(), "An applicant");
+        switch (content.getTemplate()) {
+            case JOB_MATCH:
+                return "New Job Match: " + title + " at " + (job != null && job[2] != null ? job[2] : "-");
+            case JOB_EXPIRING:
+                return "Reminder: Your job posting '" + title + "' will expire in 2 days (on "
+                        + (job != null ? job[3] : "-") + ").";
+            case SAVED_JOB_CLOSING:
+                return "Closing soon: '" + title + "' at " + (job != null && job[2] != null ? job[2] : "-")
+                        + ", which you saved, accepts applications until " + (job != null ? job[3] : "-") + ".";
+            case APPLIED:
+                return "You have successfully applied for Job ID: " + content.getJobId();
+            case APPLICATION_RECEIVED:
+                if (occurrences > 1) {
+                    // A digest keeps only its first applicant; the count stands for the rest.
+                    return occurrences + " new applications for '" + title + "'";
+                }
+                return "New application received from " + seekerName + " for '" + title + "'";
+            case APPLICATION_STATUS:
+                return "Your application for '" + title + "' has been updated to: " + content.getStatus();
+            case APPLICATION_WITHDRAWN:
+                return "Applicant " + seekerName + " has withdrawn their application for '" + title + "'"
+                        + (content.getText() != null ? ": " + content.getText() : "");
+            default:
+                return content.getText();
+        }
+    }
+
+    private Map<Long, Object[]> loadJobs(Set<Long> jobIds) {
+        Map<Long, Object[]> jobs = new HashMap<>();
+        for (List<Long> chunk : InLists.chunks(jobIds)) {
+            for (Object[] row : jobRepository.findNotificationSubjects(chunk)) {
+                jobs.put((Long) row[0], row);
+            }
+        }
+        return jobs;
+    }
+
+    private Map<Long, String> loadSeekerNames(Set<Long> seekerIds) {
+        Map<Long, String> names = new HashMap<>();
+        for (List<Long> chunk : InLists.chunks(seekerIds)) {
+            for (Object[] row : jobSeekerRepository.findNamesByIds(chunk)) {
+                names.put((Long) row[0], (String) row[1]);
+            }
+        }
+        return names;
+    }
+}
@@ -0,0 +1,260 @@
+package com.rev.app.notification;
+
+import com.rev.app.dto.NotificationDTO;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PostConstruct;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Server-sent event streams of each signed-in user's notifications, so pages
+ * and API clients stop polling for the unread count.
+ *
+ * <p>A stream opens with an {@code unread-count} event and then carries a
+ * {@code notification} event plus an {@code unread-delta} of +1 for each
+ * notification delivered, {@code unread-delta} -1 when one is read and
+ * {@code unread-count} 0 when all are. A digest that grows is sent again as
+ * a {@code notification} with the same id and no delta. Events are queued
+ * per subscriber in a buffer of {@code buffer-size} and written on the stream
+ * executor, so a slow client never holds up the notification dispatcher. A subscriber whose
+ * buffer overflows is disconnected; the browser reconnects and starts again
+ * from a fresh count.
+ *
+ * <p>Subscribers live in this instance's memory: with several instances, a
+ * client only hears about notifications delivered by the instance it is
+ * connected to until its next reconnect.
+ */
+@Component
+public class NotificationStreams {
+
+    private static final Logger logger = LogManager.getLogger(NotificationStreams.class);
+
+    static final String NOTIFICATION_EVENT = "notification";
+    static final String UNREAD_COUNT_EVENT = "unread-count";
+    static final String UNREAD_DELTA_EVENT = "unread-delta";
+
+    @Autowired
+    @Qualifier("notificationStreamExecutor")
+    private TaskExecutor notificationStreamExecutor;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // The browser reconnects on its own when the stream times out.
+    @Value("${revhire.notifications.sse.timeout-ms:1800000}")
+    private long timeoutMillis = 1800000L;
+
+    @Value("${revhire.notifications.sse.buffer-size:64}")
+    private int bufferSize = 64;
+
+    // Tabs per user; opening one more closes the oldest.
+    @Value("${revhire.notifications.sse.max-per-user:5}")
+    private int maxPerUser = 5;
+
+    private final Map<Long, List<Subscriber>> subscribers = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder("revhire.notifications.sse.subscribers", this, NotificationStreams::subscriberCount)
+                .register(meterRegistry);
+    }
+
+    /** Opens a stream for the user, starting from the given unread count. */
+    public SseEmitter subscribe(Long userId, long unreadCount) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        subscribe(userId, unreadCount, emitter);
+        return emitter;
+    }
+
+    void subscribe(Long userId, long unreadCount, SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(userId, emitter);
+        emitter.onCompletion(() -> discard(subscriber));
+        emitter.onTimeout(() -> discard(subscriber));
+        emitter.onError(e -> discard(subscriber));
+
+        // compute, not computeIfAbsent then add: remove() may drop an emptied list in between.
+        List<Subscriber> forUser = subscribers.compute(userId, (id, current) -> {
+            List<Subscriber> list = current != null ? current : new CopyOnWriteArrayList<>();
+            list.add(subscriber);
+            return list;
+        });
+        while (forUser.size() > maxPerUser) {
+            close(forUser.get(0), null);
+        }
+        enqueue(subscriber, SseEmitter.event().name(UNREAD_COUNT_EVENT).data(unreadCount));
+    }
+
+    /** The users among {@code userIds} with an open stream on this instance. */
+    public Set<Long> subscribedAmong(Collection<Long> userIds) {
+        Set<Long> subscribed = new HashSet<>();
+        if (subscribers.isEmpty()) {
+            return subscribed;
+        }
+        for (Long userId : userIds) {
+            if (subscribers.containsKey(userId)) {
+                subscribed.add(userId);
+            }
+        }
+        return subscribed;
+    }
+
+    public void publishNotifications(List<NotificationDTO> notifications) {
+        for (NotificationDTO notification : notifications) {
+            for (Subscriber subscriber : subscribersOf(notification.getUserId())) {
+                enqueue(subscriber, SseEmitter.event().id(String.valueOf(notification.getId()))
+                        .name(NOTIFICATION_EVENT).data(notification));
+                enqueue(subscriber, SseEmitter.event().name(UNREAD_DELTA_EVENT).data(1));
+            }
+        }
+    }
+
+    /** Resends notifications whose text changed, such as a digest that grew; the unread count is unchanged. */
+    public void publishNotificationUpdates(List<NotificationDTO> notifications) {
+        for (NotificationDTO notification : notifications) {
+            for (Subscriber subscriber : subscribersOf(notification.getUserId())) {
+                enqueue(subscriber, SseEmitter.event().id(String.valueOf(notification.getId()))
+                        .name(NOTIFICATION_EVENT).data(notification));
+            }
+        }
+    }
+
+    public void publishUnreadDelta(Long userId, long delta) {
+        for (Subscriber subscriber : subscribersOf(userId)) {
+            enqueue(subscriber, SseEmitter.event().name(UNREAD_DELTA_EVENT).data(delta));
+        }
+    }
+
+    public void publishUnreadCount(Long userId, long count) {
+        for (Subscriber subscriber : subscribersOf(userId)) {
+            enqueue(subscriber, SseEmitter.event().name(UNREAD_COUNT_EVENT).data(count));
+        }
+    }
+
+    // Keeps idle connections open through proxies and finds clients that went away.
+    @Scheduled(fixedDelayString = "${revhire.notifications.sse.heartbeat-ms:25000}")
+    public void heartbeat() {
+        for (List<Subscriber> forUser : subscribers.values()) {
+            for (Subscriber subscriber : forUser) {
+                enqueue(subscriber, SseEmitter.event().comment("keep-alive"));
+            }
+        }
+    }
+
+    int subscriberCount() {
+        return subscribers.values().stream().mapToInt(List::size).sum();
+    }
+
+    private List<Subscriber> subscribersOf(Long userId) {
+        List<Subscriber> forUser = subscribers.get(userId);
+        return forUser != null ? forUser : Collections.emptyList();
+    }
+
+    private void enqueue(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        boolean buffered;
+        synchronized (subscriber.buffer) {
+            if (subscriber.closed.get()) {
+                return;
+            }
+            buffered = subscriber.buffer.size() < bufferSize && subscriber.buffer.add(event);
+        }
+        if (!buffered) {
+            logger.debug("Notification stream of user {} fell behind, closing it", subscriber.userId);
+            close(subscriber, null);
+            return;
+        }
+        drain(subscriber);
+    }
+
+    private void drain(Subscriber subscriber) {
+        if (!subscriber.draining.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            notificationStreamExecutor.execute(() -> send(subscriber));
+        } catch (TaskRejectedException e) {
+            // Left buffered; the next event or heartbeat tries again.
+            subscriber.draining.set(false);
+        }
+    }
+
+    private void send(Subscriber subscriber) {
+        try {
+            while (true) {
+                SseEmitter.SseEventBuilder event;
+                synchronized (subscriber.buffer) {
+                    event = subscriber.buffer.poll();
+                    if (event == null) {
+                        subscriber.draining.set(false);
+                        return;
+                    }
+                }
+                subscriber.emitter.send(event);
+            }
+        } catch (IOException | IllegalStateException e) {
+            subscriber.draining.set(false);
+            close(subscriber, e);
+        }
+    }
+
+    private void close(Subscriber subscriber, Throwable error) {
+        if (discard(subscriber)) {
+            if (error == null) {
+                subscriber.emitter.complete();
+            } else {
+                subscriber.emitter.completeWithError(error);
+            }
+        }
+    }
+
+    /** Forgets the subscriber; returns false if it was already closed. */
+    private boolean discard(Subscriber subscriber) {
+        boolean open;
+        synchronized (subscriber.buffer) {
+            open = subscriber.closed.compareAndSet(false, true);
+            subscriber.buffer.clear();
+        }
+        remove(subscriber);
+        return open;
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.userId, (id, forUser) -> {
+            forUser.remove(subscriber);
+            return forUser.isEmpty() ? null : forUser;
+        });
+    }
+
+    private static final class Subscriber {
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final ArrayDeque<SseEmitter.SseEventBuilder> buffer = new ArrayDeque<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Subscriber(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+    }
+}
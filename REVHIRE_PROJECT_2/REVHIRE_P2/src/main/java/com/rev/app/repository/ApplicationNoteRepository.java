@@ -5,6 +5,6 @@ import com.rev.app.entity.Application;
 import org.springframework.data.jpa.repository.JpaRepository;
 import java.util.List;
 
-public interface ApplicationNoteRepository extends JpaRepository<ApplicationNote, Long> {
+public interface ApplicationNoteRepository extends JpaRepository<ApplicationNote, Long>, ApplicationNoteRepositoryCustom {
     List<ApplicationNote> findByApplication(Application application);
 }
@@ -0,0 +1,12 @@
+package com.rev.app.repository;
+
+import java.util.List;
+
+public interface ApplicationNoteRepositoryCustom {
+
+    /**
+     * Inserts the same note on every application with a single JDBC batch,
+     * bypassing the persistence context.
+     */
+    void insertBatch(List<Long> applicationIds, String note);
+}
@@ -0,0 +1,27 @@
+package com.rev.app.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class ApplicationNoteRepositoryImpl implements ApplicationNoteRepositoryCustom {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO application_notes (application_id, note, created_at) VALUES (?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertBatch(List<Long> applicationIds, String note) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, applicationIds, applicationIds.size(), (ps, applicationId) -> {
+            ps.setLong(1, applicationId);
+            ps.setString(2, note);
+            ps.setTimestamp(3, now);
+        });
+    }
+}
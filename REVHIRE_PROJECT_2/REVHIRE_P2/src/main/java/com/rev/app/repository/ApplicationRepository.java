@@ -3,20 +3,48 @@ package com.rev.app.repository;
 import com.rev.app.entity.Application;
 import com.rev.app.entity.Job;
 import com.rev.app.entity.JobSeeker;
+import com.rev.app.search.ApplicantSearchDocument;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import java.util.List;
 
 public interface ApplicationRepository extends JpaRepository<Application, Long> {
+        String APPLICANT_DOCUMENT = "SELECT new com.rev.app.search.ApplicantSearchDocument(a.id, a.job.id, " +
+                        "a.status, a.appliedDate, js.experienceYears, js.name, r.skills, r.education, r.experience, " +
+                        "t.text) FROM Application a JOIN a.jobSeeker js JOIN a.resume r " +
+                        "LEFT JOIN ResumeText t ON t.resumeId = r.id AND t.filePath = r.filePath ";
+
         List<Application> findByJobSeeker(JobSeeker jobSeeker);
 
         List<Application> findByJob(Job job);
 
         long countByJob(Job job);
 
+        // One round-trip for a whole page of jobs; jobs without applications are absent from the result.
+        @Query("SELECT a.job.id, COUNT(a) FROM Application a WHERE a.job.id IN :jobIds GROUP BY a.job.id")
+        List<Object[]> countByJobIds(@Param("jobIds") java.util.Collection<Long> jobIds);
+
         boolean existsByJobSeekerAndJob(JobSeeker jobSeeker, Job job);
 
+        @Query("SELECT a.job.employer.id, a.status, COUNT(a) FROM Application a " +
+                        "WHERE a.job.employer.id IN :employerIds GROUP BY a.job.employer.id, a.status")
+        List<Object[]> countStatusesByEmployerIds(@Param("employerIds") java.util.Collection<Long> employerIds);
+
+        @Query("SELECT a.jobSeeker.id, a.status, COUNT(a) FROM Application a " +
+                        "WHERE a.jobSeeker.id IN :seekerIds GROUP BY a.jobSeeker.id, a.status")
+        List<Object[]> countStatusesBySeekerIds(@Param("seekerIds") java.util.Collection<Long> seekerIds);
+
+        @Query("SELECT a.jobSeeker.id, a.status, COUNT(a) FROM Application a " +
+                        "WHERE a.job.id = :jobId GROUP BY a.jobSeeker.id, a.status")
+        List<Object[]> countStatusesBySeekerForJob(@Param("jobId") Long jobId);
+
+        @Query("SELECT a.job.id, a.job.skillsRequired FROM Application a WHERE a.jobSeeker.id = :seekerId")
+        List<Object[]> findJobSkillsBySeekerId(@Param("seekerId") Long seekerId);
+
         @Query("SELECT a FROM Application a WHERE a.job.id = :jobId AND " +
                         "(:status IS NULL OR a.status = :status) AND " +
                         "(:startDate IS NULL OR a.appliedDate >= :startDate) AND " +
@@ -24,11 +52,49 @@ public interface ApplicationRepository extends JpaRepository<Application, Long>
                         "(:keyword IS NULL OR LOWER(a.jobSeeker.name) LIKE :keyword OR " +
                         "LOWER(a.resume.skills) LIKE :keyword OR " +
                         "LOWER(a.resume.education) LIKE :keyword OR " +
-                        "LOWER(a.resume.experience) LIKE :keyword)")
+                        "LOWER(a.resume.experience) LIKE :keyword OR " +
+                        "EXISTS (SELECT t.resumeId FROM ResumeText t WHERE t.resumeId = a.resume.id AND " +
+                        "t.filePath = a.resume.filePath AND t.text LIKE :keyword))")
         List<Application> searchApplications(
                         @Param("jobId") Long jobId,
                         @Param("status") Application.ApplicationStatus status,
                         @Param("keyword") String keyword,
                         @Param("startDate") java.time.LocalDate startDate,
                         @Param("minExp") Integer minExp);
+
+        // Rows of {application id, status, seeker id, seeker user id} for the ids that belong to the job.
+        @Query("SELECT a.id, a.status, js.id, js.user.id FROM Application a JOIN a.jobSeeker js " +
+                        "WHERE a.job.id = :jobId AND a.id IN :ids")
+        List<Object[]> findStatusRowsForJob(@Param("jobId") Long jobId, @Param("ids") java.util.Collection<Long> ids);
+
+        // Only rows still in the expected status change, so callers can detect concurrent edits.
+        @Modifying
+        @Query("UPDATE Application a SET a.status = :status WHERE a.id IN :ids AND a.status = :previous")
+        int updateStatus(@Param("ids") java.util.Collection<Long> ids,
+                        @Param("previous") Application.ApplicationStatus previous,
+                        @Param("status") Application.ApplicationStatus status);
+
+        @EntityGraph(attributePaths = { "job", "jobSeeker", "resume" })
+        List<Application> findByIdIn(java.util.Collection<Long> ids);
+
+        @Query(APPLICANT_DOCUMENT + "WHERE a.job.id = :jobId AND a.id > :afterId ORDER BY a.id")
+        List<ApplicantSearchDocument> findApplicantDocuments(@Param("jobId") Long jobId,
+                        @Param("afterId") Long afterId, Pageable pageable);
+
+        @Query(APPLICANT_DOCUMENT + "WHERE a.id = :id")
+        List<ApplicantSearchDocument> findApplicantDocumentById(@Param("id") Long id);
+
+        @Query(APPLICANT_DOCUMENT + "WHERE js.id = :seekerId")
+        List<ApplicantSearchDocument> findApplicantDocumentsBySeekerId(@Param("seekerId") Long seekerId);
+
+        @Query(APPLICANT_DOCUMENT + "WHERE r.id = :resumeId")
+        List<ApplicantSearchDocument> findApplicantDocumentsByResumeId(@Param("resumeId") Long resumeId);
+
+        @Query("SELECT DISTINCT a.job.id FROM Application a WHERE a.jobSeeker.user.id = :userId " +
+                        "AND a.job.title = :title")
+        List<Long> findJobIdsBySeekerUserIdAndJobTitle(@Param("userId") Long userId, @Param("title") String title);
+
+        @Query("SELECT DISTINCT a.jobSeeker.id FROM Application a WHERE a.job.id = :jobId " +
+                        "AND a.jobSeeker.name = :name")
+        List<Long> findSeekerIdsByJobIdAndSeekerName(@Param("jobId") Long jobId, @Param("name") String name);
 }
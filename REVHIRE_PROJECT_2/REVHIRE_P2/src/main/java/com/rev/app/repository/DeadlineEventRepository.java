@@ -0,0 +1,39 @@
+package com.rev.app.repository;
+
+import com.rev.app.entity.DeadlineEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface DeadlineEventRepository extends JpaRepository<DeadlineEvent, Long> {
+
+    // Events due in [from, until), a page at a time in id order; a range over idx_deadline_events_due.
+    @Query("SELECT e FROM DeadlineEvent e WHERE e.dueAt >= :from AND e.dueAt < :until AND e.id > :afterId " +
+            "ORDER BY e.id")
+    List<DeadlineEvent> findDueBetween(@Param("from") LocalDateTime from, @Param("until") LocalDateTime until,
+            @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT e FROM DeadlineEvent e WHERE e.dueAt < :until AND e.id > :afterId ORDER BY e.id")
+    List<DeadlineEvent> findDueBefore(@Param("until") LocalDateTime until, @Param("afterId") Long afterId,
+            Pageable pageable);
+
+    List<DeadlineEvent> findByJobId(Long jobId);
+
+    @Query("SELECT DISTINCT e.jobId FROM DeadlineEvent e WHERE e.jobId IN :jobIds")
+    List<Long> findJobIdsIn(@Param("jobIds") Collection<Long> jobIds);
+
+    // Claims the event for firing: 1 for the one caller that gets it, 0 once fired or cancelled.
+    @Modifying
+    @Query("DELETE FROM DeadlineEvent e WHERE e.id = :id")
+    int claim(@Param("id") Long id);
+
+    @Modifying
+    @Query("DELETE FROM DeadlineEvent e WHERE e.jobId IN :jobIds")
+    int deleteByJobIds(@Param("jobIds") Collection<Long> jobIds);
+}
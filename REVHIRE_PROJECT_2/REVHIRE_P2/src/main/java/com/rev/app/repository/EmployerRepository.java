@@ -2,11 +2,18 @@ package com.rev.app.repository;
 
 import com.rev.app.entity.Employer;
 import com.rev.app.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.util.List;
 import java.util.Optional;
 
 public interface EmployerRepository extends JpaRepository<Employer, Long> {
     Optional<Employer> findByUser(User user);
 
     Optional<Employer> findByUserId(Long userId);
+
+    @Query("SELECT e.id FROM Employer e WHERE e.id > :afterId ORDER BY e.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
 }
@@ -0,0 +1,57 @@
+package com.rev.app.repository;
+
+import com.rev.app.entity.ApplicationCounts;
+import com.rev.app.entity.EmployerStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import javax.persistence.LockModeType;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Counter updates are applied as relative deltas in a single UPDATE, so
+ * concurrent writers never overwrite each other. They return the number of
+ * rows touched, which is 0 while the employer has no counter row yet.
+ */
+public interface EmployerStatsRepository extends JpaRepository<EmployerStats, Long> {
+
+    // Holds back delta updates to these rows until the caller's transaction ends.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM EmployerStats s WHERE s.employerId IN :employerIds")
+    List<EmployerStats> lockAllById(@Param("employerIds") Collection<Long> employerIds);
+
+    @Modifying
+    @Query("UPDATE EmployerStats s SET s.totalJobs = s.totalJobs + :total, " +
+            "s.activeJobs = s.activeJobs + :active, " +
+            "s.closedJobs = s.closedJobs + :closed, " +
+            "s.filledJobs = s.filledJobs + :filled " +
+            "WHERE s.employerId = :employerId")
+    int adjustJobs(@Param("employerId") Long employerId,
+            @Param("total") long total,
+            @Param("active") long active,
+            @Param("closed") long closed,
+            @Param("filled") long filled);
+
+    @Modifying
+    @Query("UPDATE EmployerStats s SET s.applications.applied = s.applications.applied + :applied, " +
+            "s.applications.underReview = s.applications.underReview + :underReview, " +
+            "s.applications.shortlisted = s.applications.shortlisted + :shortlisted, " +
+            "s.applications.rejected = s.applications.rejected + :rejected, " +
+            "s.applications.withdrawn = s.applications.withdrawn + :withdrawn " +
+            "WHERE s.employerId = :employerId")
+    int adjustApplications(@Param("employerId") Long employerId,
+            @Param("applied") long applied,
+            @Param("underReview") long underReview,
+            @Param("shortlisted") long shortlisted,
+            @Param("rejected") long rejected,
+            @Param("withdrawn") long withdrawn);
+
+    default int adjustApplications(Long employerId, ApplicationCounts delta) {
+        return adjustApplications(employerId, delta.getApplied(), delta.getUnderReview(), delta.getShortlisted(),
+                delta.getRejected(), delta.getWithdrawn());
+    }
+}
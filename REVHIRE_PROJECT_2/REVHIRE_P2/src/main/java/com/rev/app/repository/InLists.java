@@ -0,0 +1,31 @@
+package com.rev.app.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Splits ids bound to a query's IN list into chunks the database accepts.
+ */
+public final class InLists {
+
+    // Stays under Oracle's 1000-element limit for IN lists.
+    public static final int MAX_SIZE = 1000;
+
+    private InLists() {
+    }
+
+    public static <T> List<List<T>> chunks(Collection<T> values) {
+        return chunks(values, MAX_SIZE);
+    }
+
+    /** Consecutive views of at most {@code size} values each, in iteration order. */
+    public static <T> List<List<T>> chunks(Collection<T> values, int size) {
+        List<T> all = values instanceof List ? (List<T>) values : new ArrayList<>(values);
+        List<List<T>> chunks = new ArrayList<>();
+        for (int from = 0; from < all.size(); from += size) {
+            chunks.add(all.subList(from, Math.min(all.size(), from + size)));
+        }
+        return chunks;
+    }
+}
@@ -1,19 +1,79 @@
 package com.rev.app.repository;
 
+import com.rev.app.dto.JobStatsDTO;
 import com.rev.app.entity.Job;
 import com.rev.app.entity.Employer;
+import com.rev.app.search.JobSearchDocument;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface JobRepository extends JpaRepository<Job, Long> {
+        // Hydrates ids ranked by the search index with their company and employer in one select.
+        @EntityGraph(attributePaths = { "company", "employer" })
+        List<Job> findByIdIn(java.util.Collection<Long> ids);
+
+        // Listing queries fetch company and employer in the same select; mapping every row touches both.
+        @EntityGraph(attributePaths = { "company", "employer" })
         List<Job> findByEmployer(Employer employer);
 
-        List<Job> findByIsClosedFalse();
+        @Query("SELECT j.employer.user.id FROM Job j WHERE j.id = :id AND j.isClosed = false")
+        java.util.Optional<Long> findOpenJobEmployerUserId(@Param("id") Long id);
+
+        // Rows of {id, skills required} of jobs whose match fan-out is unfinished and not running, in id order.
+        @Query("SELECT j.id, j.skillsRequired FROM Job j WHERE j.matchPending = true AND j.id > :afterId " +
+                        "AND (j.matchClaimedAt IS NULL OR j.matchClaimedAt < :expiredBefore) ORDER BY j.id")
+        List<Object[]> findPendingMatchFanOuts(@Param("afterId") Long afterId,
+                        @Param("expiredBefore") LocalDateTime expiredBefore, Pageable pageable);
+
+        // Leases the job's match fan-out: 1 for the one caller that gets it, 0 while another lease is live.
+        @Modifying
+        @Query("UPDATE Job j SET j.matchClaimedAt = :now WHERE j.id = :id AND j.matchPending = true " +
+                        "AND (j.matchClaimedAt IS NULL OR j.matchClaimedAt < :expiredBefore)")
+        int claimMatchFanOut(@Param("id") Long id, @Param("now") LocalDateTime now,
+                        @Param("expiredBefore") LocalDateTime expiredBefore);
+
+        // Extends the lease taken at claimedAt; 0 if it has since been taken over.
+        @Modifying
+        @Query("UPDATE Job j SET j.matchClaimedAt = :now WHERE j.id = :id AND j.matchClaimedAt = :claimedAt")
+        int renewMatchFanOut(@Param("id") Long id, @Param("claimedAt") LocalDateTime claimedAt,
+                        @Param("now") LocalDateTime now);
+
+        // Marks the fan-out done, if the lease taken at claimedAt is still held.
+        @Modifying
+        @Query("UPDATE Job j SET j.matchPending = false, j.matchClaimedAt = NULL " +
+                        "WHERE j.id = :id AND j.matchClaimedAt = :claimedAt")
+        int completeMatchFanOut(@Param("id") Long id, @Param("claimedAt") LocalDateTime claimedAt);
+
+        // Rows of {id, deadline} of open jobs, a page at a time in id order.
+        @Query("SELECT j.id, j.deadline FROM Job j WHERE j.isClosed = false AND j.id > :afterId ORDER BY j.id")
+        List<Object[]> findOpenJobDeadlines(@Param("afterId") Long afterId, Pageable pageable);
+
+        // Rows of {id, employer id} of open jobs whose deadline has passed.
+        @Query("SELECT j.id, e.id FROM Job j LEFT JOIN j.employer e " +
+                        "WHERE j.isClosed = false AND j.deadline < :today")
+        List<Object[]> findExpiredOpenJobs(@Param("today") java.time.LocalDate today);
+
+        @Modifying
+        @Query("UPDATE Job j SET j.isClosed = true WHERE j.isClosed = false AND j.deadline < :today")
+        int closeExpired(@Param("today") java.time.LocalDate today);
+
+        @Query("SELECT j.id, e.id FROM Job j LEFT JOIN j.employer e " +
+                        "WHERE j.id IN :ids AND j.isClosed = false AND j.deadline < :today")
+        List<Object[]> findExpiredOpenJobsIn(@Param("ids") java.util.Collection<Long> ids,
+                        @Param("today") java.time.LocalDate today);
 
-        List<Job> findByDeadlineAndIsClosedFalse(java.time.LocalDate deadline);
+        @Modifying
+        @Query("UPDATE Job j SET j.isClosed = true " +
+                        "WHERE j.id IN :ids AND j.isClosed = false AND j.deadline < :today")
+        int closeExpiredIn(@Param("ids") java.util.Collection<Long> ids, @Param("today") java.time.LocalDate today);
 
+        @EntityGraph(attributePaths = { "company", "employer" })
         @Query("SELECT j FROM Job j WHERE j.isClosed = false AND " +
                         "(:keyword IS NULL OR LOWER(j.title) LIKE :keyword OR " +
                         "LOWER(j.skillsRequired) LIKE :keyword OR " +
@@ -30,4 +90,93 @@ public interface JobRepository extends JpaRepository<Job, Long> {
                         @Param("minExp") Integer minExp,
                         @Param("minSalary") Double minSalary,
                         @Param("startDate") java.time.LocalDate startDate);
+
+        // Keyset pages ordered newest first on (postedDate, id); a null cursor starts at the top.
+        @EntityGraph(attributePaths = { "company", "employer" })
+        @Query("SELECT j FROM Job j WHERE j.isClosed = false AND " +
+                        "(:cursorDate IS NULL OR j.postedDate < :cursorDate OR " +
+                        "(j.postedDate = :cursorDate AND j.id < :cursorId)) " +
+                        "ORDER BY j.postedDate DESC, j.id DESC")
+        List<Job> findActivePage(
+                        @Param("cursorDate") java.time.LocalDate cursorDate,
+                        @Param("cursorId") Long cursorId,
+                        Pageable pageable);
+
+        @EntityGraph(attributePaths = { "company", "employer" })
+        @Query("SELECT j FROM Job j WHERE j.employer.id = :employerId AND " +
+                        "(:keyword IS NULL OR LOWER(j.title) LIKE :keyword OR LOWER(j.location) LIKE :keyword) AND " +
+                        "(:state IS NULL OR " +
+                        "(:state = 'ACTIVE' AND j.isClosed = false) OR " +
+                        "(:state = 'CLOSED' AND j.isClosed = true AND (j.status IS NULL OR j.status <> 'FILLED')) OR " +
+                        "(:state = 'FILLED' AND j.status = 'FILLED')) AND " +
+                        "(:cursorDate IS NULL OR j.postedDate < :cursorDate OR " +
+                        "(j.postedDate = :cursorDate AND j.id < :cursorId)) " +
+                        "ORDER BY j.postedDate DESC, j.id DESC")
+        List<Job> findEmployerPage(
+                        @Param("employerId") Long employerId,
+                        @Param("keyword") String keyword,
+                        @Param("state") String state,
+                        @Param("cursorDate") java.time.LocalDate cursorDate,
+                        @Param("cursorId") Long cursorId,
+                        Pageable pageable);
+
+        @Query("SELECT new com.rev.app.dto.JobStatsDTO(COUNT(j), " +
+                        "SUM(CASE WHEN j.isClosed = false THEN 1 ELSE 0 END), " +
+                        "SUM(CASE WHEN j.isClosed = true AND (j.status IS NULL OR j.status <> 'FILLED') " +
+                        "THEN 1 ELSE 0 END), " +
+                        "SUM(CASE WHEN j.status = 'FILLED' THEN 1 ELSE 0 END)) " +
+                        "FROM Job j WHERE j.employer.id = :employerId")
+        JobStatsDTO getJobStatsByEmployer(@Param("employerId") Long employerId);
+
+        @Query("SELECT j.employer.id, COUNT(j), " +
+                        "SUM(CASE WHEN j.isClosed = false THEN 1 ELSE 0 END), " +
+                        "SUM(CASE WHEN j.isClosed = true AND (j.status IS NULL OR j.status <> 'FILLED') " +
+                        "THEN 1 ELSE 0 END), " +
+                        "SUM(CASE WHEN j.status = 'FILLED' THEN 1 ELSE 0 END) " +
+                        "FROM Job j WHERE j.employer.id IN :employerIds GROUP BY j.employer.id")
+        List<Object[]> countJobStatesByEmployerIds(@Param("employerIds") java.util.Collection<Long> employerIds);
+
+        @EntityGraph(attributePaths = { "company", "employer" })
+        @Query("SELECT j FROM Job j WHERE j.isClosed = false AND " +
+                        "(:keyword IS NULL OR LOWER(j.title) LIKE :keyword OR " +
+                        "LOWER(j.skillsRequired) LIKE :keyword OR " +
+                        "LOWER(j.company.name) LIKE :keyword) AND " +
+                        "(:location IS NULL OR LOWER(j.location) LIKE :location) AND " +
+                        "(:jobType IS NULL OR j.jobType = :jobType) AND " +
+                        "(:minExp IS NULL OR j.experienceRequired >= :minExp) AND " +
+                        "(:minSalary IS NULL OR j.salaryRange >= :minSalary) AND " +
+                        "(:startDate IS NULL OR j.postedDate >= :startDate) AND " +
+                        "(:cursorDate IS NULL OR j.postedDate < :cursorDate OR " +
+                        "(j.postedDate = :cursorDate AND j.id < :cursorId)) " +
+                        "ORDER BY j.postedDate DESC, j.id DESC")
+        List<Job> searchJobsAdvancedPage(
+                        @Param("keyword") String keyword,
+                        @Param("location") String location,
+                        @Param("jobType") String jobType,
+                        @Param("minExp") Integer minExp,
+                        @Param("minSalary") Double minSalary,
+                        @Param("startDate") java.time.LocalDate startDate,
+                        @Param("cursorDate") java.time.LocalDate cursorDate,
+                        @Param("cursorId") Long cursorId,
+                        Pageable pageable);
+
+        @Query("SELECT j.id, j.skillsRequired, j.experienceRequired, j.location, j.postedDate FROM Job j " +
+                        "WHERE j.isClosed = false AND j.id > :afterId ORDER BY j.id")
+        List<Object[]> findOpenJobProfiles(@Param("afterId") Long afterId, Pageable pageable);
+
+        @Query("SELECT new com.rev.app.search.JobSearchDocument(j.id, j.title, j.skillsRequired, j.description, " +
+                        "c.name, j.location, j.jobType, j.experienceRequired, j.salaryRange, j.postedDate) " +
+                        "FROM Job j JOIN j.company c WHERE j.isClosed = false AND j.id > :afterId ORDER BY j.id")
+        List<JobSearchDocument> findSearchDocuments(@Param("afterId") Long afterId, Pageable pageable);
+
+        // Rows of {id, title, company name, deadline} for rendering notifications.
+        @Query("SELECT j.id, j.title, c.name, j.deadline FROM Job j LEFT JOIN j.company c WHERE j.id IN :ids")
+        List<Object[]> findNotificationSubjects(@Param("ids") java.util.Collection<Long> ids);
+
+        @Query("SELECT j.id FROM Job j WHERE j.title = :title AND j.company.name = :companyName")
+        List<Long> findIdsByTitleAndCompanyName(@Param("title") String title,
+                        @Param("companyName") String companyName);
+
+        @Query("SELECT j.id FROM Job j WHERE j.employer.user.id = :userId AND j.title = :title")
+        List<Long> findIdsByEmployerUserIdAndTitle(@Param("userId") Long userId, @Param("title") String title);
 }
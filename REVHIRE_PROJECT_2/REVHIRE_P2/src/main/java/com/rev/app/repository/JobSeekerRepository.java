@@ -2,11 +2,29 @@ package com.rev.app.repository;
 
 import com.rev.app.entity.JobSeeker;
 import com.rev.app.entity.User;
+import com.rev.app.search.SeekerSkills;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface JobSeekerRepository extends JpaRepository<JobSeeker, Long> {
     Optional<JobSeeker> findByUser(User user);
 
     Optional<JobSeeker> findByUserId(Long userId);
+
+    @Query("SELECT new com.rev.app.search.SeekerSkills(js.id, js.user.id, r.skills) " +
+            "FROM Resume r JOIN r.jobSeeker js WHERE js.id > :afterId AND r.skills IS NOT NULL ORDER BY js.id")
+    List<SeekerSkills> findSeekerSkills(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Rows of {seeker id, user id}.
+    @Query("SELECT js.id, js.user.id FROM JobSeeker js WHERE js.id > :afterId ORDER BY js.id")
+    List<Object[]> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Rows of {seeker id, name}.
+    @Query("SELECT js.id, js.name FROM JobSeeker js WHERE js.id IN :ids")
+    List<Object[]> findNamesByIds(@Param("ids") Collection<Long> ids);
 }
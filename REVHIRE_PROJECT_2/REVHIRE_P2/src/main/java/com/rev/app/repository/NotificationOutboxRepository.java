@@ -0,0 +1,33 @@
+package com.rev.app.repository;
+
+import com.rev.app.entity.NotificationOutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutboxEvent, Long>,
+        NotificationOutboxRepositoryCustom {
+
+    @Query("SELECT e.id FROM NotificationOutboxEvent e WHERE e.nextAttemptAt <= :now AND e.attempts < :maxAttempts "
+            + "ORDER BY e.id")
+    List<Long> findDueIds(@Param("now") LocalDateTime now, @Param("maxAttempts") int maxAttempts, Pageable pageable);
+
+    List<NotificationOutboxEvent> findByIdInOrderById(Collection<Long> ids);
+
+    // The row locks taken here make a second dispatcher holding the same ids wait, then delete nothing.
+    @Modifying
+    @Query("DELETE FROM NotificationOutboxEvent e WHERE e.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+
+    // One row of {pending count, oldest pending created at}, for the lag gauges.
+    @Query("SELECT COUNT(e), MIN(e.createdAt) FROM NotificationOutboxEvent e WHERE e.attempts < :maxAttempts")
+    List<Object[]> pendingSummary(@Param("maxAttempts") int maxAttempts);
+
+    long countByAttemptsGreaterThanEqual(int maxAttempts);
+}
@@ -0,0 +1,9 @@
+package com.rev.app.repository;
+
+import com.rev.app.entity.NotificationContent;
+
+import java.util.List;
+
+public interface NotificationOutboxRepositoryCustom {
+    void appendBatch(List<Long> userIds, NotificationContent content);
+}
@@ -0,0 +1,30 @@
+package com.rev.app.repository;
+
+import com.rev.app.entity.NotificationContent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class NotificationOutboxRepositoryImpl implements NotificationOutboxRepositoryCustom {
+
+    private static final String INSERT_SQL = "INSERT INTO notification_outbox (user_id, "
+            + NotificationRepositoryImpl.CONTENT_COLUMNS
+            + ", created_at, next_attempt_at, attempts) VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void appendBatch(List<Long> userIds, NotificationContent content) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, userIds, userIds.size(), (ps, userId) -> {
+            ps.setLong(1, userId);
+            NotificationRepositoryImpl.setContent(ps, 2, content);
+            ps.setTimestamp(7, now);
+            ps.setTimestamp(8, now);
+        });
+    }
+}
@@ -0,0 +1,31 @@
+package com.rev.app.repository;
+
+import com.rev.app.entity.NotificationReadMark;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+public interface NotificationReadMarkRepository extends JpaRepository<NotificationReadMark, Long> {
+
+    @Query("SELECT m.readUpToId FROM NotificationReadMark m WHERE m.userId = :userId")
+    Optional<Long> findReadUpToId(@Param("userId") Long userId);
+
+    // A plain INSERT in its own transaction, so two first marks for one user collide on the key
+    // without failing the caller's transaction.
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Modifying
+    @Query(value = "INSERT INTO notification_read_marks (user_id, read_up_to_id) VALUES (:userId, 0)",
+            nativeQuery = true)
+    int create(@Param("userId") Long userId);
+
+    // Only ever moves the mark forward; 0 if it is already at or past readUpToId.
+    @Modifying
+    @Query("UPDATE NotificationReadMark m SET m.readUpToId = :readUpToId " +
+            "WHERE m.userId = :userId AND m.readUpToId < :readUpToId")
+    int advance(@Param("userId") Long userId, @Param("readUpToId") long readUpToId);
+}
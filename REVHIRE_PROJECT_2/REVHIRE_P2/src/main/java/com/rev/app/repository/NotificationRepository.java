@@ -1,12 +1,58 @@
 package com.rev.app.repository;
 
 import com.rev.app.entity.Notification;
+import com.rev.app.entity.NotificationTemplate;
 import com.rev.app.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
-public interface NotificationRepository extends JpaRepository<Notification, Long> {
-    List<Notification> findByUserOrderByCreatedAtDesc(User user);
-
+public interface NotificationRepository extends JpaRepository<Notification, Long>, NotificationRepositoryCustom {
     long countByUserAndIsReadFalse(User user);
+
+    // Unread means above the user's read mark and not read one by one.
+    @Query("SELECT n.user.id, COUNT(n) FROM Notification n WHERE n.isRead = false AND n.user.id IN :userIds " +
+            "AND n.id > COALESCE((SELECT m.readUpToId FROM NotificationReadMark m WHERE m.userId = n.user.id), 0) " +
+            "GROUP BY n.user.id")
+    List<Object[]> countUnreadByUserIds(@Param("userIds") Collection<Long> userIds);
+
+    // A range over idx_notifications_user_unread.
+    @Query("SELECT COUNT(n) FROM Notification n WHERE n.user.id = :userId AND n.isRead = false AND n.id > :readUpToId")
+    long countUnread(@Param("userId") Long userId, @Param("readUpToId") long readUpToId);
+
+    @Query("SELECT MAX(n.id) FROM Notification n WHERE n.user.id = :userId")
+    Long findMaxIdByUserId(@Param("userId") Long userId);
+
+    // Keyset pages ordered newest first on (createdAt, id); a null cursor starts at the top.
+    @Query("SELECT n FROM Notification n WHERE n.user.id = :userId AND " +
+            "(:cursorAt IS NULL OR n.createdAt < :cursorAt OR (n.createdAt = :cursorAt AND n.id < :cursorId)) " +
+            "ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findInboxPage(@Param("userId") Long userId,
+            @Param("cursorAt") LocalDateTime cursorAt,
+            @Param("cursorId") Long cursorId,
+            Pageable pageable);
+
+    @Query("SELECT MAX(n.id) FROM Notification n")
+    Long findMaxId();
+
+    // Notifications of the given users inserted after the given id, for pushing to their streams.
+    @Query("SELECT n FROM Notification n WHERE n.id > :afterId AND n.user.id IN :userIds ORDER BY n.id")
+    List<Notification> findCreatedAfter(@Param("afterId") Long afterId, @Param("userIds") Collection<Long> userIds);
+
+    // Rows written before templates existed, oldest first.
+    @Query("SELECT n FROM Notification n WHERE n.content.template IS NULL ORDER BY n.id")
+    List<Notification> findUntemplated(Pageable pageable);
+
+    // [id, user id, template, job id] of unread rows of coalesced templates still inside their digest window,
+    // newest first; a range over idx_notifications_user_unread. Not entities, so a later read sees the new counts.
+    @Query("SELECT n.id, n.user.id, n.content.template, n.content.jobId FROM Notification n " +
+            "WHERE n.user.id IN :userIds AND n.isRead = false " +
+            "AND n.content.template IN :templates AND n.createdAt >= :since ORDER BY n.id DESC")
+    List<Object[]> findOpenDigests(@Param("userIds") Collection<Long> userIds,
+            @Param("templates") Collection<NotificationTemplate> templates,
+            @Param("since") LocalDateTime since);
 }
@@ -0,0 +1,28 @@
+package com.rev.app.repository;
+
+import com.rev.app.dto.NotificationDraft;
+import com.rev.app.entity.NotificationContent;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public interface NotificationRepositoryCustom {
+
+    /**
+     * Inserts one unread notification per user with a single JDBC batch,
+     * bypassing the persistence context.
+     */
+    void insertBatch(List<Long> userIds, NotificationContent content);
+
+    /** Inserts one unread notification per draft, keeping the draft's creation time. */
+    void insertDrafts(List<NotificationDraft> drafts);
+
+    /**
+     * Adds to the occurrences of digest rows that are still unread, checking
+     * both the row's flag and its user's read mark at update time.
+     *
+     * @return the ids that were updated; a row read meanwhile is left alone
+     */
+    Set<Long> addOccurrences(Map<Long, Integer> occurrencesById);
+}
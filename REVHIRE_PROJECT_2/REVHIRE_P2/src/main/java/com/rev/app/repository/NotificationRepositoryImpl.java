@@ -0,0 +1,77 @@
+package com.rev.app.repository;
+
+import com.rev.app.dto.NotificationDraft;
+import com.rev.app.entity.NotificationContent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class NotificationRepositoryImpl implements NotificationRepositoryCustom {
+
+    // The columns of NotificationContent, in the order setContent binds them.
+    static final String CONTENT_COLUMNS = "template, job_id, seeker_id, status, message";
+
+    private static final String INSERT_SQL = "INSERT INTO notifications (user_id, " + CONTENT_COLUMNS
+            + ", is_read, created_at, occurrences) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // Unread as countUnreadByUserIds means it: neither flagged nor under the user's read mark.
+    private static final String ADD_OCCURRENCES_SQL = "UPDATE notifications "
+            + "SET occurrences = COALESCE(occurrences, 1) + ? WHERE id = ? AND is_read = ? AND id > COALESCE("
+            + "(SELECT read_up_to_id FROM notification_read_marks WHERE user_id = notifications.user_id), 0)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertBatch(List<Long> userIds, NotificationContent content) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, userIds, userIds.size(), (ps, userId) -> {
+            ps.setLong(1, userId);
+            setContent(ps, 2, content);
+            ps.setBoolean(7, false);
+            ps.setTimestamp(8, now);
+            ps.setInt(9, 1);
+        });
+    }
+
+    @Override
+    public void insertDrafts(List<NotificationDraft> drafts) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, drafts, drafts.size(), (ps, draft) -> {
+            ps.setLong(1, draft.getUserId());
+            setContent(ps, 2, draft.getContent());
+            ps.setBoolean(7, false);
+            ps.setTimestamp(8, Timestamp.valueOf(draft.getCreatedAt()));
+            ps.setInt(9, draft.getOccurrences());
+        });
+    }
+
+    @Override
+    public Set<Long> addOccurrences(Map<Long, Integer> occurrencesById) {
+        // One statement per digest: batches may answer SUCCESS_NO_INFO, which cannot tell a skipped row apart.
+        Set<Long> updated = new HashSet<>();
+        occurrencesById.forEach((id, occurrences) -> {
+            if (jdbcTemplate.update(ADD_OCCURRENCES_SQL, occurrences, id, false) > 0) {
+                updated.add(id);
+            }
+        });
+        return updated;
+    }
+
+    /** Binds the five {@link #CONTENT_COLUMNS} starting at parameter {@code first}. */
+    static void setContent(PreparedStatement ps, int first, NotificationContent content) throws SQLException {
+        ps.setString(first, content.getTemplate() != null ? content.getTemplate().name() : null);
+        ps.setObject(first + 1, content.getJobId(), Types.BIGINT);
+        ps.setObject(first + 2, content.getSeekerId(), Types.BIGINT);
+        ps.setString(first + 3, content.getStatus() != null ? content.getStatus().name() : null);
+        ps.setString(first + 4, content.getText());
+    }
+}
@@ -2,11 +2,26 @@ package com.rev.app.repository;
 
 import com.rev.app.entity.Resume;
 import com.rev.app.entity.JobSeeker;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
 import java.util.Optional;
 
 public interface ResumeRepository extends JpaRepository<Resume, Long> {
     Optional<Resume> findByJobSeeker(JobSeeker jobSeeker);
 
     Optional<Resume> findByJobSeekerId(Long jobSeekerId);
+
+    boolean existsByFilePath(String filePath);
+
+    boolean existsByIdAndFilePath(Long id, String filePath);
+
+    // Rows of {resume id, file path, file name} whose file has no up-to-date extracted text.
+    @Query("SELECT r.id, r.filePath, r.fileName FROM Resume r WHERE r.id > :afterId AND r.filePath IS NOT NULL " +
+            "AND NOT EXISTS (SELECT t.resumeId FROM ResumeText t WHERE t.resumeId = r.id AND t.filePath = r.filePath) " +
+            "ORDER BY r.id")
+    List<Object[]> findWithoutExtractedText(@Param("afterId") Long afterId, Pageable pageable);
 }
@@ -0,0 +1,7 @@
+package com.rev.app.repository;
+
+import com.rev.app.entity.ResumeText;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface ResumeTextRepository extends JpaRepository<ResumeText, Long> {
+}
@@ -4,6 +4,9 @@ import com.rev.app.entity.SavedJob;
 import com.rev.app.entity.JobSeeker;
 import com.rev.app.entity.Job;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,4 +16,17 @@ public interface SavedJobRepository extends JpaRepository<SavedJob, Long> {
     Optional<SavedJob> findByJobSeekerAndJob(JobSeeker jobSeeker, Job job);
 
     boolean existsByJobSeekerAndJob(JobSeeker jobSeeker, Job job);
+
+    @Query("SELECT s.job.id, s.job.skillsRequired FROM SavedJob s WHERE s.jobSeeker.id = :seekerId")
+    List<Object[]> findJobSkillsBySeekerId(@Param("seekerId") Long seekerId);
+
+    @Query("SELECT s.jobSeeker.id, COUNT(s) FROM SavedJob s WHERE s.jobSeeker.id IN :seekerIds " +
+            "GROUP BY s.jobSeeker.id")
+    List<Object[]> countBySeekerIds(@Param("seekerIds") Collection<Long> seekerIds);
+
+    @Query("SELECT s.jobSeeker.user.id FROM SavedJob s WHERE s.job.id = :jobId")
+    List<Long> findSeekerUserIdsByJobId(@Param("jobId") Long jobId);
+
+    @Query("SELECT s.jobSeeker.id, COUNT(s) FROM SavedJob s WHERE s.job.id = :jobId GROUP BY s.jobSeeker.id")
+    List<Object[]> countBySeekerForJob(@Param("jobId") Long jobId);
 }
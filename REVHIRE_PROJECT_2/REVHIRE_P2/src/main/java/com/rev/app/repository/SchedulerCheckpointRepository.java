@@ -0,0 +1,22 @@
+package com.rev.app.repository;
+
+import com.rev.app.entity.SchedulerCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+
+public interface SchedulerCheckpointRepository extends JpaRepository<SchedulerCheckpoint, String> {
+
+    // Compare-and-set: 0 when another instance moved the checkpoint since it was read.
+    @Modifying
+    @Query("UPDATE SchedulerCheckpoint c SET c.completedThrough = :completedThrough, c.lastId = :lastId " +
+            "WHERE c.name = :name AND c.completedThrough = :expectedThrough AND c.lastId = :expectedLastId")
+    int advance(@Param("name") String name,
+            @Param("expectedThrough") LocalDate expectedThrough,
+            @Param("expectedLastId") Long expectedLastId,
+            @Param("completedThrough") LocalDate completedThrough,
+            @Param("lastId") Long lastId);
+}
@@ -0,0 +1,38 @@
+package com.rev.app.repository;
+
+import com.rev.app.entity.SchedulerLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Each method commits on its own: a lease is taken or given up before the
+ * work it guards starts or after it ends, never inside that work's
+ * transaction.
+ */
+public interface SchedulerLeaseRepository extends JpaRepository<SchedulerLease, String> {
+
+    // Takes an expired lease, or extends one the owner already holds; 0 if someone else holds it.
+    @Transactional
+    @Modifying
+    @Query("UPDATE SchedulerLease l SET l.owner = :owner, l.expiresAt = :until " +
+            "WHERE l.name = :name AND (l.owner = :owner OR l.expiresAt < :now)")
+    int claim(@Param("name") String name, @Param("owner") String owner,
+            @Param("now") LocalDateTime now, @Param("until") LocalDateTime until);
+
+    // A plain INSERT, so two instances creating the lease at once collide on the key instead of merging.
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO scheduler_leases (name, owner, expires_at) VALUES (:name, :owner, :until)",
+            nativeQuery = true)
+    int create(@Param("name") String name, @Param("owner") String owner, @Param("until") LocalDateTime until);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE SchedulerLease l SET l.expiresAt = :now WHERE l.name = :name AND l.owner = :owner")
+    int release(@Param("name") String name, @Param("owner") String owner, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,74 @@
+package com.rev.app.repository;
+
+import com.rev.app.entity.ApplicationCounts;
+import com.rev.app.entity.SeekerStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import javax.persistence.LockModeType;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Same delta-update contract as {@link EmployerStatsRepository}.
+ */
+public interface SeekerStatsRepository extends JpaRepository<SeekerStats, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM SeekerStats s WHERE s.seekerId IN :seekerIds")
+    List<SeekerStats> lockAllById(@Param("seekerIds") Collection<Long> seekerIds);
+
+    @Modifying
+    @Query("UPDATE SeekerStats s SET s.applications.applied = s.applications.applied + :applied, " +
+            "s.applications.underReview = s.applications.underReview + :underReview, " +
+            "s.applications.shortlisted = s.applications.shortlisted + :shortlisted, " +
+            "s.applications.rejected = s.applications.rejected + :rejected, " +
+            "s.applications.withdrawn = s.applications.withdrawn + :withdrawn " +
+            "WHERE s.seekerId = :seekerId")
+    int adjustApplications(@Param("seekerId") Long seekerId,
+            @Param("applied") long applied,
+            @Param("underReview") long underReview,
+            @Param("shortlisted") long shortlisted,
+            @Param("rejected") long rejected,
+            @Param("withdrawn") long withdrawn);
+
+    default int adjustApplications(Long seekerId, ApplicationCounts delta) {
+        return adjustApplications(seekerId, delta.getApplied(), delta.getUnderReview(), delta.getShortlisted(),
+                delta.getRejected(), delta.getWithdrawn());
+    }
+
+    @Modifying
+    @Query("UPDATE SeekerStats s SET s.applications.applied = s.applications.applied + :applied, " +
+            "s.applications.underReview = s.applications.underReview + :underReview, " +
+            "s.applications.shortlisted = s.applications.shortlisted + :shortlisted, " +
+            "s.applications.rejected = s.applications.rejected + :rejected, " +
+            "s.applications.withdrawn = s.applications.withdrawn + :withdrawn " +
+            "WHERE s.seekerId IN :seekerIds")
+    int adjustApplications(@Param("seekerIds") Collection<Long> seekerIds,
+            @Param("applied") long applied,
+            @Param("underReview") long underReview,
+            @Param("shortlisted") long shortlisted,
+            @Param("rejected") long rejected,
+            @Param("withdrawn") long withdrawn);
+
+    default int adjustApplications(Collection<Long> seekerIds, ApplicationCounts delta) {
+        return adjustApplications(seekerIds, delta.getApplied(), delta.getUnderReview(), delta.getShortlisted(),
+                delta.getRejected(), delta.getWithdrawn());
+    }
+
+    @Modifying
+    @Query("UPDATE SeekerStats s SET s.savedJobs = s.savedJobs + :delta WHERE s.seekerId = :seekerId")
+    int adjustSavedJobs(@Param("seekerId") Long seekerId, @Param("delta") long delta);
+
+    @Modifying
+    @Query("UPDATE SeekerStats s SET s.unreadNotifications = s.unreadNotifications + :delta " +
+            "WHERE s.userId IN :userIds")
+    int adjustUnreadNotifications(@Param("userIds") Collection<Long> userIds, @Param("delta") long delta);
+
+    @Modifying
+    @Query("UPDATE SeekerStats s SET s.unreadNotifications = :count WHERE s.userId = :userId")
+    int setUnreadNotifications(@Param("userId") Long userId, @Param("count") long count);
+}
@@ -1,11 +1,20 @@
 package com.rev.app.repository;
 
+import com.rev.app.dto.CurrentProfile;
 import com.rev.app.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
 
     boolean existsByEmail(String email);
+
+    @Query("SELECT new com.rev.app.dto.CurrentProfile(u.id, u.email, u.role, e.id, c.id, s.id) " +
+            "FROM User u LEFT JOIN Employer e ON e.user = u LEFT JOIN e.company c " +
+            "LEFT JOIN JobSeeker s ON s.user = u WHERE u.email = :email")
+    Optional<CurrentProfile> findProfileByEmail(@Param("email") String email);
 }
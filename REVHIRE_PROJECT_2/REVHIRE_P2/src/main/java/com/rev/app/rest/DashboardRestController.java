@@ -1,6 +1,7 @@
 package com.rev.app.rest;
 
-import com.rev.app.service.EmployerService;
+import com.rev.app.dto.EmployerDashboardDTO;
+import com.rev.app.service.DashboardService;
 import com.rev.app.service.JobSeekerService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -13,12 +14,12 @@ import java.util.Map;
 public class DashboardRestController {
 
     private final JobSeekerService jobSeekerService;
-    private final EmployerService employerService;
+    private final DashboardService dashboardService;
 
     @Autowired
-    public DashboardRestController(JobSeekerService jobSeekerService, EmployerService employerService) {
+    public DashboardRestController(JobSeekerService jobSeekerService, DashboardService dashboardService) {
         this.jobSeekerService = jobSeekerService;
-        this.employerService = employerService;
+        this.dashboardService = dashboardService;
     }
 
     @GetMapping("/seeker/{seekerId}")
@@ -27,7 +28,7 @@ public class DashboardRestController {
     }
 
     @GetMapping("/employer/{employerId}")
-    public ResponseEntity<Map<String, Object>> getEmployerDashboard(@PathVariable Long employerId) {
-        return ResponseEntity.ok(employerService.getStatistics(employerId));
+    public ResponseEntity<EmployerDashboardDTO> getEmployerDashboard(@PathVariable Long employerId) {
+        return ResponseEntity.ok(dashboardService.getEmployerDashboard(employerId));
     }
 }
@@ -1,6 +1,7 @@
 package com.rev.app.rest;
 
 import com.rev.app.dto.JobDTO;
+import com.rev.app.dto.PageDTO;
 import com.rev.app.service.JobService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -16,11 +17,20 @@ public class JobRestController {
     private JobService jobService;
 
     @GetMapping
-    public ResponseEntity<List<JobDTO>> getAllJobs(@RequestParam(required = false) String keyword) {
+    public ResponseEntity<PageDTO<JobDTO>> getAllJobs(@RequestParam(required = false) String keyword,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        if ("relevance".equalsIgnoreCase(sort)) {
+            // Relevance order has no stable keyset, so it returns a single top-N page.
+            List<JobDTO> ranked = jobService.searchJobsByRelevance(keyword, null, null, null, null, null, limit);
+            return ResponseEntity.ok(new PageDTO<>(ranked, null, false));
+        }
         if (keyword != null && !keyword.trim().isEmpty()) {
-            return ResponseEntity.ok(jobService.searchJobs(keyword));
+            return ResponseEntity.ok(
+                    jobService.searchJobsAdvancedPage(keyword, null, null, null, null, null, cursor, limit));
         }
-        return ResponseEntity.ok(jobService.getAllActiveJobs());
+        return ResponseEntity.ok(jobService.getActiveJobsPage(cursor, limit));
     }
 
     @GetMapping("/{id}")
@@ -1,10 +1,16 @@
 package com.rev.app.rest;
 
+import com.rev.app.dto.CurrentProfile;
 import com.rev.app.dto.NotificationDTO;
+import com.rev.app.dto.PageDTO;
+import com.rev.app.notification.NotificationStreams;
+import com.rev.app.service.DashboardService;
 import com.rev.app.service.NotificationService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -14,14 +20,43 @@ public class NotificationRestController {
 
     private final NotificationService notificationService;
 
+    private final DashboardService dashboardService;
+
+    private final NotificationStreams notificationStreams;
+
     @Autowired
-    public NotificationRestController(NotificationService notificationService) {
+    public NotificationRestController(NotificationService notificationService, DashboardService dashboardService,
+            NotificationStreams notificationStreams) {
         this.notificationService = notificationService;
+        this.dashboardService = dashboardService;
+        this.notificationStreams = notificationStreams;
+    }
+
+    /**
+     * Pushes the signed-in user's new notifications and unread count changes,
+     * starting with the current count. Seekers' counts come from their
+     * dashboard counter row rather than a COUNT over notifications.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(CurrentProfile profile) {
+        long unread = profile.getSeekerId() != null
+                ? dashboardService.getSeekerDashboard(profile.getSeekerId()).getUnreadNotificationCount()
+                : notificationService.getUnreadCount(profile.getUserId());
+        return notificationStreams.subscribe(profile.getUserId(), unread);
     }
 
+    /** The newest page of the inbox; older notifications are only reachable through {@code /inbox}. */
     @GetMapping("/user/{userId}")
     public ResponseEntity<List<NotificationDTO>> getNotifications(@PathVariable Long userId) {
-        return ResponseEntity.ok(notificationService.getNotificationsForUser(userId));
+        return ResponseEntity.ok(notificationService.getInbox(userId, null, 0).getItems());
+    }
+
+    /** Newest first, a page at a time; pass the returned cursor to get the next page. */
+    @GetMapping("/user/{userId}/inbox")
+    public ResponseEntity<PageDTO<NotificationDTO>> getInbox(@PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(notificationService.getInbox(userId, cursor, limit));
     }
 
     @GetMapping("/user/{userId}/unread-count")
@@ -50,6 +50,14 @@ public class UserRestController {
         return ResponseEntity.ok(new com.rev.app.dto.AuthenticationResponse(jwt));
     }
 
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestHeader(value = "Authorization", required = false) String authorization) {
+        if (authorization != null && authorization.startsWith("Bearer ")) {
+            jwtUtil.revoke(authorization.substring(7));
+        }
+        return ResponseEntity.noContent().build();
+    }
+
     @PostMapping("/register")
     public ResponseEntity<String> registerUser(@Valid @RequestBody UserDTO userDTO) {
         if (userService.existsByEmail(userDTO.getEmail())) {
@@ -0,0 +1,48 @@
+package com.rev.app.scheduler;
+
+import com.rev.app.dto.CounterReconcileBatch;
+import com.rev.app.service.DashboardCounterService;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Function;
+
+/**
+ * Walks every employer and seeker in id order and repairs dashboard counters
+ * that drifted from the source tables. Each batch runs in its own
+ * transaction, so locks are only held for one batch at a time.
+ */
+@Component
+public class DashboardCounterReconciler {
+
+    private static final Logger logger = LogManager.getLogger(DashboardCounterReconciler.class);
+
+    @Autowired
+    private DashboardCounterService dashboardCounterService;
+
+    // Run every day at 03:30, away from the midnight expiry reminders
+    @Scheduled(cron = "${revhire.dashboard.reconcile-cron:0 30 3 * * *}")
+    public void reconcileCounters() {
+        long start = System.currentTimeMillis();
+        int employers = reconcileAll(dashboardCounterService::reconcileEmployers);
+        int seekers = reconcileAll(dashboardCounterService::reconcileSeekers);
+        if (employers + seekers > 0) {
+            logger.warn("Dashboard counters drifted: repaired {} employer and {} seeker rows", employers, seekers);
+        }
+        logger.info("Dashboard counter reconciliation finished in {} ms", System.currentTimeMillis() - start);
+    }
+
+    int reconcileAll(Function<Long, CounterReconcileBatch> batch) {
+        int repaired = 0;
+        Long afterId = 0L;
+        while (afterId != null) {
+            CounterReconcileBatch result = batch.apply(afterId);
+            repaired += result.getRepaired();
+            afterId = result.getLastId();
+        }
+        return repaired;
+    }
+}
@@ -1,41 +1,83 @@
 package com.rev.app.scheduler;
 
-import com.rev.app.entity.Job;
-import com.rev.app.repository.JobRepository;
-import com.rev.app.service.NotificationService;
+import com.rev.app.service.DeadlineEventService;
+import com.rev.app.service.JobExpiryService;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
-import java.time.LocalDate;
-import java.util.List;
+import java.time.Duration;
+import java.time.LocalDateTime;
 
+/**
+ * Backstop for {@code DeadlineWheel}: closes any open job past its deadline
+ * that the wheel has not closed, and creates deadline events for open jobs
+ * that have none, the jobs posted before deadline events existed. Every
+ * instance runs the schedule, but only the one holding the {@value #LEASE}
+ * lease does the work. The backfill goes in id-ordered chunks behind a
+ * checkpoint in the database, so a run that dies part-way is picked up where
+ * it stopped by the next run; once caught up, a run reads only new jobs.
+ */
 @Component
 public class JobExpiryScheduler {
 
     private static final Logger logger = LogManager.getLogger(JobExpiryScheduler.class);
 
+    static final String LEASE = "job-expiry";
+
+    @Autowired
+    private JobExpiryService jobExpiryService;
+
     @Autowired
-    private JobRepository jobRepository;
+    private DeadlineEventService deadlineEventService;
 
     @Autowired
-    private NotificationService notificationService;
+    private SchedulerLeases schedulerLeases;
 
-    // Run every day at midnight
-    @Scheduled(cron = "0 0 0 * * *")
-    public void notifyExpiringJobs() {
-        LocalDate reminderDate = LocalDate.now().plusDays(2);
-        logger.info("Checking for jobs expiring on {}", reminderDate);
+    @Value("${revhire.jobs.expiry.batch-size:500}")
+    private int batchSize = 500;
 
-        List<Job> expiringJobs = jobRepository.findByDeadlineAndIsClosedFalse(reminderDate);
+    // Renewed after every chunk; must outlast one chunk plus the clock skew between instances.
+    @Value("${revhire.jobs.expiry.lease-ttl-ms:600000}")
+    private long leaseTtlMillis = 600000L;
 
-        for (Job job : expiringJobs) {
-            String message = "Reminder: Your job posting '" + job.getTitle() + "' will expire in 2 days (on "
-                    + job.getDeadline() + ").";
-            notificationService.sendNotification(job.getEmployer().getUser().getId(), message);
-            logger.info("Sent expiry reminder to employer {} for job {}", job.getEmployer().getId(), job.getId());
+    @Scheduled(cron = "${revhire.jobs.expiry-cron:0 0 * * * *}")
+    public void runExpiry() {
+        Duration ttl = Duration.ofMillis(leaseTtlMillis);
+        if (!schedulerLeases.tryAcquire(LEASE, ttl)) {
+            logger.debug("Job expiry is running on another instance");
+            return;
+        }
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            int closed = jobExpiryService.closeExpiredJobs(now.toLocalDate());
+            int backfilled = 0;
+            int read;
+            do {
+                read = deadlineEventService.backfill(now, batchSize);
+                backfilled += read;
+                if (read == batchSize && !schedulerLeases.tryAcquire(LEASE, ttl)) {
+                    logger.warn("Lost the job expiry lease after backfilling {} jobs; another instance resumes",
+                            backfilled);
+                    return;
+                }
+            } while (read == batchSize);
+            if (closed > 0) {
+                logger.info("Closed {} expired jobs the deadline wheel had not", closed);
+            }
+            if (backfilled > 0) {
+                logger.info("Checked {} open jobs for missing deadline events", backfilled);
+            }
+        } catch (ConcurrencyFailureException e) {
+            logger.info("Job expiry taken over by another instance: {}", e.getMessage());
+        } catch (RuntimeException e) {
+            logger.error("Job expiry run failed: {}", e.getMessage());
+        } finally {
+            schedulerLeases.release(LEASE);
         }
     }
 }
@@ -0,0 +1,56 @@
+package com.rev.app.scheduler;
+
+import com.rev.app.notification.JobMatchNotifier;
+import com.rev.app.repository.JobRepository;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Queues the match fan-out of jobs still marked as pending: postings that met
+ * a full notification queue, and fan-outs lost to a restart or a failure
+ * whose lease has expired. A job queued twice, here and by its own posting,
+ * is notified once, because the fan-out leases the job first. Stops at the
+ * first rejection, so a backlog drains over several runs.
+ */
+@Component
+public class JobMatchBackfill {
+
+    private static final Logger logger = LogManager.getLogger(JobMatchBackfill.class);
+
+    static final int BATCH_SIZE = 100;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private JobMatchNotifier jobMatchNotifier;
+
+    @Scheduled(cron = "${revhire.notifications.match-backfill-cron:0 */5 * * * *}")
+    public void queuePendingFanOuts() {
+        int queued = 0;
+        long afterId = 0L;
+        LocalDateTime expiredBefore = jobMatchNotifier.leaseExpiredBefore();
+        List<Object[]> rows;
+        do {
+            rows = jobRepository.findPendingMatchFanOuts(afterId, expiredBefore, PageRequest.of(0, BATCH_SIZE));
+            for (Object[] row : rows) {
+                afterId = (Long) row[0];
+                if (!jobMatchNotifier.submit(afterId, (String) row[1])) {
+                    logger.info("Queued match fan-out for {} jobs, queue full", queued);
+                    return;
+                }
+                queued++;
+            }
+        } while (rows.size() == BATCH_SIZE);
+        if (queued > 0) {
+            logger.info("Queued match fan-out for {} jobs", queued);
+        }
+    }
+}
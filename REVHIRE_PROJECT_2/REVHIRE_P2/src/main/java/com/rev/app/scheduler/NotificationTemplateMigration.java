@@ -0,0 +1,89 @@
+package com.rev.app.scheduler;
+
+import com.rev.app.repository.NotificationRepository;
+import com.rev.app.service.NotificationService;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Locale;
+
+/**
+ * Moves notifications to template storage. At startup it lets the
+ * {@code message} column hold nulls, which {@code ddl-auto=update} never
+ * does for an existing column; templated rows leave it empty. It then
+ * converts the rows written as rendered text, a batch per transaction, until
+ * none are left, and stops checking.
+ */
+@Component
+public class NotificationTemplateMigration {
+
+    private static final Logger logger = LogManager.getLogger(NotificationTemplateMigration.class);
+
+    static final int BATCH_SIZE = 500;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Injected so the schema update has run before the columns are inspected.
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    private volatile boolean finished;
+
+    @PostConstruct
+    void allowTemplatedRows() {
+        dropNotNull("notifications", "message");
+        dropNotNull("notification_outbox", "message");
+    }
+
+    @Scheduled(fixedDelayString = "${revhire.notifications.migration.poll-ms:300000}")
+    public void convertLegacyRows() {
+        if (finished) {
+            return;
+        }
+        int converted = 0;
+        int batch;
+        do {
+            batch = notificationService.templateLegacyNotifications(BATCH_SIZE);
+            converted += batch;
+        } while (batch == BATCH_SIZE);
+        finished = true;
+        if (converted > 0) {
+            logger.info("Converted {} notifications to templates", converted);
+        }
+    }
+
+    private void dropNotNull(String table, String column) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            DatabaseMetaData meta = connection.getMetaData();
+            boolean upper = meta.storesUpperCaseIdentifiers();
+            String schema = connection.getSchema();
+            try (ResultSet columns = meta.getColumns(connection.getCatalog(), schema,
+                    upper ? table.toUpperCase(Locale.ROOT) : table, upper ? column.toUpperCase(Locale.ROOT) : column)) {
+                if (!columns.next() || columns.getInt("NULLABLE") != DatabaseMetaData.columnNoNulls) {
+                    return null;
+                }
+            }
+            String ddl = meta.getDatabaseProductName().toLowerCase(Locale.ROOT).contains("oracle")
+                    ? "ALTER TABLE " + table + " MODIFY (" + column + " NULL)"
+                    : "ALTER TABLE " + table + " ALTER COLUMN " + column + " SET NULL";
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(ddl);
+            }
+            logger.info("Made {}.{} nullable for templated notifications", table, column);
+            return null;
+        });
+    }
+}
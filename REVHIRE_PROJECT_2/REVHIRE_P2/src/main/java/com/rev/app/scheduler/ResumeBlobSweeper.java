@@ -0,0 +1,41 @@
+package com.rev.app.scheduler;
+
+import com.rev.app.repository.ResumeRepository;
+import com.rev.app.storage.ResumeBlobStore;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Deletes resume blobs that no resume references any more. A blob must have
+ * been untouched for a day first, so a file uploaded while its last owner
+ * deletes theirs is not removed before the new resume row commits.
+ */
+@Component
+public class ResumeBlobSweeper {
+
+    private static final Logger logger = LogManager.getLogger(ResumeBlobSweeper.class);
+
+    private static final long GRACE_MILLIS = 24 * 60 * 60 * 1000L;
+
+    @Autowired
+    private ResumeBlobStore resumeBlobStore;
+
+    @Autowired
+    private ResumeRepository resumeRepository;
+
+    // Run every day at 04:00, after the dashboard counter reconciliation
+    @Scheduled(cron = "${revhire.resume.sweep-cron:0 0 4 * * *}")
+    public void sweepUnreferencedBlobs() {
+        try {
+            int deleted = resumeBlobStore.sweep(resumeRepository::existsByFilePath, GRACE_MILLIS);
+            logger.info("Resume blob sweep deleted {} unreferenced files", deleted);
+        } catch (IOException e) {
+            logger.error("Resume blob sweep failed: {}", e.getMessage());
+        }
+    }
+}
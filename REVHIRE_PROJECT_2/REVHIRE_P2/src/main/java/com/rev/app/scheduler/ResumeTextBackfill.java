@@ -0,0 +1,58 @@
+package com.rev.app.scheduler;
+
+import com.rev.app.repository.ResumeRepository;
+import com.rev.app.search.ResumeTextPipeline;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Queues text extraction for resumes whose file has no up-to-date extracted
+ * text: uploads that met a full queue, files uploaded before extraction
+ * existed and work lost to a restart. Only the queue's free capacity is
+ * filled, so a large backlog drains over several runs without crowding out
+ * fresh uploads.
+ */
+@Component
+public class ResumeTextBackfill {
+
+    private static final Logger logger = LogManager.getLogger(ResumeTextBackfill.class);
+
+    static final int BATCH_SIZE = 100;
+
+    @Autowired
+    private ResumeRepository resumeRepository;
+
+    @Autowired
+    private ResumeTextPipeline resumeTextPipeline;
+
+    @Scheduled(cron = "${revhire.resume.text.backfill-cron:0 */5 * * * *}")
+    public void queueMissingText() {
+        int queued = 0;
+        long afterId = 0L;
+        int capacity;
+        while ((capacity = resumeTextPipeline.remainingCapacity()) > 0) {
+            List<Object[]> rows = resumeRepository.findWithoutExtractedText(afterId,
+                    PageRequest.of(0, Math.min(BATCH_SIZE, capacity)));
+            for (Object[] row : rows) {
+                afterId = (Long) row[0];
+                if (!resumeTextPipeline.submit(afterId, (String) row[1])) {
+                    logger.info("Queued text extraction for {} resumes, queue full", queued);
+                    return;
+                }
+                queued++;
+            }
+            if (rows.size() < Math.min(BATCH_SIZE, capacity)) {
+                break;
+            }
+        }
+        if (queued > 0) {
+            logger.info("Queued text extraction for {} resumes", queued);
+        }
+    }
+}
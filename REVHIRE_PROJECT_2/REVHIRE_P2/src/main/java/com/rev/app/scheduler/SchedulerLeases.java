@@ -0,0 +1,60 @@
+package com.rev.app.scheduler;
+
+import com.rev.app.repository.SchedulerLeaseRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Database-backed leases that keep a scheduled job to one instance at a time
+ * when several share the database. A holder renews its lease between units
+ * of work; if it dies, the lease lapses after its time-to-live and the next
+ * instance to try takes it over.
+ *
+ * <p>Expiry is judged by each instance's own clock, so the time-to-live must
+ * comfortably exceed both one unit of work and the clock skew between
+ * instances. Work guarded by a lease should still be idempotent or
+ * compare-and-set, in case a paused holder resumes after losing it.
+ */
+@Component
+public class SchedulerLeases {
+
+    @Autowired
+    private SchedulerLeaseRepository leaseRepository;
+
+    // Unique per bean, so two application contexts in one JVM are told apart too.
+    private final String owner = ManagementFactory.getRuntimeMXBean().getName() + "/"
+            + UUID.randomUUID().toString().substring(0, 8);
+
+    /** Takes or renews the lease; false while another instance holds it. */
+    public boolean tryAcquire(String name, Duration ttl) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime until = now.plus(ttl);
+        if (leaseRepository.claim(name, owner, now, until) == 1) {
+            return true;
+        }
+        if (leaseRepository.existsById(name)) {
+            return false;
+        }
+        try {
+            return leaseRepository.create(name, owner, until) == 1;
+        } catch (DataIntegrityViolationException e) {
+            // Another instance created it first, and holds it.
+            return false;
+        }
+    }
+
+    /** Gives the lease up early, if this instance still holds it. */
+    public void release(String name) {
+        leaseRepository.release(name, owner, LocalDateTime.now());
+    }
+
+    String owner() {
+        return owner;
+    }
+}
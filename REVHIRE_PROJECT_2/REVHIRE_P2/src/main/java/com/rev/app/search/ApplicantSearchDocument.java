@@ -0,0 +1,25 @@
+package com.rev.app.search;
+
+import com.rev.app.entity.Application;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApplicantSearchDocument {
+    private Long applicationId;
+    private Long jobId;
+    private Application.ApplicationStatus status;
+    private LocalDateTime appliedDate;
+    private Integer experienceYears;
+    private String seekerName;
+    private String skills;
+    private String education;
+    private String experience;
+    // Extracted text of the resume's current file, if any.
+    private String resumeText;
+}
@@ -0,0 +1,373 @@
+package com.rev.app.search;
+
+import com.rev.app.entity.Application;
+import com.rev.app.repository.ApplicationRepository;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Per-job in-memory index over applicants, so the employer's applicant search
+ * does not run a set of LIKE scans over every application of a popular job.
+ *
+ * <p>A job's index is built on its first search, in id-ordered batches, and
+ * then kept current by the write paths: new applications, status changes,
+ * resume edits, extracted resume text and profile edits. Keyword tokens are
+ * prefix matched against the seeker's name, resume skills, education,
+ * experience and extracted file text; status, applied date and experience are
+ * filtered from primitive columns. At most {@code max-jobs} jobs are held,
+ * least recently searched first out, and each is reloaded after
+ * {@link #TTL_MILLIS}.
+ *
+ * <p>The index lives in this instance's memory and only its own write paths
+ * keep it current: with several instances, an application or status change
+ * made through another instance shows up here once the job is reloaded, up
+ * to {@link #TTL_MILLIS} later.
+ */
+@Component
+public class ApplicantSearchIndex {
+
+    private static final Logger logger = LogManager.getLogger(ApplicantSearchIndex.class);
+
+    // Small batches: each row may carry up to revhire.resume.text.max-chars of extracted text.
+    static final int LOAD_BATCH_SIZE = 200;
+    static final long TTL_MILLIS = 10 * 60 * 1000L;
+    private static final int MIN_COMPACTION_GARBAGE = 64;
+
+    @Autowired
+    private ApplicationRepository applicationRepository;
+
+    @Value("${revhire.search.applicants.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${revhire.search.applicants.max-jobs:200}")
+    private int maxJobs = 200;
+
+    private final Map<Long, JobApplicants> jobs = Collections.synchronizedMap(
+            new LinkedHashMap<Long, JobApplicants>(64, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, JobApplicants> eldest) {
+                    return size() > maxJobs;
+                }
+            });
+
+    // Jobs being loaded -> whether a write touched them meanwhile. Only the load that registered the job may keep
+    // its result, and not if it was touched; overlapping loads answer their own search only.
+    private final Map<Long, Boolean> loading = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the ids of the job's applications matching every supplied
+     * criterion, ascending, or null when the index is disabled or could not
+     * be loaded and the caller should query the database.
+     */
+    public List<Long> search(Long jobId, Application.ApplicationStatus status, String keyword, LocalDate startDate,
+            Integer minExp) {
+        if (!enabled) {
+            return null;
+        }
+        JobApplicants applicants = applicantsFor(jobId);
+        return applicants != null ? applicants.search(status, keyword, startDate, minExp) : null;
+    }
+
+    /** Re-reads one application (new, or its resume changed) once the surrounding transaction commits. */
+    public void applicationChanged(Long applicationId, Long jobId) {
+        if (applicationId == null) {
+            return;
+        }
+        AfterCommit.run(() -> {
+            if (touch(jobId)) {
+                apply(() -> applicationRepository.findApplicantDocumentById(applicationId));
+            }
+        });
+    }
+
+    /** Updates the status column in place once the surrounding transaction commits. */
+    public void statusChanged(Long jobId, Long applicationId, Application.ApplicationStatus status) {
+        AfterCommit.run(() -> {
+            touch(jobId);
+            JobApplicants applicants = jobs.get(jobId);
+            if (applicants != null) {
+                applicants.setStatus(applicationId, status);
+            }
+        });
+    }
+
+    /** Updates the status column of many applications in place once the surrounding transaction commits. */
+    public void statusesChanged(Long jobId, List<Long> applicationIds, Application.ApplicationStatus status) {
+        AfterCommit.run(() -> {
+            touch(jobId);
+            JobApplicants applicants = jobs.get(jobId);
+            if (applicants != null) {
+                applicants.setStatus(applicationIds, status);
+            }
+        });
+    }
+
+    /** Re-reads a seeker's applications after a profile edit (name, experience). */
+    public void seekerChanged(Long seekerId) {
+        if (seekerId == null) {
+            return;
+        }
+        AfterCommit.run(() -> refresh(() -> applicationRepository.findApplicantDocumentsBySeekerId(seekerId)));
+    }
+
+    /** Re-reads the applications made with a resume after it is edited or its file text changes. */
+    public void resumeChanged(Long resumeId) {
+        if (resumeId == null) {
+            return;
+        }
+        AfterCommit.run(() -> refresh(() -> applicationRepository.findApplicantDocumentsByResumeId(resumeId)));
+    }
+
+    /** Drops a deleted job once the surrounding transaction commits. */
+    public void removeJob(Long jobId) {
+        AfterCommit.run(() -> {
+            touch(jobId);
+            jobs.remove(jobId);
+        });
+    }
+
+    int cachedJobs() {
+        return jobs.size();
+    }
+
+    private JobApplicants applicantsFor(Long jobId) {
+        long now = System.currentTimeMillis();
+        JobApplicants cached = jobs.get(jobId);
+        if (cached != null && now - cached.loadedAt < TTL_MILLIS) {
+            return cached;
+        }
+        boolean registered = loading.putIfAbsent(jobId, Boolean.FALSE) == null;
+        try {
+            JobApplicants loaded = new JobApplicants(now);
+            long afterId = 0L;
+            List<ApplicantSearchDocument> batch;
+            do {
+                batch = applicationRepository.findApplicantDocuments(jobId, afterId,
+                        PageRequest.of(0, LOAD_BATCH_SIZE));
+                for (ApplicantSearchDocument document : batch) {
+                    loaded.upsert(document);
+                    afterId = document.getApplicationId();
+                }
+            } while (batch.size() == LOAD_BATCH_SIZE);
+            if (registered) {
+                if (Boolean.FALSE.equals(loading.remove(jobId))) {
+                    jobs.put(jobId, loaded);
+                } else {
+                    jobs.remove(jobId);
+                }
+            }
+            return loaded;
+        } catch (RuntimeException e) {
+            if (registered) {
+                loading.remove(jobId);
+            }
+            logger.error("Applicant index load for job {} failed, searching the database: {}", jobId,
+                    e.getMessage());
+            return null;
+        }
+    }
+
+    /** Flags a load in progress as stale; returns whether the job is held or loading. */
+    private boolean touch(Long jobId) {
+        boolean wasLoading = loading.computeIfPresent(jobId, (id, touched) -> Boolean.TRUE) != null;
+        return wasLoading || jobs.containsKey(jobId);
+    }
+
+    private void refresh(Supplier<List<ApplicantSearchDocument>> documents) {
+        if (!jobs.isEmpty() || !loading.isEmpty()) {
+            apply(documents);
+        }
+    }
+
+    private void apply(Supplier<List<ApplicantSearchDocument>> documents) {
+        for (ApplicantSearchDocument document : documents.get()) {
+            touch(document.getJobId());
+            JobApplicants applicants = jobs.get(document.getJobId());
+            if (applicants != null) {
+                applicants.upsert(document);
+            }
+        }
+    }
+
+    /**
+     * One job's applicants: token postings plus primitive columns per
+     * document. Replaced documents leave dead ids behind until compaction.
+     */
+    private static final class JobApplicants {
+
+        private final long loadedAt;
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private final TreeMap<String, PostingList> postings = new TreeMap<>();
+        private final Map<Long, Integer> docByApplicationId = new HashMap<>();
+        private final BitSet live = new BitSet();
+
+        private long[] applicationIds = new long[64];
+        private byte[] status = new byte[64];
+        private long[] appliedEpochDay = new long[64];
+        private int[] experience = new int[64];
+        private int docCount;
+
+        private JobApplicants(long loadedAt) {
+            this.loadedAt = loadedAt;
+        }
+
+        List<Long> search(Application.ApplicationStatus wanted, String keyword, LocalDate startDate,
+                Integer minExp) {
+            lock.readLock().lock();
+            try {
+                BitSet candidates = (BitSet) live.clone();
+                for (String token : SearchTokenizer.tokenize(keyword)) {
+                    BitSet matches = new BitSet();
+                    SortedMap<String, PostingList> range = postings.subMap(token, token + Character.MAX_VALUE);
+                    for (PostingList list : range.values()) {
+                        list.orInto(matches);
+                    }
+                    candidates.and(matches);
+                    if (candidates.isEmpty()) {
+                        return Collections.emptyList();
+                    }
+                }
+                Long startDay = startDate != null ? startDate.toEpochDay() : null;
+                long[] ids = new long[candidates.cardinality()];
+                int count = 0;
+                for (int doc = candidates.nextSetBit(0); doc >= 0; doc = candidates.nextSetBit(doc + 1)) {
+                    if ((wanted != null && status[doc] != wanted.ordinal())
+                            || (startDay != null && appliedEpochDay[doc] < startDay)
+                            || (minExp != null && experience[doc] < minExp)) {
+                        continue;
+                    }
+                    ids[count++] = applicationIds[doc];
+                }
+                Arrays.sort(ids, 0, count);
+                List<Long> result = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    result.add(ids[i]);
+                }
+                return result;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        void setStatus(Long applicationId, Application.ApplicationStatus newStatus) {
+            setStatus(Collections.singletonList(applicationId), newStatus);
+        }
+
+        void setStatus(List<Long> applicationIds, Application.ApplicationStatus newStatus) {
+            lock.writeLock().lock();
+            try {
+                for (Long applicationId : applicationIds) {
+                    Integer doc = docByApplicationId.get(applicationId);
+                    if (doc != null) {
+                        status[doc] = (byte) newStatus.ordinal();
+                    }
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void upsert(ApplicantSearchDocument document) {
+            lock.writeLock().lock();
+            try {
+                Integer previous = docByApplicationId.remove(document.getApplicationId());
+                if (previous != null) {
+                    live.clear(previous);
+                }
+                int doc = docCount++;
+                ensureCapacity(docCount);
+                applicationIds[doc] = document.getApplicationId();
+                status[doc] = (byte) document.getStatus().ordinal();
+                appliedEpochDay[doc] = document.getAppliedDate() != null
+                        ? document.getAppliedDate().toLocalDate().toEpochDay()
+                        : Long.MIN_VALUE;
+                // Unknown experience never satisfies a minimum, as in the SQL filter.
+                experience[doc] = document.getExperienceYears() != null ? document.getExperienceYears()
+                        : Integer.MIN_VALUE;
+                addTokens(document.getSeekerName(), doc);
+                addTokens(document.getSkills(), doc);
+                addTokens(document.getEducation(), doc);
+                addTokens(document.getExperience(), doc);
+                addTokens(document.getResumeText(), doc);
+                docByApplicationId.put(document.getApplicationId(), doc);
+                live.set(doc);
+                compactIfNeeded();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private void addTokens(String text, int doc) {
+            for (String token : SearchTokenizer.tokenize(text)) {
+                postings.computeIfAbsent(token, k -> new PostingList()).add(doc);
+            }
+        }
+
+        private void ensureCapacity(int required) {
+            if (required <= applicationIds.length) {
+                return;
+            }
+            int capacity = Math.max(required, applicationIds.length * 2);
+            applicationIds = Arrays.copyOf(applicationIds, capacity);
+            status = Arrays.copyOf(status, capacity);
+            appliedEpochDay = Arrays.copyOf(appliedEpochDay, capacity);
+            experience = Arrays.copyOf(experience, capacity);
+        }
+
+        private void compactIfNeeded() {
+            int liveCount = docByApplicationId.size();
+            int garbage = docCount - liveCount;
+            if (garbage < MIN_COMPACTION_GARBAGE || garbage < liveCount) {
+                return;
+            }
+            int[] remap = new int[docCount];
+            int next = 0;
+            for (int doc = 0; doc < docCount; doc++) {
+                if (live.get(doc)) {
+                    remap[doc] = next;
+                    applicationIds[next] = applicationIds[doc];
+                    status[next] = status[doc];
+                    appliedEpochDay[next] = appliedEpochDay[doc];
+                    experience[next] = experience[doc];
+                    next++;
+                } else {
+                    remap[doc] = -1;
+                }
+            }
+            Iterator<PostingList> it = postings.values().iterator();
+            while (it.hasNext()) {
+                PostingList list = it.next();
+                list.remap(remap);
+                if (list.size() == 0) {
+                    it.remove();
+                }
+            }
+            for (Map.Entry<Long, Integer> entry : docByApplicationId.entrySet()) {
+                entry.setValue(remap[entry.getValue()]);
+            }
+            live.clear();
+            live.set(0, next);
+            docCount = next;
+        }
+    }
+}
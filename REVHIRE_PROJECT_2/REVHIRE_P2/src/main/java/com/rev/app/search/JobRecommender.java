@@ -0,0 +1,265 @@
+package com.rev.app.search;
+
+import com.rev.app.entity.JobSeeker;
+import com.rev.app.repository.ApplicationRepository;
+import com.rev.app.repository.JobSeekerRepository;
+import com.rev.app.repository.SavedJobRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Scores open jobs for a seeker and keeps the top N per seeker in an LRU cache.
+ *
+ * <p>Candidates are the jobs sharing a skill with the seeker's resume or with
+ * the jobs they applied to or saved. Each candidate is scored on the share of
+ * its required skills the seeker has, experience fit, location, overlap with
+ * that history and recency; jobs already applied to are excluded. A cached
+ * entry is dropped when the seeker's resume or history changes, when any open
+ * job is added, changed or removed, or after {@link #TTL_MILLIS}. A result
+ * scored while the seeker's history changed is returned but not cached.
+ */
+@Component
+public class JobRecommender {
+
+    private static final double SKILL_WEIGHT = 0.5;
+    private static final double EXPERIENCE_WEIGHT = 0.15;
+    private static final double LOCATION_WEIGHT = 0.15;
+    private static final double HISTORY_WEIGHT = 0.1;
+    private static final double RECENCY_WEIGHT = 0.1;
+    private static final double RECENCY_HALF_LIFE_DAYS = 30.0;
+    private static final int EXPERIENCE_TOLERANCE_YEARS = 3;
+
+    private static final int MAX_CACHED_SEEKERS = 10_000;
+    static final long TTL_MILLIS = 10 * 60 * 1000L;
+
+    @Autowired
+    private SkillIndex skillIndex;
+
+    @Autowired
+    private JobSeekerRepository jobSeekerRepository;
+
+    @Autowired
+    private ApplicationRepository applicationRepository;
+
+    @Autowired
+    private SavedJobRepository savedJobRepository;
+
+    private final Map<Long, Cached> cache = Collections.synchronizedMap(
+            new LinkedHashMap<Long, Cached>(256, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, Cached> eldest) {
+                    return size() > MAX_CACHED_SEEKERS;
+                }
+            });
+
+    // Seekers being scored -> whether an invalidation arrived meanwhile. Only the scoring that registered the
+    // seeker may cache its result, and not once invalidated; overlapping scorings answer their own call only.
+    private final Map<Long, Boolean> scoring = new ConcurrentHashMap<>();
+
+    public boolean isReady() {
+        return skillIndex.isReady();
+    }
+
+    /**
+     * Returns up to {@code limit} recommended open job ids for the seeker, best
+     * first. Empty when the seeker has neither resume skills nor history to match on.
+     */
+    public List<Long> recommend(Long seekerId, int limit) {
+        long version = skillIndex.jobVersion();
+        long now = System.currentTimeMillis();
+        Cached cached = cache.get(seekerId);
+        if (cached != null && cached.jobVersion == version && cached.limit >= limit
+                && now - cached.createdAt < TTL_MILLIS) {
+            return cached.jobIds.size() > limit ? cached.jobIds.subList(0, limit) : cached.jobIds;
+        }
+        boolean registered = scoring.putIfAbsent(seekerId, Boolean.FALSE) == null;
+        try {
+            List<Long> jobIds = score(seekerId, limit);
+            if (registered) {
+                // Atomic with invalidate's flagging, so a result read before the change is never cached after it.
+                scoring.compute(seekerId, (id, invalidated) -> {
+                    if (Boolean.FALSE.equals(invalidated)) {
+                        cache.put(seekerId, new Cached(jobIds, version, limit, now));
+                    }
+                    return null;
+                });
+                registered = false;
+            }
+            return jobIds;
+        } finally {
+            if (registered) {
+                scoring.remove(seekerId);
+            }
+        }
+    }
+
+    /**
+     * Drops the seeker's cached recommendations once the surrounding transaction
+     * commits (resume edited, job applied to, saved or unsaved).
+     */
+    public void invalidate(Long seekerId) {
+        if (seekerId == null) {
+            return;
+        }
+        AfterCommit.run(() -> {
+            scoring.computeIfPresent(seekerId, (id, invalidated) -> Boolean.TRUE);
+            cache.remove(seekerId);
+        });
+    }
+
+    int cachedSeekers() {
+        return cache.size();
+    }
+
+    private List<Long> score(Long seekerId, int limit) {
+        int[] seekerSkills = skillIndex.seekerSkillIds(seekerId);
+        Set<Long> applied = new HashSet<>();
+        Set<Integer> history = new TreeSet<>();
+        for (Object[] row : applicationRepository.findJobSkillsBySeekerId(seekerId)) {
+            applied.add((Long) row[0]);
+            addSkills(history, (String) row[1]);
+        }
+        for (Object[] row : savedJobRepository.findJobSkillsBySeekerId(seekerId)) {
+            addSkills(history, (String) row[1]);
+        }
+        int[] historySkills = toArray(history);
+        if (seekerSkills.length == 0 && historySkills.length == 0) {
+            return Collections.emptyList();
+        }
+
+        JobSeeker seeker = jobSeekerRepository.findById(seekerId).orElse(null);
+        Integer experienceYears = seeker != null ? seeker.getExperienceYears() : null;
+        String location = seeker != null && seeker.getLocation() != null && !seeker.getLocation().trim().isEmpty()
+                ? seeker.getLocation().trim().toLowerCase(Locale.ROOT)
+                : null;
+        long today = LocalDate.now().toEpochDay();
+
+        // Min-heap of the best {@code limit} so far: partial selection, not a full sort.
+        PriorityQueue<Scored> top = new PriorityQueue<>(Math.max(1, limit));
+        for (SkillIndex.JobProfile job : skillIndex.candidateJobs(union(seekerSkills, historySkills))) {
+            if (applied.contains(job.getJobId())) {
+                continue;
+            }
+            double jobSkillCount = job.getSkills().length;
+            double score = SKILL_WEIGHT * SkillIndex.intersectionSize(seekerSkills, job.getSkills()) / jobSkillCount
+                    + HISTORY_WEIGHT * SkillIndex.intersectionSize(historySkills, job.getSkills()) / jobSkillCount
+                    + EXPERIENCE_WEIGHT * experienceFit(experienceYears, job.getExperienceRequired())
+                    + LOCATION_WEIGHT * locationFit(location, job.getLocation())
+                    + RECENCY_WEIGHT * recency(today, job.getPostedEpochDay());
+            Scored scored = new Scored(job.getJobId(), score);
+            if (top.size() < limit) {
+                top.add(scored);
+            } else if (!top.isEmpty() && scored.compareTo(top.peek()) > 0) {
+                top.poll();
+                top.add(scored);
+            }
+        }
+
+        Long[] ranked = new Long[top.size()];
+        for (int i = ranked.length - 1; i >= 0; i--) {
+            ranked[i] = top.poll().jobId;
+        }
+        return Collections.unmodifiableList(Arrays.asList(ranked));
+    }
+
+    static double experienceFit(Integer seekerYears, Integer requiredYears) {
+        if (requiredYears == null || requiredYears <= 0) {
+            return 1.0;
+        }
+        if (seekerYears == null) {
+            return 0.5;
+        }
+        if (seekerYears >= requiredYears) {
+            return 1.0;
+        }
+        return Math.max(0.0, 1.0 - (double) (requiredYears - seekerYears) / EXPERIENCE_TOLERANCE_YEARS);
+    }
+
+    static double locationFit(String seekerLocation, String jobLocation) {
+        if (jobLocation == null) {
+            return 0.0;
+        }
+        if (jobLocation.contains("remote")) {
+            return 1.0;
+        }
+        return seekerLocation != null && (jobLocation.contains(seekerLocation) || seekerLocation.contains(jobLocation))
+                ? 1.0
+                : 0.0;
+    }
+
+    private static double recency(long today, long postedDay) {
+        if (postedDay == Long.MIN_VALUE) {
+            return 0.0;
+        }
+        return Math.pow(0.5, Math.max(0, today - postedDay) / RECENCY_HALF_LIFE_DAYS);
+    }
+
+    private void addSkills(Set<Integer> target, String skills) {
+        for (int skill : skillIndex.lookup(skills)) {
+            target.add(skill);
+        }
+    }
+
+    private static int[] toArray(Set<Integer> sorted) {
+        int[] ids = new int[sorted.size()];
+        int i = 0;
+        for (Integer id : sorted) {
+            ids[i++] = id;
+        }
+        return ids;
+    }
+
+    private static int[] union(int[] a, int[] b) {
+        Set<Integer> merged = new TreeSet<>();
+        for (int id : a) {
+            merged.add(id);
+        }
+        for (int id : b) {
+            merged.add(id);
+        }
+        return toArray(merged);
+    }
+
+    private static final class Cached {
+        private final List<Long> jobIds;
+        private final long jobVersion;
+        private final int limit;
+        private final long createdAt;
+
+        private Cached(List<Long> jobIds, long jobVersion, int limit, long createdAt) {
+            this.jobIds = jobIds;
+            this.jobVersion = jobVersion;
+            this.limit = limit;
+            this.createdAt = createdAt;
+        }
+    }
+
+    private static final class Scored implements Comparable<Scored> {
+        private final Long jobId;
+        private final double score;
+
+        private Scored(Long jobId, double score) {
+            this.jobId = jobId;
+            this.score = score;
+        }
+
+        @Override
+        public int compareTo(Scored other) {
+            int byScore = Double.compare(score, other.score);
+            return byScore != 0 ? byScore : Long.compare(jobId, other.jobId);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.rev.app.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobSearchCriteria {
+    private String keyword;
+    private String location;
+    private String jobType;
+    private Integer minExp;
+    private Double minSalary;
+    private LocalDate startDate;
+}
@@ -0,0 +1,23 @@
+package com.rev.app.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobSearchDocument {
+    private Long jobId;
+    private String title;
+    private String skillsRequired;
+    private String description;
+    private String companyName;
+    private String location;
+    private String jobType;
+    private Integer experienceRequired;
+    private Double salaryRange;
+    private LocalDate postedDate;
+}
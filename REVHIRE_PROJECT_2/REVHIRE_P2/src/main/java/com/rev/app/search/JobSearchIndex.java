@@ -0,0 +1,535 @@
+package com.rev.app.search;
+
+import com.rev.app.repository.JobRepository;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process inverted index over open jobs. Keyword and location terms are
+ * answered from token posting lists (prefix matched), job type from an exact
+ * posting list, and the numeric/date filters from primitive per-document
+ * columns. Until the initial load finishes {@link #isReady()} is false and
+ * callers are expected to fall back to the database query.
+ *
+ * <p>{@link #searchRanked} orders matches with BM25F over title, skills and
+ * description (per-field boosts and length normalisation), multiplied by an
+ * exponential decay on the posted date, and keeps only the top K in a bounded heap.
+ */
+@Component
+public class JobSearchIndex {
+
+    private static final Logger logger = LogManager.getLogger(JobSearchIndex.class);
+
+    private static final int WARMUP_BATCH_SIZE = 5000;
+    private static final int MIN_COMPACTION_GARBAGE = 1024;
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final double[] FIELD_BOOST = { 3.0, 2.0, 1.0 };
+    private static final double PREFIX_MATCH_WEIGHT = 0.5;
+    private static final double RECENCY_HALF_LIFE_DAYS = 30.0;
+    private static final double RECENCY_FLOOR = 0.5;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Value("${revhire.search.index.enabled:true}")
+    private boolean enabled = true;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final TreeMap<String, PostingList> textPostings = new TreeMap<>();
+    private final TreeMap<String, PostingList> locationPostings = new TreeMap<>();
+    private final Map<String, PostingList> jobTypePostings = new HashMap<>();
+    private final Map<Long, Integer> docByJobId = new HashMap<>();
+    private final BitSet live = new BitSet();
+
+    private long[] jobIds = new long[1024];
+    private int[] experience = new int[1024];
+    private double[] salary = new double[1024];
+    private long[] postedEpochDay = new long[1024];
+    private int[][] fieldLength = new int[3][1024];
+    private final long[] totalFieldLength = new long[3];
+    private int docCount;
+
+    private final Set<Long> touchedDuringWarmup = ConcurrentHashMap.newKeySet();
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!enabled) {
+            logger.info("Job search index disabled, searches will use the database");
+            return;
+        }
+        Thread warmer = new Thread(this::rebuild, "job-index-warmup");
+        warmer.setDaemon(true);
+        warmer.start();
+    }
+
+    /**
+     * Reloads every open job from the database in id-ordered batches. Writes that
+     * arrive while the load is running are applied directly and win over the
+     * (possibly older) rows read by the loader.
+     */
+    public void rebuild() {
+        ready = false;
+        long start = System.currentTimeMillis();
+        try {
+            clear();
+            long afterId = 0L;
+            List<JobSearchDocument> batch;
+            do {
+                batch = jobRepository.findSearchDocuments(afterId, PageRequest.of(0, WARMUP_BATCH_SIZE));
+                addBatch(batch);
+                if (!batch.isEmpty()) {
+                    afterId = batch.get(batch.size() - 1).getJobId();
+                }
+            } while (batch.size() == WARMUP_BATCH_SIZE);
+            touchedDuringWarmup.clear();
+            ready = true;
+            logger.info("Job search index ready: {} open jobs indexed in {} ms", size(),
+                    System.currentTimeMillis() - start);
+        } catch (RuntimeException e) {
+            logger.error("Job search index warm-up failed, searches will use the database: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Replaces the index contents with {@code documents} and marks it ready.
+     */
+    public void load(Collection<JobSearchDocument> documents) {
+        clear();
+        addBatch(documents);
+        touchedDuringWarmup.clear();
+        ready = true;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return live.cardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Adds or replaces an open job once the surrounding transaction commits.
+     */
+    public void upsert(JobSearchDocument document) {
+        if (document == null || document.getJobId() == null) {
+            return;
+        }
+        AfterCommit.run(() -> {
+            lock.writeLock().lock();
+            try {
+                if (!ready) {
+                    touchedDuringWarmup.add(document.getJobId());
+                }
+                removeDocument(document.getJobId());
+                addDocument(document);
+                compactIfNeeded();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Drops a job (closed, filled or deleted) once the surrounding transaction commits.
+     */
+    public void remove(Long jobId) {
+        if (jobId == null) {
+            return;
+        }
+        AfterCommit.run(() -> {
+            lock.writeLock().lock();
+            try {
+                if (!ready) {
+                    touchedDuringWarmup.add(jobId);
+                }
+                removeDocument(jobId);
+                compactIfNeeded();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Returns the ids of open jobs matching every supplied criterion, in indexing order.
+     */
+    public List<Long> search(JobSearchCriteria criteria) {
+        lock.readLock().lock();
+        try {
+            BitSet candidates = matchingDocuments(criteria);
+            if (candidates == null) {
+                return Collections.emptyList();
+            }
+            List<Long> ids = new ArrayList<>();
+            for (int doc = candidates.nextSetBit(0); doc >= 0; doc = candidates.nextSetBit(doc + 1)) {
+                ids.add(jobIds[doc]);
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the ids of the {@code limit} most relevant matching jobs, best first.
+     * Without a keyword the ordering is by recency alone.
+     */
+    public List<Long> searchRanked(JobSearchCriteria criteria, int limit) {
+        if (limit <= 0) {
+            return Collections.emptyList();
+        }
+        lock.readLock().lock();
+        try {
+            BitSet candidates = matchingDocuments(criteria);
+            if (candidates == null || candidates.isEmpty()) {
+                return Collections.emptyList();
+            }
+            float[] textScores = textScores(SearchTokenizer.tokenize(criteria.getKeyword()), candidates);
+            long today = LocalDate.now().toEpochDay();
+
+            PriorityQueue<ScoredDoc> heap = new PriorityQueue<>(Math.min(limit, candidates.cardinality()));
+            for (int doc = candidates.nextSetBit(0); doc >= 0; doc = candidates.nextSetBit(doc + 1)) {
+                double score = (textScores != null ? textScores[doc] : 1.0) * recency(today, postedEpochDay[doc]);
+                if (heap.size() < limit) {
+                    heap.add(new ScoredDoc(doc, score));
+                } else if (score > heap.peek().score) {
+                    heap.poll();
+                    heap.add(new ScoredDoc(doc, score));
+                }
+            }
+
+            Long[] ranked = new Long[heap.size()];
+            for (int i = ranked.length - 1; i >= 0; i--) {
+                ranked[i] = jobIds[heap.poll().doc];
+            }
+            return Arrays.asList(ranked);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} matching job ids ordered by (postedDate, id)
+     * descending, starting strictly after the given keyset position (both null
+     * for the first page). Mirrors the ordering of the JobRepository page queries.
+     */
+    public List<Long> searchNewest(JobSearchCriteria criteria, LocalDate afterPostedDate, Long afterId, int limit) {
+        if (limit <= 0) {
+            return Collections.emptyList();
+        }
+        long afterDay = afterPostedDate != null ? afterPostedDate.toEpochDay() : Long.MAX_VALUE;
+        long afterJobId = afterId != null ? afterId : Long.MAX_VALUE;
+        lock.readLock().lock();
+        try {
+            BitSet candidates = matchingDocuments(criteria);
+            if (candidates == null || candidates.isEmpty()) {
+                return Collections.emptyList();
+            }
+            // Min-heap on (postedDay, jobId): the root is the oldest of the current top K.
+            PriorityQueue<Integer> heap = new PriorityQueue<>(limit, this::compareNewest);
+            for (int doc = candidates.nextSetBit(0); doc >= 0; doc = candidates.nextSetBit(doc + 1)) {
+                long day = postedEpochDay[doc];
+                if (day > afterDay || (day == afterDay && jobIds[doc] >= afterJobId)) {
+                    continue;
+                }
+                if (heap.size() < limit) {
+                    heap.add(doc);
+                } else if (compareNewest(doc, heap.peek()) > 0) {
+                    heap.poll();
+                    heap.add(doc);
+                }
+            }
+
+            Long[] page = new Long[heap.size()];
+            for (int i = page.length - 1; i >= 0; i--) {
+                page[i] = jobIds[heap.poll()];
+            }
+            return Arrays.asList(page);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int compareNewest(int a, int b) {
+        int byDate = Long.compare(postedEpochDay[a], postedEpochDay[b]);
+        return byDate != 0 ? byDate : Long.compare(jobIds[a], jobIds[b]);
+    }
+
+    private float[] textScores(List<String> tokens, BitSet candidates) {
+        if (tokens.isEmpty()) {
+            return null;
+        }
+        int liveCount = docByJobId.size();
+        double[] avgLength = new double[3];
+        for (int f = 0; f < 3; f++) {
+            avgLength[f] = liveCount > 0 ? Math.max(1.0, (double) totalFieldLength[f] / liveCount) : 1.0;
+        }
+        float[] scores = new float[docCount];
+        for (String token : tokens) {
+            SortedMap<String, PostingList> range = textPostings.subMap(token, token + Character.MAX_VALUE);
+            for (Map.Entry<String, PostingList> entry : range.entrySet()) {
+                PostingList list = entry.getValue();
+                double weight = entry.getKey().equals(token) ? 1.0 : PREFIX_MATCH_WEIGHT;
+                double idf = Math.log(1.0 + (liveCount - list.size() + 0.5) / (list.size() + 0.5));
+                for (int i = 0; i < list.size(); i++) {
+                    int doc = list.get(i);
+                    if (!candidates.get(doc)) {
+                        continue;
+                    }
+                    double tf = 0;
+                    for (int f = 0; f < 3; f++) {
+                        int freq = list.freq(i, f);
+                        if (freq > 0) {
+                            tf += FIELD_BOOST[f] * freq / (1 - B + B * fieldLength[f][doc] / avgLength[f]);
+                        }
+                    }
+                    if (tf > 0) {
+                        scores[doc] += (float) (weight * idf * tf * (K1 + 1) / (K1 + tf));
+                    }
+                }
+            }
+        }
+        return scores;
+    }
+
+    private double recency(long today, long postedDay) {
+        if (postedDay == Long.MIN_VALUE) {
+            return RECENCY_FLOOR;
+        }
+        double age = Math.max(0, today - postedDay);
+        return RECENCY_FLOOR + (1 - RECENCY_FLOOR) * Math.pow(0.5, age / RECENCY_HALF_LIFE_DAYS);
+    }
+
+    private BitSet matchingDocuments(JobSearchCriteria criteria) {
+        BitSet candidates = (BitSet) live.clone();
+        for (String token : SearchTokenizer.tokenize(criteria.getKeyword())) {
+            candidates.and(prefixMatches(textPostings, token));
+            if (candidates.isEmpty()) {
+                return null;
+            }
+        }
+        for (String token : SearchTokenizer.tokenize(criteria.getLocation())) {
+            candidates.and(prefixMatches(locationPostings, token));
+            if (candidates.isEmpty()) {
+                return null;
+            }
+        }
+        if (criteria.getJobType() != null && !criteria.getJobType().isEmpty()) {
+            PostingList postings = jobTypePostings.get(criteria.getJobType());
+            if (postings == null) {
+                return null;
+            }
+            candidates.and(postings.toBitSet());
+        }
+
+        Integer minExp = criteria.getMinExp();
+        Double minSalary = criteria.getMinSalary();
+        Long startDay = criteria.getStartDate() != null ? criteria.getStartDate().toEpochDay() : null;
+        if (minExp != null || minSalary != null || startDay != null) {
+            for (int doc = candidates.nextSetBit(0); doc >= 0; doc = candidates.nextSetBit(doc + 1)) {
+                if ((minExp != null && experience[doc] < minExp)
+                        || (minSalary != null && !(salary[doc] >= minSalary))
+                        || (startDay != null && postedEpochDay[doc] < startDay)) {
+                    candidates.clear(doc);
+                }
+            }
+        }
+        return candidates;
+    }
+
+    private BitSet prefixMatches(TreeMap<String, PostingList> postings, String prefix) {
+        BitSet matches = new BitSet();
+        SortedMap<String, PostingList> range = postings.subMap(prefix, prefix + Character.MAX_VALUE);
+        for (PostingList list : range.values()) {
+            list.orInto(matches);
+        }
+        return matches;
+    }
+
+    private void clear() {
+        lock.writeLock().lock();
+        try {
+            textPostings.clear();
+            locationPostings.clear();
+            jobTypePostings.clear();
+            docByJobId.clear();
+            live.clear();
+            Arrays.fill(totalFieldLength, 0L);
+            docCount = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void addBatch(Collection<JobSearchDocument> documents) {
+        lock.writeLock().lock();
+        try {
+            for (JobSearchDocument document : documents) {
+                if (touchedDuringWarmup.contains(document.getJobId())) {
+                    continue;
+                }
+                removeDocument(document.getJobId());
+                addDocument(document);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void addDocument(JobSearchDocument document) {
+        int doc = docCount++;
+        ensureCapacity(docCount);
+        jobIds[doc] = document.getJobId();
+        experience[doc] = document.getExperienceRequired() != null ? document.getExperienceRequired()
+                : Integer.MIN_VALUE;
+        salary[doc] = document.getSalaryRange() != null ? document.getSalaryRange() : Double.NaN;
+        postedEpochDay[doc] = document.getPostedDate() != null ? document.getPostedDate().toEpochDay()
+                : Long.MIN_VALUE;
+
+        addTokens(textPostings, document.getTitle(), doc, PostingList.TITLE);
+        addTokens(textPostings, document.getSkillsRequired(), doc, PostingList.SKILLS);
+        addTokens(textPostings, document.getDescription(), doc, PostingList.DESCRIPTION);
+        addTokens(textPostings, document.getCompanyName(), doc, PostingList.NO_FIELD);
+        addTokens(locationPostings, document.getLocation(), doc, PostingList.NO_FIELD);
+        if (document.getJobType() != null) {
+            jobTypePostings.computeIfAbsent(document.getJobType(), k -> new PostingList()).add(doc);
+        }
+
+        docByJobId.put(document.getJobId(), doc);
+        live.set(doc);
+    }
+
+    private void addTokens(Map<String, PostingList> postings, String text, int doc, int field) {
+        List<String> tokens = SearchTokenizer.tokenize(text);
+        for (String token : tokens) {
+            postings.computeIfAbsent(token, k -> new PostingList()).add(doc, field);
+        }
+        if (field != PostingList.NO_FIELD) {
+            fieldLength[field][doc] = tokens.size();
+            totalFieldLength[field] += tokens.size();
+        }
+    }
+
+    private void removeDocument(Long jobId) {
+        Integer doc = docByJobId.remove(jobId);
+        if (doc != null) {
+            live.clear(doc);
+            for (int f = 0; f < 3; f++) {
+                totalFieldLength[f] -= fieldLength[f][doc];
+            }
+        }
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= jobIds.length) {
+            return;
+        }
+        int capacity = Math.max(required, jobIds.length * 2);
+        jobIds = Arrays.copyOf(jobIds, capacity);
+        experience = Arrays.copyOf(experience, capacity);
+        salary = Arrays.copyOf(salary, capacity);
+        postedEpochDay = Arrays.copyOf(postedEpochDay, capacity);
+        for (int f = 0; f < 3; f++) {
+            fieldLength[f] = Arrays.copyOf(fieldLength[f], capacity);
+        }
+    }
+
+    /**
+     * Removed and replaced jobs leave dead document ids behind; once they
+     * outnumber the live ones the ids are renumbered and the postings rewritten.
+     */
+    private void compactIfNeeded() {
+        int liveCount = docByJobId.size();
+        int garbage = docCount - liveCount;
+        if (garbage < MIN_COMPACTION_GARBAGE || garbage < liveCount) {
+            return;
+        }
+        int[] remap = new int[docCount];
+        int next = 0;
+        for (int doc = 0; doc < docCount; doc++) {
+            if (live.get(doc)) {
+                remap[doc] = next;
+                jobIds[next] = jobIds[doc];
+                experience[next] = experience[doc];
+                salary[next] = salary[doc];
+                postedEpochDay[next] = postedEpochDay[doc];
+                for (int f = 0; f < 3; f++) {
+                    fieldLength[f][next] = fieldLength[f][doc];
+                }
+                next++;
+            } else {
+                remap[doc] = -1;
+            }
+        }
+        remapPostings(textPostings, remap);
+        remapPostings(locationPostings, remap);
+        remapPostings(jobTypePostings, remap);
+        for (Map.Entry<Long, Integer> entry : docByJobId.entrySet()) {
+            entry.setValue(remap[entry.getValue()]);
+        }
+        live.clear();
+        live.set(0, next);
+        docCount = next;
+        logger.debug("Compacted job search index: {} dead documents dropped", garbage);
+    }
+
+    private void remapPostings(Map<String, PostingList> postings, int[] remap) {
+        Iterator<PostingList> it = postings.values().iterator();
+        while (it.hasNext()) {
+            PostingList list = it.next();
+            list.remap(remap);
+            if (list.size() == 0) {
+                it.remove();
+            }
+        }
+    }
+
+    private static final class ScoredDoc implements Comparable<ScoredDoc> {
+        private final int doc;
+        private final double score;
+
+        private ScoredDoc(int doc, double score) {
+            this.doc = doc;
+            this.score = score;
+        }
+
+        @Override
+        public int compareTo(ScoredDoc other) {
+            int byScore = Double.compare(score, other.score);
+            return byScore != 0 ? byScore : Integer.compare(other.doc, doc);
+        }
+    }
+}
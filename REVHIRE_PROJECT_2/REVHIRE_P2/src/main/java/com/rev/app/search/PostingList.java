@@ -0,0 +1,93 @@
+package com.rev.app.search;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Growable, ascending list of internal document ids. Documents are numbered in
+ * insertion order, so appending keeps the list sorted.
+ *
+ * <p>Each entry also carries per-field term frequencies packed into one int:
+ * title in bits 0-7, skills in bits 8-15 and description in bits 16-31, each
+ * saturating at its maximum.
+ */
+class PostingList {
+
+    static final int NO_FIELD = -1;
+    static final int TITLE = 0;
+    static final int SKILLS = 1;
+    static final int DESCRIPTION = 2;
+
+    private static final int[] SHIFT = { 0, 8, 16 };
+    private static final int[] MAX = { 0xFF, 0xFF, 0xFFFF };
+
+    private int[] docs = new int[4];
+    private int[] freqs = new int[4];
+    private int size;
+
+    void add(int doc) {
+        add(doc, NO_FIELD);
+    }
+
+    void add(int doc, int field) {
+        if (size == 0 || docs[size - 1] != doc) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                freqs = Arrays.copyOf(freqs, size * 2);
+            }
+            docs[size] = doc;
+            freqs[size] = 0;
+            size++;
+        }
+        if (field != NO_FIELD) {
+            int current = freq(size - 1, field);
+            if (current < MAX[field]) {
+                freqs[size - 1] += 1 << SHIFT[field];
+            }
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    int get(int index) {
+        return docs[index];
+    }
+
+    int freq(int index, int field) {
+        return (freqs[index] >>> SHIFT[field]) & MAX[field];
+    }
+
+    void orInto(BitSet target) {
+        for (int i = 0; i < size; i++) {
+            target.set(docs[i]);
+        }
+    }
+
+    BitSet toBitSet() {
+        BitSet bits = new BitSet();
+        orInto(bits);
+        return bits;
+    }
+
+    /**
+     * Rewrites ids through {@code remap}, dropping entries mapped to -1.
+     */
+    void remap(int[] remap) {
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            int mapped = remap[docs[i]];
+            if (mapped >= 0) {
+                docs[kept] = mapped;
+                freqs[kept] = freqs[i];
+                kept++;
+            }
+        }
+        size = kept;
+        if (docs.length > 4 && size < docs.length / 4) {
+            docs = Arrays.copyOf(docs, Math.max(4, size));
+            freqs = Arrays.copyOf(freqs, Math.max(4, size));
+        }
+    }
+}
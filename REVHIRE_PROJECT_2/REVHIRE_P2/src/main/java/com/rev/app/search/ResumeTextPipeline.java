@@ -0,0 +1,148 @@
+package com.rev.app.search;
+
+import com.rev.app.entity.ResumeText;
+import com.rev.app.repository.ResumeRepository;
+import com.rev.app.repository.ResumeTextRepository;
+import com.rev.app.storage.ResumeBlobStore;
+import com.rev.app.storage.ResumeTextExtractor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Extracts the text of uploaded resume files in the background and stores it
+ * for applicant search. Work runs on the bounded resume text executor; when
+ * its queue is full the upload goes ahead anyway and
+ * {@link com.rev.app.scheduler.ResumeTextBackfill} picks the file up once
+ * there is room, so uploads never wait on extraction and nothing is lost
+ * across restarts.
+ *
+ * <p>Publishes {@code revhire.resume.text.extraction} (time spent extracting,
+ * by outcome), {@code revhire.resume.text.lag} (queued to searchable),
+ * {@code revhire.resume.text.backlog} and {@code revhire.resume.text.rejected}.
+ */
+@Component
+public class ResumeTextPipeline {
+
+    private static final Logger logger = LogManager.getLogger(ResumeTextPipeline.class);
+
+    private static final String EXTRACTION_TIMER = "revhire.resume.text.extraction";
+
+    @Autowired
+    private ResumeTextExtractor resumeTextExtractor;
+
+    @Autowired
+    private ResumeBlobStore resumeBlobStore;
+
+    @Autowired
+    private ResumeRepository resumeRepository;
+
+    @Autowired
+    private ResumeTextRepository resumeTextRepository;
+
+    @Autowired
+    @Qualifier("resumeTextExecutor")
+    private ThreadPoolTaskExecutor resumeTextExecutor;
+
+    @Autowired
+    private ApplicantSearchIndex applicantSearchIndex;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Resume id -> file path queued or being extracted, so the backfill does not queue it twice.
+    private final Map<Long, String> inFlight = new ConcurrentHashMap<>();
+
+    private Timer extracted;
+    private Timer empty;
+    private Timer failed;
+    private Timer lag;
+    private Counter rejected;
+
+    @PostConstruct
+    void registerMetrics() {
+        extracted = Timer.builder(EXTRACTION_TIMER).tag("outcome", "extracted").register(meterRegistry);
+        empty = Timer.builder(EXTRACTION_TIMER).tag("outcome", "empty").register(meterRegistry);
+        failed = Timer.builder(EXTRACTION_TIMER).tag("outcome", "failed").register(meterRegistry);
+        lag = Timer.builder("revhire.resume.text.lag").register(meterRegistry);
+        rejected = Counter.builder("revhire.resume.text.rejected").register(meterRegistry);
+        Gauge.builder("revhire.resume.text.backlog", inFlight, Map::size).register(meterRegistry);
+    }
+
+    /** Queues extraction of the resume's file once the surrounding transaction commits. */
+    public void extractAfterCommit(Long resumeId, String filePath) {
+        AfterCommit.run(() -> submit(resumeId, filePath));
+    }
+
+    /**
+     * Queues extraction without blocking.
+     *
+     * @return false if the queue is full; the backfill retries the file later
+     */
+    public boolean submit(Long resumeId, String filePath) {
+        if (filePath.equals(inFlight.put(resumeId, filePath))) {
+            return true;
+        }
+        long queuedAt = System.nanoTime();
+        try {
+            resumeTextExecutor.execute(() -> extract(resumeId, filePath, queuedAt));
+            return true;
+        } catch (TaskRejectedException e) {
+            inFlight.remove(resumeId, filePath);
+            rejected.increment();
+            logger.debug("Text extraction queue full, resume {} left for the backfill", resumeId);
+            return false;
+        }
+    }
+
+    public int remainingCapacity() {
+        return resumeTextExecutor.getThreadPoolExecutor().getQueue().remainingCapacity();
+    }
+
+    int inFlight() {
+        return inFlight.size();
+    }
+
+    void extract(Long resumeId, String filePath, long queuedAt) {
+        try {
+            // Replaced or removed while queued: the newer upload has its own task.
+            if (!resumeRepository.existsByIdAndFilePath(resumeId, filePath)) {
+                return;
+            }
+            long start = System.nanoTime();
+            String text;
+            Timer outcome;
+            try {
+                text = resumeTextExtractor.extract(resumeBlobStore.resolve(filePath));
+                outcome = text.isEmpty() ? empty : extracted;
+            } catch (IOException | RuntimeException e) {
+                logger.warn("Could not extract text from resume {}: {}", resumeId, e.getMessage());
+                text = "";
+                outcome = failed;
+            }
+            outcome.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            // Empty text is stored too, so an unreadable file is not retried on every backfill.
+            resumeTextRepository.save(new ResumeText(resumeId, filePath, text));
+            applicantSearchIndex.resumeChanged(resumeId);
+            lag.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+        } catch (RuntimeException e) {
+            logger.error("Storing text for resume {} failed, left for the backfill: {}", resumeId, e.getMessage());
+        } finally {
+            inFlight.remove(resumeId, filePath);
+        }
+    }
+}
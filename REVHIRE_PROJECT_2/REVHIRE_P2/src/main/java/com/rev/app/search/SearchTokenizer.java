@@ -0,0 +1,37 @@
+package com.rev.app.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Splits free text into lower-case tokens. Letters, digits, '+' and '#' are kept
+ * together so skills such as "c++" and "c#" survive as single tokens.
+ */
+public final class SearchTokenizer {
+
+    private SearchTokenizer() {
+    }
+
+    public static List<String> tokenize(String text) {
+        if (text == null || text.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<String> tokens = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c) || c == '+' || c == '#') {
+                current.append(c);
+            } else if (current.length() > 0) {
+                tokens.add(current.toString().toLowerCase(Locale.ROOT));
+                current.setLength(0);
+            }
+        }
+        if (current.length() > 0) {
+            tokens.add(current.toString().toLowerCase(Locale.ROOT));
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,14 @@
+package com.rev.app.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeekerSkills {
+    private Long seekerId;
+    private Long userId;
+    private String skills;
+}
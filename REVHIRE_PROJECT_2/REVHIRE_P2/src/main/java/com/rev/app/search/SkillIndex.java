@@ -0,0 +1,468 @@
+package com.rev.app.search;
+
+import com.rev.app.repository.JobRepository;
+import com.rev.app.repository.JobSeekerRepository;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Skill dictionary plus skill-to-seeker and skill-to-job posting lists.
+ *
+ * <p>Skills are normalised (trimmed, lower-cased, inner whitespace collapsed)
+ * and assigned dense integer ids on first sight. Each seeker's resume skills
+ * and each open job's required skills are kept as a sorted, duplicate-free
+ * {@code int[]}, so matching is a merge intersection and candidate lookups walk
+ * only the posting lists of the skills involved.
+ */
+@Component
+public class SkillIndex {
+
+    private static final Logger logger = LogManager.getLogger(SkillIndex.class);
+
+    private static final int WARMUP_BATCH_SIZE = 5000;
+    private static final int[] NO_SKILLS = new int[0];
+
+    @Autowired
+    private JobSeekerRepository jobSeekerRepository;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Value("${revhire.search.index.enabled:true}")
+    private boolean enabled = true;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Integer> skillIds = new HashMap<>();
+    private final List<String> skillNames = new ArrayList<>();
+    private final List<Set<Long>> seekersBySkill = new ArrayList<>();
+    private final List<Set<Long>> jobsBySkill = new ArrayList<>();
+
+    private final Map<Long, int[]> seekerSkills = new HashMap<>();
+    private final Map<Long, Long> userBySeeker = new HashMap<>();
+    private final Map<Long, JobProfile> jobProfiles = new HashMap<>();
+    private volatile long jobVersion;
+
+    private final Set<Long> seekersTouchedDuringWarmup = ConcurrentHashMap.newKeySet();
+    private final Set<Long> jobsTouchedDuringWarmup = ConcurrentHashMap.newKeySet();
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!enabled) {
+            return;
+        }
+        Thread warmer = new Thread(this::rebuild, "skill-index-warmup");
+        warmer.setDaemon(true);
+        warmer.start();
+    }
+
+    /**
+     * Reloads every resume's skills and every open job's required skills. As with
+     * {@link JobSearchIndex#rebuild()}, writes made during the load win over the
+     * rows it reads.
+     */
+    public void rebuild() {
+        ready = false;
+        long start = System.currentTimeMillis();
+        try {
+            clear();
+            long afterId = 0L;
+            List<SeekerSkills> seekers;
+            do {
+                seekers = jobSeekerRepository.findSeekerSkills(afterId, PageRequest.of(0, WARMUP_BATCH_SIZE));
+                lock.writeLock().lock();
+                try {
+                    for (SeekerSkills seeker : seekers) {
+                        if (!seekersTouchedDuringWarmup.contains(seeker.getSeekerId())) {
+                            putSeeker(seeker.getSeekerId(), seeker.getUserId(), seeker.getSkills());
+                        }
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                if (!seekers.isEmpty()) {
+                    afterId = seekers.get(seekers.size() - 1).getSeekerId();
+                }
+            } while (seekers.size() == WARMUP_BATCH_SIZE);
+
+            afterId = 0L;
+            List<Object[]> jobs;
+            do {
+                jobs = jobRepository.findOpenJobProfiles(afterId, PageRequest.of(0, WARMUP_BATCH_SIZE));
+                lock.writeLock().lock();
+                try {
+                    for (Object[] job : jobs) {
+                        Long jobId = (Long) job[0];
+                        if (!jobsTouchedDuringWarmup.contains(jobId)) {
+                            putJob(jobId, (String) job[1], (Integer) job[2], (String) job[3], (LocalDate) job[4]);
+                        }
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                if (!jobs.isEmpty()) {
+                    afterId = (Long) jobs.get(jobs.size() - 1)[0];
+                }
+            } while (jobs.size() == WARMUP_BATCH_SIZE);
+
+            seekersTouchedDuringWarmup.clear();
+            jobsTouchedDuringWarmup.clear();
+            ready = true;
+            logger.info("Skill index ready: {} skills, {} seekers, {} jobs in {} ms", skillCount(),
+                    seekerSkills.size(), jobProfiles.size(), System.currentTimeMillis() - start);
+        } catch (RuntimeException e) {
+            logger.error("Skill index warm-up failed, matching will scan the database: {}", e.getMessage());
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Marks the index ready without loading anything; used when the contents are
+     * supplied directly through the update methods.
+     */
+    public void markReady() {
+        seekersTouchedDuringWarmup.clear();
+        jobsTouchedDuringWarmup.clear();
+        ready = true;
+    }
+
+    public int skillCount() {
+        lock.readLock().lock();
+        try {
+            return skillIds.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Splits a comma-separated skills string into normalised, distinct skill names.
+     */
+    public static List<String> normalize(String skills) {
+        if (skills == null || skills.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Set<String> names = new LinkedHashSet<>();
+        for (String skill : skills.split(",")) {
+            String normalized = skill.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+            if (!normalized.isEmpty()) {
+                names.add(normalized);
+            }
+        }
+        return new ArrayList<>(names);
+    }
+
+    /**
+     * Size of the intersection of two sorted, duplicate-free id arrays.
+     */
+    public static int intersectionSize(int[] a, int[] b) {
+        int i = 0;
+        int j = 0;
+        int common = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                common++;
+                i++;
+                j++;
+            }
+        }
+        return common;
+    }
+
+    /**
+     * Returns the sorted ids of the known skills in {@code skills}; unknown skills are dropped.
+     */
+    public int[] lookup(String skills) {
+        lock.readLock().lock();
+        try {
+            List<String> names = normalize(skills);
+            int[] ids = new int[names.size()];
+            int count = 0;
+            for (String name : names) {
+                Integer id = skillIds.get(name);
+                if (id != null) {
+                    ids[count++] = id;
+                }
+            }
+            int[] known = Arrays.copyOf(ids, count);
+            Arrays.sort(known);
+            return known;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int[] seekerSkillIds(Long seekerId) {
+        lock.readLock().lock();
+        try {
+            int[] ids = seekerSkills.get(seekerId);
+            return ids != null ? ids : NO_SKILLS;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean hasSeekerSkills(Long seekerId) {
+        return seekerSkillIds(seekerId).length > 0;
+    }
+
+    /**
+     * Replaces a seeker's resume skills once the surrounding transaction commits.
+     */
+    public void updateSeeker(Long seekerId, Long userId, String skills) {
+        if (seekerId == null) {
+            return;
+        }
+        AfterCommit.run(() -> {
+            lock.writeLock().lock();
+            try {
+                if (!ready) {
+                    seekersTouchedDuringWarmup.add(seekerId);
+                }
+                putSeeker(seekerId, userId, skills);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Adds or replaces an open job once the surrounding transaction commits.
+     */
+    public void updateJob(JobSearchDocument document) {
+        if (document == null || document.getJobId() == null) {
+            return;
+        }
+        AfterCommit.run(() -> {
+            lock.writeLock().lock();
+            try {
+                if (!ready) {
+                    jobsTouchedDuringWarmup.add(document.getJobId());
+                }
+                putJob(document.getJobId(), document.getSkillsRequired(), document.getExperienceRequired(),
+                        document.getLocation(), document.getPostedDate());
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Drops a closed, filled or deleted job once the surrounding transaction commits.
+     */
+    public void removeJob(Long jobId) {
+        if (jobId == null) {
+            return;
+        }
+        AfterCommit.run(() -> {
+            lock.writeLock().lock();
+            try {
+                if (!ready) {
+                    jobsTouchedDuringWarmup.add(jobId);
+                }
+                putJob(jobId, null, null, null, null);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Incremented whenever an open job is added, changed or removed; lets callers
+     * detect that results derived from the job set are stale.
+     */
+    public long jobVersion() {
+        return jobVersion;
+    }
+
+    /**
+     * Job to seekers: user ids of every seeker sharing at least one skill with
+     * {@code skills}, read from the posting lists of those skills only.
+     */
+    public List<Long> usersMatchingSkills(String skills) {
+        lock.readLock().lock();
+        try {
+            Set<Long> seekers = new HashSet<>();
+            for (int skill : lookup(skills)) {
+                seekers.addAll(seekersBySkill.get(skill));
+            }
+            List<Long> userIds = new ArrayList<>(seekers.size());
+            for (Long seekerId : seekers) {
+                Long userId = userBySeeker.get(seekerId);
+                if (userId != null) {
+                    userIds.add(userId);
+                }
+            }
+            Collections.sort(userIds);
+            return userIds;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Seeker to jobs: profiles of the open jobs sharing at least one skill with
+     * {@code skillIds}, read from the posting lists of those skills only.
+     */
+    public List<JobProfile> candidateJobs(int[] skillIds) {
+        lock.readLock().lock();
+        try {
+            Set<Long> jobIds = new HashSet<>();
+            for (int skill : skillIds) {
+                if (skill < jobsBySkill.size()) {
+                    jobIds.addAll(jobsBySkill.get(skill));
+                }
+            }
+            List<JobProfile> profiles = new ArrayList<>(jobIds.size());
+            for (Long jobId : jobIds) {
+                profiles.add(jobProfiles.get(jobId));
+            }
+            return profiles;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void clear() {
+        lock.writeLock().lock();
+        try {
+            skillIds.clear();
+            skillNames.clear();
+            seekersBySkill.clear();
+            jobsBySkill.clear();
+            seekerSkills.clear();
+            userBySeeker.clear();
+            jobProfiles.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void putSeeker(Long seekerId, Long userId, String skills) {
+        int[] previous = seekerSkills.remove(seekerId);
+        if (previous != null) {
+            for (int skill : previous) {
+                seekersBySkill.get(skill).remove(seekerId);
+            }
+        }
+        int[] ids = encode(skills);
+        if (ids.length == 0) {
+            userBySeeker.remove(seekerId);
+            return;
+        }
+        seekerSkills.put(seekerId, ids);
+        userBySeeker.put(seekerId, userId);
+        for (int skill : ids) {
+            seekersBySkill.get(skill).add(seekerId);
+        }
+    }
+
+    private void putJob(Long jobId, String skills, Integer experience, String location, LocalDate postedDate) {
+        JobProfile previous = jobProfiles.remove(jobId);
+        if (previous != null) {
+            for (int skill : previous.skills) {
+                jobsBySkill.get(skill).remove(jobId);
+            }
+        }
+        jobVersion++;
+        int[] ids = encode(skills);
+        if (ids.length == 0) {
+            return;
+        }
+        jobProfiles.put(jobId, new JobProfile(jobId, ids, experience,
+                location != null ? location.toLowerCase(Locale.ROOT) : null,
+                postedDate != null ? postedDate.toEpochDay() : Long.MIN_VALUE));
+        for (int skill : ids) {
+            jobsBySkill.get(skill).add(jobId);
+        }
+    }
+
+    // Caller holds the write lock; unseen skills are added to the dictionary.
+    private int[] encode(String skills) {
+        List<String> names = normalize(skills);
+        int[] ids = new int[names.size()];
+        for (int i = 0; i < ids.length; i++) {
+            String name = names.get(i);
+            Integer id = skillIds.get(name);
+            if (id == null) {
+                id = skillNames.size();
+                skillIds.put(name, id);
+                skillNames.add(name);
+                seekersBySkill.add(new HashSet<>());
+                jobsBySkill.add(new HashSet<>());
+            }
+            ids[i] = id;
+        }
+        Arrays.sort(ids);
+        return ids;
+    }
+
+    /**
+     * Immutable per-job attributes used for matching and scoring.
+     */
+    public static final class JobProfile {
+        private final Long jobId;
+        private final int[] skills;
+        private final Integer experienceRequired;
+        private final String location;
+        private final long postedEpochDay;
+
+        JobProfile(Long jobId, int[] skills, Integer experienceRequired, String location, long postedEpochDay) {
+            this.jobId = jobId;
+            this.skills = skills;
+            this.experienceRequired = experienceRequired;
+            this.location = location;
+            this.postedEpochDay = postedEpochDay;
+        }
+
+        public Long getJobId() {
+            return jobId;
+        }
+
+        public int[] getSkills() {
+            return skills;
+        }
+
+        public Integer getExperienceRequired() {
+            return experienceRequired;
+        }
+
+        /** Lower-cased location, or null. */
+        public String getLocation() {
+            return location;
+        }
+
+        /** Posted date as an epoch day, {@link Long#MIN_VALUE} if unknown. */
+        public long getPostedEpochDay() {
+            return postedEpochDay;
+        }
+    }
+}
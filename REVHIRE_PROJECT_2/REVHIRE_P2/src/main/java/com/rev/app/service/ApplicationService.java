@@ -1,6 +1,7 @@
 package com.rev.app.service;
 
 import com.rev.app.dto.ApplicationDTO;
+import com.rev.app.dto.BulkStatusResult;
 import java.util.List;
 
 public interface ApplicationService {
@@ -17,7 +18,7 @@ public interface ApplicationService {
     List<ApplicationDTO> searchApplications(Long jobId, String status, String keyword, java.time.LocalDate startDate,
             Integer minExp);
 
-    void updateStatusBulk(List<Long> ids, String status, String comment);
+    BulkStatusResult updateStatusBulk(Long jobId, List<Long> ids, String status, String comment);
 
     void addNoteToApplication(Long applicationId, String note);
 
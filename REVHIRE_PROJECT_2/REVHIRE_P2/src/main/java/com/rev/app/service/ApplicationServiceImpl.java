@@ -1,17 +1,26 @@
 package com.rev.app.service;
 
 import com.rev.app.dto.ApplicationDTO;
+import com.rev.app.dto.BulkStatusResult;
 import com.rev.app.entity.*;
 import com.rev.app.exception.DuplicateApplicationException;
 import com.rev.app.exception.ResourceNotFoundException;
 import com.rev.app.mapper.ApplicationMapper;
 import com.rev.app.repository.*;
+import com.rev.app.search.ApplicantSearchIndex;
+import com.rev.app.search.JobRecommender;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -41,6 +50,15 @@ public class ApplicationServiceImpl implements ApplicationService {
         @Autowired
         private NotificationService notificationService;
 
+        @Autowired
+        private JobRecommender jobRecommender;
+
+        @Autowired
+        private DashboardCounterService dashboardCounterService;
+
+        @Autowired
+        private ApplicantSearchIndex applicantSearchIndex;
+
         @Override
         public ApplicationDTO applyToJob(ApplicationDTO dto) {
                 Job job = jobRepository.findById(dto.getJobId())
@@ -65,11 +83,14 @@ public class ApplicationServiceImpl implements ApplicationService {
                 app.setStatus(Application.ApplicationStatus.APPLIED);
 
                 ApplicationDTO saved = mapper.toApplicationDTO(applicationRepository.save(app));
+                dashboardCounterService.applicationAdded(app);
+                applicantSearchIndex.applicationChanged(app.getId(), job.getId());
                 logger.info("Application submitted: seeker={} job={} status=APPLIED",
                                 seeker.getId(), job.getId());
+                jobRecommender.invalidate(seeker.getId());
 
                 notificationService.sendNotification(job.getEmployer().getUser().getId(),
-                                "New application received from " + seeker.getName() + " for '" + job.getTitle() + "'");
+                                NotificationContent.applicationReceived(job.getId(), seeker.getId()));
 
                 return saved;
         }
@@ -96,6 +117,7 @@ public class ApplicationServiceImpl implements ApplicationService {
         public ApplicationDTO updateApplicationStatus(Long id, String status, String comment) {
                 Application app = applicationRepository.findById(id)
                                 .orElseThrow(() -> new ResourceNotFoundException("Application not found"));
+                Application.ApplicationStatus previousStatus = app.getStatus();
                 app.setStatus(Application.ApplicationStatus.valueOf(status.toUpperCase()));
 
                 if (comment != null && !comment.isEmpty()) {
@@ -106,12 +128,13 @@ public class ApplicationServiceImpl implements ApplicationService {
                 }
 
                 ApplicationDTO updated = mapper.toApplicationDTO(applicationRepository.save(app));
+                dashboardCounterService.applicationStatusChanged(app, previousStatus);
+                applicantSearchIndex.statusChanged(app.getJob().getId(), id, app.getStatus());
                 logger.info("Application {} status updated to {}", id, status);
 
                 // Notify Job Seeker
                 notificationService.sendNotification(app.getJobSeeker().getUser().getId(),
-                                "Your application for '" + app.getJob().getTitle() + "' has been updated to: "
-                                                + status);
+                                NotificationContent.applicationStatus(app.getJob().getId(), app.getStatus()));
 
                 return updated;
         }
@@ -120,6 +143,7 @@ public class ApplicationServiceImpl implements ApplicationService {
         public void withdrawApplication(Long id, String reason) {
                 Application app = applicationRepository.findById(id)
                                 .orElseThrow(() -> new ResourceNotFoundException("Application not found"));
+                Application.ApplicationStatus previousStatus = app.getStatus();
                 app.setStatus(Application.ApplicationStatus.WITHDRAWN);
                 app.setWithdrawReason(reason);
 
@@ -131,12 +155,13 @@ public class ApplicationServiceImpl implements ApplicationService {
                 }
 
                 applicationRepository.save(app);
+                dashboardCounterService.applicationStatusChanged(app, previousStatus);
+                applicantSearchIndex.statusChanged(app.getJob().getId(), id, app.getStatus());
                 logger.info("Application {} withdrawn. Reason: {}", id, reason);
 
                 notificationService.sendNotification(app.getJob().getEmployer().getUser().getId(),
-                                "Applicant " + app.getJobSeeker().getName() + " has withdrawn their application for '"
-                                                + app.getJob().getTitle() + "'"
-                                                + (reason != null ? ": " + reason : ""));
+                                NotificationContent.applicationWithdrawn(app.getJob().getId(),
+                                                app.getJobSeeker().getId(), reason));
         }
 
         @Override
@@ -145,6 +170,12 @@ public class ApplicationServiceImpl implements ApplicationService {
                 Application.ApplicationStatus appStatus = (status != null && !status.isEmpty())
                                 ? Application.ApplicationStatus.valueOf(status.toUpperCase())
                                 : null;
+                List<Long> ids = applicantSearchIndex.search(jobId, appStatus, keyword, startDate, minExp);
+                if (ids != null) {
+                        return findApplicationsInIdOrder(ids).stream()
+                                        .map(mapper::toApplicationDTO)
+                                        .collect(Collectors.toList());
+                }
                 String keywordParam = (keyword != null && !keyword.isEmpty())
                                 ? "%" + keyword.toLowerCase() + "%"
                                 : null;
@@ -154,12 +185,76 @@ public class ApplicationServiceImpl implements ApplicationService {
                                 .collect(Collectors.toList());
         }
 
+        private List<Application> findApplicationsInIdOrder(List<Long> ids) {
+                List<Application> applications = new ArrayList<>(ids.size());
+                for (List<Long> chunk : InLists.chunks(ids)) {
+                        applications.addAll(applicationRepository.findByIdIn(chunk));
+                }
+                applications.sort(Comparator.comparing(Application::getId));
+                return applications;
+        }
+
+        /**
+         * Moves the job's selected applications to one status with an UPDATE per
+         * previous status and chunk of ids, one batch of notes, one batch of
+         * notifications and grouped counter deltas, all in this transaction.
+         */
         @Override
-        public void updateStatusBulk(List<Long> ids, String status, String comment) {
-                for (Long id : ids) {
-                        updateApplicationStatus(id, status, comment);
+        public BulkStatusResult updateStatusBulk(Long jobId, List<Long> ids, String status, String comment) {
+                Application.ApplicationStatus newStatus = Application.ApplicationStatus.valueOf(status.toUpperCase());
+                Job job = jobRepository.findById(jobId)
+                                .orElseThrow(() -> new ResourceNotFoundException("Job not found"));
+                List<Long> requested = new ArrayList<>(new LinkedHashSet<>(ids));
+
+                int found = 0;
+                List<Long> changedIds = new ArrayList<>();
+                List<Long> userIds = new ArrayList<>();
+                Map<Application.ApplicationStatus, List<Long>> seekerIdsByPreviousStatus = new EnumMap<>(
+                                Application.ApplicationStatus.class);
+                for (List<Long> chunk : InLists.chunks(requested)) {
+                        List<Object[]> rows = applicationRepository.findStatusRowsForJob(jobId, chunk);
+                        found += rows.size();
+                        Map<Application.ApplicationStatus, List<Long>> idsByPreviousStatus = new EnumMap<>(
+                                        Application.ApplicationStatus.class);
+                        for (Object[] row : rows) {
+                                Application.ApplicationStatus previous = (Application.ApplicationStatus) row[1];
+                                if (previous == newStatus) {
+                                        continue;
+                                }
+                                idsByPreviousStatus.computeIfAbsent(previous, k -> new ArrayList<>()).add((Long) row[0]);
+                                seekerIdsByPreviousStatus.computeIfAbsent(previous, k -> new ArrayList<>())
+                                                .add((Long) row[2]);
+                                userIds.add((Long) row[3]);
+                        }
+                        for (Map.Entry<Application.ApplicationStatus, List<Long>> group : idsByPreviousStatus
+                                        .entrySet()) {
+                                int updated = applicationRepository.updateStatus(group.getValue(), group.getKey(),
+                                                newStatus);
+                                // A row changed since it was read: its counter delta would be wrong, so roll back.
+                                if (updated != group.getValue().size()) {
+                                        throw new ConcurrencyFailureException(
+                                                        "Applications changed during the bulk update, please retry");
+                                }
+                                changedIds.addAll(group.getValue());
+                        }
                 }
-                logger.info("Bulk status update: {} applications set to {}", ids.size(), status);
+
+                if (!changedIds.isEmpty()) {
+                        if (comment != null && !comment.isEmpty()) {
+                                noteRepository.insertBatch(changedIds, comment);
+                        }
+                        dashboardCounterService.applicationStatusesChanged(
+                                        job.getEmployer() != null ? job.getEmployer().getId() : null, newStatus,
+                                        seekerIdsByPreviousStatus);
+                        applicantSearchIndex.statusesChanged(jobId, changedIds, newStatus);
+                        notificationService.sendNotifications(userIds,
+                                        NotificationContent.applicationStatus(jobId, newStatus));
+                }
+
+                BulkStatusResult result = new BulkStatusResult(newStatus, requested.size(), changedIds.size(),
+                                found - changedIds.size(), requested.size() - found);
+                logger.info("Bulk status update on job {}: {}", jobId, result);
+                return result;
         }
 
         @Override
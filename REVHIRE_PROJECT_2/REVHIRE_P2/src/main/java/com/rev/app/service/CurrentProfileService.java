@@ -0,0 +1,11 @@
+package com.rev.app.service;
+
+import com.rev.app.dto.CurrentProfile;
+
+import java.util.Optional;
+
+public interface CurrentProfileService {
+    Optional<CurrentProfile> resolve(String email);
+
+    void evict(Long userId);
+}
@@ -0,0 +1,80 @@
+package com.rev.app.service;
+
+import com.rev.app.dto.CurrentProfile;
+import com.rev.app.repository.UserRepository;
+import com.rev.app.search.AfterCommit;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Resolves a login email to the user's id, role and profile ids with one query
+ * and keeps the answer in a small LRU cache for {@link #TTL_MILLIS}, so the
+ * handlers of consecutive requests skip the user and profile lookups. Entries
+ * are dropped after a profile update commits.
+ */
+@Service
+@Transactional(readOnly = true)
+public class CurrentProfileServiceImpl implements CurrentProfileService {
+
+    private static final int MAX_CACHED_USERS = 10_000;
+    static final long TTL_MILLIS = 60 * 1000L;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final Map<String, Cached> cache = Collections.synchronizedMap(
+            new LinkedHashMap<String, Cached>(256, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Cached> eldest) {
+                    return size() > MAX_CACHED_USERS;
+                }
+            });
+
+    @Override
+    public Optional<CurrentProfile> resolve(String email) {
+        long now = System.currentTimeMillis();
+        Cached cached = cache.get(email);
+        if (cached != null && now - cached.createdAt < TTL_MILLIS) {
+            return Optional.of(cached.profile);
+        }
+        Optional<CurrentProfile> profile = userRepository.findProfileByEmail(email);
+        if (profile.isPresent()) {
+            cache.put(email, new Cached(profile.get(), now));
+        } else {
+            cache.remove(email);
+        }
+        return profile;
+    }
+
+    @Override
+    public void evict(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        AfterCommit.run(() -> {
+            synchronized (cache) {
+                cache.values().removeIf(cached -> userId.equals(cached.profile.getUserId()));
+            }
+        });
+    }
+
+    int cachedUsers() {
+        return cache.size();
+    }
+
+    private static final class Cached {
+        private final CurrentProfile profile;
+        private final long createdAt;
+
+        private Cached(CurrentProfile profile, long createdAt) {
+            this.profile = profile;
+            this.createdAt = createdAt;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.rev.app.service;
+
+import com.rev.app.dto.CounterReconcileBatch;
+import com.rev.app.entity.Application;
+import com.rev.app.entity.EmployerStats;
+import com.rev.app.entity.Job;
+import com.rev.app.entity.SeekerStats;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface DashboardCounterService {
+    void createEmployerStats(Long employerId);
+
+    void createSeekerStats(Long seekerId, Long userId);
+
+    void jobAdded(Job job);
+
+    void jobChanged(Job job, Boolean wasClosed, String previousStatus);
+
+    void jobRemoved(Job job);
+
+    void openJobsClosed(Map<Long, Long> closedByEmployerId);
+
+    void applicationAdded(Application application);
+
+    void applicationStatusChanged(Application application, Application.ApplicationStatus previousStatus);
+
+    void applicationStatusesChanged(Long employerId, Application.ApplicationStatus status,
+            Map<Application.ApplicationStatus, List<Long>> seekerIdsByPreviousStatus);
+
+    void savedJobsChanged(Long seekerId, long delta);
+
+    void notificationsAdded(Collection<Long> userIds);
+
+    void notificationRead(Long userId);
+
+    /** Marking all read leaves only what arrived meanwhile, as recounted by the caller. */
+    void allNotificationsRead(Long userId, long stillUnread);
+
+    EmployerStats getEmployerStats(Long employerId);
+
+    SeekerStats getSeekerStats(Long seekerId);
+
+    CounterReconcileBatch reconcileEmployers(Long afterId);
+
+    CounterReconcileBatch reconcileSeekers(Long afterId);
+}
@@ -0,0 +1,345 @@
+package com.rev.app.service;
+
+import com.rev.app.dto.CounterReconcileBatch;
+import com.rev.app.entity.Application;
+import com.rev.app.entity.ApplicationCounts;
+import com.rev.app.entity.EmployerStats;
+import com.rev.app.entity.Job;
+import com.rev.app.entity.JobSeeker;
+import com.rev.app.entity.SeekerStats;
+import com.rev.app.exception.ResourceNotFoundException;
+import com.rev.app.repository.ApplicationRepository;
+import com.rev.app.repository.EmployerRepository;
+import com.rev.app.repository.EmployerStatsRepository;
+import com.rev.app.repository.InLists;
+import com.rev.app.repository.JobRepository;
+import com.rev.app.repository.JobSeekerRepository;
+import com.rev.app.repository.NotificationRepository;
+import com.rev.app.repository.SavedJobRepository;
+import com.rev.app.repository.SeekerStatsRepository;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains the per-employer and per-seeker dashboard counters.
+ *
+ * <p>Write hooks run inside the caller's transaction and apply relative
+ * deltas, so a counter changes exactly when the row it counts does. An owner
+ * without a counter row (registered before counters existed) is skipped on
+ * writes and computed from the source tables on reads until the
+ * reconciler creates the row.
+ */
+@Service
+@Transactional
+public class DashboardCounterServiceImpl implements DashboardCounterService {
+
+    private static final Logger logger = LogManager.getLogger(DashboardCounterServiceImpl.class);
+
+    // Keeps every IN list under Oracle's 1000-element limit.
+    static final int BATCH_SIZE = 500;
+
+    @Autowired
+    private EmployerStatsRepository employerStatsRepository;
+
+    @Autowired
+    private SeekerStatsRepository seekerStatsRepository;
+
+    @Autowired
+    private EmployerRepository employerRepository;
+
+    @Autowired
+    private JobSeekerRepository jobSeekerRepository;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private ApplicationRepository applicationRepository;
+
+    @Autowired
+    private SavedJobRepository savedJobRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Override
+    public void createEmployerStats(Long employerId) {
+        employerStatsRepository.save(new EmployerStats(employerId));
+    }
+
+    @Override
+    public void createSeekerStats(Long seekerId, Long userId) {
+        seekerStatsRepository.save(new SeekerStats(seekerId, userId));
+    }
+
+    @Override
+    public void jobAdded(Job job) {
+        adjustJobState(job, Boolean.TRUE.equals(job.getIsClosed()), job.getStatus(), 1);
+    }
+
+    @Override
+    public void jobChanged(Job job, Boolean wasClosed, String previousStatus) {
+        boolean closed = Boolean.TRUE.equals(job.getIsClosed());
+        boolean closedBefore = Boolean.TRUE.equals(wasClosed);
+        if (closed == closedBefore && isFilled(job.getStatus()) == isFilled(previousStatus)) {
+            return;
+        }
+        adjustJobState(job, closedBefore, previousStatus, -1);
+        adjustJobState(job, closed, job.getStatus(), 1);
+    }
+
+    /**
+     * Must run before the job is deleted: its applications and saved entries
+     * go with it by cascade, so their counts are read and subtracted first.
+     */
+    @Override
+    public void jobRemoved(Job job) {
+        adjustJobState(job, Boolean.TRUE.equals(job.getIsClosed()), job.getStatus(), -1);
+
+        ApplicationCounts employerDelta = new ApplicationCounts();
+        Map<Long, ApplicationCounts> seekerDeltas = new HashMap<>();
+        for (Object[] row : applicationRepository.countStatusesBySeekerForJob(job.getId())) {
+            Application.ApplicationStatus status = (Application.ApplicationStatus) row[1];
+            long count = toLong(row[2]);
+            employerDelta.add(status, -count);
+            seekerDeltas.computeIfAbsent((Long) row[0], id -> new ApplicationCounts()).add(status, -count);
+        }
+        if (job.getEmployer() != null && employerDelta.total() != 0) {
+            employerStatsRepository.adjustApplications(job.getEmployer().getId(), employerDelta);
+        }
+        seekerDeltas.forEach(seekerStatsRepository::adjustApplications);
+
+        for (Object[] row : savedJobRepository.countBySeekerForJob(job.getId())) {
+            seekerStatsRepository.adjustSavedJobs((Long) row[0], -toLong(row[1]));
+        }
+    }
+
+    /** For jobs closed in bulk that were open and not filled: one delta per employer. */
+    @Override
+    public void openJobsClosed(Map<Long, Long> closedByEmployerId) {
+        closedByEmployerId.forEach((employerId, count) -> employerStatsRepository.adjustJobs(employerId, 0,
+                -count, count, 0));
+    }
+
+    @Override
+    public void applicationAdded(Application application) {
+        ApplicationCounts delta = new ApplicationCounts();
+        delta.add(application.getStatus(), 1);
+        adjustApplications(application, delta);
+    }
+
+    @Override
+    public void applicationStatusChanged(Application application, Application.ApplicationStatus previousStatus) {
+        if (application.getStatus() == previousStatus) {
+            return;
+        }
+        ApplicationCounts delta = new ApplicationCounts();
+        delta.add(previousStatus, -1);
+        delta.add(application.getStatus(), 1);
+        adjustApplications(application, delta);
+    }
+
+    /**
+     * Applies a bulk status change with one UPDATE for the employer and one
+     * per previous status and batch of seekers. Each seeker has at most one
+     * application per job, so seekers sharing a previous status share a delta.
+     */
+    @Override
+    public void applicationStatusesChanged(Long employerId, Application.ApplicationStatus status,
+            Map<Application.ApplicationStatus, List<Long>> seekerIdsByPreviousStatus) {
+        ApplicationCounts employerDelta = new ApplicationCounts();
+        for (Map.Entry<Application.ApplicationStatus, List<Long>> group : seekerIdsByPreviousStatus.entrySet()) {
+            if (group.getKey() == status || group.getValue().isEmpty()) {
+                continue;
+            }
+            List<Long> seekerIds = group.getValue();
+            employerDelta.add(group.getKey(), -seekerIds.size());
+            employerDelta.add(status, seekerIds.size());
+            ApplicationCounts seekerDelta = new ApplicationCounts();
+            seekerDelta.add(group.getKey(), -1);
+            seekerDelta.add(status, 1);
+            for (List<Long> chunk : InLists.chunks(seekerIds, BATCH_SIZE)) {
+                seekerStatsRepository.adjustApplications(chunk, seekerDelta);
+            }
+        }
+        if (employerId != null && !employerDelta.equals(new ApplicationCounts())) {
+            employerStatsRepository.adjustApplications(employerId, employerDelta);
+        }
+    }
+
+    @Override
+    public void savedJobsChanged(Long seekerId, long delta) {
+        seekerStatsRepository.adjustSavedJobs(seekerId, delta);
+    }
+
+    @Override
+    public void notificationsAdded(Collection<Long> userIds) {
+        // A user may appear more than once; one IN-list update per distinct count.
+        Map<Long, Long> countByUser = new HashMap<>();
+        userIds.forEach(userId -> countByUser.merge(userId, 1L, Long::sum));
+        Map<Long, List<Long>> usersByCount = new HashMap<>();
+        countByUser.forEach((userId, count) -> usersByCount.computeIfAbsent(count, k -> new ArrayList<>()).add(userId));
+        usersByCount.forEach((count, ids) -> {
+            for (List<Long> chunk : InLists.chunks(ids, BATCH_SIZE)) {
+                seekerStatsRepository.adjustUnreadNotifications(chunk, count);
+            }
+        });
+    }
+
+    @Override
+    public void notificationRead(Long userId) {
+        seekerStatsRepository.adjustUnreadNotifications(Collections.singletonList(userId), -1);
+    }
+
+    @Override
+    public void allNotificationsRead(Long userId, long stillUnread) {
+        seekerStatsRepository.setUnreadNotifications(userId, stillUnread);
+    }
+
+    @Override
+    public EmployerStats getEmployerStats(Long employerId) {
+        return employerStatsRepository.findById(employerId)
+                .orElseGet(() -> computeEmployerStats(Collections.singletonList(employerId)).get(employerId));
+    }
+
+    @Override
+    public SeekerStats getSeekerStats(Long seekerId) {
+        return seekerStatsRepository.findById(seekerId).orElseGet(() -> {
+            JobSeeker seeker = jobSeekerRepository.findById(seekerId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Job Seeker not found"));
+            return computeSeekerStats(Collections.singletonMap(seekerId, seeker.getUser().getId())).get(seekerId);
+        });
+    }
+
+    /**
+     * Recomputes the next batch of employer counter rows from the source
+     * tables and overwrites the ones that drifted, creating missing rows. The
+     * existing rows are locked before the recount, so a delta update racing
+     * with the repair waits for it and then applies on top of the recount
+     * rather than being overwritten by it.
+     */
+    @Override
+    public CounterReconcileBatch reconcileEmployers(Long afterId) {
+        List<Long> ids = employerRepository.findIdsAfter(afterId, PageRequest.of(0, BATCH_SIZE));
+        if (ids.isEmpty()) {
+            return new CounterReconcileBatch(null, 0);
+        }
+        Map<Long, EmployerStats> stored = employerStatsRepository.lockAllById(ids).stream()
+                .collect(Collectors.toMap(EmployerStats::getEmployerId, Function.identity()));
+        int repaired = 0;
+        for (EmployerStats expected : computeEmployerStats(ids).values()) {
+            EmployerStats current = stored.get(expected.getEmployerId());
+            if (!expected.equals(current)) {
+                logger.debug("Employer {} counters drifted: stored={} expected={}", expected.getEmployerId(),
+                        current, expected);
+                employerStatsRepository.save(expected);
+                repaired++;
+            }
+        }
+        return new CounterReconcileBatch(ids.get(ids.size() - 1), repaired);
+    }
+
+    @Override
+    public CounterReconcileBatch reconcileSeekers(Long afterId) {
+        List<Object[]> rows = jobSeekerRepository.findIdsAfter(afterId, PageRequest.of(0, BATCH_SIZE));
+        if (rows.isEmpty()) {
+            return new CounterReconcileBatch(null, 0);
+        }
+        Map<Long, Long> userBySeeker = new LinkedHashMap<>();
+        for (Object[] row : rows) {
+            userBySeeker.put((Long) row[0], (Long) row[1]);
+        }
+        Map<Long, SeekerStats> stored = seekerStatsRepository.lockAllById(userBySeeker.keySet()).stream()
+                .collect(Collectors.toMap(SeekerStats::getSeekerId, Function.identity()));
+        int repaired = 0;
+        for (SeekerStats expected : computeSeekerStats(userBySeeker).values()) {
+            SeekerStats current = stored.get(expected.getSeekerId());
+            if (!expected.equals(current)) {
+                logger.debug("Seeker {} counters drifted: stored={} expected={}", expected.getSeekerId(),
+                        current, expected);
+                seekerStatsRepository.save(expected);
+                repaired++;
+            }
+        }
+        return new CounterReconcileBatch((Long) rows.get(rows.size() - 1)[0], repaired);
+    }
+
+    private Map<Long, EmployerStats> computeEmployerStats(List<Long> employerIds) {
+        Map<Long, EmployerStats> stats = new LinkedHashMap<>();
+        for (Long id : employerIds) {
+            stats.put(id, new EmployerStats(id));
+        }
+        for (Object[] row : jobRepository.countJobStatesByEmployerIds(employerIds)) {
+            EmployerStats employer = stats.get((Long) row[0]);
+            employer.setTotalJobs(toLong(row[1]));
+            employer.setActiveJobs(toLong(row[2]));
+            employer.setClosedJobs(toLong(row[3]));
+            employer.setFilledJobs(toLong(row[4]));
+        }
+        for (Object[] row : applicationRepository.countStatusesByEmployerIds(employerIds)) {
+            stats.get((Long) row[0]).getApplications().add((Application.ApplicationStatus) row[1], toLong(row[2]));
+        }
+        return stats;
+    }
+
+    private Map<Long, SeekerStats> computeSeekerStats(Map<Long, Long> userBySeeker) {
+        Map<Long, SeekerStats> stats = new LinkedHashMap<>();
+        Map<Long, SeekerStats> byUser = new HashMap<>();
+        userBySeeker.forEach((seekerId, userId) -> {
+            SeekerStats seeker = new SeekerStats(seekerId, userId);
+            stats.put(seekerId, seeker);
+            byUser.put(userId, seeker);
+        });
+        for (Object[] row : applicationRepository.countStatusesBySeekerIds(userBySeeker.keySet())) {
+            stats.get((Long) row[0]).getApplications().add((Application.ApplicationStatus) row[1], toLong(row[2]));
+        }
+        for (Object[] row : savedJobRepository.countBySeekerIds(userBySeeker.keySet())) {
+            stats.get((Long) row[0]).setSavedJobs(toLong(row[1]));
+        }
+        for (Object[] row : notificationRepository.countUnreadByUserIds(userBySeeker.values())) {
+            byUser.get((Long) row[0]).setUnreadNotifications(toLong(row[1]));
+        }
+        return stats;
+    }
+
+    private void adjustJobState(Job job, boolean closed, String status, int sign) {
+        if (job.getEmployer() == null) {
+            return;
+        }
+        boolean filled = isFilled(status);
+        employerStatsRepository.adjustJobs(job.getEmployer().getId(), sign,
+                closed ? 0 : sign,
+                closed && !filled ? sign : 0,
+                filled ? sign : 0);
+    }
+
+    private void adjustApplications(Application application, ApplicationCounts delta) {
+        if (application.getJob().getEmployer() != null) {
+            employerStatsRepository.adjustApplications(application.getJob().getEmployer().getId(), delta);
+        }
+        seekerStatsRepository.adjustApplications(application.getJobSeeker().getId(), delta);
+    }
+
+    private static boolean isFilled(String status) {
+        return "FILLED".equals(status);
+    }
+
+    // SUM(...) over no rows is NULL.
+    private static long toLong(Object value) {
+        return value != null ? ((Number) value).longValue() : 0L;
+    }
+}
@@ -0,0 +1,10 @@
+package com.rev.app.service;
+
+import com.rev.app.dto.EmployerDashboardDTO;
+import com.rev.app.dto.SeekerDashboardDTO;
+
+public interface DashboardService {
+    EmployerDashboardDTO getEmployerDashboard(Long employerId);
+
+    SeekerDashboardDTO getSeekerDashboard(Long seekerId);
+}
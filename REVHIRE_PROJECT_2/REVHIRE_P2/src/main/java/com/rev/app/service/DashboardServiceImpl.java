@@ -0,0 +1,38 @@
+package com.rev.app.service;
+
+import com.rev.app.dto.EmployerDashboardDTO;
+import com.rev.app.dto.SeekerDashboardDTO;
+import com.rev.app.entity.ApplicationCounts;
+import com.rev.app.entity.EmployerStats;
+import com.rev.app.entity.SeekerStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Dashboard figures come from the materialized counter rows, one primary-key
+ * lookup per dashboard.
+ */
+@Service
+@Transactional
+public class DashboardServiceImpl implements DashboardService {
+
+    @Autowired
+    private DashboardCounterService dashboardCounterService;
+
+    @Override
+    public EmployerDashboardDTO getEmployerDashboard(Long employerId) {
+        EmployerStats stats = dashboardCounterService.getEmployerStats(employerId);
+        return new EmployerDashboardDTO(stats.getTotalJobs(), stats.getActiveJobs(), stats.getClosedJobs(),
+                stats.getFilledJobs(), stats.getApplications().total(), stats.getApplications().getApplied());
+    }
+
+    @Override
+    public SeekerDashboardDTO getSeekerDashboard(Long seekerId) {
+        SeekerStats stats = dashboardCounterService.getSeekerStats(seekerId);
+        ApplicationCounts applications = stats.getApplications();
+        return new SeekerDashboardDTO(applications.total(), applications.getApplied(),
+                applications.getUnderReview(), applications.getShortlisted(), applications.getRejected(),
+                applications.getWithdrawn(), stats.getSavedJobs(), stats.getUnreadNotifications());
+    }
+}
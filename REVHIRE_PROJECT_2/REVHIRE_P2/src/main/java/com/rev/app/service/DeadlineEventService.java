@@ -0,0 +1,21 @@
+package com.rev.app.service;
+
+import com.rev.app.entity.DeadlineEvent;
+import com.rev.app.entity.Job;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface DeadlineEventService {
+    List<DeadlineEvent> scheduleJob(Job job, LocalDateTime now);
+
+    void cancelJob(Long jobId);
+
+    List<DeadlineEvent> findDueBetween(LocalDateTime from, LocalDateTime until, Long afterId, int limit);
+
+    List<DeadlineEvent> findDueBefore(LocalDateTime until, Long afterId, int limit);
+
+    boolean fire(DeadlineEvent event, LocalDateTime now);
+
+    int backfill(LocalDateTime now, int limit);
+}
@@ -0,0 +1,164 @@
+package com.rev.app.service;
+
+import com.rev.app.entity.DeadlineEvent;
+import com.rev.app.entity.DeadlineEventKind;
+import com.rev.app.entity.Job;
+import com.rev.app.entity.NotificationContent;
+import com.rev.app.entity.SchedulerCheckpoint;
+import com.rev.app.repository.DeadlineEventRepository;
+import com.rev.app.repository.JobRepository;
+import com.rev.app.repository.SavedJobRepository;
+import com.rev.app.repository.SchedulerCheckpointRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Keeps the deadline_events table in step with open jobs and carries out
+ * events as they fall due. Firing deletes the row first, so when several
+ * instances hold the same event only the one whose delete succeeds acts on
+ * it, and it acts in the same transaction.
+ */
+@Service
+@Transactional
+public class DeadlineEventServiceImpl implements DeadlineEventService {
+
+    static final String BACKFILL_CHECKPOINT = "deadline-events-backfill";
+
+    @Autowired
+    private DeadlineEventRepository deadlineEventRepository;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private SavedJobRepository savedJobRepository;
+
+    @Autowired
+    private SchedulerCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private JobExpiryService jobExpiryService;
+
+    /**
+     * Replaces the job's pending events with those for its current deadline,
+     * or with none if it is closed. Reminders already past are dropped; the
+     * close is always kept, so a job posted with a past deadline still closes.
+     */
+    @Override
+    public List<DeadlineEvent> scheduleJob(Job job, LocalDateTime now) {
+        deadlineEventRepository.deleteByJobIds(Collections.singletonList(job.getId()));
+        if (Boolean.TRUE.equals(job.getIsClosed()) || job.getDeadline() == null) {
+            return Collections.emptyList();
+        }
+        return deadlineEventRepository.saveAll(eventsFor(job.getId(), job.getDeadline(), now));
+    }
+
+    @Override
+    public void cancelJob(Long jobId) {
+        deadlineEventRepository.deleteByJobIds(Collections.singletonList(jobId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<DeadlineEvent> findDueBetween(LocalDateTime from, LocalDateTime until, Long afterId, int limit) {
+        return deadlineEventRepository.findDueBetween(from, until, afterId, PageRequest.of(0, limit));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<DeadlineEvent> findDueBefore(LocalDateTime until, Long afterId, int limit) {
+        return deadlineEventRepository.findDueBefore(until, afterId, PageRequest.of(0, limit));
+    }
+
+    /**
+     * Claims the event and carries it out.
+     *
+     * @return false if it had already been fired or cancelled elsewhere
+     */
+    @Override
+    public boolean fire(DeadlineEvent event, LocalDateTime now) {
+        if (deadlineEventRepository.claim(event.getId()) != 1) {
+            return false;
+        }
+        Long jobId = event.getJobId();
+        switch (event.getKind()) {
+            case EXPIRY_REMINDER:
+                jobRepository.findOpenJobEmployerUserId(jobId).ifPresent(userId ->
+                        notificationService.sendNotification(userId, NotificationContent.jobExpiring(jobId)));
+                break;
+            case SAVED_JOB_CLOSING:
+                List<Long> userIds = savedJobRepository.findSeekerUserIdsByJobId(jobId);
+                if (!userIds.isEmpty() && jobRepository.findOpenJobEmployerUserId(jobId).isPresent()) {
+                    notificationService.sendNotifications(userIds, NotificationContent.savedJobClosing(jobId));
+                }
+                break;
+            case CLOSE:
+                jobExpiryService.closeJobsPastDeadline(Collections.singletonList(jobId), now.toLocalDate());
+                break;
+        }
+        return true;
+    }
+
+    /**
+     * Creates events for the next {@code limit} open jobs, in id order, that
+     * have none: jobs posted before deadline events existed. Resumes from its
+     * checkpoint, so once it has caught up each call reads only jobs posted
+     * since, and those already have their events.
+     *
+     * @return the number of jobs read; fewer than {@code limit} once caught up
+     * @throws ConcurrencyFailureException if another instance moved the
+     *         checkpoint meanwhile; the chunk's events roll back with it
+     */
+    @Override
+    public int backfill(LocalDateTime now, int limit) {
+        SchedulerCheckpoint checkpoint = checkpointRepository.findById(BACKFILL_CHECKPOINT)
+                .orElseGet(() -> checkpointRepository.save(
+                        new SchedulerCheckpoint(BACKFILL_CHECKPOINT, now.toLocalDate(), 0L)));
+        List<Object[]> jobs = jobRepository.findOpenJobDeadlines(checkpoint.getLastId(), PageRequest.of(0, limit));
+        if (jobs.isEmpty()) {
+            return 0;
+        }
+        List<Long> jobIds = new ArrayList<>(jobs.size());
+        for (Object[] job : jobs) {
+            jobIds.add((Long) job[0]);
+        }
+        Set<Long> scheduled = new HashSet<>(deadlineEventRepository.findJobIdsIn(jobIds));
+        List<DeadlineEvent> events = new ArrayList<>();
+        for (Object[] job : jobs) {
+            if (job[1] != null && !scheduled.contains(job[0])) {
+                events.addAll(eventsFor((Long) job[0], (LocalDate) job[1], now));
+            }
+        }
+        deadlineEventRepository.saveAll(events);
+        if (checkpointRepository.advance(BACKFILL_CHECKPOINT, checkpoint.getCompletedThrough(),
+                checkpoint.getLastId(), now.toLocalDate(), jobIds.get(jobIds.size() - 1)) != 1) {
+            throw new ConcurrencyFailureException("Deadline event backfill checkpoint moved by another instance");
+        }
+        return jobs.size();
+    }
+
+    private static List<DeadlineEvent> eventsFor(Long jobId, LocalDate deadline, LocalDateTime now) {
+        List<DeadlineEvent> events = new ArrayList<>();
+        for (DeadlineEventKind kind : DeadlineEventKind.values()) {
+            LocalDateTime dueAt = kind.dueAt(deadline);
+            if (kind == DeadlineEventKind.CLOSE || dueAt.isAfter(now)) {
+                events.add(new DeadlineEvent(jobId, kind, dueAt));
+            }
+        }
+        return events;
+    }
+}
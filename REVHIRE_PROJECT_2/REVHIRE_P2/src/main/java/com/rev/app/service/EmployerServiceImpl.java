@@ -1,6 +1,7 @@
 package com.rev.app.service;
 
 import com.rev.app.dto.EmployerDTO;
+import com.rev.app.dto.EmployerDashboardDTO;
 import com.rev.app.entity.Company;
 import com.rev.app.entity.Employer;
 import com.rev.app.exception.ResourceNotFoundException;
@@ -28,7 +29,10 @@ public class EmployerServiceImpl implements EmployerService {
     private EmployerMapper mapper;
 
     @Autowired
-    private JobService jobService;
+    private DashboardService dashboardService;
+
+    @Autowired
+    private CurrentProfileService currentProfileService;
 
     @Override
     public EmployerDTO getProfileByUserId(Long userId) {
@@ -67,17 +71,21 @@ public class EmployerServiceImpl implements EmployerService {
             companyRepository.save(company);
         }
 
-        return mapper.toEmployerDTO(employerRepository.save(employer));
+        Employer saved = employerRepository.save(employer);
+        currentProfileService.evict(employer.getUser().getId());
+        return mapper.toEmployerDTO(saved);
     }
 
     @Override
     public Map<String, Object> getStatistics(Long employerId) {
+        EmployerDashboardDTO dashboard = dashboardService.getEmployerDashboard(employerId);
         Map<String, Object> stats = new HashMap<>();
-        long totalJobs = jobService.getJobsByEmployer(employerId).size();
-        long activeJobs = jobService.getJobsByEmployer(employerId).stream().filter(j -> !j.getIsClosed()).count();
-
-        stats.put("totalJobs", totalJobs);
-        stats.put("activeJobs", activeJobs);
+        stats.put("totalJobs", dashboard.getTotalJobs());
+        stats.put("activeJobs", dashboard.getActiveJobs());
+        stats.put("closedJobs", dashboard.getClosedJobs());
+        stats.put("filledJobs", dashboard.getFilledJobs());
+        stats.put("totalApplications", dashboard.getTotalApplications());
+        stats.put("pendingReviews", dashboard.getPendingReviews());
 
         return stats;
     }
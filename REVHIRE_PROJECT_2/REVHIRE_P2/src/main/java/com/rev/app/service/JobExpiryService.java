@@ -0,0 +1,10 @@
+package com.rev.app.service;
+
+import java.time.LocalDate;
+import java.util.Collection;
+
+public interface JobExpiryService {
+    int closeExpiredJobs(LocalDate today);
+
+    int closeJobsPastDeadline(Collection<Long> jobIds, LocalDate today);
+}
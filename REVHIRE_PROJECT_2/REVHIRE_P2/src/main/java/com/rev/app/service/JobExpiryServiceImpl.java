@@ -0,0 +1,103 @@
+package com.rev.app.service;
+
+import com.rev.app.repository.DeadlineEventRepository;
+import com.rev.app.repository.InLists;
+import com.rev.app.repository.JobRepository;
+import com.rev.app.search.AfterCommit;
+import com.rev.app.search.JobSearchIndex;
+import com.rev.app.search.SkillIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Closes jobs whose deadline has passed, along with their pending deadline
+ * events. Each call is one transaction: {@code DeadlineWheel} closes jobs one
+ * at a time as their deadline passes, and {@code JobExpiryScheduler} sweeps
+ * up whatever the wheel missed.
+ */
+@Service
+@Transactional
+public class JobExpiryServiceImpl implements JobExpiryService {
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private DeadlineEventRepository deadlineEventRepository;
+
+    @Autowired
+    private DashboardCounterService dashboardCounterService;
+
+    @Autowired
+    private JobSearchIndex jobSearchIndex;
+
+    @Autowired
+    private SkillIndex skillIndex;
+
+    /**
+     * Closes every open job whose deadline is before {@code today} with one
+     * UPDATE, then adjusts the employers' counters and drops the jobs from
+     * this instance's search indexes.
+     *
+     * @throws ConcurrencyFailureException if a job was closed or reopened
+     *         between reading the expired jobs and closing them; nothing is
+     *         written
+     */
+    @Override
+    public int closeExpiredJobs(LocalDate today) {
+        List<Object[]> expired = jobRepository.findExpiredOpenJobs(today);
+        if (expired.isEmpty()) {
+            return 0;
+        }
+        return closed(expired, jobRepository.closeExpired(today));
+    }
+
+    /**
+     * Closes those of {@code jobIds} that are still open with their deadline
+     * before {@code today}, as {@link #closeExpiredJobs} does for all jobs.
+     */
+    @Override
+    public int closeJobsPastDeadline(Collection<Long> jobIds, LocalDate today) {
+        if (jobIds.isEmpty()) {
+            return 0;
+        }
+        List<Object[]> expired = jobRepository.findExpiredOpenJobsIn(jobIds, today);
+        if (expired.isEmpty()) {
+            return 0;
+        }
+        return closed(expired, jobRepository.closeExpiredIn(jobIds, today));
+    }
+
+    // Follows up the UPDATE that closed the {id, employer id} rows read just before it.
+    private int closed(List<Object[]> expired, int closed) {
+        if (closed != expired.size()) {
+            throw new ConcurrencyFailureException("Jobs changed while closing expired ones");
+        }
+        List<Long> jobIds = new ArrayList<>(expired.size());
+        Map<Long, Long> closedByEmployerId = new HashMap<>();
+        for (Object[] job : expired) {
+            jobIds.add((Long) job[0]);
+            if (job[1] != null) {
+                closedByEmployerId.merge((Long) job[1], 1L, Long::sum);
+            }
+        }
+        for (List<Long> chunk : InLists.chunks(jobIds)) {
+            deadlineEventRepository.deleteByJobIds(chunk);
+        }
+        dashboardCounterService.openJobsClosed(closedByEmployerId);
+        AfterCommit.run(() -> jobIds.forEach(id -> {
+            jobSearchIndex.remove(id);
+            skillIndex.removeJob(id);
+        }));
+        return closed;
+    }
+}
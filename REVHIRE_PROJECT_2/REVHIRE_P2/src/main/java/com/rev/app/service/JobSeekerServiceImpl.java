@@ -1,10 +1,12 @@
 package com.rev.app.service;
 
 import com.rev.app.dto.JobSeekerDTO;
+import com.rev.app.dto.SeekerDashboardDTO;
 import com.rev.app.entity.JobSeeker;
 import com.rev.app.exception.ResourceNotFoundException;
 import com.rev.app.mapper.JobSeekerMapper;
 import com.rev.app.repository.JobSeekerRepository;
+import com.rev.app.search.ApplicantSearchIndex;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -23,13 +25,13 @@ public class JobSeekerServiceImpl implements JobSeekerService {
     private JobSeekerMapper mapper;
 
     @Autowired
-    private ApplicationService applicationService;
+    private DashboardService dashboardService;
 
     @Autowired
-    private SavedJobService savedJobService;
+    private CurrentProfileService currentProfileService;
 
     @Autowired
-    private NotificationService notificationService;
+    private ApplicantSearchIndex applicantSearchIndex;
 
     @Override
     public JobSeekerDTO getProfileByUserId(Long userId) {
@@ -55,18 +57,19 @@ public class JobSeekerServiceImpl implements JobSeekerService {
         seeker.setLocation(dto.getLocation());
         seeker.setEmploymentStatus(dto.getEmploymentStatus());
 
-        return mapper.toJobSeekerDTO(jobSeekerRepository.save(seeker));
+        JobSeeker saved = jobSeekerRepository.save(seeker);
+        currentProfileService.evict(seeker.getUser().getId());
+        applicantSearchIndex.seekerChanged(id);
+        return mapper.toJobSeekerDTO(saved);
     }
 
     @Override
     public Map<String, Object> getDashboardSummary(Long seekerId) {
+        SeekerDashboardDTO dashboard = dashboardService.getSeekerDashboard(seekerId);
         Map<String, Object> summary = new HashMap<>();
-        summary.put("applicationCount", applicationService.getApplicationsBySeeker(seekerId).size());
-        summary.put("savedJobCount", savedJobService.getSavedJobsBySeeker(seekerId).size());
-
-        JobSeeker seeker = jobSeekerRepository.findById(seekerId)
-                .orElseThrow(() -> new ResourceNotFoundException("Job Seeker not found"));
-        summary.put("unreadNotificationCount", notificationService.getUnreadCount(seeker.getUser().getId()));
+        summary.put("applicationCount", dashboard.getApplicationCount());
+        summary.put("savedJobCount", dashboard.getSavedJobCount());
+        summary.put("unreadNotificationCount", dashboard.getUnreadNotificationCount());
 
         return summary;
     }
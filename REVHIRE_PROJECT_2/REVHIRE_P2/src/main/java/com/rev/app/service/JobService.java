@@ -1,6 +1,8 @@
 package com.rev.app.service;
 
 import com.rev.app.dto.JobDTO;
+import com.rev.app.dto.JobStatsDTO;
+import com.rev.app.dto.PageDTO;
 import java.util.List;
 
 public interface JobService {
@@ -12,15 +14,23 @@ public interface JobService {
 
     JobDTO getJobById(Long id);
 
-    List<JobDTO> getAllActiveJobs();
+    PageDTO<JobDTO> getActiveJobsPage(String cursor, int limit);
 
-    List<JobDTO> getJobsByEmployer(Long employerId);
+    PageDTO<JobDTO> getJobsByEmployerPage(Long employerId, String keyword, String state, String cursor, int limit);
+
+    JobStatsDTO getJobStatsByEmployer(Long employerId);
 
     List<JobDTO> searchJobs(String keyword);
 
     List<JobDTO> searchJobsAdvanced(String keyword, String location, String jobType, Integer minExp, Double minSalary,
             java.time.LocalDate startDate);
 
+    PageDTO<JobDTO> searchJobsAdvancedPage(String keyword, String location, String jobType, Integer minExp,
+            Double minSalary, java.time.LocalDate startDate, String cursor, int limit);
+
+    List<JobDTO> searchJobsByRelevance(String keyword, String location, String jobType, Integer minExp,
+            Double minSalary, java.time.LocalDate startDate, int limit);
+
     List<JobDTO> getRecommendedJobs(Long seekerId);
 
     void closeJob(Long id);
@@ -1,27 +1,55 @@
 package com.rev.app.service;
 
 import com.rev.app.dto.JobDTO;
+import com.rev.app.dto.JobStatsDTO;
+import com.rev.app.dto.KeysetCursor;
+import com.rev.app.dto.PageDTO;
+import com.rev.app.deadline.DeadlineWheel;
 import com.rev.app.entity.Company;
+import com.rev.app.entity.DeadlineEvent;
 import com.rev.app.entity.Employer;
 import com.rev.app.entity.Job;
+import com.rev.app.exception.InvalidCursorException;
 import com.rev.app.exception.ResourceNotFoundException;
 import com.rev.app.mapper.JobMapper;
 import com.rev.app.repository.ApplicationRepository;
 import com.rev.app.repository.CompanyRepository;
 import com.rev.app.repository.EmployerRepository;
 import com.rev.app.repository.JobRepository;
-import com.rev.app.repository.JobSeekerRepository;
+import com.rev.app.repository.InLists;
 import com.rev.app.repository.ResumeRepository;
+import com.rev.app.notification.JobPostedEvent;
+import com.rev.app.search.AfterCommit;
+import com.rev.app.search.ApplicantSearchIndex;
+import com.rev.app.search.JobSearchCriteria;
+import com.rev.app.search.JobSearchDocument;
+import com.rev.app.search.JobRecommender;
+import com.rev.app.search.JobSearchIndex;
+import com.rev.app.search.SkillIndex;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class JobServiceImpl implements JobService {
 
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int RECOMMENDATION_LIMIT = 20;
+
     @Autowired
     private JobRepository jobRepository;
 
@@ -38,10 +66,28 @@ public class JobServiceImpl implements JobService {
     private JobMapper mapper;
 
     @Autowired
-    private NotificationService notificationService;
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private JobSearchIndex jobSearchIndex;
+
+    @Autowired
+    private SkillIndex skillIndex;
+
+    @Autowired
+    private JobRecommender jobRecommender;
+
+    @Autowired
+    private ApplicantSearchIndex applicantSearchIndex;
+
+    @Autowired
+    private DashboardCounterService dashboardCounterService;
 
     @Autowired
-    private JobSeekerRepository jobSeekerRepository;
+    private DeadlineEventService deadlineEventService;
+
+    @Autowired
+    private DeadlineWheel deadlineWheel;
 
     @Override
     public JobDTO createJob(JobDTO jobDTO) {
@@ -51,37 +97,25 @@ public class JobServiceImpl implements JobService {
                 .orElseThrow(() -> new ResourceNotFoundException("Company not found"));
 
         Job job = mapper.toJobEntity(jobDTO, employer, company);
+        job.setMatchPending(true);
         Job savedJob = jobRepository.save(job);
+        syncSearchIndex(savedJob);
+        syncDeadlines(savedJob);
+        dashboardCounterService.jobAdded(savedJob);
 
-        notifyMatchingSeekers(savedJob);
+        // Match fan-out runs asynchronously once this transaction commits.
+        eventPublisher.publishEvent(new JobPostedEvent(savedJob.getId(), savedJob.getSkillsRequired()));
 
         return mapper.toJobDTO(savedJob);
     }
 
-    private void notifyMatchingSeekers(Job job) {
-        String jobSkills = job.getSkillsRequired() != null ? job.getSkillsRequired().toLowerCase() : "";
-        List<com.rev.app.entity.JobSeeker> seekers = jobSeekerRepository.findAll();
-        for (com.rev.app.entity.JobSeeker seeker : seekers) {
-            String seekerSkills = seeker.getResume() != null && seeker.getResume().getSkills() != null
-                    ? seeker.getResume().getSkills().toLowerCase()
-                    : "";
-            if (!seekerSkills.isEmpty()) {
-                String[] skills = seekerSkills.split(",");
-                for (String s : skills) {
-                    if (jobSkills.contains(s.trim())) {
-                        notificationService.sendNotification(seeker.getUser().getId(),
-                                "New Job Match: " + job.getTitle() + " at " + job.getCompany().getName());
-                        break;
-                    }
-                }
-            }
-        }
-    }
-
     @Override
     public JobDTO updateJob(Long id, JobDTO jobDTO) {
         Job existingJob = jobRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Job not found"));
+        Boolean wasClosed = existingJob.getIsClosed();
+        String previousStatus = existingJob.getStatus();
+        LocalDate previousDeadline = existingJob.getDeadline();
 
         existingJob.setTitle(jobDTO.getTitle());
         existingJob.setDescription(jobDTO.getDescription());
@@ -95,12 +129,26 @@ public class JobServiceImpl implements JobService {
         existingJob.setNumberOfOpenings(jobDTO.getNumberOfOpenings());
         existingJob.setStatus(jobDTO.getStatus());
 
-        return mapper.toJobDTO(jobRepository.save(existingJob));
+        Job savedJob = jobRepository.save(existingJob);
+        syncSearchIndex(savedJob);
+        if (!Objects.equals(previousDeadline, savedJob.getDeadline())) {
+            syncDeadlines(savedJob);
+        }
+        dashboardCounterService.jobChanged(savedJob, wasClosed, previousStatus);
+        return mapper.toJobDTO(savedJob);
     }
 
     @Override
     public void deleteJob(Long id) {
-        jobRepository.deleteById(id);
+        Job job = jobRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Job not found"));
+        dashboardCounterService.jobRemoved(job);
+        jobRepository.delete(job);
+        deadlineEventService.cancelJob(id);
+        AfterCommit.run(() -> deadlineWheel.cancel(id));
+        jobSearchIndex.remove(id);
+        skillIndex.removeJob(id);
+        applicantSearchIndex.removeJob(id);
     }
 
     @Override
@@ -113,27 +161,29 @@ public class JobServiceImpl implements JobService {
     }
 
     @Override
-    public List<JobDTO> getAllActiveJobs() {
-        return jobRepository.findByIsClosedFalse().stream()
-                .map(job -> {
-                    JobDTO dto = mapper.toJobDTO(job);
-                    dto.setApplicantCount(applicationRepository.countByJob(job));
-                    return dto;
-                })
-                .collect(Collectors.toList());
+    public PageDTO<JobDTO> getActiveJobsPage(String cursor, int limit) {
+        int size = pageSize(limit);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        List<Job> jobs = jobRepository.findActivePage(cursorDate(after), cursorId(after),
+                PageRequest.of(0, size + 1));
+        return toPage(jobs, size, true);
     }
 
     @Override
-    public List<JobDTO> getJobsByEmployer(Long employerId) {
-        Employer employer = employerRepository.findById(employerId)
-                .orElseThrow(() -> new ResourceNotFoundException("Employer not found"));
-        return jobRepository.findByEmployer(employer).stream()
-                .map(job -> {
-                    JobDTO dto = mapper.toJobDTO(job);
-                    dto.setApplicantCount(applicationRepository.countByJob(job));
-                    return dto;
-                })
-                .collect(Collectors.toList());
+    public PageDTO<JobDTO> getJobsByEmployerPage(Long employerId, String keyword, String state, String cursor,
+            int limit) {
+        int size = pageSize(limit);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        String keywordParam = (keyword != null && !keyword.isEmpty()) ? "%" + keyword.toLowerCase() + "%" : null;
+        String stateParam = (state != null && !state.isEmpty()) ? state : null;
+        List<Job> jobs = jobRepository.findEmployerPage(employerId, keywordParam, stateParam, cursorDate(after),
+                cursorId(after), PageRequest.of(0, size + 1));
+        return toPage(jobs, size, true);
+    }
+
+    @Override
+    public JobStatsDTO getJobStatsByEmployer(Long employerId) {
+        return jobRepository.getJobStatsByEmployer(employerId);
     }
 
     @Override
@@ -144,6 +194,14 @@ public class JobServiceImpl implements JobService {
     @Override
     public List<JobDTO> searchJobsAdvanced(String keyword, String location, String jobType, Integer minExp,
             Double minSalary, java.time.LocalDate startDate) {
+        if (jobSearchIndex.isReady()) {
+            List<Long> ids = jobSearchIndex.search(
+                    new JobSearchCriteria(keyword, location, jobType, minExp, minSalary, startDate));
+            return findJobsInOrder(ids).stream()
+                    .map(mapper::toJobDTO)
+                    .collect(Collectors.toList());
+        }
+
         String keywordParam = (keyword != null && !keyword.isEmpty()) ? "%" + keyword.toLowerCase() + "%" : null;
         String locationParam = (location != null && !location.isEmpty()) ? "%" + location.toLowerCase() + "%" : null;
         String jobTypeParam = (jobType != null && !jobType.isEmpty()) ? jobType : null;
@@ -154,45 +212,204 @@ public class JobServiceImpl implements JobService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public PageDTO<JobDTO> searchJobsAdvancedPage(String keyword, String location, String jobType, Integer minExp,
+            Double minSalary, LocalDate startDate, String cursor, int limit) {
+        int size = pageSize(limit);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        if (jobSearchIndex.isReady()) {
+            List<Long> ids = jobSearchIndex.searchNewest(
+                    new JobSearchCriteria(keyword, location, jobType, minExp, minSalary, startDate),
+                    cursorDate(after), cursorId(after), size + 1);
+            return toPage(findJobsInOrder(ids), size, false);
+        }
+
+        String keywordParam = (keyword != null && !keyword.isEmpty()) ? "%" + keyword.toLowerCase() + "%" : null;
+        String locationParam = (location != null && !location.isEmpty()) ? "%" + location.toLowerCase() + "%" : null;
+        String jobTypeParam = (jobType != null && !jobType.isEmpty()) ? jobType : null;
+
+        List<Job> jobs = jobRepository.searchJobsAdvancedPage(keywordParam, locationParam, jobTypeParam, minExp,
+                minSalary, startDate, cursorDate(after), cursorId(after), PageRequest.of(0, size + 1));
+        return toPage(jobs, size, false);
+    }
+
+    @Override
+    public List<JobDTO> searchJobsByRelevance(String keyword, String location, String jobType, Integer minExp,
+            Double minSalary, java.time.LocalDate startDate, int limit) {
+        int size = pageSize(limit);
+        if (jobSearchIndex.isReady()) {
+            List<Long> ids = jobSearchIndex.searchRanked(
+                    new JobSearchCriteria(keyword, location, jobType, minExp, minSalary, startDate), size);
+            return findJobsInOrder(ids).stream()
+                    .map(mapper::toJobDTO)
+                    .collect(Collectors.toList());
+        }
+        // Index still warming: no term statistics yet, so fall back to the first page of newest first.
+        return searchJobsAdvancedPage(keyword, location, jobType, minExp, minSalary, startDate, null, size)
+                .getItems();
+    }
+
+    private int pageSize(int limit) {
+        if (limit <= 0) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(limit, MAX_PAGE_SIZE);
+    }
+
+    private LocalDate cursorDate(KeysetCursor cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(cursor.getKey());
+        } catch (DateTimeParseException e) {
+            throw new InvalidCursorException("Invalid cursor");
+        }
+    }
+
+    private Long cursorId(KeysetCursor cursor) {
+        return cursor != null ? cursor.getId() : null;
+    }
+
+    /**
+     * Jobs are fetched one past the page size; the extra row only signals that
+     * another page exists and is not returned.
+     */
+    private PageDTO<JobDTO> toPage(List<Job> jobs, int size, boolean withApplicantCount) {
+        boolean hasMore = jobs.size() > size;
+        List<Job> page = hasMore ? jobs.subList(0, size) : jobs;
+        List<JobDTO> items = withApplicantCount ? toDTOsWithApplicantCount(page)
+                : page.stream().map(mapper::toJobDTO).collect(Collectors.toList());
+        String nextCursor = null;
+        if (hasMore) {
+            Job last = page.get(page.size() - 1);
+            nextCursor = KeysetCursor.encode(last.getPostedDate(), last.getId());
+        }
+        return new PageDTO<>(items, nextCursor, hasMore);
+    }
+
+    private List<JobDTO> toDTOsWithApplicantCount(List<Job> jobs) {
+        Map<Long, Long> counts = countApplicants(jobs);
+        return jobs.stream()
+                .map(job -> {
+                    JobDTO dto = mapper.toJobDTO(job);
+                    dto.setApplicantCount(counts.getOrDefault(job.getId(), 0L));
+                    return dto;
+                })
+                .collect(Collectors.toList());
+    }
+
+    private Map<Long, Long> countApplicants(List<Job> jobs) {
+        Map<Long, Long> counts = new HashMap<>();
+        List<Long> ids = jobs.stream().map(Job::getId).collect(Collectors.toList());
+        for (List<Long> batch : InLists.chunks(ids)) {
+            for (Object[] row : applicationRepository.countByJobIds(batch)) {
+                counts.put((Long) row[0], (Long) row[1]);
+            }
+        }
+        return counts;
+    }
+
+    private List<Job> findJobsInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, Job> byId = jobRepository.findByIdIn(ids).stream()
+                .collect(Collectors.toMap(Job::getId, Function.identity()));
+        List<Job> jobs = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Job job = byId.get(id);
+            if (job != null) {
+                jobs.add(job);
+            }
+        }
+        return jobs;
+    }
+
+    private void syncSearchIndex(Job job) {
+        if (Boolean.TRUE.equals(job.getIsClosed())) {
+            jobSearchIndex.remove(job.getId());
+            skillIndex.removeJob(job.getId());
+        } else {
+            JobSearchDocument document = mapper.toSearchDocument(job);
+            jobSearchIndex.upsert(document);
+            skillIndex.updateJob(document);
+        }
+    }
+
+    // Rewrites the job's deadline events; the wheel follows once they are committed.
+    private void syncDeadlines(Job job) {
+        List<DeadlineEvent> events = deadlineEventService.scheduleJob(job, LocalDateTime.now());
+        AfterCommit.run(() -> deadlineWheel.reschedule(job.getId(), events));
+    }
+
     @Autowired
     private ResumeRepository resumeRepository;
 
     @Override
     public List<JobDTO> getRecommendedJobs(Long seekerId) {
+        if (jobRecommender.isReady()) {
+            List<Long> ids = jobRecommender.recommend(seekerId, RECOMMENDATION_LIMIT);
+            if (ids.isEmpty()) {
+                // Nothing to match on yet: show the newest openings instead.
+                return getActiveJobsPage(null, RECOMMENDATION_LIMIT).getItems();
+            }
+            return findJobsInOrder(ids).stream()
+                    .filter(job -> !Boolean.TRUE.equals(job.getIsClosed()))
+                    .map(mapper::toJobDTO)
+                    .collect(Collectors.toList());
+        }
         return resumeRepository.findByJobSeekerId(seekerId).map(resume -> {
             String skills = resume.getSkills();
             if (skills == null || skills.isEmpty()) {
-                return getAllActiveJobs();
+                return getActiveJobsPage(null, RECOMMENDATION_LIMIT).getItems();
             }
 
             String[] skillArr = skills.split(",");
             String primarySkill = skillArr[0].trim();
-            return searchJobs(primarySkill);
-        }).orElse(getAllActiveJobs());
+            // Runs on every dashboard load while the index warms, so read one bounded page.
+            return searchJobsAdvancedPage(primarySkill, null, null, null, null, null, null, RECOMMENDATION_LIMIT)
+                    .getItems();
+        }).orElseGet(() -> getActiveJobsPage(null, RECOMMENDATION_LIMIT).getItems());
     }
 
     @Override
     public void closeJob(Long id) {
         Job job = jobRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Job not found"));
+        Boolean wasClosed = job.getIsClosed();
+        String previousStatus = job.getStatus();
         job.setIsClosed(true);
         jobRepository.save(job);
+        syncSearchIndex(job);
+        syncDeadlines(job);
+        dashboardCounterService.jobChanged(job, wasClosed, previousStatus);
     }
 
     @Override
     public void reopenJob(Long id) {
         Job job = jobRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Job not found"));
+        Boolean wasClosed = job.getIsClosed();
+        String previousStatus = job.getStatus();
         job.setIsClosed(false);
         jobRepository.save(job);
+        syncSearchIndex(job);
+        syncDeadlines(job);
+        dashboardCounterService.jobChanged(job, wasClosed, previousStatus);
     }
 
     @Override
     public void markJobAsFilled(Long id) {
         Job job = jobRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Job not found"));
+        Boolean wasClosed = job.getIsClosed();
+        String previousStatus = job.getStatus();
         job.setStatus("FILLED");
         job.setIsClosed(true);
         jobRepository.save(job);
+        syncSearchIndex(job);
+        syncDeadlines(job);
+        dashboardCounterService.jobChanged(job, wasClosed, previousStatus);
     }
 }
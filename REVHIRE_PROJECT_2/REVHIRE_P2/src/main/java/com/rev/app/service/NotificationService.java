@@ -1,18 +1,33 @@
 package com.rev.app.service;
 
 import com.rev.app.dto.NotificationDTO;
+import com.rev.app.dto.OutboxSummary;
+import com.rev.app.dto.PageDTO;
+import com.rev.app.entity.NotificationContent;
 import java.util.List;
 
 public interface NotificationService {
-    void sendNotification(Long userId, String message);
+    void sendNotification(Long userId, NotificationContent content);
 
-    void sendNotificationToSeeker(Long seekerId, String message);
+    void sendNotifications(List<Long> userIds, NotificationContent content);
 
-    List<NotificationDTO> getNotificationsForUser(Long userId);
+    void sendNotificationToSeeker(Long seekerId, NotificationContent content);
+
+    PageDTO<NotificationDTO> getInbox(Long userId, String cursor, int limit);
 
     void markAsRead(Long notificationId);
 
     void markAllRead(Long userId);
 
     long getUnreadCount(Long userId);
+
+    List<Long> findDueOutboxEvents(int limit);
+
+    int dispatchOutboxEvents(List<Long> eventIds);
+
+    boolean recordOutboxFailure(Long eventId, String error);
+
+    OutboxSummary getOutboxSummary();
+
+    int templateLegacyNotifications(int limit);
 }
@@ -1,22 +1,57 @@
 package com.rev.app.service;
 
+import com.rev.app.dto.KeysetCursor;
 import com.rev.app.dto.NotificationDTO;
+import com.rev.app.dto.NotificationDraft;
+import com.rev.app.dto.OutboxSummary;
+import com.rev.app.dto.PageDTO;
 import com.rev.app.entity.Notification;
-import com.rev.app.entity.User;
+import com.rev.app.entity.NotificationContent;
+import com.rev.app.entity.NotificationOutboxEvent;
+import com.rev.app.entity.NotificationReadMark;
+import com.rev.app.entity.NotificationTemplate;
+import com.rev.app.exception.InvalidCursorException;
 import com.rev.app.exception.ResourceNotFoundException;
-import com.rev.app.mapper.NotificationMapper;
+import com.rev.app.notification.LegacyNotificationParser;
+import com.rev.app.notification.NotificationRenderer;
+import com.rev.app.notification.NotificationStreams;
+import com.rev.app.repository.NotificationOutboxRepository;
+import com.rev.app.repository.NotificationReadMarkRepository;
 import com.rev.app.repository.NotificationRepository;
 import com.rev.app.repository.UserRepository;
 import com.rev.app.repository.JobSeekerRepository;
+import com.rev.app.search.AfterCommit;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
+@Transactional
 public class NotificationServiceImpl implements NotificationService {
 
+    private static final long MAX_RETRY_DELAY_SECONDS = 3600;
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final List<NotificationTemplate> COALESCED_TEMPLATES = Arrays.stream(NotificationTemplate.values())
+            .filter(NotificationTemplate::isCoalesced)
+            .collect(Collectors.toList());
+
     @Autowired
     private NotificationRepository notificationRepository;
 
@@ -27,56 +62,302 @@ public class NotificationServiceImpl implements NotificationService {
     private JobSeekerRepository jobSeekerRepository;
 
     @Autowired
-    private NotificationMapper mapper;
+    private NotificationRenderer renderer;
+
+    @Autowired
+    private LegacyNotificationParser legacyParser;
+
+    @Autowired
+    private DashboardCounterService dashboardCounterService;
+
+    @Autowired
+    private NotificationOutboxRepository outboxRepository;
+
+    @Autowired
+    private NotificationStreams notificationStreams;
+
+    @Autowired
+    private NotificationReadMarkRepository readMarkRepository;
+
+    @Value("${revhire.notifications.outbox.max-attempts:10}")
+    private int maxOutboxAttempts = 10;
 
+    @Value("${revhire.notifications.digest.window-minutes:60}")
+    private long digestWindowMinutes = 60;
+
+    // Appends to the outbox only; NotificationOutboxDispatcher writes the notification after commit.
     @Override
-    public void sendNotification(Long userId, String message) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-        Notification n = new Notification();
-        n.setUser(user);
-        n.setMessage(message);
-        n.setIsRead(false);
-        notificationRepository.save(n);
+    public void sendNotification(Long userId, NotificationContent content) {
+        outboxRepository.save(new NotificationOutboxEvent(userId, content));
+    }
+
+    @Override
+    public void sendNotifications(List<Long> userIds, NotificationContent content) {
+        outboxRepository.appendBatch(userIds, content);
     }
 
     @Override
-    public void sendNotificationToSeeker(Long seekerId, String message) {
+    public void sendNotificationToSeeker(Long seekerId, NotificationContent content) {
         com.rev.app.entity.JobSeeker seeker = jobSeekerRepository.findById(seekerId)
                 .orElseThrow(() -> new ResourceNotFoundException("Job Seeker not found"));
-        sendNotification(seeker.getUser().getId(), message);
+        sendNotification(seeker.getUser().getId(), content);
     }
 
     @Override
-    public List<NotificationDTO> getNotificationsForUser(Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-        return notificationRepository.findByUserOrderByCreatedAtDesc(user).stream()
-                .map(mapper::toNotificationDTO)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public PageDTO<NotificationDTO> getInbox(Long userId, String cursor, int limit) {
+        int size = pageSize(limit);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        List<Notification> rows = notificationRepository.findInboxPage(userId, cursorTime(after),
+                after != null ? after.getId() : null, PageRequest.of(0, size + 1));
+        boolean hasMore = rows.size() > size;
+        List<NotificationDTO> items = renderer.render(hasMore ? rows.subList(0, size) : rows);
+        long readUpTo = readUpTo(userId);
+        items.forEach(n -> applyReadMark(n, readUpTo));
+        String nextCursor = null;
+        if (hasMore) {
+            NotificationDTO last = items.get(items.size() - 1);
+            nextCursor = KeysetCursor.encode(last.getCreatedAt(), last.getId());
+        }
+        return new PageDTO<>(items, nextCursor, hasMore);
     }
 
     @Override
     public void markAsRead(Long notificationId) {
         Notification n = notificationRepository.findById(notificationId)
                 .orElseThrow(() -> new ResourceNotFoundException("Notification not found"));
+        boolean wasUnread = !Boolean.TRUE.equals(n.getIsRead()) && n.getId() > readUpTo(n.getUser().getId());
         n.setIsRead(true);
         notificationRepository.save(n);
+        if (wasUnread) {
+            dashboardCounterService.notificationRead(n.getUser().getId());
+            Long userId = n.getUser().getId();
+            AfterCommit.run(() -> notificationStreams.publishUnreadDelta(userId, -1));
+        }
     }
 
     @Override
     public void markAllRead(Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-        List<Notification> notifications = notificationRepository.findByUserOrderByCreatedAtDesc(user);
-        notifications.forEach(n -> n.setIsRead(true));
-        notificationRepository.saveAll(notifications);
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("User not found");
+        }
+        // Moves the user's read mark to their newest notification instead of flagging each row.
+        Long newest = notificationRepository.findMaxIdByUserId(userId);
+        if (newest != null) {
+            if (!readMarkRepository.existsById(userId)) {
+                try {
+                    readMarkRepository.create(userId);
+                } catch (DataIntegrityViolationException e) {
+                    // A concurrent call created it first; advancing below still applies.
+                }
+            }
+            readMarkRepository.advance(userId, newest);
+        }
+        // Notifications written since newest was read stay unread, and counted.
+        long stillUnread = notificationRepository.countUnread(userId, readUpTo(userId));
+        dashboardCounterService.allNotificationsRead(userId, stillUnread);
+        AfterCommit.run(() -> notificationStreams.publishUnreadCount(userId, stillUnread));
     }
 
     @Override
     public long getUnreadCount(Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-        return notificationRepository.countByUserAndIsReadFalse(user);
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("User not found");
+        }
+        return notificationRepository.countUnread(userId, readUpTo(userId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Long> findDueOutboxEvents(int limit) {
+        return outboxRepository.findDueIds(LocalDateTime.now(), maxOutboxAttempts, PageRequest.of(0, limit));
+    }
+
+    /**
+     * Writes the events' notifications and deletes the events in one
+     * transaction, so each event is delivered exactly once. Events of a
+     * coalesced template for the same recipient and job become one digest:
+     * they are added to an unread digest from the last
+     * {@code digest.window-minutes} if there is one, otherwise written as a
+     * single new row.
+     *
+     * @throws ConcurrencyFailureException if another dispatcher took some of
+     *         the events first; nothing is written
+     */
+    @Override
+    public int dispatchOutboxEvents(List<Long> eventIds) {
+        List<NotificationOutboxEvent> events = outboxRepository.findByIdInOrderById(eventIds);
+        if (events.isEmpty()) {
+            return 0;
+        }
+        List<Long> ids = events.stream().map(NotificationOutboxEvent::getId).collect(Collectors.toList());
+        if (outboxRepository.deleteByIds(ids) != ids.size()) {
+            throw new ConcurrencyFailureException("Outbox events already dispatched elsewhere");
+        }
+        List<NotificationDraft> drafts = coalesce(events);
+        Set<Long> updatedIds = foldIntoOpenDigests(drafts);
+        List<Long> userIds = drafts.stream().map(NotificationDraft::getUserId).collect(Collectors.toList());
+        // Only read the new rows back when someone is listening.
+        Set<Long> listening = notificationStreams.subscribedAmong(
+                events.stream().map(NotificationOutboxEvent::getUserId).collect(Collectors.toSet()));
+        Long lastIdBefore = listening.isEmpty() ? null : notificationRepository.findMaxId();
+        if (!drafts.isEmpty()) {
+            notificationRepository.insertDrafts(drafts);
+        }
+        dashboardCounterService.notificationsAdded(userIds);
+        if (!listening.isEmpty()) {
+            List<NotificationDTO> created = renderer.render(notificationRepository.findCreatedAfter(
+                    lastIdBefore != null ? lastIdBefore : 0L, listening));
+            List<NotificationDTO> updated = updatedIds.isEmpty() ? Collections.emptyList()
+                    : renderer.render(notificationRepository.findAllById(updatedIds)).stream()
+                            .filter(n -> listening.contains(n.getUserId()))
+                            .collect(Collectors.toList());
+            AfterCommit.run(() -> {
+                notificationStreams.publishNotifications(created);
+                notificationStreams.publishNotificationUpdates(updated);
+            });
+        }
+        return events.size();
+    }
+
+    // One draft per event, except that coalesced events sharing recipient and job share a draft.
+    private List<NotificationDraft> coalesce(List<NotificationOutboxEvent> events) {
+        Map<Object, NotificationDraft> drafts = new LinkedHashMap<>();
+        for (NotificationOutboxEvent event : events) {
+            NotificationContent content = event.getContent();
+            Object key = isCoalesced(content) ? digestKey(event.getUserId(), content) : event.getId();
+            NotificationDraft draft = drafts.get(key);
+            if (draft == null) {
+                drafts.put(key, new NotificationDraft(event.getUserId(), content, event.getCreatedAt(), 1));
+            } else {
+                draft.setOccurrences(draft.getOccurrences() + 1);
+            }
+        }
+        return new ArrayList<>(drafts.values());
+    }
+
+    /**
+     * Adds digest drafts to matching unread digests still inside the window
+     * and removes them from {@code drafts}.
+     *
+     * @return the ids of the digests updated
+     */
+    private Set<Long> foldIntoOpenDigests(List<NotificationDraft> drafts) {
+        Map<List<Object>, NotificationDraft> digests = new HashMap<>();
+        for (NotificationDraft draft : drafts) {
+            if (isCoalesced(draft.getContent())) {
+                digests.put(digestKey(draft.getUserId(), draft.getContent()), draft);
+            }
+        }
+        if (digests.isEmpty()) {
+            return Collections.emptySet();
+        }
+        Set<Long> userIds = digests.values().stream().map(NotificationDraft::getUserId).collect(Collectors.toSet());
+        Map<Long, Long> readUpTo = readMarkRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(NotificationReadMark::getUserId, NotificationReadMark::getReadUpToId));
+        Map<Long, NotificationDraft> foldInto = new HashMap<>();
+        for (Object[] open : notificationRepository.findOpenDigests(userIds, COALESCED_TEMPLATES,
+                LocalDateTime.now().minusMinutes(digestWindowMinutes))) {
+            Long id = (Long) open[0];
+            Long userId = (Long) open[1];
+            if (id <= readUpTo.getOrDefault(userId, 0L)) {
+                continue;
+            }
+            // Newest first, so each draft goes to the latest open digest for its job.
+            NotificationDraft draft = digests.remove(Arrays.asList(userId, open[2], open[3]));
+            if (draft != null) {
+                foldInto.put(id, draft);
+            }
+        }
+        if (foldInto.isEmpty()) {
+            return Collections.emptySet();
+        }
+        Map<Long, Integer> occurrences = new HashMap<>();
+        foldInto.forEach((id, draft) -> occurrences.put(id, draft.getOccurrences()));
+        Set<Long> updated = notificationRepository.addOccurrences(occurrences);
+        // A digest read since it was found, by flag or read mark, keeps its count; its events get a new row.
+        updated.forEach(id -> drafts.remove(foldInto.get(id)));
+        return updated;
+    }
+
+    private static boolean isCoalesced(NotificationContent content) {
+        return content != null && content.getTemplate() != null && content.getTemplate().isCoalesced();
+    }
+
+    private static List<Object> digestKey(Long userId, NotificationContent content) {
+        return Arrays.asList(userId, content.getTemplate(), content.getJobId());
+    }
+
+    /**
+     * Schedules another attempt with exponential backoff.
+     *
+     * @return false once the event has used up its attempts and is parked
+     */
+    @Override
+    public boolean recordOutboxFailure(Long eventId, String error) {
+        NotificationOutboxEvent event = outboxRepository.findById(eventId).orElse(null);
+        if (event == null) {
+            return true;
+        }
+        int attempts = event.getAttempts() + 1;
+        event.setAttempts(attempts);
+        event.setNextAttemptAt(LocalDateTime.now().plusSeconds(
+                Math.min(MAX_RETRY_DELAY_SECONDS, 1L << Math.min(attempts, 20))));
+        event.setLastError(error != null && error.length() > 500 ? error.substring(0, 500) : error);
+        return attempts < maxOutboxAttempts;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public OutboxSummary getOutboxSummary() {
+        Object[] pending = outboxRepository.pendingSummary(maxOutboxAttempts).get(0);
+        return new OutboxSummary(((Number) pending[0]).longValue(), (LocalDateTime) pending[1],
+                outboxRepository.countByAttemptsGreaterThanEqual(maxOutboxAttempts));
+    }
+
+    /**
+     * Converts up to {@code limit} notifications stored as rendered text into
+     * templates, oldest first.
+     *
+     * @return how many were converted; fewer than {@code limit} means none are left
+     */
+    @Override
+    public int templateLegacyNotifications(int limit) {
+        List<Notification> legacy = notificationRepository.findUntemplated(PageRequest.of(0, limit));
+        LegacyNotificationParser.Batch batch = legacyParser.batch();
+        for (Notification n : legacy) {
+            String text = n.getContent() != null ? n.getContent().getText() : null;
+            n.setContent(batch.parse(n.getUser().getId(), text));
+        }
+        return legacy.size();
+    }
+
+    private long readUpTo(Long userId) {
+        return readMarkRepository.findReadUpToId(userId).orElse(0L);
+    }
+
+    private NotificationDTO applyReadMark(NotificationDTO notification, long readUpTo) {
+        if (notification.getId() <= readUpTo) {
+            notification.setIsRead(true);
+        }
+        return notification;
+    }
+
+    private int pageSize(int limit) {
+        if (limit <= 0) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(limit, MAX_PAGE_SIZE);
+    }
+
+    private LocalDateTime cursorTime(KeysetCursor cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        try {
+            return LocalDateTime.parse(cursor.getKey());
+        } catch (DateTimeParseException e) {
+            throw new InvalidCursorException("Invalid cursor");
+        }
     }
 }
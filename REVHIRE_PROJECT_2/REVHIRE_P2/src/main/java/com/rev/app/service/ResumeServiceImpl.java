@@ -7,20 +7,26 @@ import com.rev.app.exception.ResourceNotFoundException;
 import com.rev.app.mapper.JobSeekerMapper;
 import com.rev.app.repository.JobSeekerRepository;
 import com.rev.app.repository.ResumeRepository;
+import com.rev.app.search.AfterCommit;
+import com.rev.app.search.ApplicantSearchIndex;
+import com.rev.app.search.JobRecommender;
+import com.rev.app.search.ResumeTextPipeline;
+import com.rev.app.search.SkillIndex;
+import com.rev.app.storage.ResumeBlobStore;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
 
 @Service
 public class ResumeServiceImpl implements ResumeService {
 
-    private static final String UPLOAD_DIR = "uploads/resumes/";
+    private static final Logger logger = LogManager.getLogger(ResumeServiceImpl.class);
 
     @Autowired
     private ResumeRepository resumeRepository;
@@ -31,6 +37,21 @@ public class ResumeServiceImpl implements ResumeService {
     @Autowired
     private JobSeekerMapper mapper;
 
+    @Autowired
+    private SkillIndex skillIndex;
+
+    @Autowired
+    private JobRecommender jobRecommender;
+
+    @Autowired
+    private ResumeBlobStore resumeBlobStore;
+
+    @Autowired
+    private ResumeTextPipeline resumeTextPipeline;
+
+    @Autowired
+    private ApplicantSearchIndex applicantSearchIndex;
+
     @Override
     public ResumeDTO createOrUpdateResume(ResumeDTO dto) {
         JobSeeker seeker = jobSeekerRepository.findById(dto.getJobSeekerId())
@@ -45,7 +66,11 @@ public class ResumeServiceImpl implements ResumeService {
         resume.setProjects(dto.getProjects());
         resume.setCertifications(dto.getCertifications());
 
-        return mapper.toResumeDTO(resumeRepository.save(resume));
+        Resume saved = resumeRepository.save(resume);
+        skillIndex.updateSeeker(seeker.getId(), seeker.getUser().getId(), saved.getSkills());
+        jobRecommender.invalidate(seeker.getId());
+        applicantSearchIndex.resumeChanged(saved.getId());
+        return mapper.toResumeDTO(saved);
     }
 
     @Override
@@ -62,19 +87,21 @@ public class ResumeServiceImpl implements ResumeService {
         JobSeeker seeker = jobSeekerRepository.findById(seekerId)
                 .orElseThrow(() -> new ResourceNotFoundException("Job Seeker not found"));
 
-        String originalName = file.getOriginalFilename();
-        Path uploadPath = Paths.get(UPLOAD_DIR);
-        if (!Files.exists(uploadPath)) {
-            Files.createDirectories(uploadPath);
+        String contentHash;
+        try (InputStream content = file.getInputStream()) {
+            contentHash = resumeBlobStore.store(content);
         }
-        Path filePath = uploadPath.resolve(seekerId + "_" + originalName);
-        Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
 
         Resume resume = resumeRepository.findByJobSeeker(seeker).orElse(new Resume());
+        String previousPath = resume.getFilePath();
         resume.setJobSeeker(seeker);
-        resume.setFilePath(filePath.toString());
-        resume.setFileName(originalName);
-        resumeRepository.save(resume);
+        resume.setFilePath(contentHash);
+        resume.setFileName(file.getOriginalFilename());
+        Resume saved = resumeRepository.save(resume);
+        deleteLegacyFileAfterCommit(previousPath);
+        resumeTextPipeline.extractAfterCommit(saved.getId(), contentHash);
+        // Text of the previous file no longer matches until the new one is extracted.
+        applicantSearchIndex.resumeChanged(saved.getId());
     }
 
     @Override
@@ -84,15 +111,30 @@ public class ResumeServiceImpl implements ResumeService {
         Resume resume = resumeRepository.findByJobSeeker(seeker)
                 .orElseThrow(() -> new ResourceNotFoundException("Resume not found"));
 
-        if (resume.getFilePath() != null) {
-            try {
-                Files.deleteIfExists(Paths.get(resume.getFilePath()));
-            } catch (IOException e) {
-                // Log and continue, database record should still be cleared
-            }
-        }
+        String previousPath = resume.getFilePath();
         resume.setFilePath(null);
         resume.setFileName(null);
         resumeRepository.save(resume);
+        // Content-addressed blobs may be shared, so ResumeBlobSweeper removes them once unreferenced.
+        deleteLegacyFileAfterCommit(previousPath);
+        applicantSearchIndex.resumeChanged(resume.getId());
+    }
+
+    /**
+     * Files stored before the blob store belong to one seeker and can go as
+     * soon as the row no longer points at them; a rolled-back write keeps them.
+     */
+    private void deleteLegacyFileAfterCommit(String filePath) {
+        if (filePath == null || ResumeBlobStore.isContentHash(filePath)) {
+            return;
+        }
+        AfterCommit.run(() -> {
+            try {
+                Files.deleteIfExists(resumeBlobStore.resolve(filePath));
+            } catch (IOException e) {
+                // Log and continue, database record is already cleared
+                logger.warn("Could not delete resume file {}: {}", filePath, e.getMessage());
+            }
+        });
     }
 }
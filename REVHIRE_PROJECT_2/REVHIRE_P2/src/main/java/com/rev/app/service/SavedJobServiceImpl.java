@@ -9,13 +9,16 @@ import com.rev.app.mapper.ApplicationMapper;
 import com.rev.app.repository.JobRepository;
 import com.rev.app.repository.JobSeekerRepository;
 import com.rev.app.repository.SavedJobRepository;
+import com.rev.app.search.JobRecommender;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
+@Transactional
 public class SavedJobServiceImpl implements SavedJobService {
 
         @Autowired
@@ -30,6 +33,12 @@ public class SavedJobServiceImpl implements SavedJobService {
         @Autowired
         private ApplicationMapper mapper;
 
+        @Autowired
+        private JobRecommender jobRecommender;
+
+        @Autowired
+        private DashboardCounterService dashboardCounterService;
+
         @Override
         public void saveJob(Long seekerId, Long jobId) {
                 JobSeeker seeker = jobSeekerRepository.findById(seekerId)
@@ -42,6 +51,8 @@ public class SavedJobServiceImpl implements SavedJobService {
                         savedJob.setJobSeeker(seeker);
                         savedJob.setJob(job);
                         savedJobRepository.save(savedJob);
+                        dashboardCounterService.savedJobsChanged(seekerId, 1);
+                        jobRecommender.invalidate(seekerId);
                 }
         }
 
@@ -53,7 +64,11 @@ public class SavedJobServiceImpl implements SavedJobService {
                                 .orElseThrow(() -> new ResourceNotFoundException("Job not found"));
 
                 savedJobRepository.findByJobSeekerAndJob(seeker, job)
-                                .ifPresent(savedJobRepository::delete);
+                                .ifPresent(savedJob -> {
+                                        savedJobRepository.delete(savedJob);
+                                        dashboardCounterService.savedJobsChanged(seekerId, -1);
+                                        jobRecommender.invalidate(seekerId);
+                                });
         }
 
         @Override
@@ -28,18 +28,21 @@ public class UserServiceImpl implements UserService {
     private final JobSeekerRepository jobSeekerRepository;
     private final EmployerRepository employerRepository;
     private final CompanyRepository companyRepository;
+    private final DashboardCounterService dashboardCounterService;
 
     @Autowired
     public UserServiceImpl(UserRepository userRepository,
             PasswordEncoder passwordEncoder,
             JobSeekerRepository jobSeekerRepository,
             EmployerRepository employerRepository,
-            CompanyRepository companyRepository) {
+            CompanyRepository companyRepository,
+            DashboardCounterService dashboardCounterService) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.jobSeekerRepository = jobSeekerRepository;
         this.employerRepository = employerRepository;
         this.companyRepository = companyRepository;
+        this.dashboardCounterService = dashboardCounterService;
     }
 
     @Override
@@ -59,6 +62,7 @@ public class UserServiceImpl implements UserService {
             seeker.setLocation(userDTO.getLocation());
             seeker.setEmploymentStatus(userDTO.getEmploymentStatus());
             jobSeekerRepository.save(seeker);
+            dashboardCounterService.createSeekerStats(seeker.getId(), user.getId());
             logger.info("JobSeeker profile created for user: {}", user.getEmail());
         } else if (user.getRole() == User.Role.EMPLOYER) {
             Company company = new Company();
@@ -75,6 +79,7 @@ public class UserServiceImpl implements UserService {
             employer.setCompany(company);
             employer.setContactPerson(userDTO.getName());
             employerRepository.save(employer);
+            dashboardCounterService.createEmployerStats(employer.getId());
             logger.info("Employer profile created for user: {} with company: {}", user.getEmail(), company.getName());
         }
         return user;
@@ -0,0 +1,150 @@
+package com.rev.app.storage;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Content-addressed store for uploaded resume files. A file is streamed
+ * through SHA-256 into a temp file, flushed to disk and moved into place
+ * under {@code <root>/ab/cd/<hash>}, so readers never see a partial file and
+ * identical uploads share one copy.
+ *
+ * <p>Blobs are never deleted on the request path, because another seeker may
+ * upload the same content at the same moment. {@link #sweep} removes
+ * unreferenced blobs once they are older than a grace period instead.
+ */
+@Component
+public class ResumeBlobStore {
+
+    private static final Pattern CONTENT_HASH = Pattern.compile("[0-9a-f]{64}");
+    private static final String TEMP_DIR = "tmp";
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Path root;
+
+    public ResumeBlobStore(@Value("${revhire.resume.storage-dir:uploads/resumes}") String root) {
+        this.root = Paths.get(root);
+    }
+
+    /** Stores the stream's content and returns its SHA-256 as lowercase hex. */
+    public String store(InputStream content) throws IOException {
+        Path tempDir = Files.createDirectories(root.resolve(TEMP_DIR));
+        Path temp = Files.createTempFile(tempDir, "upload-", ".part");
+        try {
+            MessageDigest digest = sha256();
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                byte[] buffer = new byte[BUFFER_SIZE];
+                int read;
+                while ((read = content.read(buffer)) != -1) {
+                    digest.update(buffer, 0, read);
+                    out.write(buffer, 0, read);
+                }
+            }
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                channel.force(true);
+            }
+
+            String hash = toHex(digest.digest());
+            Path target = pathFor(hash);
+            if (Files.exists(target)) {
+                // Already stored; bump mtime so the sweep's grace period restarts.
+                try {
+                    Files.setLastModifiedTime(target, FileTime.fromMillis(System.currentTimeMillis()));
+                    return hash;
+                } catch (NoSuchFileException e) {
+                    // Swept meanwhile: store this copy instead.
+                }
+            }
+            Files.createDirectories(target.getParent());
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException e) {
+                // Same content stored concurrently.
+            }
+            return hash;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Maps a stored reference to its file: a content hash to its sharded path,
+     * anything else to the path it names (files uploaded before this store).
+     */
+    public Path resolve(String reference) {
+        return isContentHash(reference) ? pathFor(reference) : Paths.get(reference);
+    }
+
+    public static boolean isContentHash(String reference) {
+        return reference != null && CONTENT_HASH.matcher(reference).matches();
+    }
+
+    /**
+     * Deletes blobs, and temp files left by interrupted uploads, that were last
+     * written more than {@code graceMillis} ago and are no longer referenced.
+     *
+     * @return the number of files deleted
+     */
+    public int sweep(Predicate<String> isReferenced, long graceMillis) throws IOException {
+        if (!Files.isDirectory(root)) {
+            return 0;
+        }
+        long cutoff = System.currentTimeMillis() - graceMillis;
+        int deleted = 0;
+        try (Stream<Path> files = Files.walk(root)) {
+            for (Path file : (Iterable<Path>) files.filter(Files::isRegularFile)::iterator) {
+                boolean temp = file.getParent().equals(root.resolve(TEMP_DIR));
+                String name = file.getFileName().toString();
+                if ((!temp && !isContentHash(name)) || Files.getLastModifiedTime(file).toMillis() > cutoff) {
+                    continue;
+                }
+                if (!temp && isReferenced.test(name)) {
+                    continue;
+                }
+                // An identical upload may have bumped the mtime since, and be about to reference the blob.
+                if (Files.getLastModifiedTime(file).toMillis() <= cutoff && Files.deleteIfExists(file)) {
+                    deleted++;
+                }
+            }
+        }
+        return deleted;
+    }
+
+    private Path pathFor(String hash) {
+        return root.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+        }
+        return hex.toString();
+    }
+}
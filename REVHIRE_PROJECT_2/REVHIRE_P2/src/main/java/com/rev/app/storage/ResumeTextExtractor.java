@@ -0,0 +1,333 @@
+package com.rev.app.storage;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Pulls plain text out of an uploaded resume file and normalizes it for
+ * search. Plain text, .docx and PDFs that keep their text in literal strings
+ * (uncompressed or FlateDecode content streams) are understood; any other
+ * format yields an empty string.
+ *
+ * <p>Decompression is capped at {@link #MAX_INFLATED_BYTES} per file, so a
+ * crafted archive or stream cannot exhaust memory.
+ */
+@Component
+public class ResumeTextExtractor {
+
+    static final int MAX_INFLATED_BYTES = 16 * 1024 * 1024;
+    private static final String DOCX_BODY = "word/document.xml";
+    private static final int BINARY_SNIFF_BYTES = 4096;
+
+    private final int maxChars;
+
+    public ResumeTextExtractor(@Value("${revhire.resume.text.max-chars:65536}") int maxChars) {
+        this.maxChars = maxChars;
+    }
+
+    /** Returns the file's normalized text, or an empty string for unsupported formats. */
+    public String extract(Path file) throws IOException {
+        byte[] content = Files.readAllBytes(file);
+        String raw;
+        if (startsWith(content, "%PDF")) {
+            raw = pdfText(content);
+        } else if (startsWith(content, "PK")) {
+            raw = docxText(content);
+        } else if (looksBinary(content)) {
+            raw = "";
+        } else {
+            raw = new String(content, StandardCharsets.UTF_8);
+        }
+        return normalize(raw, maxChars);
+    }
+
+    /**
+     * NFKC (folds ligatures and full-width forms), lower case, runs of
+     * whitespace and control characters collapsed to one space, capped at
+     * {@code maxChars}.
+     */
+    static String normalize(String raw, int maxChars) {
+        String capped = raw.length() > 2 * maxChars ? raw.substring(0, 2 * maxChars) : raw;
+        String text = Normalizer.normalize(capped, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        StringBuilder out = new StringBuilder(Math.min(text.length(), maxChars));
+        boolean pendingSpace = false;
+        for (int i = 0; i < text.length() && out.length() < maxChars; i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c) || Character.isSpaceChar(c) || Character.isISOControl(c)) {
+                pendingSpace = out.length() > 0;
+            } else {
+                if (pendingSpace) {
+                    out.append(' ');
+                    pendingSpace = false;
+                }
+                out.append(c);
+            }
+        }
+        if (out.length() > 0 && Character.isHighSurrogate(out.charAt(out.length() - 1))) {
+            out.setLength(out.length() - 1);
+        }
+        return out.toString();
+    }
+
+    private static boolean startsWith(byte[] content, String magic) {
+        if (content.length < magic.length()) {
+            return false;
+        }
+        for (int i = 0; i < magic.length(); i++) {
+            if (content[i] != magic.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Legacy .doc and other binary formats: too many control bytes to be text.
+    private static boolean looksBinary(byte[] content) {
+        int sample = Math.min(content.length, BINARY_SNIFF_BYTES);
+        int control = 0;
+        for (int i = 0; i < sample; i++) {
+            int b = content[i] & 0xff;
+            if (b < 0x20 && b != '\t' && b != '\n' && b != '\r' && b != '\f') {
+                control++;
+            }
+        }
+        return control > sample / 10;
+    }
+
+    private String docxText(byte[] content) throws IOException {
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(content))) {
+            for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+                if (DOCX_BODY.equals(entry.getName())) {
+                    return wordprocessingText(readBounded(zip));
+                }
+            }
+        }
+        return "";
+    }
+
+    private String wordprocessingText(byte[] xml) throws IOException {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        StringBuilder out = new StringBuilder();
+        try {
+            XMLStreamReader reader = factory.createXMLStreamReader(new ByteArrayInputStream(xml));
+            boolean inText = false;
+            while (reader.hasNext() && out.length() < 2 * maxChars) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    String name = reader.getLocalName();
+                    inText = "t".equals(name);
+                    if ("tab".equals(name) || "br".equals(name) || "cr".equals(name)) {
+                        out.append(' ');
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    inText = false;
+                    if ("p".equals(reader.getLocalName())) {
+                        out.append('\n');
+                    }
+                } else if (inText && (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA)) {
+                    out.append(reader.getText());
+                }
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException("Malformed document.xml: " + e.getMessage(), e);
+        }
+        return out.toString();
+    }
+
+    /**
+     * Walks the file's streams and collects the strings shown by text
+     * operators. Bytes are read as Latin-1, which matches the standard PDF
+     * encodings for ASCII text; glyph-id (hex) strings are skipped.
+     */
+    private String pdfText(byte[] content) {
+        String pdf = new String(content, StandardCharsets.ISO_8859_1);
+        StringBuilder out = new StringBuilder();
+        int budget = MAX_INFLATED_BYTES;
+        int from = 0;
+        while (out.length() < 2 * maxChars) {
+            int keyword = pdf.indexOf("stream", from);
+            if (keyword < 0) {
+                break;
+            }
+            from = keyword + "stream".length();
+            if (keyword >= 3 && pdf.startsWith("end", keyword - 3)) {
+                continue;
+            }
+            int start = from;
+            if (pdf.startsWith("\r\n", start)) {
+                start += 2;
+            } else if (start < pdf.length() && pdf.charAt(start) == '\n') {
+                start++;
+            }
+            int end = pdf.indexOf("endstream", start);
+            if (end < 0) {
+                break;
+            }
+            from = end + "endstream".length();
+
+            String dictionary = pdf.substring(Math.max(0, pdf.lastIndexOf("<<", keyword)), keyword);
+            String data;
+            if (dictionary.contains("/FlateDecode")) {
+                data = inflate(content, start, end - start, budget);
+                budget -= data.length();
+            } else if (!dictionary.contains("/Filter")) {
+                data = pdf.substring(start, end);
+            } else {
+                continue;
+            }
+            if (budget <= 0) {
+                break;
+            }
+            showText(data, out);
+        }
+        return out.toString();
+    }
+
+    private static String inflate(byte[] content, int offset, int length, int budget) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(content, offset, length);
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            while (!inflater.finished() && out.size() < budget) {
+                int read = inflater.inflate(buffer);
+                if (read == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                out.write(buffer, 0, read);
+            }
+            return new String(out.toByteArray(), StandardCharsets.ISO_8859_1);
+        } catch (DataFormatException e) {
+            return "";
+        } finally {
+            inflater.end();
+        }
+    }
+
+    // Collects literal strings between BT and ET; line moves and wide TJ gaps become spaces.
+    private static void showText(String stream, StringBuilder out) {
+        boolean inText = false;
+        int i = 0;
+        while (i < stream.length()) {
+            char c = stream.charAt(i);
+            if (c == '(') {
+                i = literalString(stream, i, inText ? out : null);
+            } else if (c == '%') {
+                while (i < stream.length() && stream.charAt(i) != '\n' && stream.charAt(i) != '\r') {
+                    i++;
+                }
+            } else if (c == '-' || c == '.' || Character.isDigit(c)) {
+                int start = i;
+                i++;
+                while (i < stream.length() && (stream.charAt(i) == '.' || Character.isDigit(stream.charAt(i)))) {
+                    i++;
+                }
+                // In a TJ array, a large negative offset is a word gap.
+                if (inText && c == '-' && parse(stream.substring(start, i)) < -200) {
+                    out.append(' ');
+                }
+            } else if (Character.isLetter(c) || c == '\'' || c == '"' || c == '*') {
+                int start = i;
+                i++;
+                while (i < stream.length() && (Character.isLetter(stream.charAt(i)) || stream.charAt(i) == '*')) {
+                    i++;
+                }
+                String operator = stream.substring(start, i);
+                if ("BT".equals(operator)) {
+                    inText = true;
+                } else if ("ET".equals(operator)) {
+                    inText = false;
+                    out.append('\n');
+                } else if (inText && ("Td".equals(operator) || "TD".equals(operator) || "T*".equals(operator)
+                        || "Tm".equals(operator) || "'".equals(operator) || "\"".equals(operator))) {
+                    out.append(' ');
+                }
+            } else {
+                i++;
+            }
+        }
+    }
+
+    private static double parse(String number) {
+        try {
+            return Double.parseDouble(number);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /** Reads the literal string opening at {@code open}; returns the index after it. */
+    private static int literalString(String stream, int open, StringBuilder out) {
+        int depth = 0;
+        int i = open;
+        while (i < stream.length()) {
+            char c = stream.charAt(i++);
+            if (c == '\\' && i < stream.length()) {
+                char escaped = stream.charAt(i++);
+                if (escaped >= '0' && escaped <= '7') {
+                    int code = escaped - '0';
+                    for (int digits = 1; digits < 3 && i < stream.length()
+                            && stream.charAt(i) >= '0' && stream.charAt(i) <= '7'; digits++) {
+                        code = code * 8 + stream.charAt(i++) - '0';
+                    }
+                    append(out, (char) (code & 0xff));
+                } else if (escaped == 'n' || escaped == 'r' || escaped == 't' || escaped == 'f' || escaped == 'b') {
+                    append(out, ' ');
+                } else if (escaped != '\n' && escaped != '\r') {
+                    append(out, escaped);
+                }
+            } else if (c == '(') {
+                if (depth++ > 0) {
+                    append(out, c);
+                }
+            } else if (c == ')') {
+                if (--depth == 0) {
+                    return i;
+                }
+                append(out, c);
+            } else {
+                append(out, c);
+            }
+        }
+        return i;
+    }
+
+    private static void append(StringBuilder out, char c) {
+        if (out != null) {
+            out.append(c);
+        }
+    }
+
+    private static byte[] readBounded(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+            if (out.size() > MAX_INFLATED_BYTES) {
+                throw new IOException("Entry exceeds " + MAX_INFLATED_BYTES + " bytes");
+            }
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,28 @@
+// Keeps the unread notification badges current from the server-sent event stream.
+document.addEventListener('DOMContentLoaded', function () {
+    var badges = document.querySelectorAll('[data-unread-count]');
+    if (!badges.length || !window.EventSource) {
+        return;
+    }
+
+    function show(count) {
+        badges.forEach(function (badge) {
+            badge.textContent = Math.max(0, count);
+        });
+    }
+
+    var unread = parseInt(badges[0].textContent, 10) || 0;
+    // The browser reconnects by itself; each connection starts with a fresh count.
+    var stream = new EventSource('/api/notifications/stream');
+    stream.addEventListener('unread-count', function (e) {
+        unread = parseInt(e.data, 10) || 0;
+        show(unread);
+    });
+    stream.addEventListener('unread-delta', function (e) {
+        unread += parseInt(e.data, 10) || 0;
+        show(unread);
+    });
+    window.addEventListener('beforeunload', function () {
+        stream.close();
+    });
+});
@@ -0,0 +1,208 @@
+package com.rev.app.benchmark;
+
+import com.rev.app.search.JobSearchCriteria;
+import com.rev.app.search.JobSearchDocument;
+import com.rev.app.search.JobSearchIndex;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compares the JPQL keyword search (run as the equivalent SQL against H2) with
+ * {@link JobSearchIndex}. Not part of the test suite; run manually:
+ *
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.rev.app.benchmark.JobSearchBenchmark -Dexec.args="10000 100000 1000000"
+ * </pre>
+ */
+public class JobSearchBenchmark {
+
+    private static final String[] TITLES = { "Java Developer", "Backend Engineer", "Data Analyst", "QA Engineer",
+            "Frontend Developer", "DevOps Engineer", "Product Manager", "Android Developer", "ML Engineer",
+            "Support Engineer" };
+    private static final String[] SKILLS = { "java", "spring", "sql", "python", "react", "angular", "kotlin",
+            "docker", "kubernetes", "aws", "c++", "go", "selenium", "pandas", "terraform" };
+    private static final String[] LOCATIONS = { "Pune", "Chennai", "Hyderabad", "Bangalore", "Mumbai", "Delhi",
+            "Remote" };
+    private static final String[] JOB_TYPES = { "Full-time", "Part-time", "Contract", "Internship" };
+
+    private static final String SEARCH_SQL = "SELECT j.id FROM jobs j JOIN companies c ON j.company_id = c.id "
+            + "WHERE j.is_closed = FALSE "
+            + "AND (? IS NULL OR LOWER(j.title) LIKE ? OR LOWER(j.skills_required) LIKE ? OR LOWER(c.name) LIKE ?) "
+            + "AND (? IS NULL OR LOWER(j.location) LIKE ?) "
+            + "AND (? IS NULL OR j.job_type = ?) "
+            + "AND (? IS NULL OR j.experience_required >= ?) "
+            + "AND (? IS NULL OR j.salary_range >= ?) "
+            + "AND (? IS NULL OR j.posted_date >= ?)";
+
+    private static final int QUERY_ROUNDS = 20;
+
+    // Keeps the JIT from discarding result sets it considers unused.
+    private static volatile long sink;
+
+    public static void main(String[] args) throws Exception {
+        int[] sizes = args.length > 0 ? new int[args.length] : new int[] { 10_000, 100_000, 1_000_000 };
+        for (int i = 0; i < args.length; i++) {
+            sizes[i] = Integer.parseInt(args[i]);
+        }
+        List<JobSearchCriteria> queries = queries();
+        System.out.printf("%-10s %-14s %-14s %-10s%n", "jobs", "jpql ms/query", "index ms/query", "speedup");
+        for (int size : sizes) {
+            List<JobSearchDocument> docs = generate(size, new Random(42));
+            double jpql = runJpql(docs, queries);
+            double indexed = runIndex(docs, queries);
+            System.out.printf("%-10d %-14.3f %-14.3f %-10.1f%n", size, jpql, indexed, jpql / indexed);
+        }
+    }
+
+    private static List<JobSearchCriteria> queries() {
+        List<JobSearchCriteria> queries = new ArrayList<>();
+        queries.add(new JobSearchCriteria("java", null, null, null, null, null));
+        queries.add(new JobSearchCriteria("engineer", "pune", null, null, null, null));
+        queries.add(new JobSearchCriteria("kubernetes", null, "Full-time", 3, null, null));
+        queries.add(new JobSearchCriteria("python", "remote", null, null, 80000.0, LocalDate.now().minusDays(30)));
+        queries.add(new JobSearchCriteria("acme", null, null, null, null, null));
+        return queries;
+    }
+
+    private static List<JobSearchDocument> generate(int size, Random random) {
+        List<JobSearchDocument> docs = new ArrayList<>(size);
+        LocalDate today = LocalDate.now();
+        for (int i = 1; i <= size; i++) {
+            String skills = SKILLS[random.nextInt(SKILLS.length)] + ", " + SKILLS[random.nextInt(SKILLS.length)]
+                    + ", " + SKILLS[random.nextInt(SKILLS.length)];
+            docs.add(new JobSearchDocument((long) i,
+                    TITLES[random.nextInt(TITLES.length)],
+                    skills,
+                    "We are hiring for a role working with " + skills,
+                    "Company " + (i % 5000) + (i % 97 == 0 ? " Acme" : ""),
+                    LOCATIONS[random.nextInt(LOCATIONS.length)],
+                    JOB_TYPES[random.nextInt(JOB_TYPES.length)],
+                    random.nextInt(10),
+                    30000.0 + random.nextInt(120000),
+                    today.minusDays(random.nextInt(365))));
+        }
+        return docs;
+    }
+
+    private static double runIndex(List<JobSearchDocument> docs, List<JobSearchCriteria> queries) {
+        JobSearchIndex index = new JobSearchIndex();
+        index.load(docs);
+        for (JobSearchCriteria query : queries) {
+            index.search(query);
+        }
+        long start = System.nanoTime();
+        long hits = 0;
+        for (int round = 0; round < QUERY_ROUNDS; round++) {
+            for (JobSearchCriteria query : queries) {
+                hits += index.search(query).size();
+            }
+        }
+        return elapsedPerQuery(start, queries.size(), hits);
+    }
+
+    private static double runJpql(List<JobSearchDocument> docs, List<JobSearchCriteria> queries)
+            throws SQLException {
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:bench" + docs.size(), "sa", "")) {
+            load(connection, docs);
+            try (PreparedStatement ps = connection.prepareStatement(SEARCH_SQL)) {
+                long start = 0;
+                long hits = 0;
+                for (int round = -1; round < QUERY_ROUNDS; round++) {
+                    if (round == 0) {
+                        start = System.nanoTime();
+                        hits = 0;
+                    }
+                    for (JobSearchCriteria query : queries) {
+                        bind(ps, query);
+                        try (ResultSet rs = ps.executeQuery()) {
+                            while (rs.next()) {
+                                hits++;
+                            }
+                        }
+                    }
+                }
+                return elapsedPerQuery(start, queries.size(), hits);
+            }
+        }
+    }
+
+    private static double elapsedPerQuery(long start, int queryCount, long hits) {
+        long elapsed = System.nanoTime() - start;
+        sink += hits;
+        return elapsed / 1_000_000.0 / (QUERY_ROUNDS * queryCount);
+    }
+
+    private static void load(Connection connection, List<JobSearchDocument> docs) throws SQLException {
+        try (Statement st = connection.createStatement()) {
+            st.execute("CREATE TABLE companies (id BIGINT PRIMARY KEY, name VARCHAR(255))");
+            st.execute("CREATE TABLE jobs (id BIGINT PRIMARY KEY, title VARCHAR(255), skills_required VARCHAR(255), "
+                    + "description VARCHAR(2000), location VARCHAR(255), job_type VARCHAR(255), "
+                    + "experience_required INT, salary_range DOUBLE, posted_date DATE, is_closed BOOLEAN, "
+                    + "company_id BIGINT)");
+        }
+        connection.setAutoCommit(false);
+        try (PreparedStatement company = connection.prepareStatement("INSERT INTO companies VALUES (?, ?)");
+                PreparedStatement job = connection.prepareStatement(
+                        "INSERT INTO jobs VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, FALSE, ?)")) {
+            for (JobSearchDocument doc : docs) {
+                company.setLong(1, doc.getJobId());
+                company.setString(2, doc.getCompanyName());
+                company.addBatch();
+                job.setLong(1, doc.getJobId());
+                job.setString(2, doc.getTitle());
+                job.setString(3, doc.getSkillsRequired());
+                job.setString(4, doc.getDescription());
+                job.setString(5, doc.getLocation());
+                job.setString(6, doc.getJobType());
+                job.setInt(7, doc.getExperienceRequired());
+                job.setDouble(8, doc.getSalaryRange());
+                job.setDate(9, Date.valueOf(doc.getPostedDate()));
+                job.setLong(10, doc.getJobId());
+                job.addBatch();
+                if (doc.getJobId() % 10_000 == 0) {
+                    company.executeBatch();
+                    job.executeBatch();
+                }
+            }
+            company.executeBatch();
+            job.executeBatch();
+        }
+        connection.commit();
+    }
+
+    private static void bind(PreparedStatement ps, JobSearchCriteria query) throws SQLException {
+        String keyword = query.getKeyword() != null ? "%" + query.getKeyword().toLowerCase() + "%" : null;
+        String location = query.getLocation() != null ? "%" + query.getLocation().toLowerCase() + "%" : null;
+        setString(ps, 1, keyword);
+        setString(ps, 2, keyword);
+        setString(ps, 3, keyword);
+        setString(ps, 4, keyword);
+        setString(ps, 5, location);
+        setString(ps, 6, location);
+        setString(ps, 7, query.getJobType());
+        setString(ps, 8, query.getJobType());
+        ps.setObject(9, query.getMinExp(), Types.INTEGER);
+        ps.setObject(10, query.getMinExp(), Types.INTEGER);
+        ps.setObject(11, query.getMinSalary(), Types.DOUBLE);
+        ps.setObject(12, query.getMinSalary(), Types.DOUBLE);
+        Date startDate = query.getStartDate() != null ? Date.valueOf(query.getStartDate()) : null;
+        ps.setObject(13, startDate, Types.DATE);
+        ps.setObject(14, startDate, Types.DATE);
+    }
+
+    private static void setString(PreparedStatement ps, int index, String value) throws SQLException {
+        ps.setObject(index, value, Types.VARCHAR);
+    }
+}
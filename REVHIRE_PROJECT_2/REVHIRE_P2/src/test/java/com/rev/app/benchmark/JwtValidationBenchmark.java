@@ -0,0 +1,81 @@
+package com.rev.app.benchmark;
+
+import com.rev.app.config.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Tokens validated per second by the old three-parse path (subject, then
+ * subject and expiration again, each re-deriving the key from the secret
+ * string), by {@link JwtUtil#parseToken} and by the cached
+ * {@link JwtUtil#verify}. Not part of the test suite; run manually:
+ *
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.rev.app.benchmark.JwtValidationBenchmark -Dexec.args="1000 200000"
+ * </pre>
+ */
+public class JwtValidationBenchmark {
+
+    private static final String SECRET = "revhire_secret_key_1234567890_revhire_secret_key_1234567890";
+
+    // Keeps the JIT from discarding results it considers unused.
+    private static volatile long sink;
+
+    public static void main(String[] args) {
+        int distinctTokens = args.length > 0 ? Integer.parseInt(args[0]) : 1_000;
+        int validations = args.length > 1 ? Integer.parseInt(args[1]) : 200_000;
+
+        JwtUtil jwtUtil = new JwtUtil(SECRET);
+        List<String> tokens = new ArrayList<>(distinctTokens);
+        for (int i = 0; i < distinctTokens; i++) {
+            tokens.add(jwtUtil.generateToken(new User("user" + i + "@revhire.com", "password",
+                    AuthorityUtils.createAuthorityList("ROLE_JOB_SEEKER"))));
+        }
+
+        System.out.printf("%-22s %-14s%n", "path", "tokens/s");
+        for (int round = 0; round < 2; round++) {
+            // First round warms up the JIT; only the second is reported.
+            double legacy = run(tokens, validations, JwtValidationBenchmark::legacyValidate);
+            double singleParse = run(tokens, validations, token -> jwtUtil.parseToken(token).getUsername().length());
+            double cached = run(tokens, validations, token -> jwtUtil.verify(token).getUsername().length());
+            if (round == 1) {
+                System.out.printf("%-22s %-14.0f%n", "three parses (before)", legacy);
+                System.out.printf("%-22s %-14.0f%n", "single parse", singleParse);
+                System.out.printf("%-22s %-14.0f%n", "cached verify", cached);
+            }
+        }
+    }
+
+    private static int legacyValidate(String token) {
+        String username = legacyClaims(token).getSubject();
+        boolean valid = legacyClaims(token).getSubject().equals(username)
+                && !legacyClaims(token).getExpiration().before(new Date());
+        return valid ? username.length() : 0;
+    }
+
+    private static Claims legacyClaims(String token) {
+        return Jwts.parser().setSigningKey(SECRET).parseClaimsJws(token).getBody();
+    }
+
+    private static double run(List<String> tokens, int validations, Validation validation) {
+        long start = System.nanoTime();
+        long total = 0;
+        for (int i = 0; i < validations; i++) {
+            total += validation.validate(tokens.get(i % tokens.size()));
+        }
+        long elapsed = System.nanoTime() - start;
+        sink += total;
+        return validations / (elapsed / 1_000_000_000.0);
+    }
+
+    private interface Validation {
+        int validate(String token);
+    }
+}
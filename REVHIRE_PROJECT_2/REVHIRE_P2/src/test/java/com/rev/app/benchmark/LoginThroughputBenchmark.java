@@ -0,0 +1,127 @@
+package com.rev.app.benchmark;
+
+import com.rev.app.config.BoundedPasswordEncoder;
+import com.rev.app.exception.LoginCapacityException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Simulates a login storm: {@code clients} threads (standing in for servlet
+ * threads) verify passwords back to back for a fixed time, first directly on
+ * their own thread as before, then through {@link BoundedPasswordEncoder}. For
+ * each bcrypt cost it reports logins per second, refused logins, p99 login
+ * latency, and how long a trivial request took on a spare thread meanwhile,
+ * which is the starvation the bounded pool is meant to prevent. Not part of the
+ * test suite; run manually:
+ *
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.rev.app.benchmark.LoginThroughputBenchmark -Dexec.args="64 4 10 12"
+ * </pre>
+ */
+public class LoginThroughputBenchmark {
+
+    private static final long RUN_MILLIS = 5_000;
+    private static final int QUEUE_CAPACITY = 64;
+
+    // Keeps the JIT from discarding results it considers unused.
+    private static volatile long sink;
+
+    public static void main(String[] args) throws Exception {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+        int loginThreads = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        int[] costs = args.length > 2 ? new int[args.length - 2] : new int[] { 10, 12 };
+        for (int i = 2; i < args.length; i++) {
+            costs[i - 2] = Integer.parseInt(args[i]);
+        }
+
+        System.out.printf("%-6s %-10s %-10s %-10s %-12s %-14s%n", "cost", "mode", "logins/s", "refused",
+                "p99 ms", "other req ms");
+        for (int cost : costs) {
+            BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(cost);
+            String hash = bcrypt.encode("password");
+            run(cost, "direct", bcrypt, hash, clients);
+
+            ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+            executor.setCorePoolSize(loginThreads);
+            executor.setMaxPoolSize(loginThreads);
+            executor.setQueueCapacity(QUEUE_CAPACITY);
+            executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+            executor.initialize();
+            run(cost, "bounded", new BoundedPasswordEncoder(bcrypt, executor, 5_000), hash, clients);
+            executor.shutdown();
+        }
+    }
+
+    private static void run(int cost, String mode, PasswordEncoder encoder, String hash, int clients)
+            throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger refused = new AtomicInteger();
+        long deadline = System.currentTimeMillis() + RUN_MILLIS;
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < clients; i++) {
+            futures.add(pool.submit(() -> {
+                while (System.currentTimeMillis() < deadline) {
+                    long start = System.nanoTime();
+                    try {
+                        sink += encoder.matches("password", hash) ? 1 : 0;
+                        latencies.add(System.nanoTime() - start);
+                    } catch (LoginCapacityException e) {
+                        refused.incrementAndGet();
+                        sleepQuietly(10);
+                    }
+                }
+            }));
+        }
+        double otherRequestMillis = otherRequestMillis(deadline);
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        pool.shutdown();
+        pool.awaitTermination(1, TimeUnit.MINUTES);
+
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        double p99 = sorted.isEmpty() ? 0 : sorted.get((int) (sorted.size() * 0.99)) / 1_000_000.0;
+        System.out.printf("%-6d %-10s %-10.1f %-10d %-12.1f %-14.2f%n", cost, mode,
+                sorted.size() / (RUN_MILLIS / 1000.0), refused.get(), p99, otherRequestMillis);
+    }
+
+    /** Average time of a small CPU-bound task repeated while the storm runs. */
+    private static double otherRequestMillis(long deadline) {
+        long total = 0;
+        int samples = 0;
+        while (System.currentTimeMillis() < deadline - 100) {
+            long start = System.nanoTime();
+            long acc = 0;
+            for (int i = 0; i < 200_000; i++) {
+                acc += i % 7;
+            }
+            sink += acc;
+            total += System.nanoTime() - start;
+            samples++;
+            sleepQuietly(20);
+        }
+        return samples == 0 ? 0 : total / 1_000_000.0 / samples;
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
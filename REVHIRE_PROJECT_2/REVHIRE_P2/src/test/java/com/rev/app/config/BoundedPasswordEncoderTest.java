@@ -0,0 +1,97 @@
+package com.rev.app.config;
+
+import com.rev.app.exception.LoginCapacityException;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class BoundedPasswordEncoderTest {
+
+    private final ThreadPoolTaskExecutor executor = executor();
+
+    @After
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    private static ThreadPoolTaskExecutor executor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    private PasswordEncoder passwordEncoder(int bcryptStrength) {
+        return new SecurityConfig(null).passwordEncoder(executor, "bcrypt", bcryptStrength, 1000, 5000);
+    }
+
+    @Test
+    public void testMatchesLegacyAndPrefixedHashes() {
+        PasswordEncoder encoder = passwordEncoder(4);
+        String legacy = new BCryptPasswordEncoder(4).encode("secret");
+        String encoded = encoder.encode("secret");
+
+        assertThat(encoded).startsWith("{bcrypt}");
+        assertThat(encoder.matches("secret", legacy)).isTrue();
+        assertThat(encoder.matches("secret", encoded)).isTrue();
+        assertThat(encoder.matches("wrong", encoded)).isFalse();
+        assertThat(encoder.upgradeEncoding(legacy)).isTrue();
+        assertThat(encoder.upgradeEncoding(encoded)).isFalse();
+        assertThat(passwordEncoder(5).upgradeEncoding(encoded)).isTrue();
+    }
+
+    @Test
+    public void testRejectsWhenPoolAndQueueAreFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        executor.submit(() -> release.await(5, TimeUnit.SECONDS));
+        executor.submit(() -> release.await(5, TimeUnit.SECONDS));
+        PasswordEncoder encoder = passwordEncoder(4);
+
+        try {
+            assertThatThrownBy(() -> encoder.matches("secret", "{bcrypt}$2a$04$x"))
+                    .isInstanceOf(LoginCapacityException.class);
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    public void testLoginRehashesOutdatedHash() {
+        PasswordEncoder encoder = passwordEncoder(5);
+        UserDetails stored = new User("seeker@revhire.com", new BCryptPasswordEncoder(4).encode("secret"),
+                AuthorityUtils.createAuthorityList("ROLE_JOB_SEEKER"));
+        UserDetailsPasswordService passwordService = mock(UserDetailsPasswordService.class);
+        when(passwordService.updatePassword(any(), any())).thenAnswer(inv -> inv.getArgument(0));
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+        provider.setUserDetailsService(username -> stored);
+        provider.setPasswordEncoder(encoder);
+        provider.setUserDetailsPasswordService(passwordService);
+
+        provider.authenticate(new UsernamePasswordAuthenticationToken("seeker@revhire.com", "secret"));
+
+        verify(passwordService).updatePassword(any(), startsWith("{bcrypt}$2a$05$"));
+    }
+}
@@ -0,0 +1,92 @@
+package com.rev.app.config;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.junit.Test;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class JwtUtilTest {
+
+    private static final String SECRET = "revhire_secret_key_1234567890_revhire_secret_key_1234567890";
+
+    private final JwtUtil jwtUtil = new JwtUtil(SECRET);
+
+    private final UserDetails seeker = new User("seeker@revhire.com", "password",
+            AuthorityUtils.createAuthorityList("ROLE_JOB_SEEKER"));
+
+    @Test
+    public void testVerifyCarriesRolesAndCachesToken() {
+        String token = jwtUtil.generateToken(seeker);
+
+        VerifiedToken verified = jwtUtil.verify(token);
+
+        assertThat(verified.getUsername()).isEqualTo("seeker@revhire.com");
+        assertThat(AuthorityUtils.authorityListToSet(verified.getAuthorities())).containsExactly("ROLE_JOB_SEEKER");
+        assertThat(verified.getExpiresAt()).isGreaterThan(System.currentTimeMillis());
+        assertThat(jwtUtil.verify(token)).isSameAs(verified);
+        assertThat(jwtUtil.cachedTokens()).isEqualTo(1);
+        assertThat(jwtUtil.validateToken(token, seeker)).isTrue();
+    }
+
+    @Test
+    public void testVerifyRejectsTamperedToken() {
+        String token = jwtUtil.generateToken(seeker);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertThat(jwtUtil.verify(tampered)).isNull();
+        assertThat(jwtUtil.verify("not-a-jwt")).isNull();
+        assertThat(jwtUtil.cachedTokens()).isZero();
+    }
+
+    @Test
+    public void testRevokedTokenIsDenied() {
+        String token = jwtUtil.generateToken(seeker);
+        String other = jwtUtil.generateToken(new User("employer@revhire.com", "password",
+                AuthorityUtils.createAuthorityList("ROLE_EMPLOYER")));
+        jwtUtil.verify(token);
+
+        jwtUtil.revoke(token);
+        jwtUtil.revoke("not-a-jwt");
+
+        assertThat(jwtUtil.verify(token)).isNull();
+        assertThat(jwtUtil.verify(other)).isNotNull();
+        assertThat(jwtUtil.deniedTokens()).isEqualTo(1);
+    }
+
+    @Test
+    public void testAcceptsTokensSignedWithTheSecretString() {
+        // Tokens issued before the key was precomputed were signed with the raw secret string.
+        String legacy = Jwts.builder()
+                .setSubject("seeker@revhire.com")
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(SignatureAlgorithm.HS256, SECRET)
+                .compact();
+
+        VerifiedToken verified = jwtUtil.parseToken(legacy);
+
+        assertThat(verified.getUsername()).isEqualTo("seeker@revhire.com");
+        assertThat(verified.getAuthorities()).isEmpty();
+        assertThat(jwtUtil.extractUsername(legacy)).isEqualTo("seeker@revhire.com");
+        assertThat(new JwtUtil("c29tZV9vdGhlcl9zZWNyZXRfa2V5X3RoYXRfaXNfbG9uZ19lbm91Z2g").verify(legacy)).isNull();
+    }
+
+    @Test
+    public void testParseTokenRejectsExpiredToken() {
+        String expired = Jwts.builder()
+                .setSubject("seeker@revhire.com")
+                .setExpiration(new Date(System.currentTimeMillis() - 60_000))
+                .signWith(SignatureAlgorithm.HS256, SECRET)
+                .compact();
+
+        assertThatThrownBy(() -> jwtUtil.parseToken(expired)).isInstanceOf(ExpiredJwtException.class);
+        assertThat(jwtUtil.verify(expired)).isNull();
+    }
+}
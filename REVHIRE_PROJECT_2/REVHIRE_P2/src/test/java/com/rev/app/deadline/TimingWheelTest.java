@@ -0,0 +1,90 @@
+package com.rev.app.deadline;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TimingWheelTest {
+
+    private static final long TICK = 1000;
+    private static final int[] SIZES = { 8, 4, 4 };
+    private static final long START = 5 * TICK + 300;
+
+    private final TimingWheel<String, String> wheel = new TimingWheel<>(TICK, SIZES, START);
+
+    @Test
+    public void testFiresAcrossLevelsInDueOrder() {
+        wheel.schedule("level2", "level2", START + 100 * TICK);
+        wheel.schedule("level0", "level0", START + 3 * TICK);
+        wheel.schedule("level1", "level1", START + 20 * TICK);
+
+        assertThat(wheel.advance(START + 2 * TICK)).isEmpty();
+        assertThat(wheel.advance(START + 3 * TICK)).containsExactly("level0");
+        assertThat(wheel.advance(START + 19 * TICK)).isEmpty();
+        assertThat(wheel.advance(START + 20 * TICK)).containsExactly("level1");
+        assertThat(wheel.advance(START + 99 * TICK)).isEmpty();
+        assertThat(wheel.advance(START + 100 * TICK)).containsExactly("level2");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    public void testCancelAndReschedule() {
+        wheel.schedule("a", "first", START + 40 * TICK);
+        wheel.schedule("b", "b", START + 40 * TICK);
+        wheel.schedule("a", "moved", START + 2 * TICK);
+        assertThat(wheel.cancel("b")).isTrue();
+        assertThat(wheel.cancel("b")).isFalse();
+
+        assertThat(wheel.advance(START + 2 * TICK)).containsExactly("moved");
+        assertThat(wheel.advance(START + 60 * TICK)).isEmpty();
+    }
+
+    @Test
+    public void testPastDueFiresNextAndBeyondHorizonIsRefused() {
+        assertThat(wheel.schedule("late", "late", START - 50 * TICK)).isTrue();
+        assertThat(wheel.schedule("far", "far", wheel.horizonMillis() + TICK)).isFalse();
+        assertThat(wheel.schedule("edge", "edge", wheel.horizonMillis())).isTrue();
+        assertThat(wheel.isScheduled("far")).isFalse();
+
+        assertThat(wheel.advance(START + TICK)).containsExactly("late");
+        assertThat(wheel.advance(START + 200 * TICK)).containsExactly("edge");
+    }
+
+    // Every timer fires on the first advance that reaches its tick, never earlier and never twice.
+    @Test
+    public void testMatchesBruteForceUnderRandomSchedule() {
+        Random random = new Random(42);
+        Map<String, Long> dueTicks = new HashMap<>();
+        long now = START;
+        for (int step = 0; step < 400; step++) {
+            for (int i = 0; i < 5; i++) {
+                String key = "t" + random.nextInt(300);
+                long due = now + (long) (random.nextDouble() * 120 * TICK);
+                if (random.nextInt(10) == 0) {
+                    wheel.cancel(key);
+                    dueTicks.remove(key);
+                } else if (wheel.schedule(key, key, due)) {
+                    dueTicks.put(key, Math.max(Math.floorDiv(due, TICK), Math.floorDiv(now, TICK) + 1));
+                }
+            }
+            now += random.nextInt(4) * TICK + random.nextInt((int) TICK);
+            long nowTick = Math.floorDiv(now, TICK);
+            List<String> expected = new ArrayList<>();
+            dueTicks.forEach((key, dueTick) -> {
+                if (dueTick <= nowTick) {
+                    expected.add(key);
+                }
+            });
+            expected.forEach(dueTicks::remove);
+
+            assertThat(wheel.advance(now)).containsExactlyInAnyOrderElementsOf(expected);
+            assertThat(wheel.size()).isEqualTo(dueTicks.size());
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.rev.app.notification;
+
+import com.rev.app.entity.NotificationContent;
+import com.rev.app.repository.JobRepository;
+import com.rev.app.repository.JobSeekerRepository;
+import com.rev.app.search.SeekerSkills;
+import com.rev.app.search.SkillIndex;
+import com.rev.app.service.NotificationService;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class JobMatchNotifierTest {
+
+    @Mock
+    private JobSeekerRepository jobSeekerRepository;
+
+    @Mock
+    private NotificationService notificationService;
+
+    @Mock
+    private SkillIndex skillIndex;
+
+    @Mock
+    private JobRepository jobRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private Executor notificationExecutor;
+
+    @InjectMocks
+    private JobMatchNotifier notifier;
+
+    private void claimAndRenew() {
+        when(jobRepository.claimMatchFanOut(eq(5L), any(), any())).thenReturn(1);
+        when(jobRepository.renewMatchFanOut(eq(5L), any(), any())).thenReturn(1);
+    }
+
+    @Test
+    public void testOnJobPosted_QueuesFanOutOnTheNotificationExecutor() {
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(notificationExecutor).execute(any());
+        claimAndRenew();
+        when(skillIndex.isReady()).thenReturn(true);
+        when(skillIndex.usersMatchingSkills("Java")).thenReturn(Arrays.asList(11L, 12L));
+
+        notifier.onJobPosted(new JobPostedEvent(5L, "Java"));
+
+        verify(notificationService).sendNotifications(Arrays.asList(11L, 12L), NotificationContent.jobMatch(5L));
+    }
+
+    @Test
+    public void testOnJobPosted_FullQueueLeavesJobForBackfill() {
+        doThrow(new TaskRejectedException("full")).when(notificationExecutor).execute(any());
+
+        notifier.onJobPosted(new JobPostedEvent(5L, "Java"));
+
+        assertThat(notifier.submit(5L, "Java")).isFalse();
+        verifyNoInteractions(jobRepository, notificationService);
+    }
+
+    @Test
+    public void testNotifyMatches_SkipsJobClaimedElsewhere() {
+        when(jobRepository.claimMatchFanOut(eq(5L), any(), any())).thenReturn(0);
+
+        notifier.notifyMatches(5L, "Java");
+
+        verifyNoInteractions(skillIndex, notificationService);
+    }
+
+    @Test
+    public void testNotifyMatches_BatchInsertsMatchingSeekers() {
+        claimAndRenew();
+        when(jobSeekerRepository.findSeekerSkills(0L, PageRequest.of(0, JobMatchNotifier.CHUNK_SIZE)))
+                .thenReturn(Arrays.asList(
+                        new SeekerSkills(1L, 11L, "Java, SQL"),
+                        new SeekerSkills(2L, 12L, "JavaScript"),
+                        new SeekerSkills(3L, 13L, " spring ")));
+
+        notifier.notifyMatches(5L, "java, Spring Boot, spring");
+
+        verify(notificationService).sendNotifications(Arrays.asList(11L, 13L), NotificationContent.jobMatch(5L));
+    }
+
+    @Test
+    public void testNotifyMatches_WalksSeekersInChunks() {
+        claimAndRenew();
+        List<SeekerSkills> fullChunk = new ArrayList<>();
+        for (long id = 1; id <= JobMatchNotifier.CHUNK_SIZE; id++) {
+            fullChunk.add(new SeekerSkills(id, 100 + id, id == 1 ? "Java" : "Go"));
+        }
+        when(jobSeekerRepository.findSeekerSkills(0L, PageRequest.of(0, JobMatchNotifier.CHUNK_SIZE)))
+                .thenReturn(fullChunk);
+        when(jobSeekerRepository.findSeekerSkills((long) JobMatchNotifier.CHUNK_SIZE,
+                PageRequest.of(0, JobMatchNotifier.CHUNK_SIZE)))
+                .thenReturn(Collections.singletonList(new SeekerSkills(5000L, 6000L, "java")));
+
+        notifier.notifyMatches(5L, "Java");
+
+        verify(notificationService).sendNotifications(Collections.singletonList(101L), NotificationContent.jobMatch(5L));
+        verify(notificationService).sendNotifications(Collections.singletonList(6000L), NotificationContent.jobMatch(5L));
+    }
+
+    @Test
+    public void testNotifyMatches_SkipsJobsWithoutSkills() {
+        when(jobRepository.claimMatchFanOut(eq(5L), any(), any())).thenReturn(1);
+        notifier.notifyMatches(5L, " , ");
+
+        verify(jobSeekerRepository, never()).findSeekerSkills(any(), any());
+        verify(notificationService, never()).sendNotifications(anyList(), any());
+        verify(jobRepository).completeMatchFanOut(eq(5L), any());
+    }
+
+    @Test
+    public void testNotifyMatches_UsesSkillIndexWhenReady() {
+        claimAndRenew();
+        when(skillIndex.isReady()).thenReturn(true);
+        when(skillIndex.usersMatchingSkills("Java")).thenReturn(Arrays.asList(11L, 12L));
+
+        notifier.notifyMatches(5L, "Java");
+
+        verify(notificationService).sendNotifications(Arrays.asList(11L, 12L), NotificationContent.jobMatch(5L));
+        verify(jobSeekerRepository, never()).findSeekerSkills(any(), any());
+        verify(jobRepository).completeMatchFanOut(eq(5L), any());
+    }
+
+    @Test
+    public void testNotifyMatches_FailedChunkLeavesJobPendingForBackfill() {
+        claimAndRenew();
+        when(skillIndex.isReady()).thenReturn(true);
+        when(skillIndex.usersMatchingSkills("Java")).thenReturn(Arrays.asList(11L, 12L));
+        doThrow(new IllegalStateException("db down")).when(notificationService).sendNotifications(anyList(), any());
+
+        assertThatThrownBy(() -> notifier.notifyMatches(5L, "Java")).isInstanceOf(IllegalStateException.class);
+
+        verify(jobRepository, never()).completeMatchFanOut(any(), any());
+    }
+
+    @Test
+    public void testNotifyMatches_StopsOnceLeaseIsTakenOver() {
+        when(jobRepository.claimMatchFanOut(eq(5L), any(), any())).thenReturn(1);
+        when(jobRepository.renewMatchFanOut(eq(5L), any(), any())).thenReturn(1, 0);
+        List<Long> userIds = new ArrayList<>();
+        for (long id = 1; id <= JobMatchNotifier.CHUNK_SIZE + 1; id++) {
+            userIds.add(id);
+        }
+        when(skillIndex.isReady()).thenReturn(true);
+        when(skillIndex.usersMatchingSkills("Java")).thenReturn(userIds);
+
+        notifier.notifyMatches(5L, "Java");
+
+        verify(notificationService, times(1)).sendNotifications(anyList(), any());
+        verify(jobRepository, never()).completeMatchFanOut(any(), any());
+    }
+}
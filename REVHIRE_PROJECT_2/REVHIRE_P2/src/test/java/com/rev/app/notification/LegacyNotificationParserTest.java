@@ -0,0 +1,165 @@
+package com.rev.app.notification;
+
+import com.rev.app.entity.*;
+import com.rev.app.mapper.NotificationMapper;
+import com.rev.app.repository.ApplicationRepository;
+import com.rev.app.repository.CompanyRepository;
+import com.rev.app.repository.EmployerRepository;
+import com.rev.app.repository.JobRepository;
+import com.rev.app.repository.JobSeekerRepository;
+import com.rev.app.repository.ResumeRepository;
+import com.rev.app.repository.UserRepository;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.time.LocalDate;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(SpringRunner.class)
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({ LegacyNotificationParser.class, NotificationRenderer.class, NotificationMapper.class })
+public class LegacyNotificationParserTest {
+
+    @Autowired
+    private LegacyNotificationParser parser;
+
+    @Autowired
+    private NotificationRenderer renderer;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private ApplicationRepository applicationRepository;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private EmployerRepository employerRepository;
+
+    @Autowired
+    private JobSeekerRepository jobSeekerRepository;
+
+    @Autowired
+    private ResumeRepository resumeRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User employerUser;
+    private User seekerUser;
+    private Employer employer;
+    private Company company;
+    private JobSeeker seeker;
+    private Job job;
+
+    private User saveUser(String email, User.Role role) {
+        User user = new User();
+        user.setEmail(email);
+        user.setPassword("password");
+        user.setRole(role);
+        return userRepository.save(user);
+    }
+
+    private Job saveJob(String title) {
+        Job saved = new Job();
+        saved.setTitle(title);
+        saved.setSkillsRequired("Java");
+        saved.setLocation("Pune");
+        saved.setSalaryRange(50000.0);
+        saved.setJobType("Full-time");
+        saved.setDeadline(LocalDate.of(2024, 5, 20));
+        saved.setEmployer(employer);
+        saved.setCompany(company);
+        return jobRepository.save(saved);
+    }
+
+    @Before
+    public void setUp() {
+        employerUser = saveUser("employer@revhire.com", User.Role.EMPLOYER);
+        company = new Company();
+        company.setName("Acme");
+        company.setIndustry("IT");
+        companyRepository.save(company);
+        employer = new Employer();
+        employer.setUser(employerUser);
+        employer.setCompany(company);
+        employerRepository.save(employer);
+
+        seekerUser = saveUser("seeker@revhire.com", User.Role.JOB_SEEKER);
+        seeker = new JobSeeker();
+        seeker.setUser(seekerUser);
+        seeker.setName("John Doe");
+        jobSeekerRepository.save(seeker);
+        Resume resume = new Resume();
+        resume.setJobSeeker(seeker);
+        resumeRepository.save(resume);
+
+        job = saveJob("Backend Engineer");
+        Application application = new Application();
+        application.setJob(job);
+        application.setJobSeeker(seeker);
+        application.setResume(resume);
+        applicationRepository.save(application);
+    }
+
+    private NotificationContent parse(User recipient, String message) {
+        return parser.batch().parse(recipient.getId(), message);
+    }
+
+    // The converted row must read exactly as it did before.
+    private void assertRoundTrip(User recipient, String message, NotificationContent expected) {
+        NotificationContent content = parse(recipient, message);
+        assertThat(content).isEqualTo(expected);
+
+        Notification notification = new Notification();
+        notification.setUser(recipient);
+        notification.setContent(content);
+        assertThat(renderer.render(Collections.singletonList(notification))).singleElement()
+                .satisfies(dto -> assertThat(dto.getMessage()).isEqualTo(message));
+    }
+
+    @Test
+    public void testConvertsEveryTemplate() {
+        Long jobId = job.getId();
+        Long seekerId = seeker.getId();
+        assertRoundTrip(seekerUser, "New Job Match: Backend Engineer at Acme", NotificationContent.jobMatch(jobId));
+        assertRoundTrip(employerUser,
+                "Reminder: Your job posting 'Backend Engineer' will expire in 2 days (on 2024-05-20).",
+                NotificationContent.jobExpiring(jobId));
+        assertRoundTrip(seekerUser, "You have successfully applied for Job ID: " + jobId,
+                NotificationContent.applied(jobId));
+        assertRoundTrip(employerUser, "New application received from John Doe for 'Backend Engineer'",
+                NotificationContent.applicationReceived(jobId, seekerId));
+        assertRoundTrip(seekerUser, "Your application for 'Backend Engineer' has been updated to: SHORTLISTED",
+                NotificationContent.applicationStatus(jobId, Application.ApplicationStatus.SHORTLISTED));
+        assertRoundTrip(employerUser,
+                "Applicant John Doe has withdrawn their application for 'Backend Engineer': Found another job",
+                NotificationContent.applicationWithdrawn(jobId, seekerId, "Found another job"));
+        assertRoundTrip(employerUser, "Applicant John Doe has withdrawn their application for 'Backend Engineer'",
+                NotificationContent.applicationWithdrawn(jobId, seekerId, null));
+    }
+
+    @Test
+    public void testKeepsUnresolvableTextAsIs() {
+        saveJob("Backend Engineer");
+
+        // Two jobs with that title and company: which one is unknown.
+        String ambiguous = "New Job Match: Backend Engineer at Acme";
+        assertThat(parse(seekerUser, ambiguous)).isEqualTo(NotificationContent.text(ambiguous));
+        // Another employer's job is never picked.
+        String foreign = "New application received from John Doe for 'Backend Engineer'";
+        assertThat(parse(seekerUser, foreign)).isEqualTo(NotificationContent.text(foreign));
+        assertThat(parse(seekerUser, "Welcome to RevHire")).isEqualTo(NotificationContent.text("Welcome to RevHire"));
+    }
+}
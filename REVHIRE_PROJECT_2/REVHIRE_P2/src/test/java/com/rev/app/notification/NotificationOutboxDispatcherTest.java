@@ -0,0 +1,89 @@
+package com.rev.app.notification;
+
+import com.rev.app.dto.OutboxSummary;
+import com.rev.app.service.NotificationService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class NotificationOutboxDispatcherTest {
+
+    @Mock
+    private NotificationService notificationService;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private NotificationOutboxDispatcher dispatcher;
+
+    @Before
+    public void setUp() {
+        dispatcher.registerMetrics();
+    }
+
+    private double meter(String name) {
+        return meterRegistry.find(name).meter().measure().iterator().next().getValue();
+    }
+
+    @Test
+    public void testPollDeliversDueEventsAndPublishesBacklog() {
+        List<Long> due = Arrays.asList(1L, 2L, 3L);
+        when(notificationService.findDueOutboxEvents(anyInt())).thenReturn(due);
+        when(notificationService.dispatchOutboxEvents(due)).thenReturn(3);
+        when(notificationService.getOutboxSummary())
+                .thenReturn(new OutboxSummary(4, LocalDateTime.now().minusSeconds(90), 1));
+
+        dispatcher.poll();
+
+        assertThat(meter("revhire.notifications.outbox.dispatched")).isEqualTo(3);
+        assertThat(meter("revhire.notifications.outbox.pending")).isEqualTo(4);
+        assertThat(meter("revhire.notifications.outbox.parked")).isEqualTo(1);
+        assertThat(meter("revhire.notifications.outbox.lag")).isBetween(89.0, 95.0);
+    }
+
+    @Test
+    public void testFailedBatchIsRetriedOneEventAtATime() {
+        List<Long> due = Arrays.asList(1L, 2L);
+        DataIntegrityViolationException broken = new DataIntegrityViolationException("user gone");
+        when(notificationService.dispatchOutboxEvents(due)).thenThrow(broken);
+        when(notificationService.dispatchOutboxEvents(Collections.singletonList(1L))).thenReturn(1);
+        when(notificationService.dispatchOutboxEvents(Collections.singletonList(2L))).thenThrow(broken);
+        when(notificationService.recordOutboxFailure(2L, "user gone")).thenReturn(true);
+
+        assertThat(dispatcher.dispatch(due)).isEqualTo(1);
+
+        verify(notificationService).recordOutboxFailure(2L, "user gone");
+        verify(notificationService, never()).recordOutboxFailure(eq(1L), any());
+        assertThat(meter("revhire.notifications.outbox.failures")).isEqualTo(1);
+    }
+
+    @Test
+    public void testBatchTakenByAnotherDispatcherIsSkipped() {
+        List<Long> due = Arrays.asList(1L, 2L);
+        when(notificationService.dispatchOutboxEvents(due)).thenThrow(new ConcurrencyFailureException("taken"));
+
+        assertThat(dispatcher.dispatch(due)).isZero();
+
+        verify(notificationService, times(1)).dispatchOutboxEvents(anyList());
+        verify(notificationService, never()).recordOutboxFailure(any(), any());
+    }
+}
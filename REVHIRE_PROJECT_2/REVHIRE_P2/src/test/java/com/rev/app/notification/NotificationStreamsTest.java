@@ -0,0 +1,121 @@
+package com.rev.app.notification;
+
+import com.rev.app.dto.NotificationDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Spy;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(MockitoJUnitRunner.class)
+public class NotificationStreamsTest {
+
+    @Spy
+    private TaskExecutor notificationStreamExecutor = new SyncTaskExecutor();
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private NotificationStreams streams;
+
+    @Before
+    public void setUp() {
+        streams.registerMetrics();
+    }
+
+    /** Records the text of every event written to it instead of a response. */
+    private static class RecordingEmitter extends SseEmitter {
+        private final List<String> events = new ArrayList<>();
+        private boolean completed;
+        private boolean failing;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (failing) {
+                throw new IOException("Broken pipe");
+            }
+            StringBuilder event = new StringBuilder();
+            builder.build().forEach(part -> event.append(part.getData()));
+            events.add(event.toString());
+        }
+
+        @Override
+        public synchronized void complete() {
+            completed = true;
+        }
+
+        @Override
+        public synchronized void completeWithError(Throwable ex) {
+            completed = true;
+        }
+
+        boolean received(String eventName, String data) {
+            return events.stream().anyMatch(e -> e.contains("event:" + eventName + "\n") && e.contains(data));
+        }
+    }
+
+    private RecordingEmitter subscribe(Long userId, long unread) {
+        RecordingEmitter emitter = new RecordingEmitter();
+        streams.subscribe(userId, unread, emitter);
+        return emitter;
+    }
+
+    @Test
+    public void testPushesNotificationsAndCountsToTheirUserOnly() {
+        RecordingEmitter seeker = subscribe(7L, 2L);
+        RecordingEmitter other = subscribe(8L, 0L);
+        assertThat(seeker.received(NotificationStreams.UNREAD_COUNT_EVENT, "data:2")).isTrue();
+        assertThat(streams.subscribedAmong(Arrays.asList(7L, 9L))).containsExactly(7L);
+
+        streams.publishNotifications(Collections.singletonList(
+                new NotificationDTO(40L, 7L, "Shortlisted", false, LocalDateTime.now())));
+        streams.publishUnreadDelta(7L, -1);
+        streams.publishUnreadCount(7L, 0);
+
+        assertThat(seeker.received(NotificationStreams.NOTIFICATION_EVENT, "Shortlisted")).isTrue();
+        assertThat(seeker.received(NotificationStreams.UNREAD_DELTA_EVENT, "data:1")).isTrue();
+        assertThat(seeker.received(NotificationStreams.UNREAD_DELTA_EVENT, "data:-1")).isTrue();
+        assertThat(seeker.received(NotificationStreams.UNREAD_COUNT_EVENT, "data:0")).isTrue();
+        assertThat(other.events).hasSize(1);
+        assertThat(meterRegistry.get("revhire.notifications.sse.subscribers").gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    public void testBrokenStreamIsDropped() {
+        RecordingEmitter emitter = subscribe(7L, 0L);
+        emitter.failing = true;
+
+        streams.heartbeat();
+
+        assertThat(emitter.completed).isTrue();
+        assertThat(streams.subscriberCount()).isZero();
+    }
+
+    @Test
+    public void testOldestStreamClosedPastPerUserLimit() {
+        List<RecordingEmitter> tabs = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            tabs.add(subscribe(7L, 0L));
+        }
+
+        assertThat(tabs.get(0).completed).isTrue();
+        assertThat(tabs.subList(1, 6)).noneMatch(tab -> tab.completed);
+        assertThat(streams.subscriberCount()).isEqualTo(5);
+    }
+}
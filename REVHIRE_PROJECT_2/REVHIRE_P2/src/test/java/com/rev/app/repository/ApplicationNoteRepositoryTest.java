@@ -10,6 +10,7 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit4.SpringRunner;
 
 import java.time.LocalDate;
+import java.util.Arrays;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -128,4 +129,17 @@ public class ApplicationNoteRepositoryTest {
         List<ApplicationNote> notes = applicationNoteRepository.findByApplication(application);
         assertThat(notes).hasSize(2);
     }
+
+    @Test
+    public void testInsertBatch() {
+        applicationNoteRepository.insertBatch(Arrays.asList(application.getId(), application.getId()),
+                "Moved to interview round");
+
+        List<ApplicationNote> notes = applicationNoteRepository.findByApplication(application);
+        assertThat(notes).hasSize(2);
+        assertThat(notes).allSatisfy(n -> {
+            assertThat(n.getNote()).isEqualTo("Moved to interview round");
+            assertThat(n.getCreatedAt()).isNotNull();
+        });
+    }
 }
@@ -1,15 +1,18 @@
 package com.rev.app.repository;
 
 import com.rev.app.entity.*;
+import com.rev.app.search.ApplicantSearchDocument;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit4.SpringRunner;
 
 import java.time.LocalDate;
+import java.util.Arrays;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -34,6 +37,9 @@ public class ApplicationRepositoryTest {
     @Autowired
     private ResumeRepository resumeRepository;
 
+    @Autowired
+    private ResumeTextRepository resumeTextRepository;
+
     private Job job;
     private JobSeeker seeker;
     private Resume resume;
@@ -90,4 +96,102 @@ public class ApplicationRepositoryTest {
         List<Application> apps = applicationRepository.findByJobSeeker(seeker);
         assertThat(apps).hasSize(1);
     }
+
+    @Test
+    public void testCountByJobIds() {
+        Job other = new Job();
+        other.setTitle("QA Engineer");
+        other.setSkillsRequired("Selenium");
+        other.setLocation("Pune");
+        other.setSalaryRange(40000.0);
+        other.setJobType("Full-time");
+        other.setDeadline(LocalDate.now().plusDays(30));
+        jobRepository.save(other);
+
+        Application app = new Application();
+        app.setJob(job);
+        app.setJobSeeker(seeker);
+        app.setResume(resume);
+        applicationRepository.save(app);
+
+        List<Object[]> rows = applicationRepository.countByJobIds(Arrays.asList(job.getId(), other.getId()));
+        assertThat(rows).hasSize(1);
+        assertThat(rows.get(0)[0]).isEqualTo(job.getId());
+        assertThat(rows.get(0)[1]).isEqualTo(1L);
+    }
+
+    @Test
+    public void testSearchApplicationsMatchesCurrentExtractedText() {
+        Application app = new Application();
+        app.setJob(job);
+        app.setJobSeeker(seeker);
+        app.setResume(resume);
+        applicationRepository.save(app);
+        resume.setFilePath("current");
+        resumeRepository.save(resume);
+        resumeTextRepository.save(new ResumeText(resume.getId(), "current", "kafka streams, pune"));
+
+        assertThat(applicationRepository.searchApplications(job.getId(), null, "%kafka%", null, null)).hasSize(1);
+        assertThat(applicationRepository.searchApplications(job.getId(), null, "%golang%", null, null)).isEmpty();
+
+        // Text of a replaced file no longer matches.
+        resume.setFilePath("replaced");
+        resumeRepository.save(resume);
+        assertThat(applicationRepository.searchApplications(job.getId(), null, "%kafka%", null, null)).isEmpty();
+    }
+
+    @Test
+    public void testFindApplicantDocuments() {
+        seeker.setExperienceYears(4);
+        Application app = new Application();
+        app.setJob(job);
+        app.setJobSeeker(seeker);
+        app.setResume(resume);
+        applicationRepository.save(app);
+        resume.setFilePath("current");
+        resumeRepository.save(resume);
+        resumeTextRepository.save(new ResumeText(resume.getId(), "current", "kafka streams"));
+
+        List<ApplicantSearchDocument> documents = applicationRepository.findApplicantDocuments(job.getId(), 0L,
+                PageRequest.of(0, 10));
+        assertThat(documents).hasSize(1);
+        ApplicantSearchDocument document = documents.get(0);
+        assertThat(document.getApplicationId()).isEqualTo(app.getId());
+        assertThat(document.getSeekerName()).isEqualTo("John Doe");
+        assertThat(document.getExperienceYears()).isEqualTo(4);
+        assertThat(document.getSkills()).isEqualTo("Java, SQL");
+        assertThat(document.getResumeText()).isEqualTo("kafka streams");
+        assertThat(applicationRepository.findApplicantDocuments(job.getId(), app.getId(), PageRequest.of(0, 10)))
+                .isEmpty();
+
+        resume.setFilePath("replaced");
+        resumeRepository.save(resume);
+        assertThat(applicationRepository.findApplicantDocumentsByResumeId(resume.getId()).get(0).getResumeText())
+                .isNull();
+        assertThat(applicationRepository.findApplicantDocumentsBySeekerId(seeker.getId())).hasSize(1);
+        assertThat(applicationRepository.findApplicantDocumentById(app.getId())).hasSize(1);
+    }
+
+    @Test
+    public void testUpdateStatusOnlyChangesRowsInPreviousStatus() {
+        Application applied = new Application();
+        applied.setJob(job);
+        applied.setJobSeeker(seeker);
+        applied.setResume(resume);
+        applicationRepository.save(applied);
+
+        List<Object[]> rows = applicationRepository.findStatusRowsForJob(job.getId(),
+                Arrays.asList(applied.getId(), -1L));
+        assertThat(rows).hasSize(1);
+        assertThat(rows.get(0)).containsExactly(applied.getId(), Application.ApplicationStatus.APPLIED,
+                seeker.getId(), seeker.getUser().getId());
+
+        List<Long> ids = Arrays.asList(applied.getId());
+        assertThat(applicationRepository.updateStatus(ids, Application.ApplicationStatus.APPLIED,
+                Application.ApplicationStatus.REJECTED)).isEqualTo(1);
+        assertThat(applicationRepository.updateStatus(ids, Application.ApplicationStatus.APPLIED,
+                Application.ApplicationStatus.SHORTLISTED)).isZero();
+        assertThat(applicationRepository.findStatusRowsForJob(job.getId(), ids).get(0)[1])
+                .isEqualTo(Application.ApplicationStatus.REJECTED);
+    }
 }
@@ -0,0 +1,38 @@
+package com.rev.app.repository;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class InListsTest {
+
+    @Test
+    public void testSplitsAtMaxSize() {
+        List<Long> ids = LongStream.rangeClosed(1, 2001).boxed().collect(Collectors.toList());
+
+        List<List<Long>> chunks = InLists.chunks(ids);
+
+        assertThat(chunks).extracting(List::size).containsExactly(1000, 1000, 1);
+        assertThat(chunks.get(2)).containsExactly(2001L);
+    }
+
+    @Test
+    public void testKeepsIterationOrderOfSets() {
+        List<List<Long>> chunks = InLists.chunks(new LinkedHashSet<>(Arrays.asList(3L, 1L, 2L)), 2);
+
+        assertThat(chunks).containsExactly(Arrays.asList(3L, 1L), Collections.singletonList(2L));
+    }
+
+    @Test
+    public void testEmptyInputHasNoChunks() {
+        assertThat(InLists.chunks(new ArrayList<Long>())).isEmpty();
+    }
+}
@@ -1,18 +1,24 @@
 package com.rev.app.repository;
 
+import com.rev.app.dto.JobStatsDTO;
 import com.rev.app.entity.Company;
 import com.rev.app.entity.Employer;
 import com.rev.app.entity.Job;
 import com.rev.app.entity.User;
+import com.rev.app.search.JobSearchDocument;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit4.SpringRunner;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -92,4 +98,162 @@ public class JobRepositoryTest {
         assertThat(results).isNotEmpty();
         assertThat(results.get(0).getTitle()).isEqualTo("Java Developer");
     }
+
+    @Test
+    public void testFindSearchDocuments() {
+        Job open = new Job();
+        open.setTitle("Backend Engineer");
+        open.setSkillsRequired("Java");
+        open.setLocation("Hyderabad");
+        open.setSalaryRange(70000.0);
+        open.setJobType("Full-time");
+        open.setDeadline(LocalDate.now().plusDays(30));
+        open.setEmployer(employer);
+        open.setCompany(company);
+        jobRepository.save(open);
+
+        Job closed = new Job();
+        closed.setTitle("Closed Role");
+        closed.setSkillsRequired("Java");
+        closed.setLocation("Hyderabad");
+        closed.setSalaryRange(70000.0);
+        closed.setJobType("Full-time");
+        closed.setDeadline(LocalDate.now().plusDays(30));
+        closed.setIsClosed(true);
+        closed.setEmployer(employer);
+        closed.setCompany(company);
+        jobRepository.save(closed);
+
+        List<JobSearchDocument> docs = jobRepository.findSearchDocuments(0L, PageRequest.of(0, 10));
+        assertThat(docs).extracting(JobSearchDocument::getTitle).containsExactly("Backend Engineer");
+        assertThat(docs.get(0).getCompanyName()).isEqualTo("Revature");
+
+        assertThat(jobRepository.findSearchDocuments(open.getId(), PageRequest.of(0, 10))).isEmpty();
+    }
+
+    private Job saveJob(String title, LocalDate postedDate, boolean closed, String status) {
+        Job job = new Job();
+        job.setTitle(title);
+        job.setSkillsRequired("Java");
+        job.setLocation("Pune");
+        job.setSalaryRange(50000.0);
+        job.setJobType("Full-time");
+        job.setDeadline(LocalDate.now().plusDays(30));
+        job.setPostedDate(postedDate);
+        job.setIsClosed(closed);
+        job.setStatus(status);
+        job.setEmployer(employer);
+        job.setCompany(company);
+        return jobRepository.save(job);
+    }
+
+    @Test
+    public void testFindActivePage_WalksKeysetNewestFirst() {
+        LocalDate today = LocalDate.now();
+        Job a = saveJob("A", today.minusDays(2), false, null);
+        Job b = saveJob("B", today, false, null);
+        Job c = saveJob("C", today, false, null);
+        saveJob("Closed", today, true, null);
+
+        List<Job> first = jobRepository.findActivePage(null, null, PageRequest.of(0, 2));
+        assertThat(first).extracting(Job::getId).containsExactly(c.getId(), b.getId());
+
+        Job last = first.get(1);
+        List<Job> second = jobRepository.findActivePage(last.getPostedDate(), last.getId(), PageRequest.of(0, 2));
+        assertThat(second).extracting(Job::getId).containsExactly(a.getId());
+    }
+
+    @Test
+    public void testFindEmployerPage_FiltersByStateAndKeyword() {
+        LocalDate today = LocalDate.now();
+        Job active = saveJob("Java Developer", today, false, null);
+        Job closed = saveJob("Java Lead", today, true, null);
+        Job filled = saveJob("Tester", today, true, "FILLED");
+
+        assertThat(jobRepository.findEmployerPage(employer.getId(), null, null, null, null, PageRequest.of(0, 10)))
+                .extracting(Job::getId).containsExactly(filled.getId(), closed.getId(), active.getId());
+        assertThat(jobRepository.findEmployerPage(employer.getId(), "%java%", "CLOSED", null, null,
+                PageRequest.of(0, 10))).extracting(Job::getId).containsExactly(closed.getId());
+        assertThat(jobRepository.findEmployerPage(employer.getId(), null, "FILLED", null, null,
+                PageRequest.of(0, 10))).extracting(Job::getId).containsExactly(filled.getId());
+    }
+
+    @Test
+    public void testGetJobStatsByEmployer() {
+        LocalDate today = LocalDate.now();
+        saveJob("Active", today, false, null);
+        saveJob("Closed", today, true, null);
+        saveJob("Filled", today, true, "FILLED");
+
+        JobStatsDTO stats = jobRepository.getJobStatsByEmployer(employer.getId());
+        assertThat(stats.getTotalJobs()).isEqualTo(3);
+        assertThat(stats.getActiveJobs()).isEqualTo(1);
+        assertThat(stats.getClosedJobs()).isEqualTo(1);
+        assertThat(stats.getFilledJobs()).isEqualTo(1);
+
+        assertThat(jobRepository.getJobStatsByEmployer(-1L).getTotalJobs()).isZero();
+    }
+
+    @Test
+    public void testCountJobStatesByEmployerIds() {
+        LocalDate today = LocalDate.now();
+        saveJob("Active", today, false, null);
+        saveJob("Closed", today, true, null);
+        saveJob("Filled", today, true, "FILLED");
+
+        List<Object[]> rows = jobRepository.countJobStatesByEmployerIds(Arrays.asList(employer.getId(), -1L));
+
+        assertThat(rows).hasSize(1);
+        assertThat(rows.get(0)).containsExactly(employer.getId(), 3L, 1L, 1L, 1L);
+    }
+
+    @Test
+    public void testSearchJobsAdvancedPage() {
+        LocalDate today = LocalDate.now();
+        Job older = saveJob("Java Developer", today.minusDays(1), false, null);
+        Job newer = saveJob("Java Engineer", today, false, null);
+
+        List<Job> first = jobRepository.searchJobsAdvancedPage("%java%", null, null, null, null, null, null, null,
+                PageRequest.of(0, 1));
+        assertThat(first).extracting(Job::getId).containsExactly(newer.getId());
+
+        List<Job> second = jobRepository.searchJobsAdvancedPage("%java%", null, null, null, null, null,
+                newer.getPostedDate(), newer.getId(), PageRequest.of(0, 1));
+        assertThat(second).extracting(Job::getId).containsExactly(older.getId());
+    }
+
+    @Test
+    public void testFindOpenJobProfiles() {
+        Job open = saveJob("Open", LocalDate.now(), false, null);
+        saveJob("Closed", LocalDate.now(), true, null);
+
+        List<Object[]> rows = jobRepository.findOpenJobProfiles(0L, PageRequest.of(0, 10));
+        assertThat(rows).hasSize(1);
+        assertThat(rows.get(0)[0]).isEqualTo(open.getId());
+        assertThat(rows.get(0)[1]).isEqualTo("Java");
+        assertThat(rows.get(0)[3]).isEqualTo("Pune");
+        assertThat(rows.get(0)[4]).isEqualTo(LocalDate.now());
+    }
+
+    @Test
+    public void testMatchFanOutLease() {
+        Job job = saveJob("Pending", LocalDate.now(), false, null);
+        job.setMatchPending(true);
+        jobRepository.saveAndFlush(job);
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        LocalDateTime expiredBefore = now.minusMinutes(10);
+
+        assertThat(jobRepository.claimMatchFanOut(job.getId(), now, expiredBefore)).isEqualTo(1);
+        assertThat(jobRepository.claimMatchFanOut(job.getId(), now.plusSeconds(1), expiredBefore)).isZero();
+        assertThat(jobRepository.findPendingMatchFanOuts(0L, expiredBefore, PageRequest.of(0, 10))).isEmpty();
+        // Once the lease has expired, the job is offered and claimed again.
+        assertThat(jobRepository.findPendingMatchFanOuts(0L, now.plusSeconds(1), PageRequest.of(0, 10))).hasSize(1);
+        LocalDateTime retakenAt = now.plusMinutes(11);
+        assertThat(jobRepository.claimMatchFanOut(job.getId(), retakenAt, now.plusSeconds(1))).isEqualTo(1);
+
+        assertThat(jobRepository.renewMatchFanOut(job.getId(), now, now.plusMinutes(12))).isZero();
+        assertThat(jobRepository.completeMatchFanOut(job.getId(), now)).isZero();
+        assertThat(jobRepository.completeMatchFanOut(job.getId(), retakenAt)).isEqualTo(1);
+        assertThat(jobRepository.findPendingMatchFanOuts(0L, now.plusHours(1), PageRequest.of(0, 10))).isEmpty();
+    }
 }
@@ -1,14 +1,18 @@
 package com.rev.app.repository;
 
 import com.rev.app.entity.JobSeeker;
+import com.rev.app.entity.Resume;
 import com.rev.app.entity.User;
+import com.rev.app.search.SeekerSkills;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit4.SpringRunner;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -24,6 +28,9 @@ public class JobSeekerRepositoryTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private ResumeRepository resumeRepository;
+
     @Test
     public void testFindByUser() {
         User user = new User();
@@ -41,4 +48,39 @@ public class JobSeekerRepositoryTest {
         assertThat(found).isPresent();
         assertThat(found.get().getName()).isEqualTo("Seeker A");
     }
+
+    private JobSeeker saveSeeker(String email, String skills) {
+        User user = new User();
+        user.setEmail(email);
+        user.setPassword("password");
+        user.setRole(User.Role.JOB_SEEKER);
+        userRepository.save(user);
+
+        JobSeeker seeker = new JobSeeker();
+        seeker.setUser(user);
+        seeker.setName(email);
+        jobSeekerRepository.save(seeker);
+
+        Resume resume = new Resume();
+        resume.setJobSeeker(seeker);
+        resume.setSkills(skills);
+        resumeRepository.save(resume);
+        return seeker;
+    }
+
+    @Test
+    public void testFindSeekerSkills() {
+        JobSeeker first = saveSeeker("first@revhire.com", "Java");
+        saveSeeker("noskills@revhire.com", null);
+        JobSeeker third = saveSeeker("third@revhire.com", "SQL");
+
+        List<SeekerSkills> page = jobSeekerRepository.findSeekerSkills(0L, PageRequest.of(0, 1));
+        assertThat(page).hasSize(1);
+        assertThat(page.get(0).getSeekerId()).isEqualTo(first.getId());
+        assertThat(page.get(0).getUserId()).isEqualTo(first.getUser().getId());
+        assertThat(page.get(0).getSkills()).isEqualTo("Java");
+
+        List<SeekerSkills> rest = jobSeekerRepository.findSeekerSkills(first.getId(), PageRequest.of(0, 10));
+        assertThat(rest).extracting(SeekerSkills::getSeekerId).containsExactly(third.getId());
+    }
 }
@@ -0,0 +1,97 @@
+package com.rev.app.repository;
+
+import com.rev.app.dto.NotificationDraft;
+import com.rev.app.entity.Application;
+import com.rev.app.entity.NotificationContent;
+import com.rev.app.entity.NotificationOutboxEvent;
+import com.rev.app.entity.User;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(SpringRunner.class)
+@DataJpaTest
+@ActiveProfiles("test")
+public class NotificationOutboxRepositoryTest {
+
+    @Autowired
+    private NotificationOutboxRepository outboxRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private User user;
+
+    @Before
+    public void setUp() {
+        user = new User();
+        user.setEmail("outbox@revhire.com");
+        user.setPassword("password");
+        user.setRole(User.Role.JOB_SEEKER);
+        userRepository.save(user);
+    }
+
+    @Test
+    public void testFindDueIdsSkipsDeferredAndParkedEvents() {
+        outboxRepository.appendBatch(Arrays.asList(user.getId(), user.getId()),
+                NotificationContent.text("Application received"));
+        NotificationOutboxEvent deferred = new NotificationOutboxEvent(user.getId(), NotificationContent.text("Later"));
+        deferred.setNextAttemptAt(LocalDateTime.now().plusMinutes(5));
+        deferred.setAttempts(1);
+        outboxRepository.save(deferred);
+        NotificationOutboxEvent parked = new NotificationOutboxEvent(user.getId(), NotificationContent.text("Parked"));
+        parked.setAttempts(10);
+        outboxRepository.save(parked);
+
+        List<Long> due = outboxRepository.findDueIds(LocalDateTime.now().plusSeconds(1), 10, PageRequest.of(0, 10));
+
+        assertThat(due).hasSize(2);
+        assertThat(outboxRepository.findByIdInOrderById(due)).extracting(NotificationOutboxEvent::getContent)
+                .containsExactly(NotificationContent.text("Application received"),
+                        NotificationContent.text("Application received"));
+        assertThat(outboxRepository.countByAttemptsGreaterThanEqual(10)).isEqualTo(1);
+        Object[] summary = outboxRepository.pendingSummary(10).get(0);
+        assertThat(summary[0]).isEqualTo(3L);
+        assertThat(summary[1]).isNotNull();
+    }
+
+    @Test
+    public void testDeliverAndDeleteEvents() {
+        NotificationOutboxEvent event = outboxRepository.save(new NotificationOutboxEvent(user.getId(),
+                NotificationContent.applicationStatus(7L, Application.ApplicationStatus.SHORTLISTED)));
+        event.setCreatedAt(LocalDateTime.now().minusMinutes(1));
+
+        notificationRepository.insertDrafts(Arrays.asList(
+                new NotificationDraft(event.getUserId(), event.getContent(), event.getCreatedAt(), 1)));
+        assertThat(outboxRepository.deleteByIds(Arrays.asList(event.getId()))).isEqualTo(1);
+        assertThat(outboxRepository.deleteByIds(Arrays.asList(event.getId()))).isZero();
+
+        entityManager.clear();
+        assertThat(notificationRepository.findInboxPage(user.getId(), null, null, PageRequest.of(0, 10)))
+                .singleElement()
+                .satisfies(n -> {
+                    assertThat(n.getContent()).isEqualTo(
+                            NotificationContent.applicationStatus(7L, Application.ApplicationStatus.SHORTLISTED));
+                    assertThat(n.getIsRead()).isFalse();
+                    assertThat(n.getCreatedAt()).isBefore(LocalDateTime.now().minusSeconds(30));
+                });
+    }
+}
@@ -1,15 +1,23 @@
 package com.rev.app.repository;
 
+import com.rev.app.dto.NotificationDraft;
 import com.rev.app.entity.Notification;
+import com.rev.app.entity.NotificationContent;
+import com.rev.app.entity.NotificationReadMark;
+import com.rev.app.entity.NotificationTemplate;
 import com.rev.app.entity.User;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit4.SpringRunner;
 
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -25,6 +33,9 @@ public class NotificationRepositoryTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private NotificationReadMarkRepository readMarkRepository;
+
     private User user;
 
     @Before
@@ -37,38 +48,110 @@ public class NotificationRepositoryTest {
     }
 
     @Test
-    public void testFindByUserOrderByCreatedAtDesc() {
+    public void testCountByUserAndIsReadFalse() {
         Notification n1 = new Notification();
         n1.setUser(user);
-        n1.setMessage("First notification");
+        n1.setContent(NotificationContent.text("Unread notification"));
         n1.setIsRead(false);
         notificationRepository.save(n1);
 
         Notification n2 = new Notification();
         n2.setUser(user);
-        n2.setMessage("Second notification");
+        n2.setContent(NotificationContent.text("Read notification"));
         n2.setIsRead(true);
         notificationRepository.save(n2);
 
-        List<Notification> notifications = notificationRepository.findByUserOrderByCreatedAtDesc(user);
+        long unreadCount = notificationRepository.countByUserAndIsReadFalse(user);
+        assertThat(unreadCount).isEqualTo(1);
+    }
+
+    @Test
+    public void testInsertBatch() {
+        notificationRepository.insertBatch(Arrays.asList(user.getId(), user.getId()), NotificationContent.jobMatch(5L));
+
+        List<Notification> notifications = notificationRepository.findInboxPage(user.getId(), null, null,
+                PageRequest.of(0, 10));
         assertThat(notifications).hasSize(2);
+        assertThat(notifications).allSatisfy(n -> {
+            assertThat(n.getContent()).isEqualTo(NotificationContent.jobMatch(5L));
+            assertThat(n.getIsRead()).isFalse();
+        });
+    }
+
+    private Notification notification(String message, LocalDateTime createdAt) {
+        Notification n = new Notification();
+        n.setUser(user);
+        n.setContent(NotificationContent.text(message));
+        n.setCreatedAt(createdAt);
+        return notificationRepository.save(n);
     }
 
     @Test
-    public void testCountByUserAndIsReadFalse() {
-        Notification n1 = new Notification();
-        n1.setUser(user);
-        n1.setMessage("Unread notification");
-        n1.setIsRead(false);
-        notificationRepository.save(n1);
+    public void testFindInboxPageWalksKeyset() {
+        LocalDateTime at = LocalDateTime.of(2024, 3, 1, 9, 30);
+        Notification oldest = notification("oldest", at.minusHours(1));
+        Notification tied1 = notification("tied 1", at);
+        Notification tied2 = notification("tied 2", at);
 
-        Notification n2 = new Notification();
-        n2.setUser(user);
-        n2.setMessage("Read notification");
-        n2.setIsRead(true);
-        notificationRepository.save(n2);
+        List<Notification> first = notificationRepository.findInboxPage(user.getId(), null, null,
+                PageRequest.of(0, 2));
+        assertThat(first).extracting(Notification::getId).containsExactly(tied2.getId(), tied1.getId());
 
-        long unreadCount = notificationRepository.countByUserAndIsReadFalse(user);
-        assertThat(unreadCount).isEqualTo(1);
+        List<Notification> second = notificationRepository.findInboxPage(user.getId(), at, tied1.getId(),
+                PageRequest.of(0, 2));
+        assertThat(second).extracting(Notification::getId).containsExactly(oldest.getId());
+    }
+
+    @Test
+    public void testUnreadCountsRespectReadMark() {
+        LocalDateTime now = LocalDateTime.now();
+        Notification first = notification("first", now);
+        notification("second", now);
+        Notification readOne = notification("read one by one", now);
+        readOne.setIsRead(true);
+        notificationRepository.save(readOne);
+        readMarkRepository.save(new NotificationReadMark(user.getId(), first.getId()));
+
+        assertThat(notificationRepository.findMaxIdByUserId(user.getId())).isEqualTo(readOne.getId());
+        assertThat(notificationRepository.countUnread(user.getId(), first.getId())).isEqualTo(1);
+        List<Object[]> counts = notificationRepository.countUnreadByUserIds(Collections.singletonList(user.getId()));
+        assertThat(counts).hasSize(1);
+        assertThat(((Number) counts.get(0)[1]).longValue()).isEqualTo(1);
+    }
+
+    @Test
+    public void testFindOpenDigestsAndAddOccurrences() {
+        LocalDateTime now = LocalDateTime.now();
+        notificationRepository.insertDrafts(Arrays.asList(
+                new NotificationDraft(user.getId(), NotificationContent.applicationReceived(5L, 1L), now, 3),
+                new NotificationDraft(user.getId(), NotificationContent.applicationReceived(6L, 2L),
+                        now.minusHours(2), 1),
+                new NotificationDraft(user.getId(), NotificationContent.jobMatch(5L), now, 1)));
+
+        List<Object[]> open = notificationRepository.findOpenDigests(Collections.singleton(user.getId()),
+                Collections.singleton(NotificationTemplate.APPLICATION_RECEIVED), now.minusHours(1));
+        assertThat(open).hasSize(1);
+        assertThat(open.get(0)).containsExactly(open.get(0)[0], user.getId(),
+                NotificationTemplate.APPLICATION_RECEIVED, 5L);
+        Long digestId = (Long) open.get(0)[0];
+
+        assertThat(notificationRepository.addOccurrences(Collections.singletonMap(digestId, 4)))
+                .containsExactly(digestId);
+        Notification digest = notificationRepository.findById(digestId).get();
+        assertThat(digest.getOccurrences()).isEqualTo(7);
+
+        digest.setIsRead(true);
+        notificationRepository.saveAndFlush(digest);
+        assertThat(notificationRepository.addOccurrences(Collections.singletonMap(digestId, 1))).isEmpty();
+    }
+
+    @Test
+    public void testReadMarkOnlyAdvances() {
+        readMarkRepository.save(new NotificationReadMark(user.getId(), 50L));
+
+        assertThat(readMarkRepository.advance(user.getId(), 40L)).isZero();
+        assertThat(readMarkRepository.findReadUpToId(user.getId())).contains(50L);
+        assertThat(readMarkRepository.advance(user.getId(), 60L)).isEqualTo(1);
+        assertThat(readMarkRepository.findReadUpToId(user.getId())).contains(60L);
     }
 }
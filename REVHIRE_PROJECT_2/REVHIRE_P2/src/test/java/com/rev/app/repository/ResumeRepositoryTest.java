@@ -2,15 +2,18 @@ package com.rev.app.repository;
 
 import com.rev.app.entity.JobSeeker;
 import com.rev.app.entity.Resume;
+import com.rev.app.entity.ResumeText;
 import com.rev.app.entity.User;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit4.SpringRunner;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -29,6 +32,9 @@ public class ResumeRepositoryTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private ResumeTextRepository resumeTextRepository;
+
     private JobSeeker seeker;
 
     @Before
@@ -69,4 +75,21 @@ public class ResumeRepositoryTest {
         assertThat(found).isPresent();
         assertThat(found.get().getSkills()).isEqualTo("Python, ML");
     }
+
+    @Test
+    public void testFindWithoutExtractedText() {
+        Resume resume = new Resume();
+        resume.setJobSeeker(seeker);
+        resume.setFilePath("new-upload");
+        resume.setFileName("cv.pdf");
+        resumeRepository.save(resume);
+        resumeTextRepository.save(new ResumeText(resume.getId(), "old-upload", "stale"));
+
+        List<Object[]> pending = resumeRepository.findWithoutExtractedText(0L, PageRequest.of(0, 10));
+        assertThat(pending).hasSize(1);
+        assertThat(pending.get(0)).containsExactly(resume.getId(), "new-upload", "cv.pdf");
+
+        resumeTextRepository.save(new ResumeText(resume.getId(), "new-upload", "fresh"));
+        assertThat(resumeRepository.findWithoutExtractedText(0L, PageRequest.of(0, 10))).isEmpty();
+    }
 }
@@ -1,5 +1,9 @@
 package com.rev.app.repository;
 
+import com.rev.app.dto.CurrentProfile;
+import com.rev.app.entity.Company;
+import com.rev.app.entity.Employer;
+import com.rev.app.entity.JobSeeker;
 import com.rev.app.entity.User;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -20,6 +24,15 @@ public class UserRepositoryTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private EmployerRepository employerRepository;
+
+    @Autowired
+    private JobSeekerRepository jobSeekerRepository;
+
     @Test
     public void testSaveAndFindByEmail() {
         // Arrange
@@ -50,4 +63,38 @@ public class UserRepositoryTest {
         assertThat(userRepository.existsByEmail("exists@revhire.com")).isTrue();
         assertThat(userRepository.existsByEmail("nonexistent@revhire.com")).isFalse();
     }
+
+    @Test
+    public void testFindProfileByEmail() {
+        User employerUser = new User();
+        employerUser.setEmail("employer@revhire.com");
+        employerUser.setPassword("password123");
+        employerUser.setRole(User.Role.EMPLOYER);
+        userRepository.save(employerUser);
+        Company company = new Company();
+        company.setName("Revature");
+        company.setIndustry("IT");
+        companyRepository.save(company);
+        Employer employer = new Employer();
+        employer.setUser(employerUser);
+        employer.setCompany(company);
+        employerRepository.save(employer);
+
+        User seekerUser = new User();
+        seekerUser.setEmail("seeker@revhire.com");
+        seekerUser.setPassword("password123");
+        seekerUser.setRole(User.Role.JOB_SEEKER);
+        userRepository.save(seekerUser);
+        JobSeeker seeker = new JobSeeker();
+        seeker.setUser(seekerUser);
+        seeker.setName("John Doe");
+        jobSeekerRepository.save(seeker);
+
+        assertThat(userRepository.findProfileByEmail("employer@revhire.com")).contains(new CurrentProfile(
+                employerUser.getId(), "employer@revhire.com", User.Role.EMPLOYER, employer.getId(), company.getId(),
+                null));
+        assertThat(userRepository.findProfileByEmail("seeker@revhire.com")).contains(new CurrentProfile(
+                seekerUser.getId(), "seeker@revhire.com", User.Role.JOB_SEEKER, null, null, seeker.getId()));
+        assertThat(userRepository.findProfileByEmail("nobody@revhire.com")).isEmpty();
+    }
 }
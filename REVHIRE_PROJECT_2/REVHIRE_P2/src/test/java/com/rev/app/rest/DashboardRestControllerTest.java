@@ -1,7 +1,8 @@
 package com.rev.app.rest;
 
 import com.rev.app.config.JwtUtil;
-import com.rev.app.service.EmployerService;
+import com.rev.app.dto.EmployerDashboardDTO;
+import com.rev.app.service.DashboardService;
 import com.rev.app.service.JobSeekerService;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -35,7 +36,7 @@ public class DashboardRestControllerTest {
     private JobSeekerService jobSeekerService;
 
     @MockBean
-    private EmployerService employerService;
+    private DashboardService dashboardService;
 
     @MockBean
     private AuthenticationManager authenticationManager;
@@ -65,16 +66,14 @@ public class DashboardRestControllerTest {
     @Test
     public void testGetEmployerDashboard() throws Exception {
         Long employerId = 1L;
-        Map<String, Object> stats = new HashMap<>();
-        stats.put("totalJobs", 10);
-        stats.put("totalApplications", 50);
-
-        when(employerService.getStatistics(employerId)).thenReturn(stats);
+        when(dashboardService.getEmployerDashboard(employerId))
+                .thenReturn(new EmployerDashboardDTO(10, 7, 2, 1, 50, 12));
 
         mockMvc.perform(get("/api/dashboard/employer/{employerId}", employerId)
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.totalJobs").value(10))
-                .andExpect(jsonPath("$.totalApplications").value(50));
+                .andExpect(jsonPath("$.totalApplications").value(50))
+                .andExpect(jsonPath("$.pendingReviews").value(12));
     }
 }
@@ -3,6 +3,7 @@ package com.rev.app.rest;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.rev.app.config.JwtUtil;
 import com.rev.app.dto.JobDTO;
+import com.rev.app.dto.PageDTO;
 import com.rev.app.service.JobService;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -18,6 +19,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import java.util.Collections;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -45,11 +47,27 @@ public class JobRestControllerTest {
 
     @Test
     public void testGetAllJobs() throws Exception {
-        when(jobService.getAllActiveJobs()).thenReturn(Collections.emptyList());
+        when(jobService.getActiveJobsPage(null, 20))
+                .thenReturn(new PageDTO<>(Collections.emptyList(), null, false));
 
         mockMvc.perform(get("/api/jobs"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$").isArray());
+                .andExpect(jsonPath("$.items").isArray())
+                .andExpect(jsonPath("$.hasMore").value(false));
+    }
+
+    @Test
+    public void testGetAllJobs_WithCursor() throws Exception {
+        JobDTO dto = new JobDTO();
+        dto.setTitle("Engineer");
+        when(jobService.getActiveJobsPage("abc", 1))
+                .thenReturn(new PageDTO<>(Collections.singletonList(dto), "def", true));
+
+        mockMvc.perform(get("/api/jobs").param("cursor", "abc").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].title").value("Engineer"))
+                .andExpect(jsonPath("$.nextCursor").value("def"))
+                .andExpect(jsonPath("$.hasMore").value(true));
     }
 
     @Test
@@ -81,13 +99,29 @@ public class JobRestControllerTest {
 
     @Test
     public void testSearchJobs() throws Exception {
-        when(jobService.searchJobs("Java")).thenReturn(Collections.emptyList());
+        when(jobService.searchJobsAdvancedPage("Java", null, null, null, null, null, null, 20))
+                .thenReturn(new PageDTO<>(Collections.emptyList(), null, false));
 
         mockMvc.perform(get("/api/jobs").param("keyword", "Java"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$").isArray());
+                .andExpect(jsonPath("$.items").isArray());
+
+        verify(jobService, times(1)).searchJobsAdvancedPage("Java", null, null, null, null, null, null, 20);
+    }
+
+    @Test
+    public void testGetAllJobs_SortByRelevance() throws Exception {
+        JobDTO dto = new JobDTO();
+        dto.setTitle("Java Developer");
+        when(jobService.searchJobsByRelevance("java", null, null, null, null, null, 10))
+                .thenReturn(Collections.singletonList(dto));
+
+        mockMvc.perform(get("/api/jobs").param("keyword", "java").param("sort", "relevance").param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].title").value("Java Developer"))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
 
-        verify(jobService, times(1)).searchJobs("Java");
+        verify(jobService, never()).searchJobsAdvancedPage(any(), any(), any(), any(), any(), any(), any(), anyInt());
     }
 
     @Test
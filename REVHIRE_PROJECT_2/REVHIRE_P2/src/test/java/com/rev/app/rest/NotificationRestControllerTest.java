@@ -1,7 +1,14 @@
 package com.rev.app.rest;
 
 import com.rev.app.config.JwtUtil;
+import com.rev.app.dto.CurrentProfile;
 import com.rev.app.dto.NotificationDTO;
+import com.rev.app.dto.PageDTO;
+import com.rev.app.dto.SeekerDashboardDTO;
+import com.rev.app.entity.User;
+import com.rev.app.notification.NotificationStreams;
+import com.rev.app.service.CurrentProfileService;
+import com.rev.app.service.DashboardService;
 import com.rev.app.service.NotificationService;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -9,17 +16,21 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.authentication.TestingAuthenticationToken;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 
@@ -43,6 +54,15 @@ public class NotificationRestControllerTest {
     @MockBean
     private JwtUtil jwtUtil;
 
+    @MockBean
+    private DashboardService dashboardService;
+
+    @MockBean
+    private NotificationStreams notificationStreams;
+
+    @MockBean
+    private CurrentProfileService currentProfileService;
+
     @Test
     public void testGetNotifications() throws Exception {
         Long userId = 1L;
@@ -50,13 +70,27 @@ public class NotificationRestControllerTest {
         dto.setMessage("Test Notification");
         List<NotificationDTO> notifications = Arrays.asList(dto);
 
-        when(notificationService.getNotificationsForUser(userId)).thenReturn(notifications);
+        when(notificationService.getInbox(userId, null, 0)).thenReturn(new PageDTO<>(notifications, "abc", true));
 
         mockMvc.perform(get("/api/notifications/user/{userId}", userId))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].message").value("Test Notification"));
     }
 
+    @Test
+    public void testGetInbox() throws Exception {
+        NotificationDTO dto = new NotificationDTO();
+        dto.setMessage("Older Notification");
+        when(notificationService.getInbox(1L, "abc", 1))
+                .thenReturn(new PageDTO<>(Arrays.asList(dto), "def", true));
+
+        mockMvc.perform(get("/api/notifications/user/{userId}/inbox", 1L).param("cursor", "abc").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].message").value("Older Notification"))
+                .andExpect(jsonPath("$.nextCursor").value("def"))
+                .andExpect(jsonPath("$.hasMore").value(true));
+    }
+
     @Test
     public void testGetUnreadCount() throws Exception {
         Long userId = 1L;
@@ -88,4 +122,20 @@ public class NotificationRestControllerTest {
 
         verify(notificationService, times(1)).markAllRead(userId);
     }
+
+    @Test
+    public void testStreamStartsFromSeekerCounter() throws Exception {
+        when(currentProfileService.resolve("seeker@revhire.com")).thenReturn(Optional.of(
+                new CurrentProfile(7L, "seeker@revhire.com", User.Role.JOB_SEEKER, null, null, 3L)));
+        when(dashboardService.getSeekerDashboard(3L))
+                .thenReturn(new SeekerDashboardDTO(0, 0, 0, 0, 0, 0, 0, 4));
+        when(notificationStreams.subscribe(7L, 4L)).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/api/notifications/stream")
+                .principal(new TestingAuthenticationToken("seeker@revhire.com", null)))
+                .andExpect(request().asyncStarted());
+
+        verify(notificationStreams).subscribe(7L, 4L);
+        verify(notificationService, never()).getUnreadCount(anyLong());
+    }
 }
@@ -117,4 +117,12 @@ public class UserRestControllerTest {
                 .andExpect(status().isUnauthorized())
                 .andExpect(content().string("Incorrect username or password"));
     }
+
+    @Test
+    public void testLogoutRevokesBearerToken() throws Exception {
+        mockMvc.perform(post("/api/auth/logout").header("Authorization", "Bearer dummy-jwt"))
+                .andExpect(status().isNoContent());
+
+        verify(jwtUtil).revoke("dummy-jwt");
+    }
 }
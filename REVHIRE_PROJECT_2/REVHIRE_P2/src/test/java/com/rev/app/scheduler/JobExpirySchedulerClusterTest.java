@@ -0,0 +1,330 @@
+package com.rev.app.scheduler;
+
+import com.rev.app.deadline.DeadlineWheel;
+import com.rev.app.entity.Company;
+import com.rev.app.entity.DeadlineEvent;
+import com.rev.app.entity.DeadlineEventKind;
+import com.rev.app.entity.Employer;
+import com.rev.app.entity.EmployerStats;
+import com.rev.app.entity.Job;
+import com.rev.app.entity.JobSeeker;
+import com.rev.app.entity.NotificationTemplate;
+import com.rev.app.entity.SavedJob;
+import com.rev.app.entity.SchedulerCheckpoint;
+import com.rev.app.entity.User;
+import com.rev.app.mapper.NotificationMapper;
+import com.rev.app.notification.LegacyNotificationParser;
+import com.rev.app.notification.NotificationRenderer;
+import com.rev.app.notification.NotificationStreams;
+import com.rev.app.repository.CompanyRepository;
+import com.rev.app.repository.DeadlineEventRepository;
+import com.rev.app.repository.EmployerRepository;
+import com.rev.app.repository.EmployerStatsRepository;
+import com.rev.app.repository.JobRepository;
+import com.rev.app.repository.JobSeekerRepository;
+import com.rev.app.repository.NotificationOutboxRepository;
+import com.rev.app.repository.SavedJobRepository;
+import com.rev.app.repository.SchedulerCheckpointRepository;
+import com.rev.app.search.JobSearchIndex;
+import com.rev.app.search.SkillIndex;
+import com.rev.app.service.DashboardCounterServiceImpl;
+import com.rev.app.service.DeadlineEventService;
+import com.rev.app.service.DeadlineEventServiceImpl;
+import com.rev.app.service.JobExpiryServiceImpl;
+import com.rev.app.service.NotificationServiceImpl;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Runs the deadline wheel and the expiry scheduler on two application
+ * contexts sharing one H2 database, as two instances of the application
+ * would share Oracle.
+ */
+public class JobExpirySchedulerClusterTest {
+
+    private static final int BATCH_SIZE = 20;
+    private static final String CHECKPOINT = "deadline-events-backfill";
+
+    private static ConfigurableApplicationContext nodeA;
+    private static ConfigurableApplicationContext nodeB;
+
+    private final LocalDateTime now = LocalDateTime.now();
+    private final LocalDate today = now.toLocalDate();
+    private Employer employer;
+    private Company company;
+    private JobSeeker seeker;
+
+    @Configuration
+    @EnableAutoConfiguration
+    @EntityScan(basePackageClasses = Job.class)
+    @EnableJpaRepositories(basePackageClasses = JobRepository.class)
+    @Import({ JobExpiryScheduler.class, SchedulerLeases.class, JobExpiryServiceImpl.class, DeadlineWheel.class,
+            DeadlineEventServiceImpl.class, NotificationServiceImpl.class, DashboardCounterServiceImpl.class, NotificationRenderer.class,
+            NotificationMapper.class, LegacyNotificationParser.class, NotificationStreams.class })
+    static class Node {
+
+        @Bean
+        JobSearchIndex jobSearchIndex() {
+            return mock(JobSearchIndex.class);
+        }
+
+        @Bean
+        SkillIndex skillIndex() {
+            return mock(SkillIndex.class);
+        }
+
+        @Bean
+        TaskExecutor notificationStreamExecutor() {
+            return new SyncTaskExecutor();
+        }
+    }
+
+    private static ConfigurableApplicationContext startNode() {
+        return new SpringApplicationBuilder(Node.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:expiry-cluster;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.hibernate.ddl-auto=update",
+                        "--spring.jpa.show-sql=false",
+                        "--revhire.jobs.expiry.batch-size=" + BATCH_SIZE,
+                        // Holds every test's events, so one load covers them.
+                        "--revhire.deadlines.load-ahead-hours=168");
+    }
+
+    @BeforeClass
+    public static void startNodes() {
+        nodeA = startNode();
+        nodeB = startNode();
+    }
+
+    @AfterClass
+    public static void stopNodes() {
+        nodeB.close();
+        nodeA.close();
+    }
+
+    private static <T> T bean(ConfigurableApplicationContext node, Class<T> type) {
+        return node.getBean(type);
+    }
+
+    @Before
+    public void setUp() {
+        User user = new User();
+        user.setEmail("expiry@revhire.com");
+        user.setPassword("password");
+        user.setRole(User.Role.EMPLOYER);
+        company = new Company();
+        company.setName("Acme");
+        company.setIndustry("IT");
+        bean(nodeA, CompanyRepository.class).save(company);
+        employer = new Employer();
+        employer.setUser(user);
+        employer.setCompany(company);
+        // Saves the user with it, by cascade.
+        employer = bean(nodeA, EmployerRepository.class).save(employer);
+
+        User seekerUser = new User();
+        seekerUser.setEmail("seeker@revhire.com");
+        seekerUser.setPassword("password");
+        seekerUser.setRole(User.Role.JOB_SEEKER);
+        seeker = new JobSeeker();
+        seeker.setUser(seekerUser);
+        seeker.setName("Seeker");
+        seeker = bean(nodeA, JobSeekerRepository.class).save(seeker);
+    }
+
+    @After
+    public void tearDown() {
+        JdbcTemplate jdbc = bean(nodeA, JdbcTemplate.class);
+        for (String table : new String[] { "notification_outbox", "scheduler_checkpoints", "scheduler_leases",
+                "deadline_events", "saved_jobs", "jobs", "employer_stats", "employers", "companies", "job_seekers",
+                "users" }) {
+            jdbc.update("DELETE FROM " + table);
+        }
+    }
+
+    private List<Long> saveJobs(LocalDate deadline, int count) {
+        List<Job> jobs = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Job job = new Job();
+            job.setTitle("Job " + i);
+            job.setSkillsRequired("Java");
+            job.setLocation("Pune");
+            job.setSalaryRange(50000.0);
+            job.setJobType("Full-time");
+            job.setDeadline(deadline);
+            job.setEmployer(employer);
+            job.setCompany(company);
+            jobs.add(job);
+        }
+        return bean(nodeA, JobRepository.class).saveAll(jobs).stream().map(Job::getId).collect(Collectors.toList());
+    }
+
+    private void saveJobForSeeker(Long jobId) {
+        SavedJob saved = new SavedJob();
+        saved.setJobSeeker(seeker);
+        saved.setJob(bean(nodeA, JobRepository.class).findById(jobId).get());
+        bean(nodeA, SavedJobRepository.class).save(saved);
+    }
+
+    private List<Long> notifiedJobIds(NotificationTemplate template) {
+        return bean(nodeA, NotificationOutboxRepository.class).findAll().stream()
+                .filter(e -> e.getContent().getTemplate() == template)
+                .map(e -> e.getContent().getJobId())
+                .collect(Collectors.toList());
+    }
+
+    private static void runConcurrently(Consumer<ConfigurableApplicationContext> step,
+            ConfigurableApplicationContext... nodes) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(nodes.length);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> runs = new ArrayList<>();
+            for (ConfigurableApplicationContext node : nodes) {
+                runs.add(pool.submit(() -> {
+                    start.await();
+                    step.accept(node);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> run : runs) {
+                run.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testTwoInstancesFireEachDeadlineEventOnce() throws Exception {
+        List<Long> jobs = saveJobs(today.plusDays(3), BATCH_SIZE * 2 + 3);
+        saveJobForSeeker(jobs.get(0));
+        saveJobForSeeker(jobs.get(1));
+        EmployerStats stats = new EmployerStats(employer.getId());
+        stats.setTotalJobs(jobs.size());
+        stats.setActiveJobs(jobs.size());
+        bean(nodeA, EmployerStatsRepository.class).save(stats);
+        // The jobs predate deadline events: the scheduler's backfill creates them.
+        bean(nodeA, JobExpiryScheduler.class).runExpiry();
+        assertThat(bean(nodeA, DeadlineEventRepository.class).count()).isEqualTo(jobs.size() * 3L);
+
+        runConcurrently(node -> bean(node, DeadlineWheel.class).load(now), nodeA, nodeB);
+        runConcurrently(node -> bean(node, DeadlineWheel.class).advance(now.plusDays(5)), nodeA, nodeB);
+
+        assertThat(notifiedJobIds(NotificationTemplate.JOB_EXPIRING)).containsExactlyInAnyOrderElementsOf(jobs);
+        assertThat(notifiedJobIds(NotificationTemplate.SAVED_JOB_CLOSING))
+                .containsExactlyInAnyOrder(jobs.get(0), jobs.get(1));
+        assertThat(bean(nodeB, JobRepository.class).findAllById(jobs))
+                .allSatisfy(job -> assertThat(job.getIsClosed()).isTrue());
+        EmployerStats after = bean(nodeB, EmployerStatsRepository.class).findById(employer.getId()).get();
+        assertThat(after.getActiveJobs()).isZero();
+        assertThat(after.getClosedJobs()).isEqualTo(jobs.size());
+        assertThat(bean(nodeA, DeadlineEventRepository.class).count()).isZero();
+    }
+
+    @Test
+    public void testRefillPicksUpEventsWrittenByAnotherInstance() {
+        DeadlineWheel wheelA = bean(nodeA, DeadlineWheel.class);
+        wheelA.load(now);
+        Job job = bean(nodeA, JobRepository.class).findById(saveJobs(today.plusDays(3), 1).get(0)).get();
+
+        // B posts the job, then moves its deadline out beyond the load-ahead window.
+        bean(nodeB, DeadlineEventService.class).scheduleJob(job, now);
+        wheelA.refill(now.plusMinutes(5));
+        assertThat(wheelA.isScheduled(job.getId(), DeadlineEventKind.EXPIRY_REMINDER)).isTrue();
+        job.setDeadline(today.plusDays(30));
+        bean(nodeB, DeadlineEventService.class).scheduleJob(job, now);
+
+        // A still holds the old events, but their rows are gone, so firing them does nothing.
+        assertThat(wheelA.advance(now.plusDays(5))).isZero();
+        assertThat(notifiedJobIds(NotificationTemplate.JOB_EXPIRING)).isEmpty();
+        assertThat(bean(nodeA, JobRepository.class).findById(job.getId()).get().getIsClosed()).isFalse();
+        assertThat(bean(nodeA, DeadlineEventRepository.class).findByJobId(job.getId())).hasSize(3);
+    }
+
+    @Test
+    public void testOverdueEventLeftByAnotherInstanceIsFiredOnRefill() {
+        DeadlineWheel wheelA = bean(nodeA, DeadlineWheel.class);
+        wheelA.load(now);
+        List<Long> jobs = saveJobs(today.plusDays(3), 1);
+        // Written on B, which died before firing it and whose write A's refills never saw.
+        bean(nodeA, DeadlineEventRepository.class).save(
+                new DeadlineEvent(jobs.get(0), DeadlineEventKind.EXPIRY_REMINDER, now.minusHours(1)));
+
+        wheelA.refill(now);
+        assertThat(wheelA.advance(now.plusMinutes(1))).isEqualTo(1);
+
+        assertThat(notifiedJobIds(NotificationTemplate.JOB_EXPIRING)).containsExactly(jobs.get(0));
+    }
+
+    @Test
+    public void testBackfillResumesFromCheckpointAndSweepsExpiredJobs() {
+        List<Long> open = saveJobs(today.plusDays(3), BATCH_SIZE + 2);
+        List<Long> expired = saveJobs(today.minusDays(1), 2);
+        // A run died after backfilling the first two jobs.
+        bean(nodeA, SchedulerCheckpointRepository.class).save(
+                new SchedulerCheckpoint(CHECKPOINT, today, open.get(1)));
+
+        bean(nodeB, JobExpiryScheduler.class).runExpiry();
+
+        DeadlineEventRepository events = bean(nodeA, DeadlineEventRepository.class);
+        assertThat(events.findByJobId(open.get(1))).isEmpty();
+        assertThat(open.subList(2, open.size()))
+                .allSatisfy(id -> assertThat(events.findByJobId(id)).hasSize(3));
+        assertThat(bean(nodeA, JobRepository.class).findAllById(expired))
+                .allSatisfy(job -> assertThat(job.getIsClosed()).isTrue());
+        expired.forEach(id -> assertThat(events.findByJobId(id)).isEmpty());
+        assertThat(bean(nodeA, SchedulerCheckpointRepository.class).findById(CHECKPOINT).get().getLastId())
+                .isEqualTo(open.get(open.size() - 1));
+    }
+
+    @Test
+    public void testLeaseIsHeldByOneInstanceUntilReleasedOrExpired() {
+        SchedulerLeases leasesA = bean(nodeA, SchedulerLeases.class);
+        SchedulerLeases leasesB = bean(nodeB, SchedulerLeases.class);
+
+        assertThat(leasesA.tryAcquire("test", Duration.ofMinutes(5))).isTrue();
+        assertThat(leasesB.tryAcquire("test", Duration.ofMinutes(5))).isFalse();
+        assertThat(leasesA.tryAcquire("test", Duration.ofMinutes(5))).isTrue();
+
+        leasesA.release("test");
+        assertThat(leasesB.tryAcquire("test", Duration.ofMillis(-1))).isTrue();
+        // B's lease has lapsed without a release, as if B had died.
+        assertThat(leasesA.tryAcquire("test", Duration.ofMinutes(5))).isTrue();
+        assertThat(leasesB.tryAcquire("test", Duration.ofMinutes(5))).isFalse();
+    }
+}
@@ -0,0 +1,171 @@
+package com.rev.app.search;
+
+import com.rev.app.entity.Application;
+import com.rev.app.repository.ApplicationRepository;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ApplicantSearchIndexTest {
+
+    private static final Long JOB = 1L;
+
+    @Mock
+    private ApplicationRepository applicationRepository;
+
+    @InjectMocks
+    private ApplicantSearchIndex index;
+
+    private final List<ApplicantSearchDocument> documents = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        documents.add(document(10L, Application.ApplicationStatus.APPLIED, 1, 5, "Asha Rao", "Java, Spring",
+                "kafka streams"));
+        documents.add(document(11L, Application.ApplicationStatus.SHORTLISTED, 10, 1, "Ravi Kumar", "Python",
+                null));
+        documents.add(document(12L, Application.ApplicationStatus.APPLIED, 3, null, "Meera Iyer", "Java",
+                null));
+        lenient().when(applicationRepository.findApplicantDocuments(eq(JOB), anyLong(), any(Pageable.class)))
+                .thenAnswer(inv -> inv.<Long>getArgument(1) == 0L ? documents : Collections.emptyList());
+    }
+
+    private static ApplicantSearchDocument document(Long id, Application.ApplicationStatus status, int daysAgo,
+            Integer experience, String name, String skills, String resumeText) {
+        return new ApplicantSearchDocument(id, JOB, status, LocalDateTime.now().minusDays(daysAgo), experience,
+                name, skills, "B.Tech", "Backend developer", resumeText);
+    }
+
+    private List<Long> search(Application.ApplicationStatus status, String keyword, LocalDate since,
+            Integer minExp) {
+        return index.search(JOB, status, keyword, since, minExp);
+    }
+
+    @Test
+    public void testFiltersFromColumnsAndTokens() {
+        assertThat(search(null, null, null, null)).containsExactly(10L, 11L, 12L);
+        assertThat(search(null, "jav", null, null)).containsExactly(10L, 12L);
+        assertThat(search(null, "Kafka", null, null)).containsExactly(10L);
+        assertThat(search(null, "java kafka", null, null)).containsExactly(10L);
+        assertThat(search(null, "golang", null, null)).isEmpty();
+        assertThat(search(Application.ApplicationStatus.SHORTLISTED, null, null, null)).containsExactly(11L);
+        assertThat(search(null, null, LocalDate.now().minusDays(5), null)).containsExactly(10L, 12L);
+        assertThat(search(null, null, null, 2)).containsExactly(10L);
+
+        verify(applicationRepository, times(1)).findApplicantDocuments(eq(JOB), anyLong(), any(Pageable.class));
+        assertThat(index.cachedJobs()).isEqualTo(1);
+    }
+
+    @Test
+    public void testWritesKeepLoadedJobCurrent() {
+        search(null, null, null, null);
+
+        index.statusChanged(JOB, 10L, Application.ApplicationStatus.REJECTED);
+        assertThat(search(Application.ApplicationStatus.REJECTED, null, null, null)).containsExactly(10L);
+        index.statusesChanged(JOB, Arrays.asList(11L, 12L), Application.ApplicationStatus.SHORTLISTED);
+        assertThat(search(Application.ApplicationStatus.SHORTLISTED, null, null, null)).containsExactly(11L, 12L);
+
+        when(applicationRepository.findApplicantDocumentById(13L)).thenReturn(Collections.singletonList(
+                document(13L, Application.ApplicationStatus.APPLIED, 0, 4, "New Joiner", "Go", null)));
+        index.applicationChanged(13L, JOB);
+        assertThat(search(null, "go", null, null)).containsExactly(13L);
+
+        when(applicationRepository.findApplicantDocumentsByResumeId(7L)).thenReturn(Collections.singletonList(
+                document(12L, Application.ApplicationStatus.APPLIED, 3, null, "Meera Iyer", "Java", "terraform")));
+        index.resumeChanged(7L);
+        assertThat(search(null, "terraform", null, null)).containsExactly(12L);
+        assertThat(search(null, null, null, null)).containsExactly(10L, 11L, 12L, 13L);
+
+        verify(applicationRepository, times(1)).findApplicantDocuments(eq(JOB), anyLong(), any(Pageable.class));
+    }
+
+    // Load A is touched by a write and load B starts after it; searches made once A is done, while B is
+    // still loading, must not be answered from A.
+    @Test
+    public void testLoadTouchedByWriteIsNotKeptWhenAnotherLoadOverlaps() throws Exception {
+        List<ApplicantSearchDocument> fresh = new ArrayList<>(documents);
+        fresh.set(0, document(10L, Application.ApplicationStatus.REJECTED, 1, 5, "Asha Rao", "Java, Spring",
+                "kafka streams"));
+        CountDownLatch touched = new CountDownLatch(1);
+        CountDownLatch secondLoading = new CountDownLatch(1);
+        CountDownLatch firstDone = new CountDownLatch(1);
+        when(applicationRepository.findApplicantDocuments(eq(JOB), eq(0L), any(Pageable.class)))
+                .thenAnswer(inv -> {
+                    index.statusChanged(JOB, 10L, Application.ApplicationStatus.REJECTED);
+                    touched.countDown();
+                    secondLoading.await(5, TimeUnit.SECONDS);
+                    return documents;
+                })
+                .thenAnswer(inv -> {
+                    secondLoading.countDown();
+                    firstDone.await(5, TimeUnit.SECONDS);
+                    return fresh;
+                })
+                .thenAnswer(inv -> fresh);
+
+        List<List<Long>> rejectedAfterFirst = new ArrayList<>();
+        Thread first = new Thread(() -> {
+            search(null, null, null, null);
+            rejectedAfterFirst.add(search(Application.ApplicationStatus.REJECTED, null, null, null));
+            firstDone.countDown();
+        });
+        first.start();
+        assertThat(touched.await(5, TimeUnit.SECONDS)).isTrue();
+        search(null, null, null, null);
+        first.join(5000);
+
+        assertThat(rejectedAfterFirst).containsExactly(Collections.singletonList(10L));
+    }
+
+    @Test
+    public void testWritesToUnloadedJobsSkipTheDatabase() {
+        index.applicationChanged(13L, JOB);
+        index.seekerChanged(4L);
+
+        verifyNoInteractions(applicationRepository);
+    }
+
+    @Test
+    public void testRemoveJobDropsIt() {
+        search(null, null, null, null);
+
+        index.removeJob(JOB);
+
+        assertThat(index.cachedJobs()).isZero();
+    }
+
+    @Test
+    public void testCompactionKeepsResults() {
+        search(null, null, null, null);
+        for (int i = 0; i < 200; i++) {
+            index.statusChanged(JOB, 11L, Application.ApplicationStatus.UNDER_REVIEW);
+            when(applicationRepository.findApplicantDocumentById(10L)).thenReturn(Arrays.asList(
+                    document(10L, Application.ApplicationStatus.APPLIED, 1, 5, "Asha Rao", "Java", "rev" + i)));
+            index.applicationChanged(10L, JOB);
+        }
+
+        assertThat(search(null, "rev199", null, null)).containsExactly(10L);
+        assertThat(search(null, "rev198", null, null)).isEmpty();
+        assertThat(search(null, "java", null, null)).containsExactly(10L, 12L);
+    }
+}
@@ -0,0 +1,137 @@
+package com.rev.app.search;
+
+import com.rev.app.entity.JobSeeker;
+import com.rev.app.repository.ApplicationRepository;
+import com.rev.app.repository.JobSeekerRepository;
+import com.rev.app.repository.SavedJobRepository;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class JobRecommenderTest {
+
+    @Spy
+    private SkillIndex skillIndex = new SkillIndex();
+
+    @Mock
+    private JobSeekerRepository jobSeekerRepository;
+
+    @Mock
+    private ApplicationRepository applicationRepository;
+
+    @Mock
+    private SavedJobRepository savedJobRepository;
+
+    @InjectMocks
+    private JobRecommender recommender;
+
+    @Before
+    public void setUp() {
+        skillIndex.updateJob(job(10L, "Java, Spring", "Pune", 2, 1));
+        skillIndex.updateJob(job(11L, "Java, Spring", "Chennai", 8, 1));
+        skillIndex.updateJob(job(12L, "Java, Kotlin, Docker, AWS", "Pune", 2, 1));
+        skillIndex.updateJob(job(13L, "React", "Pune", 0, 1));
+        skillIndex.updateSeeker(1L, 101L, "Java, Spring");
+        skillIndex.markReady();
+
+        JobSeeker seeker = new JobSeeker();
+        seeker.setId(1L);
+        seeker.setExperienceYears(2);
+        seeker.setLocation("Pune");
+        lenient().when(jobSeekerRepository.findById(1L)).thenReturn(Optional.of(seeker));
+        lenient().when(applicationRepository.findJobSkillsBySeekerId(anyLong())).thenReturn(new ArrayList<>());
+        lenient().when(savedJobRepository.findJobSkillsBySeekerId(anyLong())).thenReturn(new ArrayList<>());
+    }
+
+    private JobSearchDocument job(Long id, String skills, String location, int exp, int daysAgo) {
+        return new JobSearchDocument(id, "Engineer", skills, "Description", "Acme", location, "Full-time", exp,
+                50000.0, LocalDate.now().minusDays(daysAgo));
+    }
+
+    private static List<Object[]> rows(Long jobId, String skills) {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[] { jobId, skills });
+        return rows;
+    }
+
+    @Test
+    public void testRanksBySkillExperienceAndLocation() {
+        assertThat(recommender.recommend(1L, 10)).containsExactly(10L, 11L, 12L);
+        assertThat(recommender.recommend(1L, 1)).containsExactly(10L);
+    }
+
+    @Test
+    public void testExcludesAppliedJobsAndUsesHistory() {
+        when(applicationRepository.findJobSkillsBySeekerId(1L)).thenReturn(rows(10L, "Java, Spring"));
+        when(savedJobRepository.findJobSkillsBySeekerId(1L)).thenReturn(rows(13L, "React"));
+
+        assertThat(recommender.recommend(1L, 10)).containsExactly(11L, 12L, 13L);
+    }
+
+    @Test
+    public void testEmptyWithoutSkillsOrHistory() {
+        assertThat(recommender.recommend(2L, 10)).isEmpty();
+        verify(jobSeekerRepository, never()).findById(2L);
+    }
+
+    @Test
+    public void testCachesUntilInvalidatedOrJobsChange() {
+        recommender.recommend(1L, 10);
+        recommender.recommend(1L, 5);
+        verify(applicationRepository, times(1)).findJobSkillsBySeekerId(1L);
+        assertThat(recommender.cachedSeekers()).isEqualTo(1);
+
+        recommender.invalidate(1L);
+        assertThat(recommender.cachedSeekers()).isZero();
+        recommender.recommend(1L, 10);
+        verify(applicationRepository, times(2)).findJobSkillsBySeekerId(1L);
+
+        skillIndex.updateJob(job(14L, "Java, Spring", "Pune", 1, 0));
+        assertThat(recommender.recommend(1L, 10)).startsWith(14L);
+        verify(applicationRepository, times(3)).findJobSkillsBySeekerId(1L);
+    }
+
+    @Test
+    public void testResultScoredAcrossAnInvalidationIsNotCached() {
+        // The seeker applies, and the write commits, while their recommendations are being scored.
+        when(applicationRepository.findJobSkillsBySeekerId(1L)).thenAnswer(inv -> {
+            recommender.invalidate(1L);
+            return new ArrayList<>();
+        });
+
+        assertThat(recommender.recommend(1L, 10)).containsExactly(10L, 11L, 12L);
+
+        assertThat(recommender.cachedSeekers()).isZero();
+    }
+
+    @Test
+    public void testExperienceFit() {
+        assertThat(JobRecommender.experienceFit(5, 3)).isEqualTo(1.0);
+        assertThat(JobRecommender.experienceFit(null, 0)).isEqualTo(1.0);
+        assertThat(JobRecommender.experienceFit(null, 3)).isEqualTo(0.5);
+        assertThat(JobRecommender.experienceFit(2, 5)).isEqualTo(0.0);
+        assertThat(JobRecommender.experienceFit(4, 5)).isBetween(0.6, 0.7);
+    }
+
+    @Test
+    public void testLocationFit() {
+        assertThat(JobRecommender.locationFit("pune", "pune, india")).isEqualTo(1.0);
+        assertThat(JobRecommender.locationFit(null, "remote")).isEqualTo(1.0);
+        assertThat(JobRecommender.locationFit("pune", "chennai")).isEqualTo(0.0);
+        assertThat(JobRecommender.locationFit("pune", null)).isEqualTo(0.0);
+        assertThat(JobRecommender.locationFit(null, "pune")).isEqualTo(0.0);
+    }
+}
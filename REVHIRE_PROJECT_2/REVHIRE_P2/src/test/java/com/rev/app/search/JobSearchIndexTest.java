@@ -0,0 +1,116 @@
+package com.rev.app.search;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JobSearchIndexTest {
+
+    private JobSearchIndex index;
+
+    @Before
+    public void setUp() {
+        index = new JobSearchIndex();
+        index.load(Arrays.asList(
+                doc(1L, "Java Developer", "Java, Spring", "Acme", "Pune", "Full-time", 2, 60000.0, 10),
+                doc(2L, "Frontend Engineer", "JavaScript, React", "Globex", "Chennai", "Full-time", 1, 50000.0, 3),
+                doc(3L, "C++ Engineer", "C++, Linux", "Initech", "Pune", "Contract", 5, 90000.0, 1)));
+    }
+
+    private JobSearchDocument doc(Long id, String title, String skills, String company, String location,
+            String jobType, int exp, double salary, int daysAgo) {
+        return new JobSearchDocument(id, title, skills, "Role description", company, location, jobType, exp,
+                salary, LocalDate.now().minusDays(daysAgo));
+    }
+
+    private List<Long> search(String keyword, String location, String jobType, Integer minExp, Double minSalary,
+            LocalDate startDate) {
+        return index.search(new JobSearchCriteria(keyword, location, jobType, minExp, minSalary, startDate));
+    }
+
+    @Test
+    public void testKeywordMatchesTokensAndPrefixes() {
+        assertThat(search("java", null, null, null, null, null)).containsExactly(1L, 2L);
+        assertThat(search("c++", null, null, null, null, null)).containsExactly(3L);
+        assertThat(search("globex", null, null, null, null, null)).containsExactly(2L);
+        assertThat(search("java spring", null, null, null, null, null)).containsExactly(1L);
+    }
+
+    @Test
+    public void testFilters() {
+        assertThat(search(null, "pune", null, null, null, null)).containsExactly(1L, 3L);
+        assertThat(search(null, null, "Contract", null, null, null)).containsExactly(3L);
+        assertThat(search(null, null, null, 2, null, null)).containsExactly(1L, 3L);
+        assertThat(search(null, null, null, null, 55000.0, null)).containsExactly(1L, 3L);
+        assertThat(search(null, null, null, null, null, LocalDate.now().minusDays(5))).containsExactly(2L, 3L);
+        assertThat(search("engineer", "pune", "Contract", 3, 80000.0, null)).containsExactly(3L);
+    }
+
+    @Test
+    public void testUpsertAndRemove() {
+        index.upsert(doc(2L, "Kotlin Developer", "Kotlin", "Globex", "Chennai", "Full-time", 1, 50000.0, 3));
+        assertThat(search("javascript", null, null, null, null, null)).isEmpty();
+        assertThat(search("kotlin", null, null, null, null, null)).containsExactly(2L);
+
+        index.remove(1L);
+        assertThat(search("java", null, null, null, null, null)).isEmpty();
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    public void testCompactionKeepsResults() {
+        for (int i = 0; i < 3000; i++) {
+            index.upsert(doc(1L, "Java Developer " + i, "Java", "Acme", "Pune", "Full-time", 2, 60000.0, 10));
+        }
+        assertThat(search("java", "pune", null, null, null, null)).containsExactly(1L);
+        assertThat(search("developer", null, null, null, null, null)).containsExactly(1L);
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    @Test
+    public void testRankedSearchPrefersTitleMatches() {
+        index.load(Arrays.asList(
+                new JobSearchDocument(1L, "Office Manager", "Excel", "Mentions python scripting once", "Acme",
+                        "Pune", "Full-time", 1, 40000.0, LocalDate.now()),
+                new JobSearchDocument(2L, "Python Developer", "Python, Django", "Build python services", "Acme",
+                        "Pune", "Full-time", 1, 40000.0, LocalDate.now()),
+                new JobSearchDocument(3L, "Data Engineer", "Python, Spark", "Pipelines", "Acme", "Pune",
+                        "Full-time", 1, 40000.0, LocalDate.now())));
+
+        assertThat(index.searchRanked(new JobSearchCriteria("python", null, null, null, null, null), 10))
+                .containsExactly(2L, 3L, 1L);
+        assertThat(index.searchRanked(new JobSearchCriteria("python", null, null, null, null, null), 1))
+                .containsExactly(2L);
+    }
+
+    @Test
+    public void testRankedSearchDecaysOlderPostings() {
+        index.load(Arrays.asList(
+                doc(1L, "Java Developer", "Java", "Acme", "Pune", "Full-time", 1, 40000.0, 200),
+                doc(2L, "Java Developer", "Java", "Acme", "Pune", "Full-time", 1, 40000.0, 1)));
+
+        assertThat(index.searchRanked(new JobSearchCriteria("java", null, null, null, null, null), 10))
+                .containsExactly(2L, 1L);
+        assertThat(index.searchRanked(new JobSearchCriteria(null, null, null, null, null, null), 10))
+                .containsExactly(2L, 1L);
+    }
+
+    @Test
+    public void testSearchNewestPagesByPostedDateThenId() {
+        index.load(Arrays.asList(
+                doc(1L, "Java Developer", "Java", "Acme", "Pune", "Full-time", 1, 40000.0, 5),
+                doc(2L, "Java Developer", "Java", "Acme", "Pune", "Full-time", 1, 40000.0, 1),
+                doc(3L, "Java Developer", "Java", "Acme", "Pune", "Full-time", 1, 40000.0, 1),
+                doc(4L, "Kotlin Developer", "Kotlin", "Acme", "Pune", "Full-time", 1, 40000.0, 0)));
+        JobSearchCriteria java = new JobSearchCriteria("java", null, null, null, null, null);
+
+        assertThat(index.searchNewest(java, null, null, 2)).containsExactly(3L, 2L);
+        assertThat(index.searchNewest(java, LocalDate.now().minusDays(1), 2L, 2)).containsExactly(1L);
+        assertThat(index.searchNewest(java, LocalDate.now().minusDays(5), 1L, 2)).isEmpty();
+    }
+}
@@ -0,0 +1,121 @@
+package com.rev.app.search;
+
+import com.rev.app.entity.ResumeText;
+import com.rev.app.repository.ResumeRepository;
+import com.rev.app.repository.ResumeTextRepository;
+import com.rev.app.storage.ResumeBlobStore;
+import com.rev.app.storage.ResumeTextExtractor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ResumeTextPipelineTest {
+
+    private static final String HASH = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08";
+    private static final Path FILE = Paths.get("blob");
+
+    @Mock
+    private ResumeTextExtractor resumeTextExtractor;
+
+    @Mock
+    private ResumeBlobStore resumeBlobStore;
+
+    @Mock
+    private ResumeRepository resumeRepository;
+
+    @Mock
+    private ResumeTextRepository resumeTextRepository;
+
+    @Mock
+    private ThreadPoolTaskExecutor resumeTextExecutor;
+
+    @Mock
+    private ApplicantSearchIndex applicantSearchIndex;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private ResumeTextPipeline pipeline;
+
+    @Before
+    public void setUp() {
+        pipeline.registerMetrics();
+    }
+
+    private Runnable submitted() {
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        verify(resumeTextExecutor).execute(task.capture());
+        return task.getValue();
+    }
+
+    @Test
+    public void testExtractsAndStoresText() throws Exception {
+        when(resumeRepository.existsByIdAndFilePath(1L, HASH)).thenReturn(true);
+        when(resumeBlobStore.resolve(HASH)).thenReturn(FILE);
+        when(resumeTextExtractor.extract(FILE)).thenReturn("kafka spark");
+
+        assertThat(pipeline.submit(1L, HASH)).isTrue();
+        assertThat(pipeline.submit(1L, HASH)).isTrue();
+        assertThat(pipeline.inFlight()).isEqualTo(1);
+        submitted().run();
+
+        verify(resumeTextRepository).save(new ResumeText(1L, HASH, "kafka spark"));
+        verify(applicantSearchIndex).resumeChanged(1L);
+        assertThat(pipeline.inFlight()).isZero();
+        assertThat(meterRegistry.get("revhire.resume.text.extraction").tag("outcome", "extracted").timer().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("revhire.resume.text.lag").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void testFailedExtractionStoresEmptyText() throws Exception {
+        when(resumeRepository.existsByIdAndFilePath(1L, HASH)).thenReturn(true);
+        when(resumeBlobStore.resolve(HASH)).thenReturn(FILE);
+        when(resumeTextExtractor.extract(FILE)).thenThrow(new IOException("corrupt"));
+
+        pipeline.submit(1L, HASH);
+        submitted().run();
+
+        verify(resumeTextRepository).save(new ResumeText(1L, HASH, ""));
+        assertThat(meterRegistry.get("revhire.resume.text.extraction").tag("outcome", "failed").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    public void testSkipsReplacedFile() throws Exception {
+        pipeline.submit(1L, HASH);
+        submitted().run();
+
+        verify(resumeTextExtractor, never()).extract(any());
+        verify(resumeTextRepository, never()).save(any());
+    }
+
+    @Test
+    public void testFullQueueLeavesFileForBackfill() {
+        doThrow(new TaskRejectedException("full")).when(resumeTextExecutor).execute(any(Runnable.class));
+
+        assertThat(pipeline.submit(1L, HASH)).isFalse();
+
+        assertThat(pipeline.inFlight()).isZero();
+        assertThat(meterRegistry.get("revhire.resume.text.rejected").counter().count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,89 @@
+package com.rev.app.search;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SkillIndexTest {
+
+    private SkillIndex index;
+
+    @Before
+    public void setUp() {
+        index = new SkillIndex();
+        index.updateSeeker(1L, 101L, "Java, SQL");
+        index.updateSeeker(2L, 102L, "JavaScript, React");
+        index.updateSeeker(3L, 103L, " spring   boot , java ");
+        index.updateJob(job(10L, "Java, Spring Boot"));
+        index.updateJob(job(11L, "React"));
+        index.updateJob(job(12L, "java"));
+        index.markReady();
+    }
+
+    private JobSearchDocument job(Long id, String skills) {
+        return new JobSearchDocument(id, "Title", skills, "Description", "Acme", "Pune", "Full-time", 2, 50000.0,
+                LocalDate.now());
+    }
+
+    private List<Long> candidateIds(Long seekerId) {
+        return index.candidateJobs(index.seekerSkillIds(seekerId)).stream()
+                .map(SkillIndex.JobProfile::getJobId)
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    public void testNormalize() {
+        assertThat(SkillIndex.normalize(" Java ,SQL,,  spring   Boot, java"))
+                .containsExactly("java", "sql", "spring boot");
+        assertThat(SkillIndex.normalize(null)).isEmpty();
+    }
+
+    @Test
+    public void testSkillIdsAreSortedAndShared() {
+        int[] seeker = index.seekerSkillIds(3L);
+        assertThat(seeker).isSorted().hasSize(2);
+        assertThat(index.lookup("spring boot, JAVA, cobol")).containsExactly(seeker);
+        assertThat(SkillIndex.intersectionSize(index.seekerSkillIds(1L), seeker)).isEqualTo(1);
+        assertThat(SkillIndex.intersectionSize(index.seekerSkillIds(2L), seeker)).isZero();
+    }
+
+    @Test
+    public void testUsersMatchingSkillsIsWholeSkillOnly() {
+        assertThat(index.usersMatchingSkills("Java")).containsExactly(101L, 103L);
+        assertThat(index.usersMatchingSkills("react, cobol")).containsExactly(102L);
+        assertThat(index.usersMatchingSkills("cobol")).isEmpty();
+    }
+
+    @Test
+    public void testCandidateJobsComeFromPostingLists() {
+        assertThat(candidateIds(3L)).containsExactly(10L, 12L);
+        assertThat(candidateIds(2L)).containsExactly(11L);
+        assertThat(candidateIds(99L)).isEmpty();
+
+        SkillIndex.JobProfile profile = index.candidateJobs(index.lookup("react")).get(0);
+        assertThat(profile.getLocation()).isEqualTo("pune");
+        assertThat(profile.getExperienceRequired()).isEqualTo(2);
+    }
+
+    @Test
+    public void testUpdatesReplacePostings() {
+        long version = index.jobVersion();
+        index.updateSeeker(1L, 101L, "Go");
+        index.removeJob(12L);
+
+        assertThat(index.usersMatchingSkills("java")).containsExactly(103L);
+        assertThat(candidateIds(3L)).containsExactly(10L);
+        assertThat(index.jobVersion()).isGreaterThan(version);
+        assertThat(index.hasSeekerSkills(1L)).isTrue();
+
+        index.updateSeeker(1L, 101L, "");
+        assertThat(index.hasSeekerSkills(1L)).isFalse();
+        assertThat(index.usersMatchingSkills("go")).isEmpty();
+    }
+}
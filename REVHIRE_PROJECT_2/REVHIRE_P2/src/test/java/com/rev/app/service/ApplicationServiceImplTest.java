@@ -1,17 +1,24 @@
 package com.rev.app.service;
 
 import com.rev.app.dto.ApplicationDTO;
+import com.rev.app.dto.BulkStatusResult;
 import com.rev.app.entity.*;
 import com.rev.app.exception.DuplicateApplicationException;
 import com.rev.app.exception.ResourceNotFoundException;
 import com.rev.app.mapper.ApplicationMapper;
 import com.rev.app.repository.*;
+import com.rev.app.search.ApplicantSearchIndex;
+import com.rev.app.search.JobRecommender;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.dao.ConcurrencyFailureException;
 
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -42,6 +49,15 @@ public class ApplicationServiceImplTest {
     @Mock
     private NotificationService notificationService;
 
+    @Mock
+    private JobRecommender jobRecommender;
+
+    @Mock
+    private DashboardCounterService dashboardCounterService;
+
+    @Mock
+    private ApplicantSearchIndex applicantSearchIndex;
+
     @InjectMocks
     private ApplicationServiceImpl applicationService;
 
@@ -78,7 +94,7 @@ public class ApplicationServiceImplTest {
         ApplicationDTO result = applicationService.applyToJob(dto);
 
         assertThat(result).isNotNull();
-        verify(notificationService, times(1)).sendNotification(anyLong(), anyString());
+        verify(notificationService, times(1)).sendNotification(2L, NotificationContent.applicationReceived(1L, 1L));
     }
 
     @Test(expected = DuplicateApplicationException.class)
@@ -133,6 +149,7 @@ public class ApplicationServiceImplTest {
         Application app = new Application();
         app.setId(1L);
         Job job = new Job();
+        job.setId(5L);
         job.setTitle("Test Job");
         app.setJob(job);
         JobSeeker seeker = new JobSeeker();
@@ -149,7 +166,10 @@ public class ApplicationServiceImplTest {
 
         assertThat(result).isNotNull();
         verify(noteRepository, times(1)).save(any(ApplicationNote.class));
-        verify(notificationService).sendNotification(eq(1L), contains("SHORTLISTED"));
+        verify(notificationService).sendNotification(1L,
+                NotificationContent.applicationStatus(5L, Application.ApplicationStatus.SHORTLISTED));
+        verify(dashboardCounterService).applicationStatusChanged(app, Application.ApplicationStatus.APPLIED);
+        verify(applicantSearchIndex).statusChanged(5L, 1L, Application.ApplicationStatus.SHORTLISTED);
     }
 
     @Test
@@ -157,6 +177,7 @@ public class ApplicationServiceImplTest {
         Application app = new Application();
         app.setId(1L);
         Job job = new Job();
+        job.setId(5L);
         job.setTitle("Test Job");
         Employer employer = new Employer();
         User empUser = new User();
@@ -165,6 +186,7 @@ public class ApplicationServiceImplTest {
         job.setEmployer(employer);
         app.setJob(job);
         JobSeeker seeker = new JobSeeker();
+        seeker.setId(3L);
         seeker.setName("John");
         app.setJobSeeker(seeker);
 
@@ -174,7 +196,8 @@ public class ApplicationServiceImplTest {
 
         assertThat(app.getStatus()).isEqualTo(Application.ApplicationStatus.WITHDRAWN);
         verify(noteRepository).save(any(ApplicationNote.class));
-        verify(notificationService).sendNotification(eq(2L), contains("withdrawn"));
+        verify(notificationService).sendNotification(2L,
+                NotificationContent.applicationWithdrawn(5L, 3L, "Found another job"));
     }
 
     @Test
@@ -188,4 +211,94 @@ public class ApplicationServiceImplTest {
         boolean result = applicationService.hasApplied(1L, 1L);
         assertThat(result).isTrue();
     }
+
+    private static Application application(Long id) {
+        Application app = new Application();
+        app.setId(id);
+        return app;
+    }
+
+    @Test
+    public void testSearchApplicationsUsesIndex() {
+        LocalDate since = LocalDate.now().minusDays(7);
+        when(applicantSearchIndex.search(1L, Application.ApplicationStatus.APPLIED, "kafka", since, 2))
+                .thenReturn(Arrays.asList(3L, 8L));
+        when(applicationRepository.findByIdIn(Arrays.asList(3L, 8L)))
+                .thenReturn(Arrays.asList(application(8L), application(3L)));
+        when(mapper.toApplicationDTO(any())).thenAnswer(inv -> {
+            ApplicationDTO dto = new ApplicationDTO();
+            dto.setId(inv.<Application>getArgument(0).getId());
+            return dto;
+        });
+
+        List<ApplicationDTO> result = applicationService.searchApplications(1L, "applied", "kafka", since, 2);
+
+        assertThat(result).extracting(ApplicationDTO::getId).containsExactly(3L, 8L);
+        verify(applicationRepository, never()).searchApplications(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    public void testSearchApplicationsFallsBackToQuery() {
+        when(applicantSearchIndex.search(1L, null, "Kafka", null, null)).thenReturn(null);
+        when(applicationRepository.searchApplications(1L, null, "%kafka%", null, null))
+                .thenReturn(java.util.Collections.singletonList(application(3L)));
+        when(mapper.toApplicationDTO(any())).thenReturn(new ApplicationDTO());
+
+        assertThat(applicationService.searchApplications(1L, null, "Kafka", null, null)).hasSize(1);
+    }
+
+    private static Object[] statusRow(Long id, Application.ApplicationStatus status, Long seekerId, Long userId) {
+        return new Object[] { id, status, seekerId, userId };
+    }
+
+    private Job bulkJob() {
+        Job job = new Job();
+        job.setId(5L);
+        job.setTitle("Test Job");
+        Employer employer = new Employer();
+        employer.setId(9L);
+        job.setEmployer(employer);
+        when(jobRepository.findById(5L)).thenReturn(Optional.of(job));
+        return job;
+    }
+
+    @Test
+    public void testUpdateStatusBulkUpdatesPerPreviousStatus() {
+        bulkJob();
+        when(applicationRepository.findStatusRowsForJob(5L, Arrays.asList(1L, 2L, 3L, 4L))).thenReturn(Arrays.asList(
+                statusRow(1L, Application.ApplicationStatus.APPLIED, 11L, 21L),
+                statusRow(2L, Application.ApplicationStatus.SHORTLISTED, 12L, 22L),
+                statusRow(3L, Application.ApplicationStatus.APPLIED, 13L, 23L)));
+        when(applicationRepository.updateStatus(Arrays.asList(1L, 3L), Application.ApplicationStatus.APPLIED,
+                Application.ApplicationStatus.SHORTLISTED)).thenReturn(2);
+
+        BulkStatusResult result = applicationService.updateStatusBulk(5L, Arrays.asList(1L, 2L, 3L, 4L, 1L),
+                "shortlisted", "Strong batch");
+
+        assertThat(result).isEqualTo(new BulkStatusResult(Application.ApplicationStatus.SHORTLISTED, 4, 2, 1, 1));
+        verify(applicationRepository, times(1)).updateStatus(any(), any(), any());
+        verify(noteRepository).insertBatch(Arrays.asList(1L, 3L), "Strong batch");
+        verify(dashboardCounterService).applicationStatusesChanged(9L, Application.ApplicationStatus.SHORTLISTED,
+                java.util.Collections.singletonMap(Application.ApplicationStatus.APPLIED, Arrays.asList(11L, 13L)));
+        verify(applicantSearchIndex).statusesChanged(5L, Arrays.asList(1L, 3L),
+                Application.ApplicationStatus.SHORTLISTED);
+        verify(notificationService).sendNotifications(Arrays.asList(21L, 23L),
+                NotificationContent.applicationStatus(5L, Application.ApplicationStatus.SHORTLISTED));
+    }
+
+    @Test(expected = ConcurrencyFailureException.class)
+    public void testUpdateStatusBulkFailsWhenRowsChangedConcurrently() {
+        bulkJob();
+        when(applicationRepository.findStatusRowsForJob(5L, Arrays.asList(1L, 2L))).thenReturn(Arrays.asList(
+                statusRow(1L, Application.ApplicationStatus.APPLIED, 11L, 21L),
+                statusRow(2L, Application.ApplicationStatus.APPLIED, 12L, 22L)));
+        when(applicationRepository.updateStatus(Arrays.asList(1L, 2L), Application.ApplicationStatus.APPLIED,
+                Application.ApplicationStatus.REJECTED)).thenReturn(1);
+
+        try {
+            applicationService.updateStatusBulk(5L, Arrays.asList(1L, 2L), "REJECTED", null);
+        } finally {
+            verifyNoInteractions(notificationService, dashboardCounterService);
+        }
+    }
 }
@@ -0,0 +1,53 @@
+package com.rev.app.service;
+
+import com.rev.app.dto.CurrentProfile;
+import com.rev.app.entity.User;
+import com.rev.app.repository.UserRepository;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CurrentProfileServiceImplTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private CurrentProfileServiceImpl currentProfileService;
+
+    private final CurrentProfile seeker = new CurrentProfile(7L, "seeker@revhire.com", User.Role.JOB_SEEKER,
+            null, null, 3L);
+
+    @Test
+    public void testResolveCachesUntilEvicted() {
+        when(userRepository.findProfileByEmail("seeker@revhire.com")).thenReturn(Optional.of(seeker));
+
+        assertThat(currentProfileService.resolve("seeker@revhire.com")).contains(seeker);
+        assertThat(currentProfileService.resolve("seeker@revhire.com")).contains(seeker);
+        verify(userRepository, times(1)).findProfileByEmail("seeker@revhire.com");
+
+        currentProfileService.evict(8L);
+        assertThat(currentProfileService.cachedUsers()).isEqualTo(1);
+        currentProfileService.evict(7L);
+        assertThat(currentProfileService.cachedUsers()).isZero();
+
+        currentProfileService.resolve("seeker@revhire.com");
+        verify(userRepository, times(2)).findProfileByEmail("seeker@revhire.com");
+    }
+
+    @Test
+    public void testUnknownEmailIsNotCached() {
+        when(userRepository.findProfileByEmail("nobody@revhire.com")).thenReturn(Optional.empty());
+
+        assertThat(currentProfileService.resolve("nobody@revhire.com")).isEmpty();
+        assertThat(currentProfileService.cachedUsers()).isZero();
+    }
+}
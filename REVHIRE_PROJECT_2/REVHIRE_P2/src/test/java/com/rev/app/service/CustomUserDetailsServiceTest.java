@@ -13,6 +13,7 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -44,4 +45,21 @@ public class CustomUserDetailsServiceTest {
         when(userRepository.findByEmail("non@test.com")).thenReturn(Optional.empty());
         userDetailsService.loadUserByUsername("non@test.com");
     }
+
+    @Test
+    public void testUpdatePasswordStoresNewHash() {
+        User user = new User();
+        user.setEmail("test@test.com");
+        user.setPassword("$2a$10$old");
+        user.setRole(User.Role.EMPLOYER);
+        when(userRepository.findByEmail("test@test.com")).thenReturn(Optional.of(user));
+        UserDetails current = userDetailsService.loadUserByUsername("test@test.com");
+
+        UserDetails result = userDetailsService.updatePassword(current, "{bcrypt}$2a$12$new");
+
+        assertThat(result.getPassword()).isEqualTo("{bcrypt}$2a$12$new");
+        assertThat(result.getAuthorities()).isEqualTo(current.getAuthorities());
+        assertThat(user.getPassword()).isEqualTo("{bcrypt}$2a$12$new");
+        verify(userRepository).save(user);
+    }
 }
@@ -0,0 +1,295 @@
+package com.rev.app.service;
+
+import com.rev.app.dto.CounterReconcileBatch;
+import com.rev.app.entity.Application;
+import com.rev.app.entity.ApplicationCounts;
+import com.rev.app.entity.Company;
+import com.rev.app.entity.Employer;
+import com.rev.app.entity.EmployerStats;
+import com.rev.app.entity.Job;
+import com.rev.app.entity.JobSeeker;
+import com.rev.app.entity.Notification;
+import com.rev.app.entity.NotificationContent;
+import com.rev.app.entity.Resume;
+import com.rev.app.entity.SavedJob;
+import com.rev.app.entity.SeekerStats;
+import com.rev.app.entity.User;
+import com.rev.app.repository.ApplicationRepository;
+import com.rev.app.repository.CompanyRepository;
+import com.rev.app.repository.EmployerRepository;
+import com.rev.app.repository.EmployerStatsRepository;
+import com.rev.app.repository.JobRepository;
+import com.rev.app.repository.JobSeekerRepository;
+import com.rev.app.repository.NotificationRepository;
+import com.rev.app.repository.ResumeRepository;
+import com.rev.app.repository.SavedJobRepository;
+import com.rev.app.repository.SeekerStatsRepository;
+import com.rev.app.repository.UserRepository;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(SpringRunner.class)
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(DashboardCounterServiceImpl.class)
+public class DashboardCounterServiceImplTest {
+
+    @Autowired
+    private DashboardCounterService counters;
+
+    @Autowired
+    private EmployerStatsRepository employerStatsRepository;
+
+    @Autowired
+    private SeekerStatsRepository seekerStatsRepository;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private ApplicationRepository applicationRepository;
+
+    @Autowired
+    private SavedJobRepository savedJobRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private EmployerRepository employerRepository;
+
+    @Autowired
+    private JobSeekerRepository jobSeekerRepository;
+
+    @Autowired
+    private ResumeRepository resumeRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Employer employer;
+    private Company company;
+    private JobSeeker seeker;
+    private User seekerUser;
+    private Resume resume;
+
+    @Before
+    public void setUp() {
+        User employerUser = new User();
+        employerUser.setEmail("employer@revhire.com");
+        employerUser.setPassword("password");
+        employerUser.setRole(User.Role.EMPLOYER);
+        userRepository.save(employerUser);
+
+        company = new Company();
+        company.setName("Revature");
+        company.setIndustry("IT");
+        companyRepository.save(company);
+
+        employer = new Employer();
+        employer.setUser(employerUser);
+        employer.setCompany(company);
+        employerRepository.save(employer);
+
+        seekerUser = new User();
+        seekerUser.setEmail("seeker@revhire.com");
+        seekerUser.setPassword("password");
+        seekerUser.setRole(User.Role.JOB_SEEKER);
+        userRepository.save(seekerUser);
+
+        seeker = new JobSeeker();
+        seeker.setUser(seekerUser);
+        seeker.setName("John Doe");
+        jobSeekerRepository.save(seeker);
+
+        resume = new Resume();
+        resume.setJobSeeker(seeker);
+        resumeRepository.save(resume);
+    }
+
+    private Job saveJob(boolean closed) {
+        Job job = new Job();
+        job.setTitle("Java Developer");
+        job.setSkillsRequired("Java");
+        job.setLocation("Pune");
+        job.setSalaryRange(50000.0);
+        job.setJobType("Full-time");
+        job.setDeadline(LocalDate.now().plusDays(30));
+        job.setIsClosed(closed);
+        job.setEmployer(employer);
+        job.setCompany(company);
+        return jobRepository.save(job);
+    }
+
+    private Application saveApplication(Job job, Application.ApplicationStatus status) {
+        Application application = new Application();
+        application.setJob(job);
+        application.setJobSeeker(seeker);
+        application.setResume(resume);
+        application.setStatus(status);
+        return applicationRepository.save(application);
+    }
+
+    private void saveJobFor(Job job) {
+        SavedJob savedJob = new SavedJob();
+        savedJob.setJob(job);
+        savedJob.setJobSeeker(seeker);
+        savedJobRepository.save(savedJob);
+    }
+
+    private void saveNotification(boolean read) {
+        Notification notification = new Notification();
+        notification.setUser(seekerUser);
+        notification.setContent(NotificationContent.text("Hello"));
+        notification.setIsRead(read);
+        notificationRepository.save(notification);
+    }
+
+    // Counter updates are bulk statements, so re-read rows from the database.
+    private EmployerStats employerStats() {
+        entityManager.flush();
+        entityManager.clear();
+        return counters.getEmployerStats(employer.getId());
+    }
+
+    private SeekerStats seekerStats() {
+        entityManager.flush();
+        entityManager.clear();
+        return counters.getSeekerStats(seeker.getId());
+    }
+
+    @Test
+    public void testWriteHooksAdjustCounters() {
+        counters.createEmployerStats(employer.getId());
+        counters.createSeekerStats(seeker.getId(), seekerUser.getId());
+
+        Job job = saveJob(false);
+        counters.jobAdded(job);
+        Application application = saveApplication(job, Application.ApplicationStatus.APPLIED);
+        counters.applicationAdded(application);
+        application.setStatus(Application.ApplicationStatus.SHORTLISTED);
+        counters.applicationStatusChanged(application, Application.ApplicationStatus.APPLIED);
+        job.setStatus("FILLED");
+        job.setIsClosed(true);
+        counters.jobChanged(job, false, null);
+        counters.savedJobsChanged(seeker.getId(), 1);
+        counters.notificationsAdded(Arrays.asList(seekerUser.getId(), employer.getUser().getId()));
+        counters.notificationsAdded(Arrays.asList(seekerUser.getId()));
+        counters.notificationRead(seekerUser.getId());
+
+        assertThat(employerStats()).isEqualTo(
+                new EmployerStats(employer.getId(), 1, 0, 0, 1, new ApplicationCounts(0, 0, 1, 0, 0)));
+        assertThat(seekerStats()).isEqualTo(
+                new SeekerStats(seeker.getId(), seekerUser.getId(), new ApplicationCounts(0, 0, 1, 0, 0), 1, 1));
+
+        counters.allNotificationsRead(seekerUser.getId(), 0);
+        assertThat(seekerStats().getUnreadNotifications()).isZero();
+        counters.allNotificationsRead(seekerUser.getId(), 2);
+        assertThat(seekerStats().getUnreadNotifications()).isEqualTo(2);
+    }
+
+    @Test
+    public void testJobRemovedSubtractsCascadedRows() {
+        Job job = saveJob(false);
+        saveApplication(job, Application.ApplicationStatus.APPLIED);
+        saveJobFor(job);
+        counters.reconcileEmployers(0L);
+        counters.reconcileSeekers(0L);
+
+        counters.jobRemoved(job);
+
+        assertThat(employerStats()).isEqualTo(new EmployerStats(employer.getId()));
+        assertThat(seekerStats()).isEqualTo(new SeekerStats(seeker.getId(), seekerUser.getId()));
+    }
+
+    @Test
+    public void testReadsFallBackToSourceTablesWithoutCounterRow() {
+        Job open = saveJob(false);
+        saveJob(true);
+        saveApplication(open, Application.ApplicationStatus.APPLIED);
+        saveJobFor(open);
+        saveNotification(false);
+        saveNotification(true);
+
+        assertThat(employerStatsRepository.findById(employer.getId())).isEmpty();
+        assertThat(employerStats()).isEqualTo(
+                new EmployerStats(employer.getId(), 2, 1, 1, 0, new ApplicationCounts(1, 0, 0, 0, 0)));
+        assertThat(seekerStats()).isEqualTo(
+                new SeekerStats(seeker.getId(), seekerUser.getId(), new ApplicationCounts(1, 0, 0, 0, 0), 1, 1));
+    }
+
+    @Test
+    public void testReconcileCreatesMissingRowsAndRepairsDrift() {
+        Job job = saveJob(false);
+        saveApplication(job, Application.ApplicationStatus.REJECTED);
+        counters.createSeekerStats(seeker.getId(), seekerUser.getId());
+        counters.savedJobsChanged(seeker.getId(), 5);
+        entityManager.flush();
+        entityManager.clear();
+
+        CounterReconcileBatch employers = counters.reconcileEmployers(0L);
+        CounterReconcileBatch seekers = counters.reconcileSeekers(0L);
+
+        assertThat(employers).isEqualTo(new CounterReconcileBatch(employer.getId(), 1));
+        assertThat(seekers).isEqualTo(new CounterReconcileBatch(seeker.getId(), 1));
+        assertThat(counters.reconcileEmployers(employer.getId()).getLastId()).isNull();
+        assertThat(employerStatsRepository.findById(employer.getId())).contains(
+                new EmployerStats(employer.getId(), 1, 1, 0, 0, new ApplicationCounts(0, 0, 0, 1, 0)));
+        assertThat(seekerStatsRepository.findById(seeker.getId()).get().getSavedJobs()).isZero();
+
+        entityManager.flush();
+        entityManager.clear();
+        assertThat(counters.reconcileEmployers(0L).getRepaired()).isZero();
+        assertThat(counters.reconcileSeekers(0L).getRepaired()).isZero();
+    }
+
+    @Test
+    public void testApplicationStatusesChangedAppliesGroupedDeltas() {
+        Job job = saveJob(false);
+        saveApplication(job, Application.ApplicationStatus.APPLIED);
+        saveApplication(job, Application.ApplicationStatus.UNDER_REVIEW);
+        counters.reconcileEmployers(0L);
+        counters.reconcileSeekers(0L);
+
+        Map<Application.ApplicationStatus, List<Long>> seekersByPrevious = new EnumMap<>(
+                Application.ApplicationStatus.class);
+        seekersByPrevious.put(Application.ApplicationStatus.APPLIED, Collections.singletonList(seeker.getId()));
+        seekersByPrevious.put(Application.ApplicationStatus.UNDER_REVIEW, Collections.singletonList(seeker.getId()));
+        counters.applicationStatusesChanged(employer.getId(), Application.ApplicationStatus.REJECTED,
+                seekersByPrevious);
+
+        assertThat(employerStats().getApplications()).isEqualTo(new ApplicationCounts(0, 0, 0, 2, 0));
+        assertThat(seekerStats().getApplications()).isEqualTo(new ApplicationCounts(0, 0, 0, 2, 0));
+    }
+
+    @Test
+    public void testNotificationsAddedCountsRepeatedUsers() {
+        counters.createSeekerStats(seeker.getId(), seekerUser.getId());
+
+        counters.notificationsAdded(Arrays.asList(seekerUser.getId(), seekerUser.getId(), seekerUser.getId()));
+
+        assertThat(seekerStats().getUnreadNotifications()).isEqualTo(3);
+    }
+}
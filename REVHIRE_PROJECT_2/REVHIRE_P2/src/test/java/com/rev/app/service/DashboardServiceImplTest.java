@@ -0,0 +1,45 @@
+package com.rev.app.service;
+
+import com.rev.app.dto.EmployerDashboardDTO;
+import com.rev.app.dto.SeekerDashboardDTO;
+import com.rev.app.entity.ApplicationCounts;
+import com.rev.app.entity.EmployerStats;
+import com.rev.app.entity.SeekerStats;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class DashboardServiceImplTest {
+
+    @Mock
+    private DashboardCounterService dashboardCounterService;
+
+    @InjectMocks
+    private DashboardServiceImpl dashboardService;
+
+    @Test
+    public void testGetEmployerDashboard() {
+        when(dashboardCounterService.getEmployerStats(1L))
+                .thenReturn(new EmployerStats(1L, 4, 2, 1, 1, new ApplicationCounts(3, 0, 1, 2, 0)));
+
+        EmployerDashboardDTO stats = dashboardService.getEmployerDashboard(1L);
+
+        assertThat(stats).isEqualTo(new EmployerDashboardDTO(4, 2, 1, 1, 6, 3));
+    }
+
+    @Test
+    public void testGetSeekerDashboard() {
+        when(dashboardCounterService.getSeekerStats(5L))
+                .thenReturn(new SeekerStats(5L, 50L, new ApplicationCounts(1, 2, 0, 1, 1), 4, 7));
+
+        SeekerDashboardDTO stats = dashboardService.getSeekerDashboard(5L);
+
+        assertThat(stats).isEqualTo(new SeekerDashboardDTO(5, 1, 2, 0, 1, 1, 4, 7));
+    }
+}
@@ -1,7 +1,9 @@
 package com.rev.app.service;
 
 import com.rev.app.dto.EmployerDTO;
+import com.rev.app.dto.EmployerDashboardDTO;
 import com.rev.app.entity.Employer;
+import com.rev.app.entity.User;
 import com.rev.app.exception.ResourceNotFoundException;
 import com.rev.app.mapper.EmployerMapper;
 import com.rev.app.repository.CompanyRepository;
@@ -32,7 +34,10 @@ public class EmployerServiceImplTest {
     private EmployerMapper mapper;
 
     @Mock
-    private JobService jobService;
+    private DashboardService dashboardService;
+
+    @Mock
+    private CurrentProfileService currentProfileService;
 
     @InjectMocks
     private EmployerServiceImpl employerService;
@@ -71,6 +76,9 @@ public class EmployerServiceImplTest {
     public void testUpdateProfile() {
         Employer employer = new Employer();
         employer.setId(1L);
+        User user = new User();
+        user.setId(7L);
+        employer.setUser(user);
         EmployerDTO dto = new EmployerDTO();
         dto.setContactPerson("New Contact");
 
@@ -82,16 +90,18 @@ public class EmployerServiceImplTest {
 
         assertThat(result.getContactPerson()).isEqualTo("New Contact");
         verify(employerRepository).save(employer);
+        verify(currentProfileService).evict(7L);
     }
 
     @Test
     public void testGetStatistics() {
         Long employerId = 1L;
-        when(jobService.getJobsByEmployer(employerId)).thenReturn(java.util.Collections.emptyList());
+        when(dashboardService.getEmployerDashboard(employerId)).thenReturn(new EmployerDashboardDTO(3, 2, 1, 0, 9, 4));
 
         Map<String, Object> stats = employerService.getStatistics(employerId);
 
-        assertThat(stats).containsEntry("totalJobs", 0L);
-        assertThat(stats).containsEntry("activeJobs", 0L);
+        assertThat(stats).containsEntry("totalJobs", 3L);
+        assertThat(stats).containsEntry("activeJobs", 2L);
+        assertThat(stats).containsEntry("pendingReviews", 4L);
     }
 }
@@ -0,0 +1,220 @@
+package com.rev.app.service;
+
+import com.rev.app.deadline.DeadlineWheel;
+import com.rev.app.entity.Application;
+import com.rev.app.entity.Company;
+import com.rev.app.entity.Employer;
+import com.rev.app.entity.Job;
+import com.rev.app.entity.JobSeeker;
+import com.rev.app.entity.Resume;
+import com.rev.app.entity.User;
+import com.rev.app.mapper.JobMapper;
+import com.rev.app.repository.ApplicationRepository;
+import com.rev.app.repository.CompanyRepository;
+import com.rev.app.repository.EmployerRepository;
+import com.rev.app.repository.JobRepository;
+import com.rev.app.repository.JobSeekerRepository;
+import com.rev.app.repository.ResumeRepository;
+import com.rev.app.repository.UserRepository;
+import com.rev.app.search.ApplicantSearchIndex;
+import com.rev.app.search.JobRecommender;
+import com.rev.app.search.JobSearchIndex;
+import com.rev.app.search.SkillIndex;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.when;
+
+/**
+ * Guards the job listings against N+1 queries: the number of SQL statements
+ * must not grow with the number of jobs on the page.
+ */
+@RunWith(SpringRunner.class)
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@Import({ JobServiceImpl.class, JobMapper.class })
+public class JobListingQueryCountTest {
+
+    @Autowired
+    private JobService jobService;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private ApplicationRepository applicationRepository;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private EmployerRepository employerRepository;
+
+    @Autowired
+    private JobSeekerRepository jobSeekerRepository;
+
+    @Autowired
+    private ResumeRepository resumeRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    private JobSearchIndex jobSearchIndex;
+
+    @MockBean
+    private SkillIndex skillIndex;
+
+    @MockBean
+    private JobRecommender jobRecommender;
+
+    @MockBean
+    private ApplicantSearchIndex applicantSearchIndex;
+
+    @MockBean
+    private DashboardCounterService dashboardCounterService;
+
+    @MockBean
+    private DeadlineEventService deadlineEventService;
+
+    @MockBean
+    private DeadlineWheel deadlineWheel;
+
+    private Employer employer;
+    private Company company;
+    private JobSeeker seeker;
+    private Resume resume;
+
+    @Before
+    public void setUp() {
+        User employerUser = new User();
+        employerUser.setEmail("employer@revhire.com");
+        employerUser.setPassword("password");
+        employerUser.setRole(User.Role.EMPLOYER);
+        userRepository.save(employerUser);
+
+        company = new Company();
+        company.setName("Revature");
+        company.setIndustry("IT");
+        companyRepository.save(company);
+
+        employer = new Employer();
+        employer.setUser(employerUser);
+        employer.setCompany(company);
+        employerRepository.save(employer);
+
+        User seekerUser = new User();
+        seekerUser.setEmail("seeker@revhire.com");
+        seekerUser.setPassword("password");
+        seekerUser.setRole(User.Role.JOB_SEEKER);
+        userRepository.save(seekerUser);
+
+        seeker = new JobSeeker();
+        seeker.setUser(seekerUser);
+        seeker.setName("John Doe");
+        jobSeekerRepository.save(seeker);
+
+        resume = new Resume();
+        resume.setJobSeeker(seeker);
+        resume.setSkills("Java");
+        resumeRepository.save(resume);
+    }
+
+    private void createJobs(int count) {
+        for (int i = 0; i < count; i++) {
+            Job job = new Job();
+            job.setTitle("Job " + i);
+            job.setSkillsRequired("Java");
+            job.setLocation("Pune");
+            job.setSalaryRange(50000.0);
+            job.setJobType("Full-time");
+            job.setDeadline(LocalDate.now().plusDays(30));
+            job.setEmployer(employer);
+            job.setCompany(company);
+            jobRepository.save(job);
+
+            Application application = new Application();
+            application.setJob(job);
+            application.setJobSeeker(seeker);
+            application.setResume(resume);
+            applicationRepository.save(application);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private long statementsFor(Runnable listing) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        listing.run();
+        long statements = statistics.getPrepareStatementCount();
+        entityManager.clear();
+        return statements;
+    }
+
+    @Test
+    public void testActiveJobListingStatementCountIsIndependentOfSize() {
+        createJobs(2);
+        long small = statementsFor(() -> jobService.getActiveJobsPage(null, 100));
+
+        createJobs(10);
+        long large = statementsFor(() -> jobService.getActiveJobsPage(null, 100));
+        List<?> jobs = jobService.getActiveJobsPage(null, 100).getItems();
+
+        assertThat(jobs).hasSize(12);
+        assertThat(large).isEqualTo(small);
+    }
+
+    @Test
+    public void testEmployerJobListingFillsApplicantCountsInOneQuery() {
+        createJobs(12);
+
+        long statements = statementsFor(() -> assertThat(
+                jobService.getJobsByEmployerPage(employer.getId(), null, null, null, 100).getItems())
+                .hasSize(12)
+                .allSatisfy(job -> assertThat(job.getApplicantCount()).isEqualTo(1L)));
+        long pageStatements = statementsFor(() -> jobService.getActiveJobsPage(null, 5));
+
+        // the listing select (company/employer fetched in the same join) and one GROUP BY count
+        assertThat(statements).isEqualTo(2);
+        assertThat(pageStatements).isEqualTo(2);
+    }
+
+    @Test
+    public void testIndexBackedSearchHydratesJobsInOneQuery() {
+        createJobs(12);
+        List<Long> ids = jobRepository.findAll().stream().map(Job::getId).collect(Collectors.toList());
+        entityManager.clear();
+        when(jobSearchIndex.isReady()).thenReturn(true);
+        when(jobSearchIndex.searchRanked(any(), anyInt())).thenReturn(ids);
+
+        long statements = statementsFor(() -> assertThat(
+                jobService.searchJobsByRelevance("java", null, null, null, null, null, 20)).hasSize(12));
+
+        assertThat(statements).isEqualTo(1);
+    }
+}
@@ -1,17 +1,19 @@
 package com.rev.app.service;
 
 import com.rev.app.dto.JobSeekerDTO;
+import com.rev.app.dto.SeekerDashboardDTO;
 import com.rev.app.entity.JobSeeker;
+import com.rev.app.entity.User;
 import com.rev.app.exception.ResourceNotFoundException;
 import com.rev.app.mapper.JobSeekerMapper;
 import com.rev.app.repository.JobSeekerRepository;
+import com.rev.app.search.ApplicantSearchIndex;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
-import com.rev.app.entity.User;
 import java.util.Optional;
 import java.util.Map;
 
@@ -29,13 +31,13 @@ public class JobSeekerServiceImplTest {
     private JobSeekerMapper mapper;
 
     @Mock
-    private ApplicationService applicationService;
+    private DashboardService dashboardService;
 
     @Mock
-    private SavedJobService savedJobService;
+    private CurrentProfileService currentProfileService;
 
     @Mock
-    private NotificationService notificationService;
+    private ApplicantSearchIndex applicantSearchIndex;
 
     @InjectMocks
     private JobSeekerServiceImpl jobSeekerService;
@@ -74,6 +76,9 @@ public class JobSeekerServiceImplTest {
     public void testUpdateProfile() {
         JobSeeker seeker = new JobSeeker();
         seeker.setId(1L);
+        User user = new User();
+        user.setId(7L);
+        seeker.setUser(user);
         JobSeekerDTO dto = new JobSeekerDTO();
         dto.setName("Updated Name");
 
@@ -85,25 +90,20 @@ public class JobSeekerServiceImplTest {
 
         assertThat(result.getName()).isEqualTo("Updated Name");
         verify(jobSeekerRepository).save(seeker);
+        verify(currentProfileService).evict(7L);
+        verify(applicantSearchIndex).seekerChanged(1L);
     }
 
     @Test
     public void testGetDashboardSummary() {
         Long seekerId = 1L;
-        JobSeeker seeker = new JobSeeker();
-        User user = new User();
-        user.setId(1L);
-        seeker.setUser(user);
-
-        when(applicationService.getApplicationsBySeeker(seekerId)).thenReturn(java.util.Collections.emptyList());
-        when(savedJobService.getSavedJobsBySeeker(seekerId)).thenReturn(java.util.Collections.emptyList());
-        when(jobSeekerRepository.findById(seekerId)).thenReturn(Optional.of(seeker));
-        when(notificationService.getUnreadCount(1L)).thenReturn(5L);
+        when(dashboardService.getSeekerDashboard(seekerId))
+                .thenReturn(new SeekerDashboardDTO(3, 1, 1, 1, 0, 0, 2, 5));
 
         Map<String, Object> summary = jobSeekerService.getDashboardSummary(seekerId);
 
-        assertThat(summary).containsEntry("applicationCount", 0);
-        assertThat(summary).containsEntry("savedJobCount", 0);
+        assertThat(summary).containsEntry("applicationCount", 3L);
+        assertThat(summary).containsEntry("savedJobCount", 2L);
         assertThat(summary).containsEntry("unreadNotificationCount", 5L);
     }
 }
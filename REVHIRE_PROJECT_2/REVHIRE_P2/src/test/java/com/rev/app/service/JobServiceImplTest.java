@@ -1,25 +1,47 @@
 package com.rev.app.service;
 
 import com.rev.app.dto.JobDTO;
+import com.rev.app.dto.KeysetCursor;
+import com.rev.app.dto.PageDTO;
+import com.rev.app.deadline.DeadlineWheel;
 import com.rev.app.entity.Company;
+import com.rev.app.entity.DeadlineEvent;
+import com.rev.app.entity.DeadlineEventKind;
 import com.rev.app.entity.Employer;
 import com.rev.app.entity.Job;
+import com.rev.app.entity.Resume;
+import com.rev.app.exception.InvalidCursorException;
 import com.rev.app.exception.ResourceNotFoundException;
 import com.rev.app.mapper.JobMapper;
 import com.rev.app.repository.*;
+import com.rev.app.notification.JobPostedEvent;
+import com.rev.app.search.JobSearchCriteria;
+import com.rev.app.search.JobSearchIndex;
+import com.rev.app.search.SkillIndex;
+import com.rev.app.search.ApplicantSearchIndex;
+import com.rev.app.search.JobRecommender;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -41,13 +63,31 @@ public class JobServiceImplTest {
     private JobMapper mapper;
 
     @Mock
-    private NotificationService notificationService;
+    private ApplicationEventPublisher eventPublisher;
 
     @Mock
-    private JobSeekerRepository jobSeekerRepository;
+    private ResumeRepository resumeRepository;
 
     @Mock
-    private ResumeRepository resumeRepository;
+    private JobSearchIndex jobSearchIndex;
+
+    @Mock
+    private SkillIndex skillIndex;
+
+    @Mock
+    private JobRecommender jobRecommender;
+
+    @Mock
+    private ApplicantSearchIndex applicantSearchIndex;
+
+    @Mock
+    private DashboardCounterService dashboardCounterService;
+
+    @Mock
+    private DeadlineEventService deadlineEventService;
+
+    @Mock
+    private DeadlineWheel deadlineWheel;
 
     @InjectMocks
     private JobServiceImpl jobService;
@@ -70,7 +110,6 @@ public class JobServiceImplTest {
         when(companyRepository.findById(1L)).thenReturn(Optional.of(company));
         when(mapper.toJobEntity(eq(dto), any(), any())).thenReturn(job);
         when(jobRepository.save(any())).thenReturn(job);
-        when(jobSeekerRepository.findAll()).thenReturn(Collections.emptyList());
         when(mapper.toJobDTO(any())).thenReturn(dto);
 
         JobDTO result = jobService.createJob(dto);
@@ -78,6 +117,8 @@ public class JobServiceImplTest {
         assertThat(result).isNotNull();
         assertThat(result.getTitle()).isEqualTo("Test Job");
         verify(jobRepository, times(1)).save(any());
+        verify(eventPublisher).publishEvent(any(JobPostedEvent.class));
+        verify(deadlineEventService).scheduleJob(eq(job), any());
     }
 
     @Test(expected = ResourceNotFoundException.class)
@@ -101,29 +142,132 @@ public class JobServiceImplTest {
 
         assertThat(result.getTitle()).isEqualTo("Updated Title");
         verify(jobRepository).save(job);
+        verifyNoInteractions(deadlineEventService);
+    }
+
+    @Test
+    public void testUpdateJob_ReschedulesDeadlineEventsWhenDeadlineMoves() {
+        Job job = new Job();
+        job.setId(1L);
+        job.setDeadline(LocalDate.of(2024, 5, 10));
+        JobDTO dto = new JobDTO();
+        dto.setDeadline(LocalDate.of(2024, 5, 20));
+        List<DeadlineEvent> events = Collections.singletonList(
+                new DeadlineEvent(1L, DeadlineEventKind.CLOSE, LocalDateTime.of(2024, 5, 21, 0, 0)));
+
+        when(jobRepository.findById(1L)).thenReturn(Optional.of(job));
+        when(jobRepository.save(any())).thenReturn(job);
+        when(deadlineEventService.scheduleJob(eq(job), any())).thenReturn(events);
+
+        jobService.updateJob(1L, dto);
+
+        verify(deadlineWheel).reschedule(1L, events);
     }
 
     @Test
     public void testDeleteJob() {
+        Job job = new Job();
+        job.setId(1L);
+        when(jobRepository.findById(1L)).thenReturn(Optional.of(job));
+
         jobService.deleteJob(1L);
-        verify(jobRepository, times(1)).deleteById(1L);
+
+        InOrder inOrder = inOrder(dashboardCounterService, jobRepository);
+        inOrder.verify(dashboardCounterService).jobRemoved(job);
+        inOrder.verify(jobRepository).delete(job);
+        verify(jobSearchIndex).remove(1L);
+        verify(applicantSearchIndex).removeJob(1L);
+        verify(deadlineEventService).cancelJob(1L);
+        verify(deadlineWheel).cancel(1L);
     }
 
     @Test
-    public void testGetAllActiveJobs() {
-        when(jobRepository.findByIsClosedFalse()).thenReturn(Collections.emptyList());
-        List<JobDTO> result = jobService.getAllActiveJobs();
-        assertThat(result).isEmpty();
+    public void testGetActiveJobsPage_ReturnsNextCursorWhenMoreRows() {
+        LocalDate today = LocalDate.now();
+        Job first = new Job();
+        first.setId(3L);
+        first.setPostedDate(today);
+        Job second = new Job();
+        second.setId(2L);
+        second.setPostedDate(today);
+        Job extra = new Job();
+        extra.setId(1L);
+        extra.setPostedDate(today);
+
+        when(jobRepository.findActivePage(null, null, PageRequest.of(0, 3)))
+                .thenReturn(Arrays.asList(first, second, extra));
+        when(mapper.toJobDTO(any(Job.class))).thenReturn(new JobDTO());
+
+        PageDTO<JobDTO> page = jobService.getActiveJobsPage(null, 2);
+
+        assertThat(page.getItems()).hasSize(2);
+        assertThat(page.isHasMore()).isTrue();
+        KeysetCursor next = KeysetCursor.decode(page.getNextCursor());
+        assertThat(next.getKey()).isEqualTo(today.toString());
+        assertThat(next.getId()).isEqualTo(2L);
     }
 
     @Test
-    public void testGetJobsByEmployer() {
-        Employer employer = new Employer();
-        when(employerRepository.findById(1L)).thenReturn(Optional.of(employer));
-        when(jobRepository.findByEmployer(employer)).thenReturn(Collections.emptyList());
+    public void testGetActiveJobsPage_DecodesCursorAndCapsLimit() {
+        LocalDate date = LocalDate.of(2024, 1, 15);
+        when(jobRepository.findActivePage(date, 42L, PageRequest.of(0, 101))).thenReturn(Collections.emptyList());
 
-        List<JobDTO> result = jobService.getJobsByEmployer(1L);
-        assertThat(result).isEmpty();
+        PageDTO<JobDTO> page = jobService.getActiveJobsPage(KeysetCursor.encode(date, 42L), 500);
+
+        assertThat(page.getItems()).isEmpty();
+        assertThat(page.getNextCursor()).isNull();
+        assertThat(page.isHasMore()).isFalse();
+    }
+
+    @Test(expected = InvalidCursorException.class)
+    public void testGetActiveJobsPage_RejectsMalformedCursor() {
+        jobService.getActiveJobsPage("not-a-cursor", 20);
+    }
+
+    @Test
+    public void testSearchJobsAdvancedPage_UsesIndexWhenReady() {
+        Job job = new Job();
+        job.setId(7L);
+        when(jobSearchIndex.isReady()).thenReturn(true);
+        when(jobSearchIndex.searchNewest(any(JobSearchCriteria.class), any(), any(), eq(21)))
+                .thenReturn(Collections.singletonList(7L));
+        when(jobRepository.findByIdIn(Collections.singletonList(7L))).thenReturn(Collections.singletonList(job));
+        when(mapper.toJobDTO(job)).thenReturn(new JobDTO());
+
+        PageDTO<JobDTO> page = jobService.searchJobsAdvancedPage("java", null, null, null, null, null, null, 0);
+
+        assertThat(page.getItems()).hasSize(1);
+        assertThat(page.isHasMore()).isFalse();
+        verify(jobRepository, never()).searchJobsAdvancedPage(any(), any(), any(), any(), any(), any(), any(), any(),
+                any());
+    }
+
+    @Test
+    public void testGetJobsByEmployerPage() {
+        when(jobRepository.findEmployerPage(1L, null, null, null, null, PageRequest.of(0, 21)))
+                .thenReturn(Collections.emptyList());
+
+        PageDTO<JobDTO> result = jobService.getJobsByEmployerPage(1L, null, null, null, 0);
+        assertThat(result.getItems()).isEmpty();
+        verify(applicationRepository, never()).countByJobIds(any());
+    }
+
+    @Test
+    public void testGetJobsByEmployerPage_BatchesApplicantCounts() {
+        Job applied = new Job();
+        applied.setId(1L);
+        Job untouched = new Job();
+        untouched.setId(2L);
+        when(jobRepository.findEmployerPage(1L, null, null, null, null, PageRequest.of(0, 21)))
+                .thenReturn(Arrays.asList(applied, untouched));
+        when(applicationRepository.countByJobIds(Arrays.asList(1L, 2L)))
+                .thenReturn(Collections.singletonList(new Object[] { 1L, 4L }));
+        when(mapper.toJobDTO(any(Job.class))).thenAnswer(inv -> new JobDTO());
+
+        List<JobDTO> result = jobService.getJobsByEmployerPage(1L, null, null, null, 0).getItems();
+
+        assertThat(result).extracting(JobDTO::getApplicantCount).containsExactly(4L, 0L);
+        verify(applicationRepository, never()).countByJob(any());
     }
 
     @Test
@@ -134,6 +278,95 @@ public class JobServiceImplTest {
         assertThat(result).isEmpty();
     }
 
+    @Test
+    public void testSearchJobs_UsesIndexWhenReady() {
+        Job job = new Job();
+        job.setId(7L);
+        JobDTO dto = new JobDTO();
+        dto.setId(7L);
+
+        when(jobSearchIndex.isReady()).thenReturn(true);
+        when(jobSearchIndex.search(any(JobSearchCriteria.class))).thenReturn(Collections.singletonList(7L));
+        when(jobRepository.findByIdIn(Collections.singletonList(7L))).thenReturn(Collections.singletonList(job));
+        when(mapper.toJobDTO(job)).thenReturn(dto);
+
+        List<JobDTO> result = jobService.searchJobs("Java");
+
+        assertThat(result).extracting(JobDTO::getId).containsExactly(7L);
+        verify(jobRepository, never()).searchJobsAdvanced(any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    public void testSearchJobsByRelevance_FallsBackToFirstPageOfNewestFirst() {
+        Job newer = new Job();
+        newer.setId(2L);
+        newer.setPostedDate(LocalDate.now());
+        Job older = new Job();
+        older.setId(1L);
+        older.setPostedDate(LocalDate.now().minusDays(10));
+        JobDTO newerDto = new JobDTO();
+        newerDto.setId(2L);
+
+        when(jobRepository.searchJobsAdvancedPage(eq("%java%"), any(), any(), any(), any(), any(), any(), any(),
+                eq(PageRequest.of(0, 2)))).thenReturn(Arrays.asList(newer, older));
+        when(mapper.toJobDTO(newer)).thenReturn(newerDto);
+
+        List<JobDTO> result = jobService.searchJobsByRelevance("java", null, null, null, null, null, 1);
+
+        assertThat(result).extracting(JobDTO::getId).containsExactly(2L);
+        verify(jobSearchIndex, never()).searchRanked(any(), anyInt());
+        verify(jobRepository, never()).searchJobsAdvanced(any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    public void testSearchJobsByRelevance_ClampsLimit() {
+        when(jobSearchIndex.isReady()).thenReturn(true);
+
+        jobService.searchJobsByRelevance("java", null, null, null, null, null, Integer.MAX_VALUE);
+        jobService.searchJobsByRelevance("java", null, null, null, null, null, -5);
+
+        verify(jobSearchIndex).searchRanked(any(), eq(100));
+        verify(jobSearchIndex).searchRanked(any(), eq(20));
+    }
+
+    @Test
+    public void testGetRecommendedJobs_UsesRecommender() {
+        Job job = new Job();
+        job.setId(9L);
+        JobDTO dto = new JobDTO();
+        dto.setId(9L);
+        when(jobRecommender.isReady()).thenReturn(true);
+        when(jobRecommender.recommend(eq(1L), anyInt())).thenReturn(Collections.singletonList(9L));
+        when(jobRepository.findByIdIn(Collections.singletonList(9L))).thenReturn(Collections.singletonList(job));
+        when(mapper.toJobDTO(job)).thenReturn(dto);
+
+        List<JobDTO> result = jobService.getRecommendedJobs(1L);
+
+        assertThat(result).extracting(JobDTO::getId).containsExactly(9L);
+        verify(resumeRepository, never()).findByJobSeekerId(any());
+    }
+
+    @Test
+    public void testGetRecommendedJobs_NewestJobsWhenNothingToMatch() {
+        when(jobRecommender.isReady()).thenReturn(true);
+        when(jobRecommender.recommend(eq(1L), anyInt())).thenReturn(Collections.emptyList());
+        when(jobRepository.findActivePage(any(), any(), any())).thenReturn(Collections.emptyList());
+
+        assertThat(jobService.getRecommendedJobs(1L)).isEmpty();
+    }
+
+    @Test
+    public void testGetRecommendedJobs_WarmUpFallbackReadsOnePage() {
+        Resume resume = new Resume();
+        resume.setSkills("Java, SQL");
+        when(resumeRepository.findByJobSeekerId(1L)).thenReturn(Optional.of(resume));
+        when(jobRepository.searchJobsAdvancedPage(eq("%java%"), isNull(), isNull(), isNull(), isNull(), isNull(),
+                isNull(), isNull(), eq(PageRequest.of(0, 21)))).thenReturn(Collections.emptyList());
+
+        assertThat(jobService.getRecommendedJobs(1L)).isEmpty();
+        verify(jobRepository, never()).searchJobsAdvanced(any(), any(), any(), any(), any(), any());
+    }
+
     @Test
     public void testCloseJob() {
         Job job = new Job();
@@ -147,6 +380,10 @@ public class JobServiceImplTest {
 
         assertThat(job.getIsClosed()).isTrue();
         verify(jobRepository, times(1)).save(job);
+        verify(jobSearchIndex).remove(1L);
+        verify(dashboardCounterService).jobChanged(job, false, null);
+        verify(deadlineEventService).scheduleJob(eq(job), any());
+        verify(deadlineWheel).reschedule(1L, Collections.emptyList());
     }
 
     @Test
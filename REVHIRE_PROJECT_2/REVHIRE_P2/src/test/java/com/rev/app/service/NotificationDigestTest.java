@@ -0,0 +1,188 @@
+package com.rev.app.service;
+
+import com.rev.app.dto.NotificationDTO;
+import com.rev.app.entity.Company;
+import com.rev.app.entity.Employer;
+import com.rev.app.entity.Job;
+import com.rev.app.entity.NotificationContent;
+import com.rev.app.entity.NotificationReadMark;
+import com.rev.app.entity.NotificationTemplate;
+import com.rev.app.entity.User;
+import com.rev.app.mapper.NotificationMapper;
+import com.rev.app.notification.LegacyNotificationParser;
+import com.rev.app.notification.NotificationRenderer;
+import com.rev.app.notification.NotificationStreams;
+import com.rev.app.repository.CompanyRepository;
+import com.rev.app.repository.EmployerRepository;
+import com.rev.app.repository.JobRepository;
+import com.rev.app.repository.NotificationReadMarkRepository;
+import com.rev.app.repository.NotificationRepository;
+import com.rev.app.repository.UserRepository;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Measures the notification rows an application burst writes: one digest per
+ * employer and job, not one row per application.
+ */
+@RunWith(SpringRunner.class)
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({ NotificationServiceImpl.class, NotificationRenderer.class, NotificationMapper.class,
+        LegacyNotificationParser.class })
+public class NotificationDigestTest {
+
+    private static final int APPLICATIONS = 200;
+    private static final int DISPATCH_BATCH = 50;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @SpyBean
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private NotificationReadMarkRepository readMarkRepository;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private EmployerRepository employerRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @MockBean
+    private DashboardCounterService dashboardCounterService;
+
+    @MockBean
+    private NotificationStreams notificationStreams;
+
+    private User employerUser;
+    private Employer employer;
+    private Company company;
+
+    @Before
+    public void setUp() {
+        employerUser = new User();
+        employerUser.setEmail("burst@revhire.com");
+        employerUser.setPassword("password");
+        employerUser.setRole(User.Role.EMPLOYER);
+        userRepository.save(employerUser);
+        company = new Company();
+        company.setName("Acme");
+        company.setIndustry("IT");
+        companyRepository.save(company);
+        employer = new Employer();
+        employer.setUser(employerUser);
+        employer.setCompany(company);
+        employerRepository.save(employer);
+    }
+
+    private Job saveJob(String title) {
+        Job job = new Job();
+        job.setTitle(title);
+        job.setSkillsRequired("Java");
+        job.setLocation("Pune");
+        job.setSalaryRange(50000.0);
+        job.setJobType("Full-time");
+        job.setDeadline(LocalDate.now().plusDays(30));
+        job.setEmployer(employer);
+        job.setCompany(company);
+        return jobRepository.save(job);
+    }
+
+    // What applyToJob sends the employer, once per application, then the dispatcher's polls.
+    private void applyAndDispatch(Job job, long firstSeekerId, int applications) {
+        for (int i = 0; i < applications; i++) {
+            notificationService.sendNotification(employerUser.getId(),
+                    NotificationContent.applicationReceived(job.getId(), firstSeekerId + i));
+        }
+        List<Long> due;
+        while (!(due = notificationService.findDueOutboxEvents(DISPATCH_BATCH)).isEmpty()) {
+            notificationService.dispatchOutboxEvents(due);
+        }
+        entityManager.clear();
+    }
+
+    private List<String> messages() {
+        return notificationService.getInbox(employerUser.getId(), null, 0).getItems().stream()
+                .map(NotificationDTO::getMessage)
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    public void testBurstWritesOneDigestRow() {
+        Job job = saveJob("Backend Engineer");
+
+        applyAndDispatch(job, 1000L, APPLICATIONS);
+
+        assertThat(notificationRepository.count()).isEqualTo(1);
+        assertThat(messages()).containsExactly(APPLICATIONS + " new applications for 'Backend Engineer'");
+    }
+
+    @Test
+    public void testDigestsAreKeptPerJobAndRestartOnceRead() {
+        Job backend = saveJob("Backend Engineer");
+        Job frontend = saveJob("Frontend Engineer");
+
+        applyAndDispatch(backend, 1000L, 30);
+        applyAndDispatch(frontend, 2000L, 20);
+        assertThat(notificationRepository.count()).isEqualTo(2);
+
+        notificationService.markAllRead(employerUser.getId());
+        applyAndDispatch(backend, 3000L, 5);
+
+        assertThat(notificationRepository.count()).isEqualTo(3);
+        assertThat(messages()).containsExactlyInAnyOrder("30 new applications for 'Backend Engineer'",
+                "20 new applications for 'Frontend Engineer'", "5 new applications for 'Backend Engineer'");
+    }
+
+    @Test
+    public void testEventsAfterMarkAllReadRacingTheFoldGetTheirOwnRow() {
+        Job job = saveJob("Backend Engineer");
+        applyAndDispatch(job, 1000L, 3);
+        Long digestId = notificationRepository.findMaxIdByUserId(employerUser.getId());
+        // markAllRead commits between finding the open digest and adding to it.
+        Object[] open = { digestId, employerUser.getId(), NotificationTemplate.APPLICATION_RECEIVED, job.getId() };
+        doAnswer(inv -> {
+            readMarkRepository.saveAndFlush(new NotificationReadMark(employerUser.getId(), digestId));
+            return Collections.singletonList(open);
+        }).when(notificationRepository).findOpenDigests(any(), any(), any());
+
+        applyAndDispatch(job, 2000L, 2);
+
+        assertThat(notificationRepository.count()).isEqualTo(2);
+        assertThat(notificationRepository.findById(digestId).get().getOccurrences()).isEqualTo(3);
+        assertThat(notificationService.getUnreadCount(employerUser.getId())).isEqualTo(1);
+        // Once for the digest, once for the new row.
+        verify(dashboardCounterService, times(2)).notificationsAdded(Collections.singletonList(employerUser.getId()));
+    }
+}
@@ -1,24 +1,46 @@
 package com.rev.app.service;
 
+import com.rev.app.dto.KeysetCursor;
 import com.rev.app.dto.NotificationDTO;
+import com.rev.app.dto.NotificationDraft;
+import com.rev.app.dto.PageDTO;
 import com.rev.app.entity.Notification;
+import com.rev.app.entity.NotificationContent;
+import com.rev.app.entity.NotificationOutboxEvent;
+import com.rev.app.entity.NotificationReadMark;
+import com.rev.app.entity.NotificationTemplate;
 import com.rev.app.entity.User;
+import com.rev.app.exception.InvalidCursorException;
 import com.rev.app.exception.ResourceNotFoundException;
-import com.rev.app.mapper.NotificationMapper;
+import com.rev.app.notification.LegacyNotificationParser;
+import com.rev.app.notification.NotificationRenderer;
+import com.rev.app.notification.NotificationStreams;
 import com.rev.app.repository.JobSeekerRepository;
+import com.rev.app.repository.NotificationOutboxRepository;
+import com.rev.app.repository.NotificationReadMarkRepository;
 import com.rev.app.repository.NotificationRepository;
 import com.rev.app.repository.UserRepository;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
 
+import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -35,26 +57,35 @@ public class NotificationServiceImplTest {
     private JobSeekerRepository jobSeekerRepository;
 
     @Mock
-    private NotificationMapper mapper;
+    private NotificationRenderer renderer;
+
+    @Mock
+    private LegacyNotificationParser legacyParser;
+
+    @Mock
+    private DashboardCounterService dashboardCounterService;
+
+    @Mock
+    private NotificationOutboxRepository outboxRepository;
+
+    @Mock
+    private NotificationStreams notificationStreams;
+
+    @Mock
+    private NotificationReadMarkRepository readMarkRepository;
 
     @InjectMocks
     private NotificationServiceImpl notificationService;
 
     @Test
-    public void testSendNotification_Success() {
-        User user = new User();
-        user.setId(1L);
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-
-        notificationService.sendNotification(1L, "Hello");
-
-        verify(notificationRepository, times(1)).save(any(Notification.class));
-    }
+    public void testSendNotificationOnlyAppendsToOutbox() {
+        notificationService.sendNotification(1L, NotificationContent.jobMatch(5L));
 
-    @Test(expected = ResourceNotFoundException.class)
-    public void testSendNotification_UserNotFound() {
-        when(userRepository.findById(1L)).thenReturn(Optional.empty());
-        notificationService.sendNotification(1L, "Hello");
+        ArgumentCaptor<NotificationOutboxEvent> event = ArgumentCaptor.forClass(NotificationOutboxEvent.class);
+        verify(outboxRepository).save(event.capture());
+        assertThat(event.getValue().getUserId()).isEqualTo(1L);
+        assertThat(event.getValue().getContent()).isEqualTo(NotificationContent.jobMatch(5L));
+        verifyNoInteractions(userRepository, notificationRepository, dashboardCounterService);
     }
 
     @Test
@@ -64,56 +95,303 @@ public class NotificationServiceImplTest {
         user.setId(1L);
         seeker.setUser(user);
         when(jobSeekerRepository.findById(1L)).thenReturn(Optional.of(seeker));
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
 
-        notificationService.sendNotificationToSeeker(1L, "Seeker Msg");
+        notificationService.sendNotificationToSeeker(1L, NotificationContent.text("Seeker Msg"));
 
-        verify(notificationRepository).save(any(Notification.class));
+        verify(outboxRepository).save(any(NotificationOutboxEvent.class));
+    }
+
+    @Test(expected = ResourceNotFoundException.class)
+    public void testSendNotificationToSeeker_NotFound() {
+        when(jobSeekerRepository.findById(1L)).thenReturn(Optional.empty());
+        notificationService.sendNotificationToSeeker(1L, NotificationContent.text("Seeker Msg"));
     }
 
     @Test
-    public void testGetNotificationsForUser() {
+    public void testMarkAsRead() {
         User user = new User();
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        when(notificationRepository.findByUserOrderByCreatedAtDesc(user)).thenReturn(Collections.emptyList());
+        user.setId(7L);
+        Notification n = new Notification();
+        n.setId(1L);
+        n.setUser(user);
+        n.setIsRead(false);
+        when(notificationRepository.findById(1L)).thenReturn(Optional.of(n));
 
-        List<NotificationDTO> result = notificationService.getNotificationsForUser(1L);
+        notificationService.markAsRead(1L);
+        notificationService.markAsRead(1L);
 
-        assertThat(result).isEmpty();
+        assertThat(n.getIsRead()).isTrue();
+        verify(notificationRepository, times(2)).save(n);
+        verify(dashboardCounterService, times(1)).notificationRead(7L);
+        verify(notificationStreams, times(1)).publishUnreadDelta(7L, -1);
     }
 
     @Test
-    public void testMarkAsRead() {
+    public void testMarkAsReadBelowReadMark() {
+        User user = new User();
+        user.setId(7L);
         Notification n = new Notification();
         n.setId(1L);
+        n.setUser(user);
         n.setIsRead(false);
         when(notificationRepository.findById(1L)).thenReturn(Optional.of(n));
+        when(readMarkRepository.findReadUpToId(7L)).thenReturn(Optional.of(5L));
 
         notificationService.markAsRead(1L);
 
-        assertThat(n.getIsRead()).isTrue();
-        verify(notificationRepository, times(1)).save(n);
+        verifyNoInteractions(dashboardCounterService, notificationStreams);
     }
 
-    @Test
-    public void testMarkAllRead() {
+    private static Notification notification(Long id, LocalDateTime createdAt) {
         User user = new User();
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        when(notificationRepository.findByUserOrderByCreatedAtDesc(user)).thenReturn(Collections.emptyList());
+        user.setId(1L);
+        Notification n = new Notification();
+        n.setId(id);
+        n.setUser(user);
+        n.setContent(NotificationContent.text("Hello"));
+        n.setCreatedAt(createdAt);
+        return n;
+    }
+
+    private static List<NotificationDTO> rendered(List<Notification> notifications) {
+        return notifications.stream()
+                .map(n -> new NotificationDTO(n.getId(), n.getUser().getId(), "Hello", false, n.getCreatedAt()))
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    public void testGetInboxPagesWithCursor() {
+        LocalDateTime at = LocalDateTime.of(2024, 3, 1, 9, 30);
+        List<Notification> rows = Arrays.asList(notification(9L, at), notification(8L, at),
+                notification(4L, at.minusDays(1)));
+        when(notificationRepository.findInboxPage(eq(1L), isNull(), isNull(), any())).thenReturn(rows);
+        when(renderer.render(anyList())).thenAnswer(inv -> rendered(inv.getArgument(0)));
+        when(readMarkRepository.findReadUpToId(1L)).thenReturn(Optional.of(8L));
+
+        PageDTO<NotificationDTO> page = notificationService.getInbox(1L, null, 2);
+
+        assertThat(page.getItems()).extracting(NotificationDTO::getId).containsExactly(9L, 8L);
+        assertThat(page.getItems()).extracting(NotificationDTO::getIsRead).containsExactly(false, true);
+        assertThat(page.isHasMore()).isTrue();
+        assertThat(KeysetCursor.decode(page.getNextCursor())).isEqualTo(new KeysetCursor(at.toString(), 8L));
+
+        when(notificationRepository.findInboxPage(eq(1L), eq(at), eq(8L), any()))
+                .thenReturn(Collections.singletonList(rows.get(2)));
+
+        PageDTO<NotificationDTO> next = notificationService.getInbox(1L, page.getNextCursor(), 2);
+
+        assertThat(next.getItems()).extracting(NotificationDTO::getId).containsExactly(4L);
+        assertThat(next.getNextCursor()).isNull();
+    }
+
+    @Test
+    public void testGetInboxRejectsBadCursor() {
+        String cursor = KeysetCursor.encode("yesterday", 3L);
+
+        assertThatThrownBy(() -> notificationService.getInbox(1L, cursor, 20))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+
+    @Test
+    public void testSendNotifications() {
+        List<Long> userIds = java.util.Arrays.asList(1L, 2L);
+
+        notificationService.sendNotifications(userIds, NotificationContent.jobMatch(5L));
+
+        verify(outboxRepository).appendBatch(userIds, NotificationContent.jobMatch(5L));
+        verifyNoInteractions(notificationRepository, dashboardCounterService);
+    }
+
+    private static NotificationOutboxEvent outboxEvent(Long id, Long userId) {
+        return outboxEvent(id, userId, NotificationContent.text("Hello"));
+    }
+
+    private static NotificationOutboxEvent outboxEvent(Long id, Long userId, NotificationContent content) {
+        NotificationOutboxEvent event = new NotificationOutboxEvent(userId, content);
+        event.setId(id);
+        return event;
+    }
+
+    private static Object[] openDigest(Long id, Long userId, Long jobId) {
+        return new Object[] { id, userId, NotificationTemplate.APPLICATION_RECEIVED, jobId };
+    }
+
+    private List<NotificationDraft> insertedDrafts() {
+        ArgumentCaptor<List<NotificationDraft>> drafts = ArgumentCaptor.forClass(List.class);
+        verify(notificationRepository).insertDrafts(drafts.capture());
+        return drafts.getValue();
+    }
+
+    @Test
+    public void testDispatchOutboxEventsWritesNotificationsAndDeletesEvents() {
+        List<Long> ids = Arrays.asList(1L, 2L);
+        List<NotificationOutboxEvent> events = Arrays.asList(outboxEvent(1L, 7L), outboxEvent(2L, 7L));
+        when(outboxRepository.findByIdInOrderById(ids)).thenReturn(events);
+        when(outboxRepository.deleteByIds(ids)).thenReturn(2);
+
+        assertThat(notificationService.dispatchOutboxEvents(ids)).isEqualTo(2);
+
+        assertThat(insertedDrafts()).extracting(NotificationDraft::getUserId, NotificationDraft::getOccurrences)
+                .containsExactly(tuple(7L, 1), tuple(7L, 1));
+        verify(dashboardCounterService).notificationsAdded(Arrays.asList(7L, 7L));
+        verify(notificationRepository, never()).findOpenDigests(any(), any(), any());
+        verify(notificationRepository, never()).findCreatedAfter(any(), any());
+    }
+
+    @Test
+    public void testDispatchOutboxEventsPushesToListeningUsers() {
+        List<Long> ids = Arrays.asList(1L, 2L);
+        when(outboxRepository.findByIdInOrderById(ids))
+                .thenReturn(Arrays.asList(outboxEvent(1L, 7L), outboxEvent(2L, 8L)));
+        when(outboxRepository.deleteByIds(ids)).thenReturn(2);
+        Set<Long> listening = Collections.singleton(8L);
+        when(notificationStreams.subscribedAmong(new HashSet<>(Arrays.asList(7L, 8L)))).thenReturn(listening);
+        when(notificationRepository.findMaxId()).thenReturn(40L);
+        List<Notification> rows = Collections.singletonList(notification(42L, LocalDateTime.now()));
+        when(notificationRepository.findCreatedAfter(40L, listening)).thenReturn(rows);
+        List<NotificationDTO> created = rendered(rows);
+        when(renderer.render(rows)).thenReturn(created);
+
+        notificationService.dispatchOutboxEvents(ids);
+
+        verify(notificationStreams).publishNotifications(created);
+    }
+
+    @Test
+    public void testDispatchOutboxEventsTakenElsewhere() {
+        List<Long> ids = Arrays.asList(1L, 2L);
+        when(outboxRepository.findByIdInOrderById(ids))
+                .thenReturn(Arrays.asList(outboxEvent(1L, 7L), outboxEvent(2L, 8L)));
+        when(outboxRepository.deleteByIds(ids)).thenReturn(1);
+
+        assertThatThrownBy(() -> notificationService.dispatchOutboxEvents(ids))
+                .isInstanceOf(ConcurrencyFailureException.class);
+        verify(notificationRepository, never()).insertDrafts(anyList());
+    }
+
+    @Test
+    public void testDispatchOutboxEventsCoalescesApplicationsIntoOneDigest() {
+        List<Long> ids = Arrays.asList(1L, 2L, 3L, 4L);
+        when(outboxRepository.findByIdInOrderById(ids)).thenReturn(Arrays.asList(
+                outboxEvent(1L, 7L, NotificationContent.applicationReceived(5L, 11L)),
+                outboxEvent(2L, 7L, NotificationContent.applicationReceived(5L, 12L)),
+                outboxEvent(3L, 7L, NotificationContent.applicationReceived(6L, 13L)),
+                outboxEvent(4L, 7L, NotificationContent.applicationReceived(5L, 14L))));
+        when(outboxRepository.deleteByIds(ids)).thenReturn(4);
+
+        assertThat(notificationService.dispatchOutboxEvents(ids)).isEqualTo(4);
+
+        assertThat(insertedDrafts()).extracting(d -> d.getContent().getJobId(), NotificationDraft::getOccurrences)
+                .containsExactly(tuple(5L, 3), tuple(6L, 1));
+        verify(dashboardCounterService).notificationsAdded(Arrays.asList(7L, 7L));
+    }
+
+    @Test
+    public void testDispatchOutboxEventsFoldsIntoOpenDigest() {
+        List<Long> ids = Arrays.asList(1L, 2L);
+        when(outboxRepository.findByIdInOrderById(ids)).thenReturn(Arrays.asList(
+                outboxEvent(1L, 7L, NotificationContent.applicationReceived(5L, 11L)),
+                outboxEvent(2L, 7L, NotificationContent.applicationReceived(5L, 12L))));
+        when(outboxRepository.deleteByIds(ids)).thenReturn(2);
+        when(readMarkRepository.findAllById(Collections.singleton(7L)))
+                .thenReturn(Collections.singletonList(new NotificationReadMark(7L, 30L)));
+        when(notificationRepository.findOpenDigests(eq(Collections.singleton(7L)), any(), any()))
+                .thenReturn(Arrays.asList(openDigest(31L, 7L, 5L), openDigest(30L, 7L, 5L)));
+        when(notificationRepository.addOccurrences(Collections.singletonMap(31L, 2)))
+                .thenReturn(Collections.singleton(31L));
+
+        notificationService.dispatchOutboxEvents(ids);
+
+        verify(notificationRepository, never()).insertDrafts(anyList());
+        verify(dashboardCounterService).notificationsAdded(Collections.emptyList());
+    }
+
+    @Test
+    public void testDispatchOutboxEventsWritesNewRowWhenDigestReadMeanwhile() {
+        List<Long> ids = Collections.singletonList(1L);
+        when(outboxRepository.findByIdInOrderById(ids)).thenReturn(Collections.singletonList(
+                outboxEvent(1L, 7L, NotificationContent.applicationReceived(5L, 11L))));
+        when(outboxRepository.deleteByIds(ids)).thenReturn(1);
+        when(notificationRepository.findOpenDigests(eq(Collections.singleton(7L)), any(), any()))
+                .thenReturn(Collections.singletonList(openDigest(31L, 7L, 5L)));
+        when(notificationRepository.addOccurrences(Collections.singletonMap(31L, 1)))
+                .thenReturn(Collections.emptySet());
+
+        notificationService.dispatchOutboxEvents(ids);
+
+        assertThat(insertedDrafts()).singleElement()
+                .satisfies(d -> assertThat(d.getContent().getSeekerId()).isEqualTo(11L));
+        verify(dashboardCounterService).notificationsAdded(Collections.singletonList(7L));
+    }
+
+    @Test
+    public void testRecordOutboxFailureBacksOffThenParks() {
+        NotificationOutboxEvent event = outboxEvent(1L, 7L);
+        when(outboxRepository.findById(1L)).thenReturn(Optional.of(event));
+
+        assertThat(notificationService.recordOutboxFailure(1L, "FK violation")).isTrue();
+        assertThat(event.getAttempts()).isEqualTo(1);
+        assertThat(event.getLastError()).isEqualTo("FK violation");
+        assertThat(event.getNextAttemptAt()).isAfter(LocalDateTime.now());
+
+        event.setAttempts(9);
+        assertThat(notificationService.recordOutboxFailure(1L, "FK violation")).isFalse();
+        assertThat(event.getAttempts()).isEqualTo(10);
+    }
+
+    @Test
+    public void testMarkAllReadMovesReadMark() {
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(notificationRepository.findMaxIdByUserId(1L)).thenReturn(42L);
+        when(readMarkRepository.existsById(1L)).thenReturn(true);
+        when(readMarkRepository.findReadUpToId(1L)).thenReturn(Optional.of(42L));
+        // One written after the newest id was read.
+        when(notificationRepository.countUnread(1L, 42L)).thenReturn(1L);
+
+        notificationService.markAllRead(1L);
+
+        verify(readMarkRepository).advance(1L, 42L);
+        verify(readMarkRepository, never()).create(any());
+        verify(notificationRepository, never()).saveAll(anyList());
+        verify(dashboardCounterService).allNotificationsRead(1L, 1L);
+        verify(notificationStreams).publishUnreadCount(1L, 1L);
+    }
+
+    @Test
+    public void testMarkAllReadSurvivesConcurrentFirstMark() {
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(notificationRepository.findMaxIdByUserId(1L)).thenReturn(42L);
+        when(readMarkRepository.create(1L)).thenThrow(new DataIntegrityViolationException("duplicate key"));
+        when(readMarkRepository.findReadUpToId(1L)).thenReturn(Optional.of(42L));
 
         notificationService.markAllRead(1L);
 
-        verify(notificationRepository).saveAll(anyList());
+        verify(readMarkRepository).advance(1L, 42L);
+        verify(dashboardCounterService).allNotificationsRead(1L, 0L);
     }
 
     @Test
     public void testGetUnreadCount() {
-        User user = new User();
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        when(notificationRepository.countByUserAndIsReadFalse(user)).thenReturn(5L);
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(readMarkRepository.findReadUpToId(1L)).thenReturn(Optional.of(30L));
+        when(notificationRepository.countUnread(1L, 30L)).thenReturn(5L);
 
         long count = notificationService.getUnreadCount(1L);
 
         assertThat(count).isEqualTo(5L);
     }
+
+    @Test
+    public void testTemplateLegacyNotifications() {
+        Notification legacy = notification(3L, LocalDateTime.now());
+        legacy.setContent(new NotificationContent(null, null, null, null, "New Job Match: Dev at Acme"));
+        LegacyNotificationParser.Batch batch = mock(LegacyNotificationParser.Batch.class);
+        when(notificationRepository.findUntemplated(any())).thenReturn(Collections.singletonList(legacy));
+        when(legacyParser.batch()).thenReturn(batch);
+        when(batch.parse(1L, "New Job Match: Dev at Acme")).thenReturn(NotificationContent.jobMatch(5L));
+
+        assertThat(notificationService.templateLegacyNotifications(500)).isEqualTo(1);
+
+        assertThat(legacy.getContent()).isEqualTo(NotificationContent.jobMatch(5L));
+    }
 }
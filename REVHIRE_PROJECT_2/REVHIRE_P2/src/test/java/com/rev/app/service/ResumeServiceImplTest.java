@@ -3,16 +3,27 @@ package com.rev.app.service;
 import com.rev.app.dto.ResumeDTO;
 import com.rev.app.entity.JobSeeker;
 import com.rev.app.entity.Resume;
+import com.rev.app.entity.User;
 import com.rev.app.exception.ResourceNotFoundException;
 import com.rev.app.mapper.JobSeekerMapper;
 import com.rev.app.repository.JobSeekerRepository;
 import com.rev.app.repository.ResumeRepository;
+import com.rev.app.search.SkillIndex;
+import com.rev.app.search.JobRecommender;
+import com.rev.app.search.ResumeTextPipeline;
+import com.rev.app.search.ApplicantSearchIndex;
+import com.rev.app.storage.ResumeBlobStore;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.mock.web.MockMultipartFile;
 
+import java.io.File;
+import java.io.InputStream;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -31,27 +42,53 @@ public class ResumeServiceImplTest {
     @Mock
     private JobSeekerMapper mapper;
 
+    @Mock
+    private SkillIndex skillIndex;
+
+    @Mock
+    private JobRecommender jobRecommender;
+
+    @Mock
+    private ResumeBlobStore resumeBlobStore;
+
+    @Mock
+    private ResumeTextPipeline resumeTextPipeline;
+
+    @Mock
+    private ApplicantSearchIndex applicantSearchIndex;
+
     @InjectMocks
     private ResumeServiceImpl resumeService;
 
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static final String HASH = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08";
+
     @Test
     public void testCreateOrUpdateResume_Success() {
         ResumeDTO dto = new ResumeDTO();
         dto.setJobSeekerId(1L);
         dto.setObjective("N/A");
+        dto.setSkills("Java, SQL");
 
+        User user = new User();
+        user.setId(7L);
         JobSeeker seeker = new JobSeeker();
         seeker.setId(1L);
+        seeker.setUser(user);
 
         when(jobSeekerRepository.findById(1L)).thenReturn(Optional.of(seeker));
         when(resumeRepository.findByJobSeeker(seeker)).thenReturn(Optional.empty());
-        when(resumeRepository.save(any())).thenReturn(new Resume());
+        when(resumeRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
         when(mapper.toResumeDTO(any())).thenReturn(dto);
 
         ResumeDTO result = resumeService.createOrUpdateResume(dto);
 
         assertThat(result).isNotNull();
         verify(resumeRepository, times(1)).save(any());
+        verify(skillIndex).updateSeeker(1L, 7L, "Java, SQL");
+        verify(jobRecommender).invalidate(1L);
     }
 
     @Test(expected = ResourceNotFoundException.class)
@@ -76,16 +113,76 @@ public class ResumeServiceImplTest {
     }
 
     @Test
-    public void testDeleteResumeFile() {
+    public void testDeleteResumeFile() throws Exception {
+        File legacy = folder.newFile("1_test.pdf");
         JobSeeker seeker = new JobSeeker();
         Resume resume = new Resume();
-        resume.setFilePath("test.pdf");
+        resume.setFilePath(legacy.getPath());
         when(jobSeekerRepository.findById(1L)).thenReturn(Optional.of(seeker));
         when(resumeRepository.findByJobSeeker(seeker)).thenReturn(Optional.of(resume));
+        when(resumeBlobStore.resolve(legacy.getPath())).thenReturn(legacy.toPath());
 
         resumeService.deleteResumeFile(1L);
 
         assertThat(resume.getFilePath()).isNull();
+        assertThat(legacy).doesNotExist();
         verify(resumeRepository).save(resume);
     }
+
+    @Test
+    public void testUploadKeepsLegacyFileWhenSaveFails() throws Exception {
+        File legacy = folder.newFile("1_test.pdf");
+        JobSeeker seeker = new JobSeeker();
+        seeker.setId(1L);
+        Resume resume = new Resume();
+        resume.setFilePath(legacy.getPath());
+        when(jobSeekerRepository.findById(1L)).thenReturn(Optional.of(seeker));
+        when(resumeRepository.findByJobSeeker(seeker)).thenReturn(Optional.of(resume));
+        when(resumeBlobStore.store(any(InputStream.class))).thenReturn(HASH);
+        when(resumeRepository.save(any())).thenThrow(new IllegalStateException("db down"));
+
+        try {
+            resumeService.uploadResumeFile(1L,
+                    new MockMultipartFile("file", "cv.pdf", "application/pdf", "test".getBytes()));
+        } catch (IllegalStateException expected) {
+            // fall through
+        }
+
+        assertThat(legacy).exists();
+    }
+
+    @Test
+    public void testDeleteResumeFileLeavesSharedBlob() {
+        JobSeeker seeker = new JobSeeker();
+        Resume resume = new Resume();
+        resume.setFilePath(HASH);
+        when(jobSeekerRepository.findById(1L)).thenReturn(Optional.of(seeker));
+        when(resumeRepository.findByJobSeeker(seeker)).thenReturn(Optional.of(resume));
+
+        resumeService.deleteResumeFile(1L);
+
+        assertThat(resume.getFilePath()).isNull();
+        verify(resumeBlobStore, never()).resolve(any());
+    }
+
+    @Test
+    public void testUploadResumeFileStoresContentHash() throws Exception {
+        JobSeeker seeker = new JobSeeker();
+        seeker.setId(1L);
+        when(jobSeekerRepository.findById(1L)).thenReturn(Optional.of(seeker));
+        when(resumeRepository.findByJobSeeker(seeker)).thenReturn(Optional.empty());
+        when(resumeBlobStore.store(any(InputStream.class))).thenReturn(HASH);
+        when(resumeRepository.save(any())).thenAnswer(inv -> {
+            Resume resume = inv.getArgument(0);
+            resume.setId(3L);
+            return resume;
+        });
+
+        resumeService.uploadResumeFile(1L,
+                new MockMultipartFile("file", "cv.pdf", "application/pdf", "test".getBytes()));
+
+        verify(resumeRepository).save(argThat(resume -> HASH.equals(resume.getFilePath())
+                && "cv.pdf".equals(resume.getFileName()) && resume.getJobSeeker() == seeker));
+        verify(resumeTextPipeline).extractAfterCommit(3L, HASH);
+    }
 }
@@ -7,6 +7,7 @@ import com.rev.app.mapper.ApplicationMapper;
 import com.rev.app.repository.JobRepository;
 import com.rev.app.repository.JobSeekerRepository;
 import com.rev.app.repository.SavedJobRepository;
+import com.rev.app.search.JobRecommender;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
@@ -35,6 +36,12 @@ public class SavedJobServiceImplTest {
     @Mock
     private ApplicationMapper mapper;
 
+    @Mock
+    private JobRecommender jobRecommender;
+
+    @Mock
+    private DashboardCounterService dashboardCounterService;
+
     @InjectMocks
     private SavedJobServiceImpl savedJobService;
 
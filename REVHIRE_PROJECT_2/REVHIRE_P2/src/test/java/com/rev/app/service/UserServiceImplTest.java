@@ -38,6 +38,9 @@ public class UserServiceImplTest {
     @Mock
     private CompanyRepository companyRepository;
 
+    @Mock
+    private DashboardCounterService dashboardCounterService;
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -0,0 +1,108 @@
+package com.rev.app.storage;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ResumeBlobStoreTest {
+
+    // SHA-256 of "test"
+    private static final String TEST_HASH = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path root;
+    private ResumeBlobStore store;
+
+    @Before
+    public void setUp() {
+        root = folder.getRoot().toPath();
+        store = new ResumeBlobStore(root.toString());
+    }
+
+    private String store(String content) throws Exception {
+        return store.store(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private long regularFiles() throws Exception {
+        try (Stream<Path> files = Files.walk(root)) {
+            return files.filter(Files::isRegularFile).count();
+        }
+    }
+
+    @Test
+    public void testStoresUnderShardedContentHash() throws Exception {
+        String hash = store("test");
+
+        assertThat(hash).isEqualTo(TEST_HASH);
+        Path stored = store.resolve(hash);
+        assertThat(stored).isEqualTo(root.resolve("9f").resolve("86").resolve(TEST_HASH));
+        assertThat(new String(Files.readAllBytes(stored), StandardCharsets.UTF_8)).isEqualTo("test");
+    }
+
+    @Test
+    public void testDeduplicatesIdenticalContent() throws Exception {
+        store("test");
+        store("test");
+        store("other");
+
+        assertThat(regularFiles()).isEqualTo(2);
+    }
+
+    @Test
+    public void testResolvesLegacyPaths() {
+        assertThat(ResumeBlobStore.isContentHash(TEST_HASH)).isTrue();
+        assertThat(ResumeBlobStore.isContentHash("uploads/resumes/1_cv.pdf")).isFalse();
+        assertThat(store.resolve("uploads/resumes/1_cv.pdf").toString()).isEqualTo("uploads/resumes/1_cv.pdf");
+    }
+
+    @Test
+    public void testSweepDeletesOnlyOldUnreferencedBlobs() throws Exception {
+        String kept = store("test");
+        String orphan = store("orphan");
+        String fresh = store("fresh");
+        FileTime old = FileTime.fromMillis(System.currentTimeMillis() - 120_000);
+        Files.setLastModifiedTime(store.resolve(kept), old);
+        Files.setLastModifiedTime(store.resolve(orphan), old);
+        Path legacy = Files.write(root.resolve("1_cv.pdf"), new byte[] { 1 });
+        Files.setLastModifiedTime(legacy, old);
+
+        int deleted = store.sweep(kept::equals, 60_000);
+
+        assertThat(deleted).isEqualTo(1);
+        assertThat(store.resolve(orphan)).doesNotExist();
+        assertThat(store.resolve(kept)).exists();
+        assertThat(store.resolve(fresh)).exists();
+        assertThat(legacy).exists();
+    }
+
+    @Test
+    public void testSweepKeepsBlobReusedWhileCheckingReferences() throws Exception {
+        String hash = store("test");
+        Files.setLastModifiedTime(store.resolve(hash), FileTime.fromMillis(System.currentTimeMillis() - 120_000));
+
+        // An identical upload lands between the age check and the reference check.
+        int deleted = store.sweep(name -> {
+            try {
+                store("test");
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+            return false;
+        }, 60_000);
+
+        assertThat(deleted).isEqualTo(0);
+        assertThat(store.resolve(hash)).exists();
+    }
+}
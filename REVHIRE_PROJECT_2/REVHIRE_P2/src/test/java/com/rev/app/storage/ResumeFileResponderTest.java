@@ -0,0 +1,131 @@
+package com.rev.app.storage;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ResumeFileResponderTest {
+
+    private static final String HASH = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08";
+    private static final String ETAG = "\"" + HASH + "\"";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final ResumeFileResponder responder = new ResumeFileResponder();
+
+    private Path file;
+
+    @Before
+    public void setUp() throws Exception {
+        file = Files.write(folder.getRoot().toPath().resolve(HASH), "0123456789".getBytes(StandardCharsets.UTF_8));
+    }
+
+    private MockHttpServletResponse send(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        responder.send(file, HASH, "cv.pdf", request, response);
+        return response;
+    }
+
+    private static MockHttpServletRequest get() {
+        return new MockHttpServletRequest("GET", "/seeker/resume/download");
+    }
+
+    @Test
+    public void testServesWholeFileWithValidators() throws Exception {
+        MockHttpServletResponse response = send(get());
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsString()).isEqualTo("0123456789");
+        assertThat(response.getHeader("ETag")).isEqualTo(ETAG);
+        assertThat(response.getHeader("Last-Modified")).isNotNull();
+        assertThat(response.getHeader("Cache-Control")).isEqualTo("private, no-cache");
+        assertThat(response.getHeader("Accept-Ranges")).isEqualTo("bytes");
+        assertThat(response.getContentType()).isEqualTo("application/pdf");
+        assertThat(response.getContentLengthLong()).isEqualTo(10);
+        assertThat(response.getHeader("Content-Disposition")).contains("attachment").contains("cv.pdf");
+    }
+
+    @Test
+    public void testMatchingEtagReturnsNotModified() throws Exception {
+        MockHttpServletRequest request = get();
+        request.addHeader("If-None-Match", ETAG);
+
+        MockHttpServletResponse response = send(request);
+
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    public void testUnchangedSinceReturnsNotModified() throws Exception {
+        MockHttpServletRequest request = get();
+        request.addHeader("If-Modified-Since", Files.getLastModifiedTime(file).toMillis());
+
+        assertThat(send(request).getStatus()).isEqualTo(304);
+    }
+
+    @Test
+    public void testSingleRangeReturnsPartialContent() throws Exception {
+        MockHttpServletRequest request = get();
+        request.addHeader("Range", "bytes=2-5");
+
+        MockHttpServletResponse response = send(request);
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getContentAsString()).isEqualTo("2345");
+        assertThat(response.getHeader("Content-Range")).isEqualTo("bytes 2-5/10");
+        assertThat(response.getContentLengthLong()).isEqualTo(4);
+
+        MockHttpServletRequest suffix = get();
+        suffix.addHeader("Range", "bytes=-3");
+        assertThat(send(suffix).getContentAsString()).isEqualTo("789");
+    }
+
+    @Test
+    public void testUnsatisfiableRange() throws Exception {
+        MockHttpServletRequest request = get();
+        request.addHeader("Range", "bytes=20-30");
+
+        MockHttpServletResponse response = send(request);
+
+        assertThat(response.getStatus()).isEqualTo(416);
+        assertThat(response.getHeader("Content-Range")).isEqualTo("bytes */10");
+    }
+
+    @Test
+    public void testStaleIfRangeServesWholeFile() throws Exception {
+        MockHttpServletRequest request = get();
+        request.addHeader("Range", "bytes=2-5");
+        request.addHeader("If-Range", "\"stale\"");
+
+        MockHttpServletResponse response = send(request);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsString()).isEqualTo("0123456789");
+    }
+
+    @Test
+    public void testHandsRangeToSendfileWhenSupported() throws Exception {
+        MockHttpServletRequest request = get();
+        request.setAttribute(ResumeFileResponder.SENDFILE_SUPPORT, Boolean.TRUE);
+        request.addHeader("Range", "bytes=2-5");
+
+        MockHttpServletResponse response = send(request);
+
+        assertThat(response.getContentAsByteArray()).isEmpty();
+        assertThat(request.getAttribute(ResumeFileResponder.SENDFILE_FILENAME))
+                .isEqualTo(file.toAbsolutePath().toString());
+        assertThat(request.getAttribute(ResumeFileResponder.SENDFILE_START)).isEqualTo(2L);
+        assertThat(request.getAttribute(ResumeFileResponder.SENDFILE_END)).isEqualTo(6L);
+    }
+}
@@ -0,0 +1,91 @@
+package com.rev.app.storage;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ResumeTextExtractorTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final ResumeTextExtractor extractor = new ResumeTextExtractor(1000);
+
+    private Path write(byte[] content) throws Exception {
+        return Files.write(folder.newFile().toPath(), content);
+    }
+
+    @Test
+    public void testNormalizesPlainText() throws Exception {
+        Path file = write("  Senior  Java\tDeveloper\r\n Spring ﬁne-tuning C++ ".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(extractor.extract(file)).isEqualTo("senior java developer spring fine-tuning c++");
+    }
+
+    @Test
+    public void testCapsLength() {
+        assertThat(ResumeTextExtractor.normalize("abc def ghi", 5)).isEqualTo("abc d");
+    }
+
+    @Test
+    public void testExtractsDocxBody() throws Exception {
+        String xml = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+                + "<w:document xmlns:w=\"http://schemas.openxmlformats.org/wordprocessingml/2006/main\"><w:body>"
+                + "<w:p><w:r><w:t>Kafka</w:t><w:tab/><w:t xml:space=\"preserve\">&amp; Spark </w:t></w:r></w:p>"
+                + "<w:p><w:r><w:t>Pune</w:t></w:r></w:p></w:body></w:document>";
+        ByteArrayOutputStream docx = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(docx)) {
+            zip.putNextEntry(new ZipEntry("[Content_Types].xml"));
+            zip.write("<Types/>".getBytes(StandardCharsets.UTF_8));
+            zip.putNextEntry(new ZipEntry("word/document.xml"));
+            zip.write(xml.getBytes(StandardCharsets.UTF_8));
+        }
+
+        assertThat(extractor.extract(write(docx.toByteArray()))).isEqualTo("kafka & spark pune");
+    }
+
+    @Test
+    public void testExtractsPdfTextFromFlateAndPlainStreams() throws Exception {
+        byte[] compressed = deflate("BT /F1 12 Tf 72 700 Td (Kubernetes) Tj 0 -14 Td [(Ter) 20 (raform) -300 (\\(AWS\\))] TJ ET");
+        ByteArrayOutputStream pdf = new ByteArrayOutputStream();
+        pdf.write(("%PDF-1.4\n1 0 obj\n<< /Length " + compressed.length + " /Filter /FlateDecode >>\nstream\n")
+                .getBytes(StandardCharsets.ISO_8859_1));
+        pdf.write(compressed);
+        pdf.write(("\nendstream\nendobj\n2 0 obj\n<< /Length 30 >>\nstream\nBT (Go\\040Lang) Tj ET\nendstream\nendobj\n"
+                + "3 0 obj\n<< /Filter /DCTDecode >>\nstream\nBT (image) Tj ET\nendstream\nendobj\n%%EOF")
+                .getBytes(StandardCharsets.ISO_8859_1));
+
+        assertThat(extractor.extract(write(pdf.toByteArray()))).isEqualTo("kubernetes terraform (aws) go lang");
+    }
+
+    @Test
+    public void testBinaryFormatsYieldNoText() throws Exception {
+        byte[] doc = new byte[512];
+        doc[0] = (byte) 0xd0;
+        doc[1] = (byte) 0xcf;
+
+        assertThat(extractor.extract(write(doc))).isEmpty();
+    }
+
+    private static byte[] deflate(String content) {
+        Deflater deflater = new Deflater();
+        deflater.setInput(content.getBytes(StandardCharsets.ISO_8859_1));
+        deflater.finish();
+        byte[] buffer = new byte[1024];
+        int length = deflater.deflate(buffer);
+        deflater.end();
+        byte[] result = new byte[length];
+        System.arraycopy(buffer, 0, result, 0, length);
+        return result;
+    }
+}